@@ -6,6 +6,8 @@
  */
 package org.hibernate;
 
+import java.util.List;
+
 /**
  * A command-oriented API often used for performing bulk operations against
  * the database. A stateless session has no persistence context, and always
@@ -98,6 +100,72 @@ public interface StatelessSession extends SharedSessionContract {
 	 */
 	void delete(String entityName, Object entity);
 
+	/**
+	 * Insert multiple rows, in the order given, using JDBC batching.
+	 * <p>
+	 * If no JDBC batch size greater than one is configured, a batch size equal
+	 * to the number of given entities, but no more than 1000, is used. JDBC batching only occurs within
+	 * a transaction. All statements have been executed when this method returns.
+	 *
+	 * @param entities new transient instances
+	 *
+	 * @see #insert(Object)
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	void insertMultiple(List<?> entities);
+
+	/**
+	 * Update multiple rows, in the order given, using JDBC batching.
+	 *
+	 * @param entities detached entity instances
+	 *
+	 * @see #update(Object)
+	 * @see #insertMultiple(List)
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	void updateMultiple(List<?> entities);
+
+	/**
+	 * Delete multiple rows, in the order given, using JDBC batching.
+	 *
+	 * @param entities detached entity instances
+	 *
+	 * @see #delete(Object)
+	 * @see #insertMultiple(List)
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	void deleteMultiple(List<?> entities);
+
+	/**
+	 * Insert multiple rows of the given entity type, using the native bulk load
+	 * protocol of the database, for example, {@code COPY} on PostgreSQL, if the
+	 * {@link org.hibernate.dialect.Dialect} {@linkplain org.hibernate.dialect.Dialect#getBulkLoadSupport()
+	 * supports} it, and {@linkplain #insertMultiple(List) batched inserts} otherwise.
+	 * <p>
+	 * The entities are consumed as they are iterated, and are loaded in chunks,
+	 * each of which is loaded once its identifiers have been generated. The
+	 * bulk load protocol is only used for entities mapped to a single table,
+	 * whose identifiers and other values are not generated by the database.
+	 * All rows have been loaded when this method returns.
+	 *
+	 * @param entityClass the entity type
+	 * @param entities new transient instances of exactly the given entity type
+	 * @return the number of rows inserted
+	 *
+	 * @see #insert(Object)
+	 * @see org.hibernate.dialect.bulk.BulkLoadSupport
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	<T> long bulkInsert(Class<T> entityClass, Iterable<? extends T> entities);
+
 	/**
 	 * Retrieve a row.
 	 *
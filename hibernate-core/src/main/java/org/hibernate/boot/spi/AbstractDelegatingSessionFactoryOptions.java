@@ -207,6 +207,21 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isOrderInsertsEnabled();
 	}
 
+	@Override
+	public boolean isQuickDirtyCheckEnabled() {
+		return delegate.isQuickDirtyCheckEnabled();
+	}
+
+	@Override
+	public boolean isAutoFlushQuerySpaceCheckEnabled() {
+		return delegate.isAutoFlushQuerySpaceCheckEnabled();
+	}
+
+	@Override
+	public int getParallelDirtyCheckThreshold() {
+		return delegate.getParallelDirtyCheckThreshold();
+	}
+
 	@Override
 	public boolean isMultiTenancyEnabled() {
 		return delegate.isMultiTenancyEnabled();
@@ -267,6 +282,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isCompactQueryCacheEntriesEnabled() {
+		return delegate.isCompactQueryCacheEntriesEnabled();
+	}
+
+	@Override
+	public boolean isBinaryCacheEntriesEnabled() {
+		return delegate.isBinaryCacheEntriesEnabled();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return delegate.isDirectReferenceCacheEntriesEnabled();
@@ -307,6 +332,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getJdbcFetchSize();
 	}
 
+	@Override
+	public boolean isAdaptiveFetchSizeEnabled() {
+		return delegate.isAdaptiveFetchSizeEnabled();
+	}
+
+	@Override
+	public int getFetchSizeMemoryBudget() {
+		return delegate.getFetchSizeMemoryBudget();
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return delegate.getPhysicalConnectionHandlingMode();
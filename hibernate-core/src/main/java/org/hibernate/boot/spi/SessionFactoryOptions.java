@@ -152,6 +152,27 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isOrderInsertsEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_QUICK_DIRTY_CHECK
+	 */
+	default boolean isQuickDirtyCheckEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#AUTO_FLUSH_QUERY_SPACE_CHECK
+	 */
+	default boolean isAutoFlushQuerySpaceCheckEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+	 */
+	default int getParallelDirtyCheckThreshold() {
+		return 0;
+	}
+
 	boolean isMultiTenancyEnabled();
 
 	CurrentTenantIdentifierResolver getCurrentTenantIdentifierResolver();
@@ -174,6 +195,20 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isDirectReferenceCacheEntriesEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_COMPACT_QUERY_CACHE_ENTRIES
+	 */
+	default boolean isCompactQueryCacheEntriesEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES
+	 */
+	default boolean isBinaryCacheEntriesEnabled() {
+		return false;
+	}
+
 	boolean isAutoEvictCollectionCache();
 
 	SchemaAutoTooling getSchemaAutoTooling();
@@ -188,6 +223,20 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	Integer getJdbcFetchSize();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_FETCH_SIZE
+	 */
+	default boolean isAdaptiveFetchSizeEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#FETCH_SIZE_MEMORY_BUDGET
+	 */
+	default int getFetchSizeMemoryBudget() {
+		return 0;
+	}
+
 	PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode();
 
 	default boolean doesConnectionProviderDisableAutoCommit() {
@@ -0,0 +1,536 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Incubating;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.EntityVersionMapping;
+import org.hibernate.metamodel.mapping.internal.ToOneAttributeMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+
+/**
+ * Binary CacheEntry format for entities.  Used to store the entry into the second-level cache
+ * as a single byte array, in which the disassembled state is encoded according to the Java
+ * type of each attribute mapping of the entity.
+ * <p>
+ * The byte array starts with the {@linkplain #LAYOUT_VERSION version} of the layout, the name
+ * of the entity, and a fingerprint of the attributes of the entity and of their encodings,
+ * followed by the version and the state of the entity.  Each value is preceded by a tag telling
+ * whether it is null, encoded, or serialized.  Values of types which have no encoding, or of an
+ * unexpected type, are serialized together at the end of the byte array.
+ * <p>
+ * Older entries are not read: an entry written with any other layout version, or with a
+ * fingerprint other than that of this mapping, is {@linkplain #destructure destructured} to
+ * {@code null}, and must be treated as a cache miss.  An unstructured entry, that is, an entry
+ * written by a node not using the binary format, is read as is.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES
+ *
+ * @since 6.3
+ */
+@Incubating
+public class BinaryCacheEntry implements CacheEntryStructure {
+	/**
+	 * The version of the layout of the entries written by this class
+	 */
+	public static final byte LAYOUT_VERSION = 1;
+
+	// value tags
+	private static final byte NULL = 0;
+	private static final byte VALUE = 1;
+	private static final byte SERIALIZED = 2;
+	private static final byte UNFETCHED = 3;
+	private static final byte UNKNOWN = 4;
+
+	// value encodings, which are part of the fingerprint and must never be renumbered
+	private static final byte OBJECT = 0;
+	private static final byte BOOLEAN = 1;
+	private static final byte BYTE = 2;
+	private static final byte SHORT = 3;
+	private static final byte INTEGER = 4;
+	private static final byte LONG = 5;
+	private static final byte FLOAT = 6;
+	private static final byte DOUBLE = 7;
+	private static final byte CHARACTER = 8;
+	private static final byte STRING = 9;
+	private static final byte BIG_INTEGER = 10;
+	private static final byte BIG_DECIMAL = 11;
+	private static final byte UUID_VALUE = 12;
+	private static final byte LOCAL_DATE = 13;
+	private static final byte LOCAL_DATE_TIME = 14;
+	private static final byte INSTANT = 15;
+	private static final byte ENUM = 16;
+	private static final byte BYTES = 17;
+
+	// the longest string sure to fit into the 65535 bytes of modified UTF-8 allowed by writeUTF()
+	private static final int MAX_STRING_LENGTH = 65535 / 3;
+
+	// stands for a value serialized at the end of the entry
+	private static final Object SERIALIZED_MARKER = new Object();
+
+	private final EntityPersister persister;
+	private volatile Layout layout;
+
+	/**
+	 * Constructs a BinaryCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 */
+	public BinaryCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Layout layout = entry.getSubclass().equals( persister.getEntityName() )
+				? getLayout()
+				: resolveLayout( entry.getSubclass(), persister.getFactory() );
+		final Serializable[] state = entry.getDisassembledState();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 16 + 8 * state.length );
+		final DataOutputStream out = new DataOutputStream( bytes );
+		try {
+			out.writeByte( LAYOUT_VERSION );
+			out.writeUTF( entry.getSubclass() );
+			out.writeInt( layout.fingerprint );
+			final List<Object> serialized = new ArrayList<>();
+			writeValue( out, entry.getVersion(), layout.versionEncoding, layout.versionJavaType, serialized );
+			for ( int i = 0; i < state.length; i++ ) {
+				writeValue( out, state[i], layout.encodings[i], layout.javaTypes[i], serialized );
+			}
+			if ( !serialized.isEmpty() ) {
+				final byte[] objects = SerializationHelper.serialize( serialized.toArray() );
+				out.writeInt( objects.length );
+				out.write( objects );
+			}
+			out.flush();
+		}
+		catch (IOException e) {
+			throw new CacheException( "Could not write binary cache entry for entity " + entry.getSubclass(), e );
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		if ( !( structured instanceof byte[] ) ) {
+			// an entry written by a node which does not use the binary format
+			return structured instanceof CacheEntry ? structured : null;
+		}
+		final byte[] bytes = (byte[]) structured;
+		final DataInputStream in = new DataInputStream( new ByteArrayInputStream( bytes ) );
+		try {
+			if ( in.readByte() != LAYOUT_VERSION ) {
+				return null;
+			}
+			final String subclass = in.readUTF();
+			final Layout layout = subclass.equals( persister.getEntityName() )
+					? getLayout()
+					: resolveLayout( subclass, factory );
+			if ( layout == null || in.readInt() != layout.fingerprint ) {
+				return null;
+			}
+
+			final int[] serializedPositions = new int[layout.encodings.length + 1];
+			int serializedCount = 0;
+			final Object version = readValue( in, layout.versionEncoding, layout.versionJavaType );
+			if ( version == SERIALIZED_MARKER ) {
+				serializedPositions[serializedCount++] = -1;
+			}
+			final Serializable[] state = new Serializable[layout.encodings.length];
+			for ( int i = 0; i < state.length; i++ ) {
+				final Object value = readValue( in, layout.encodings[i], layout.javaTypes[i] );
+				if ( value == SERIALIZED_MARKER ) {
+					serializedPositions[serializedCount++] = i;
+				}
+				else {
+					state[i] = (Serializable) value;
+				}
+			}
+
+			Object resolvedVersion = version;
+			if ( serializedCount > 0 ) {
+				final byte[] objectBytes = new byte[in.readInt()];
+				in.readFully( objectBytes );
+				final Object[] objects = (Object[]) SerializationHelper.deserialize( objectBytes );
+				for ( int i = 0; i < serializedCount; i++ ) {
+					final int position = serializedPositions[i];
+					if ( position < 0 ) {
+						resolvedVersion = objects[i];
+					}
+					else {
+						state[position] = (Serializable) objects[i];
+					}
+				}
+			}
+			return new StandardCacheEntryImpl( state, subclass, resolvedVersion );
+		}
+		catch (IOException e) {
+			throw new CacheException( "Could not read binary cache entry for entity " + persister.getEntityName(), e );
+		}
+	}
+
+	private Layout getLayout() {
+		Layout layout = this.layout;
+		if ( layout == null ) {
+			// the attribute mappings are not available until the mapping model is complete
+			layout = new Layout( persister );
+			this.layout = layout;
+		}
+		return layout;
+	}
+
+	private static Layout resolveLayout(String entityName, SessionFactoryImplementor factory) {
+		final EntityPersister subclassPersister = factory
+				.getRuntimeMetamodels()
+				.getMappingMetamodel()
+				.findEntityDescriptor( entityName );
+		if ( subclassPersister == null ) {
+			return null;
+		}
+		final CacheEntryStructure structure = subclassPersister.getCacheEntryStructure();
+		return structure instanceof BinaryCacheEntry
+				? ( (BinaryCacheEntry) structure ).getLayout()
+				: new Layout( subclassPersister );
+	}
+
+	/**
+	 * The encodings of the version and of the state of an entity
+	 */
+	private static class Layout {
+		private final byte[] encodings;
+		private final Class<?>[] javaTypes;
+		private final byte versionEncoding;
+		private final Class<?> versionJavaType;
+		private final int fingerprint;
+
+		private Layout(EntityPersister persister) {
+			final String[] names = persister.getPropertyNames();
+			encodings = new byte[names.length];
+			javaTypes = new Class<?>[names.length];
+			for ( int i = 0; i < persister.getNumberOfAttributeMappings(); i++ ) {
+				final AttributeMapping attributeMapping = persister.getAttributeMapping( i );
+				final int position = attributeMapping.getStateArrayPosition();
+				javaTypes[position] = resolveJavaType( attributeMapping );
+				encodings[position] = encoding( javaTypes[position] );
+			}
+			final EntityVersionMapping versionMapping = persister.getVersionMapping();
+			versionJavaType = versionMapping == null ? null : versionMapping.getJavaType().getJavaTypeClass();
+			versionEncoding = encoding( versionJavaType );
+
+			int fingerprint = persister.getEntityName().hashCode();
+			fingerprint = 31 * fingerprint + versionEncoding;
+			for ( int i = 0; i < names.length; i++ ) {
+				fingerprint = 31 * fingerprint + names[i].hashCode();
+				fingerprint = 31 * fingerprint + encodings[i];
+				if ( encodings[i] == ENUM ) {
+					// enum values are encoded by name, so an entry is only readable by the same constants
+					for ( Object constant : javaTypes[i].getEnumConstants() ) {
+						fingerprint = 31 * fingerprint + ( (Enum<?>) constant ).name().hashCode();
+					}
+				}
+			}
+			this.fingerprint = fingerprint;
+		}
+
+		private static Class<?> resolveJavaType(AttributeMapping attributeMapping) {
+			if ( attributeMapping instanceof ToOneAttributeMapping ) {
+				// the disassembled state of an association is the key of the associated entity
+				return ( (ToOneAttributeMapping) attributeMapping ).getForeignKeyDescriptor()
+						.getTargetPart()
+						.getJavaType()
+						.getJavaTypeClass();
+			}
+			else {
+				return attributeMapping.getJavaType().getJavaTypeClass();
+			}
+		}
+	}
+
+	private static byte encoding(Class<?> javaType) {
+		if ( javaType == null ) {
+			return OBJECT;
+		}
+		else if ( javaType == Boolean.class || javaType == boolean.class ) {
+			return BOOLEAN;
+		}
+		else if ( javaType == Byte.class || javaType == byte.class ) {
+			return BYTE;
+		}
+		else if ( javaType == Short.class || javaType == short.class ) {
+			return SHORT;
+		}
+		else if ( javaType == Integer.class || javaType == int.class ) {
+			return INTEGER;
+		}
+		else if ( javaType == Long.class || javaType == long.class ) {
+			return LONG;
+		}
+		else if ( javaType == Float.class || javaType == float.class ) {
+			return FLOAT;
+		}
+		else if ( javaType == Double.class || javaType == double.class ) {
+			return DOUBLE;
+		}
+		else if ( javaType == Character.class || javaType == char.class ) {
+			return CHARACTER;
+		}
+		else if ( javaType == String.class ) {
+			return STRING;
+		}
+		else if ( javaType == BigInteger.class ) {
+			return BIG_INTEGER;
+		}
+		else if ( javaType == BigDecimal.class ) {
+			return BIG_DECIMAL;
+		}
+		else if ( javaType == UUID.class ) {
+			return UUID_VALUE;
+		}
+		else if ( javaType == LocalDate.class ) {
+			return LOCAL_DATE;
+		}
+		else if ( javaType == LocalDateTime.class ) {
+			return LOCAL_DATE_TIME;
+		}
+		else if ( javaType == Instant.class ) {
+			return INSTANT;
+		}
+		else if ( javaType.isEnum() ) {
+			return ENUM;
+		}
+		else if ( javaType == byte[].class ) {
+			return BYTES;
+		}
+		else {
+			return OBJECT;
+		}
+	}
+
+	private static boolean isEncodable(Object value, byte encoding, Class<?> javaType) {
+		switch ( encoding ) {
+			case BOOLEAN:
+				return value instanceof Boolean;
+			case BYTE:
+				return value instanceof Byte;
+			case SHORT:
+				return value instanceof Short;
+			case INTEGER:
+				return value instanceof Integer;
+			case LONG:
+				return value instanceof Long;
+			case FLOAT:
+				return value instanceof Float;
+			case DOUBLE:
+				return value instanceof Double;
+			case CHARACTER:
+				return value instanceof Character;
+			case STRING:
+				return value instanceof String && ( (String) value ).length() <= MAX_STRING_LENGTH;
+			case BIG_INTEGER:
+				return value.getClass() == BigInteger.class;
+			case BIG_DECIMAL:
+				return value.getClass() == BigDecimal.class;
+			case UUID_VALUE:
+				return value instanceof UUID;
+			case LOCAL_DATE:
+				return value instanceof LocalDate;
+			case LOCAL_DATE_TIME:
+				return value instanceof LocalDateTime;
+			case INSTANT:
+				return value instanceof Instant;
+			case ENUM:
+				return value instanceof Enum && ( (Enum<?>) value ).getDeclaringClass() == javaType;
+			case BYTES:
+				return value instanceof byte[];
+			default:
+				return false;
+		}
+	}
+
+	private static void writeValue(
+			DataOutputStream out,
+			Object value,
+			byte encoding,
+			Class<?> javaType,
+			List<Object> serialized) throws IOException {
+		if ( value == null ) {
+			out.writeByte( NULL );
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			out.writeByte( UNFETCHED );
+		}
+		else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			out.writeByte( UNKNOWN );
+		}
+		else if ( isEncodable( value, encoding, javaType ) ) {
+			out.writeByte( VALUE );
+			writeEncodedValue( out, value, encoding );
+		}
+		else {
+			out.writeByte( SERIALIZED );
+			serialized.add( value );
+		}
+	}
+
+	private static void writeEncodedValue(DataOutputStream out, Object value, byte encoding) throws IOException {
+		switch ( encoding ) {
+			case BOOLEAN:
+				out.writeBoolean( (Boolean) value );
+				break;
+			case BYTE:
+				out.writeByte( (Byte) value );
+				break;
+			case SHORT:
+				out.writeShort( (Short) value );
+				break;
+			case INTEGER:
+				out.writeInt( (Integer) value );
+				break;
+			case LONG:
+				out.writeLong( (Long) value );
+				break;
+			case FLOAT:
+				out.writeFloat( (Float) value );
+				break;
+			case DOUBLE:
+				out.writeDouble( (Double) value );
+				break;
+			case CHARACTER:
+				out.writeChar( (Character) value );
+				break;
+			case STRING:
+				out.writeUTF( (String) value );
+				break;
+			case BIG_INTEGER:
+				writeBytes( out, ( (BigInteger) value ).toByteArray() );
+				break;
+			case BIG_DECIMAL:
+				out.writeInt( ( (BigDecimal) value ).scale() );
+				writeBytes( out, ( (BigDecimal) value ).unscaledValue().toByteArray() );
+				break;
+			case UUID_VALUE:
+				out.writeLong( ( (UUID) value ).getMostSignificantBits() );
+				out.writeLong( ( (UUID) value ).getLeastSignificantBits() );
+				break;
+			case LOCAL_DATE:
+				out.writeLong( ( (LocalDate) value ).toEpochDay() );
+				break;
+			case LOCAL_DATE_TIME:
+				out.writeLong( ( (LocalDateTime) value ).toLocalDate().toEpochDay() );
+				out.writeLong( ( (LocalDateTime) value ).toLocalTime().toNanoOfDay() );
+				break;
+			case INSTANT:
+				out.writeLong( ( (Instant) value ).getEpochSecond() );
+				out.writeInt( ( (Instant) value ).getNano() );
+				break;
+			case ENUM:
+				out.writeUTF( ( (Enum<?>) value ).name() );
+				break;
+			case BYTES:
+				writeBytes( out, (byte[]) value );
+				break;
+			default:
+				throw new AssertionError( "Unknown encoding " + encoding );
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	private static Object readValue(DataInputStream in, byte encoding, Class<?> javaType) throws IOException {
+		final byte tag = in.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN:
+				return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+			case SERIALIZED:
+				return SERIALIZED_MARKER;
+			case VALUE:
+				return readEncodedValue( in, encoding, javaType );
+			default:
+				throw new CacheException( "Unknown value tag " + tag + " in binary cache entry" );
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object readEncodedValue(DataInputStream in, byte encoding, Class<?> javaType) throws IOException {
+		switch ( encoding ) {
+			case BOOLEAN:
+				return in.readBoolean();
+			case BYTE:
+				return in.readByte();
+			case SHORT:
+				return in.readShort();
+			case INTEGER:
+				return in.readInt();
+			case LONG:
+				return in.readLong();
+			case FLOAT:
+				return in.readFloat();
+			case DOUBLE:
+				return in.readDouble();
+			case CHARACTER:
+				return in.readChar();
+			case STRING:
+				return in.readUTF();
+			case BIG_INTEGER:
+				return new BigInteger( readBytes( in ) );
+			case BIG_DECIMAL:
+				final int scale = in.readInt();
+				return new BigDecimal( new BigInteger( readBytes( in ) ), scale );
+			case UUID_VALUE:
+				return new UUID( in.readLong(), in.readLong() );
+			case LOCAL_DATE:
+				return LocalDate.ofEpochDay( in.readLong() );
+			case LOCAL_DATE_TIME:
+				final LocalDate date = LocalDate.ofEpochDay( in.readLong() );
+				return LocalDateTime.of( date, LocalTime.ofNanoOfDay( in.readLong() ) );
+			case INSTANT:
+				final long seconds = in.readLong();
+				return Instant.ofEpochSecond( seconds, in.readInt() );
+			case ENUM:
+				return Enum.valueOf( (Class) javaType, in.readUTF() );
+			case BYTES:
+				return readBytes( in );
+			default:
+				throw new CacheException( "Unknown value encoding " + encoding + " in binary cache entry" );
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[in.readInt()];
+		in.readFully( bytes );
+		return bytes;
+	}
+}
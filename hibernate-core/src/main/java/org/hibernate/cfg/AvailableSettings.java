@@ -1085,6 +1085,40 @@ public interface AvailableSettings {
 	 */
 	String STATEMENT_FETCH_SIZE = "hibernate.jdbc.fetch_size";
 
+	/**
+	 * When enabled, and no fetch size is specified by {@value #STATEMENT_FETCH_SIZE}
+	 * or by the query, specifies that the fetch size of the JDBC statement executing
+	 * a query starts small, so that the first rows are returned quickly, and is then
+	 * doubled every time the rows already fetched have been read.
+	 * <p>
+	 * The initial and maximum fetch sizes are determined by the
+	 * {@linkplain org.hibernate.dialect.Dialect#getInitialAdaptiveFetchSize() dialect},
+	 * and the maximum is further limited by {@value #FETCH_SIZE_MEMORY_BUDGET}.
+	 * Native queries are not affected, since the columns they select are only
+	 * known once they are executed.
+	 * <p>
+	 * By default, the adaptive fetch size is disabled.
+	 *
+	 * @see java.sql.ResultSet#setFetchSize(int)
+	 *
+	 * @since 6.3
+	 */
+	String ADAPTIVE_FETCH_SIZE = "hibernate.jdbc.adaptive_fetch_size";
+
+	/**
+	 * The approximate number of bytes that the rows fetched at once from the database
+	 * may occupy when the {@linkplain #ADAPTIVE_FETCH_SIZE adaptive fetch size} is
+	 * enabled. The size of each row is estimated from the types of the columns
+	 * selected by the query, and the fetch size of the query, including the initial
+	 * one, never exceeds the number of rows which fit in this budget.
+	 * <p>
+	 * The default budget is 1 MiB.  If set to zero, the fetch size is only limited
+	 * by the dialect.
+	 *
+	 * @since 6.3
+	 */
+	String FETCH_SIZE_MEMORY_BUDGET = "hibernate.jdbc.fetch_size_memory_budget";
+
 	/**
 	 * Specifies the maximum JDBC batch size. A nonzero value enables batch updates.
 	 *
@@ -1106,6 +1140,73 @@ public interface AvailableSettings {
 	 */
 	String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
 
+	/**
+	 * When enabled, specifies that batched inserts into a single table should be
+	 * coalesced into one multi-row {@code insert ... values (...),(...)} statement,
+	 * instead of relying on {@link java.sql.PreparedStatement#addBatch()}. This is
+	 * useful with drivers which do not rewrite JDBC batches themselves.
+	 * <p>
+	 * The number of rows per statement is limited by the {@linkplain #STATEMENT_BATCH_SIZE
+	 * batch size} and by the {@linkplain org.hibernate.dialect.Dialect#getParameterCountLimit()
+	 * parameter limit} of the {@link org.hibernate.dialect.Dialect}. The setting has no effect
+	 * if the Dialect does not {@linkplain org.hibernate.dialect.Dialect#supportsValuesListForInsert()
+	 * support} multi-row inserts, to inserts using custom SQL, or with a non-standard
+	 * {@linkplain org.hibernate.sql.ast.spi.ParameterMarkerStrategy parameter marker strategy}.
+	 * <p>
+	 * Disabled by default.
+	 *
+	 * @since 6.3
+	 */
+	String BATCH_MULTI_ROW_INSERTS = "hibernate.jdbc.batch_multi_row_inserts";
+
+	/**
+	 * When enabled, specifies that the JDBC batch size should be chosen separately for
+	 * each {@linkplain org.hibernate.engine.jdbc.batch.spi.BatchKey batch key}, based on
+	 * the measured latency of {@link java.sql.PreparedStatement#executeBatch()} and the
+	 * estimated number of bytes bound per batch. The batch size starts at the
+	 * {@linkplain #STATEMENT_BATCH_SIZE configured batch size} and grows or shrinks within
+	 * the bounds given by {@value #BATCH_ADAPTIVE_MIN_SIZE}, {@value #BATCH_ADAPTIVE_MAX_SIZE}
+	 * and {@value #BATCH_ADAPTIVE_MAX_BYTES}.
+	 * <p>
+	 * The chosen sizes are reported by {@link org.hibernate.stat.Statistics#getJdbcBatchSize(String)}.
+	 * The setting has no effect unless batching is enabled, and a batch size set explicitly by
+	 * {@link org.hibernate.SharedSessionContract#setJdbcBatchSize(Integer)} is used as is.
+	 * <p>
+	 * Disabled by default.
+	 *
+	 * @since 6.3
+	 */
+	String BATCH_ADAPTIVE = "hibernate.jdbc.batch_adaptive";
+
+	/**
+	 * The smallest batch size chosen by {@linkplain #BATCH_ADAPTIVE adaptive batch sizing}.
+	 * <p>
+	 * Defaults to {@code 1}.
+	 *
+	 * @since 6.3
+	 */
+	String BATCH_ADAPTIVE_MIN_SIZE = "hibernate.jdbc.batch_adaptive_min_size";
+
+	/**
+	 * The largest batch size chosen by {@linkplain #BATCH_ADAPTIVE adaptive batch sizing}.
+	 * <p>
+	 * Defaults to {@code 1000}, or to the {@linkplain #STATEMENT_BATCH_SIZE configured
+	 * batch size}, if that is larger.
+	 *
+	 * @since 6.3
+	 */
+	String BATCH_ADAPTIVE_MAX_SIZE = "hibernate.jdbc.batch_adaptive_max_size";
+
+	/**
+	 * The estimated number of bytes of parameter values a single batch may bind before
+	 * {@linkplain #BATCH_ADAPTIVE adaptive batch sizing} shrinks the batch size.
+	 * <p>
+	 * Defaults to 4 MiB.
+	 *
+	 * @since 6.3
+	 */
+	String BATCH_ADAPTIVE_MAX_BYTES = "hibernate.jdbc.batch_adaptive_max_bytes";
+
 	/**
 	 * Specifies the {@linkplain java.util.TimeZone time zone} to use in the JDBC driver,
 	 * which is supposed to match the database timezone.
@@ -1250,6 +1351,52 @@ public interface AvailableSettings {
 	 */
 	String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * When enabled, specifies that the plans of named HQL select queries be built
+	 * and translated to SQL when the {@link org.hibernate.SessionFactory} is created,
+	 * instead of on their first execution, and kept in the
+	 * {@linkplain org.hibernate.query.spi.QueryInterpretationCache query plan cache}.
+	 * <p>
+	 * A named query is prepared without a result type, just as if it was created by
+	 * {@code createNamedQuery(name)}. A query created with an explicit result type
+	 * uses a plan of its own, built on its first execution. The time taken to
+	 * prepare each query is logged at {@code DEBUG} level.
+	 * <p>
+	 * By default, query plans are not prepared at startup.
+	 *
+	 * @see #QUERY_PLAN_WARM_UP_THREADS
+	 * @see #QUERY_PLAN_WARM_UP_FILE
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_PLAN_WARM_UP = "hibernate.query.plan_warm_up";
+
+	/**
+	 * The number of background threads which prepare query plans when
+	 * {@value #QUERY_PLAN_WARM_UP} is enabled.
+	 * <p>
+	 * By default, query plans are prepared by the thread creating the
+	 * {@link org.hibernate.SessionFactory}, before it is returned.
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_PLAN_WARM_UP_THREADS = "hibernate.query.plan_warm_up_threads";
+
+	/**
+	 * A file listing HQL select queries, with their result types, whose plans
+	 * are prepared at startup when {@value #QUERY_PLAN_WARM_UP} is enabled, in
+	 * addition to the plans of named queries.
+	 * <p>
+	 * When the {@link org.hibernate.SessionFactory} is closed, the file is
+	 * overwritten with the queries whose plans are in the query plan cache at
+	 * that time, so that they are prepared on the next start. Since plans refer
+	 * to the runtime model, only the queries are kept, and a query which cannot
+	 * be prepared with the current mapping is skipped.
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_PLAN_WARM_UP_FILE = "hibernate.query.plan_warm_up_file";
+
 	/**
 	 * Enable ordering of update statements by primary key value, for the purpose of more
 	 * efficient JDBC batching
@@ -1266,6 +1413,63 @@ public interface AvailableSettings {
 	 */
 	String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * When enabled, specifies that a flush should first perform a quick check of
+	 * the state of each entity which is not bytecode enhanced for dirty tracking,
+	 * skipping the full property-by-property dirty check for entities whose
+	 * immutable-typed properties still hold the very instances which were loaded,
+	 * and whose mutable-typed properties are unchanged.
+	 * <p>
+	 * This benefits sessions holding many entities, only a few of which are
+	 * modified, but adds a little overhead when most entities are modified.
+	 * <p>
+	 * By default, the quick check is disabled.
+	 *
+	 * @see org.hibernate.persister.entity.EntityPersister#isUnmodified
+	 *
+	 * @since 6.3
+	 */
+	String FLUSH_QUICK_DIRTY_CHECK = "hibernate.flush.quick_dirty_check";
+
+	/**
+	 * When enabled, specifies that an {@linkplain org.hibernate.FlushMode#AUTO automatic}
+	 * flush before query execution should be skipped entirely, without dirty checking
+	 * the session, when the persistence context holds no entity or collection whose
+	 * flush could affect the tables queried, and no pending action affects them.
+	 * <p>
+	 * An entity may affect the queried tables if it is persisted to one of them, if
+	 * it owns a collection persisted to one of them, or if it cascades, directly or
+	 * transitively, to an entity which may affect them. The check costs one lookup
+	 * per type of managed entity, not per managed entity. Note that modifications made to entities by flush-time callbacks or
+	 * interceptors of unrelated entities are not taken into account.
+	 * <p>
+	 * By default, every automatic flush dirty checks the whole persistence context.
+	 *
+	 * @since 6.3
+	 */
+	String AUTO_FLUSH_QUERY_SPACE_CHECK = "hibernate.flush.auto.query_space_check";
+
+	/**
+	 * Specifies the minimum number of entities a persistence context must hold for
+	 * a flush to first check, in parallel, which entities are probably unmodified,
+	 * before processing the entities one by one on the calling thread. The state of
+	 * an entity found to be unmodified is read again when it is flushed, and, if it
+	 * is still unmodified, compared without resolving associations, instead of
+	 * being fully dirty checked.
+	 * <p>
+	 * The parallel check runs in the {@linkplain java.util.concurrent.ForkJoinPool#commonPool()
+	 * common pool}, and reads the property values of entities from multiple threads,
+	 * so it should only be enabled when reading the state of entities, for example,
+	 * through property getters, is free of side effects. The parallel check never
+	 * uses the session, and interceptors and callbacks are always called on the
+	 * calling thread, and in the usual order.
+	 * <p>
+	 * By default, or if set to zero, the parallel check is disabled.
+	 *
+	 * @since 6.3
+	 */
+	String FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD = "hibernate.flush.parallel_dirty_check_threshold";
+
 	/**
 	 * Allows JPA callbacks (via {@link jakarta.persistence.PreUpdate} and friends) to be
 	 * completely disabled. Mostly useful to save some memory when they are not used.
@@ -1518,6 +1722,43 @@ public interface AvailableSettings {
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * Enables the compact encoding of query cache entries. The rows of a cached query
+	 * result are then encoded column by column into a single byte array, according to
+	 * the types of the selected columns, instead of being stored as arrays of objects.
+	 * This greatly reduces the size of the entries when the query cache region is
+	 * distributed, and the entries are serialized.
+	 * <p>
+	 * Values of types which have no compact encoding are still stored as objects.
+	 * <p>
+	 * By default, query results are cached as arrays of objects.
+	 *
+	 * @since 6.3
+	 */
+	String USE_COMPACT_QUERY_CACHE_ENTRIES = "hibernate.cache.use_compact_query_entries";
+
+	/**
+	 * Enables the binary encoding of second-level cache entries for entities. The
+	 * state of a cached entity is then encoded into a single byte array, according
+	 * to the types of its attributes, instead of being stored as an array of objects.
+	 * This reduces the size of the entries, and the cost of serializing them, when
+	 * the cache region is distributed.
+	 * <p>
+	 * The encoding carries a layout version, and a fingerprint of the mapping of the
+	 * entity. Entries written with any other layout version, including an older one,
+	 * or by a different mapping of the entity, are skipped: they are counted as cache
+	 * misses, and the entity is loaded from the database and cached again.
+	 * <p>
+	 * Has no effect when {@value #USE_STRUCTURED_CACHE} is enabled.
+	 * <p>
+	 * By default, the state of cached entities is stored as arrays of objects.
+	 *
+	 * @see org.hibernate.cache.spi.entry.BinaryCacheEntry
+	 *
+	 * @since 6.3
+	 */
+	String USE_BINARY_CACHE_ENTRIES = "hibernate.cache.use_binary_entries";
+
 	/**
 	 * Enables the automatic eviction of a bidirectional association's collection
 	 * cache when an element in the {@link jakarta.persistence.ManyToOne} collection
@@ -1614,6 +1855,71 @@ public interface AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_MAX_SIZE = "hibernate.query.plan_cache_max_size";
 
+	/**
+	 * When set, the maximum total {@linkplain org.hibernate.query.spi.QueryPlan#getCacheWeight()
+	 * weight} of the plans held by the {@linkplain org.hibernate.query.spi.QueryPlanCache query
+	 * plan cache}, in place of the maximum number given by {@value #QUERY_PLAN_CACHE_MAX_SIZE}.
+	 * Plans of queries with many joins then count for more than plans of simple queries.
+	 * <p>
+	 * By default, the query plan cache is bounded by the number of plans.
+	 *
+	 * @see org.hibernate.query.spi.QueryPlanCache
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_PLAN_CACHE_MAX_WEIGHT = "hibernate.query.plan_cache_max_weight";
+
+	/**
+	 * Specifies the kind of bounded cache used by the
+	 * {@linkplain org.hibernate.query.spi.QueryInterpretationCache query
+	 * interpretation cache}, either:
+	 * <ul>
+	 *     <li>{@code "tinylfu"}, the default, for a cache which never blocks
+	 *     reads and decides which entries to evict according to how often they
+	 *     were recently used, see {@link org.hibernate.internal.util.cache.TinyLfuCache},
+	 *     <li>{@code "lirs"}, for the caches used before Hibernate 6.3, or
+	 *     <li>an instance of {@link org.hibernate.internal.util.cache.InternalCacheFactory},
+	 *     a {@link Class} implementing it, or the name of such a class.
+	 * </ul>
+	 *
+	 * @see org.hibernate.internal.util.cache.InternalCacheFactory
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_PLAN_CACHE_FACTORY = "hibernate.query.plan_cache_factory";
+
+	/**
+	 * The maximum number of HQL queries whose SQM tree is cached by the text of
+	 * the query with its string and integer literals replaced by placeholders.
+	 * A query which differs from a cached one only in the values of its literals
+	 * is then not parsed again, but copied from the cached tree with its own
+	 * literal values. This complements the
+	 * {@linkplain org.hibernate.query.spi.QueryInterpretationCache query
+	 * interpretation cache}, which only serves queries with identical text, and
+	 * is sized independently of it.
+	 * <p>
+	 * Queries whose literals affect the structure of the tree, for example an
+	 * ordinal reference in the {@code order by} clause, or in which the same
+	 * literal value occurs more than once, are always parsed.
+	 * <p>
+	 * The default is {@code 0}, which disables this cache.
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_HQL_TEMPLATE_CACHE_MAX_SIZE = "hibernate.query.hql_template_cache_max_size";
+
+	/**
+	 * The maximum number of states in the prediction cache which the HQL parser
+	 * shares between all queries, and which grows with every new shape of query.
+	 * Once it holds more states, it is discarded, and a new one is built as queries
+	 * are parsed.
+	 * <p>
+	 * The default is {@code 100000}. A value of {@code 0} never discards it.
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_HQL_PARSER_CACHE_MAX_STATES = "hibernate.query.hql_parser_cache_max_states";
+
 	/**
 	 * The maximum number of {@link org.hibernate.query.ParameterMetadata} instances
 	 * maintained by the {@link org.hibernate.query.spi.QueryInterpretationCache}.
@@ -2666,6 +2972,10 @@ public interface AvailableSettings {
 	 * integer power of two: 4, 8, 16, 32, 64. Thus, if 5, 6, or 7 arguments are bound
 	 * to a parameter, a SQL statement with 8 bind parameters in the {@code IN} clause
 	 * will be used, and null will be bound to the left-over parameters.
+	 * <p>
+	 * Since 6.3, this setting also allows the query plans of queries with multivalued
+	 * parameters to be cached, with a plan for each size the {@code IN} lists are
+	 * padded to, and the last argument is bound to the left-over parameters.
 	 *
 	 * @since 5.2.17
 	 */
@@ -3201,6 +3511,22 @@ public interface AvailableSettings {
 	 */
 	String DISCARD_PC_ON_CLOSE = "hibernate.discard_pc_on_close";
 
+	/**
+	 * Specifies the {@link org.hibernate.engine.spi.PersistenceContextStorage} used to
+	 * create the maps holding the entity instances, snapshots and collections of a
+	 * persistence context. Accepts:
+	 * <ul>
+	 *     <li>{@code "standard"}, the default, which uses {@link java.util.HashMap},
+	 *     <li>{@code "open-addressing"}, which uses open addressing tables specialized
+	 *     by entity hierarchy, and is more compact for very large persistence contexts,
+	 *     <li>an instance of {@code PersistenceContextStorage}, or
+	 *     <li>the name of a class implementing {@code PersistenceContextStorage}.
+	 * </ul>
+	 *
+	 * @since 6.3
+	 */
+	String PERSISTENCE_CONTEXT_STORAGE = "hibernate.persistence_context.storage";
+
 	/**
 	 * Whether XML should be validated against their schema as Hibernate reads them.
 	 * <p>
@@ -55,6 +55,8 @@ import org.hibernate.boot.model.relational.Sequence;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.dialect.aggregate.AggregateSupport;
 import org.hibernate.dialect.aggregate.AggregateSupportImpl;
+import org.hibernate.dialect.bulk.BulkLoadSupport;
+import org.hibernate.dialect.bulk.NoBulkLoadSupport;
 import org.hibernate.dialect.function.CastFunction;
 import org.hibernate.dialect.function.CastStrEmulation;
 import org.hibernate.dialect.function.CoalesceIfnullEmulation;
@@ -1582,6 +1584,29 @@ public abstract class Dialect implements ConversionContext, TypeContributor, Fun
 		return true;
 	}
 
+	/**
+	 * The fetch size of a query when the {@linkplain org.hibernate.cfg.AvailableSettings#ADAPTIVE_FETCH_SIZE
+	 * adaptive fetch size} is enabled, before any rows have been read.
+	 *
+	 * @return the initial fetch size, or {@code 0} if the fetch size should not
+	 *         be adapted for this database
+	 *
+	 * @since 6.3
+	 */
+	public int getInitialAdaptiveFetchSize() {
+		return 16;
+	}
+
+	/**
+	 * The fetch size beyond which the {@linkplain org.hibernate.cfg.AvailableSettings#ADAPTIVE_FETCH_SIZE
+	 * adaptive fetch size} of a query is not grown.
+	 *
+	 * @since 6.3
+	 */
+	public int getMaximumAdaptiveFetchSize() {
+		return 1024;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getName() + ", version: " + getVersion();
@@ -4321,6 +4346,21 @@ public abstract class Dialect implements ConversionContext, TypeContributor, Fun
 		return true;
 	}
 
+	/**
+	 * Get the appropriate {@link BulkLoadSupport} for this dialect,
+	 * used to load rows via the native bulk load protocol of the
+	 * database instead of via batched inserts.
+	 *
+	 * @return the BulkLoadSupport
+	 *
+	 * @see org.hibernate.StatelessSession#bulkInsert(Class, Iterable)
+	 *
+	 * @since 6.3
+	 */
+	public BulkLoadSupport getBulkLoadSupport() {
+		return NoBulkLoadSupport.INSTANCE;
+	}
+
 	/**
 	 * Does this dialect support {@code SKIP_LOCKED} timeout.
 	 *
@@ -32,6 +32,7 @@ import org.hibernate.boot.model.TypeContributions;
 import org.hibernate.boot.model.relational.AuxiliaryDatabaseObject;
 import org.hibernate.boot.model.relational.Sequence;
 import org.hibernate.dialect.aggregate.AggregateSupport;
+import org.hibernate.dialect.bulk.BulkLoadSupport;
 import org.hibernate.dialect.identity.IdentityColumnSupport;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.dialect.pagination.LimitHandler;
@@ -331,6 +332,16 @@ public class DialectDelegateWrapper extends Dialect {
 		return wrapped.getDefaultUseGetGeneratedKeys();
 	}
 
+	@Override
+	public int getInitialAdaptiveFetchSize() {
+		return wrapped.getInitialAdaptiveFetchSize();
+	}
+
+	@Override
+	public int getMaximumAdaptiveFetchSize() {
+		return wrapped.getMaximumAdaptiveFetchSize();
+	}
+
 	@Override
 	public String toString() {
 		return wrapped.toString();
@@ -366,6 +377,11 @@ public class DialectDelegateWrapper extends Dialect {
 		return wrapped.getSequenceSupport();
 	}
 
+	@Override
+	public BulkLoadSupport getBulkLoadSupport() {
+		return wrapped.getBulkLoadSupport();
+	}
+
 	@Override
 	public String getQuerySequencesString() {
 		return wrapped.getQuerySequencesString();
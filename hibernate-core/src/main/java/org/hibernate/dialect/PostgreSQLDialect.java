@@ -27,6 +27,8 @@ import org.hibernate.boot.model.FunctionContributions;
 import org.hibernate.boot.model.TypeContributions;
 import org.hibernate.dialect.aggregate.AggregateSupport;
 import org.hibernate.dialect.aggregate.PostgreSQLAggregateSupport;
+import org.hibernate.dialect.bulk.BulkLoadSupport;
+import org.hibernate.dialect.bulk.PostgreSQLBulkLoadSupport;
 import org.hibernate.dialect.function.CommonFunctionFactory;
 import org.hibernate.dialect.function.PostgreSQLMinMaxFunction;
 import org.hibernate.dialect.function.PostgreSQLTruncFunction;
@@ -742,6 +744,11 @@ public class PostgreSQLDialect extends Dialect {
 		return PostgreSQLSequenceSupport.INSTANCE;
 	}
 
+	@Override
+	public BulkLoadSupport getBulkLoadSupport() {
+		return PostgreSQLBulkLoadSupport.INSTANCE;
+	}
+
 	@Override
 	public String getCascadeConstraintsString() {
 		return " cascade";
@@ -0,0 +1,141 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.dialect.bulk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.TimeZone;
+
+import org.hibernate.Incubating;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+
+/**
+ * Encodes rows of JDBC values in the format expected by a bulk load protocol.
+ * Values are encoded according to the {@link org.hibernate.type.descriptor.jdbc.JdbcType}
+ * and {@link JavaType} of their {@link JdbcMapping}.
+ *
+ * @see CsvBulkLoadEncoder
+ * @see PostgreSQLBinaryBulkLoadEncoder
+ *
+ * @since 6.3
+ */
+@Incubating
+public interface BulkLoadEncoder {
+	/**
+	 * Can values of the given mapping be encoded?
+	 */
+	boolean canEncode(JdbcMapping jdbcMapping);
+
+	/**
+	 * Can values of all columns of the given table be encoded?
+	 */
+	default boolean canEncode(BulkLoadTarget target) {
+		for ( int i = 0; i < target.getColumnCount(); i++ ) {
+			if ( !canEncode( target.getJdbcMapping( i ) ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Write anything which precedes the rows.
+	 */
+	default void writeHeader(BulkLoadTarget target, OutputStream output) throws IOException {
+	}
+
+	/**
+	 * Write a single row.
+	 */
+	void writeRow(BulkLoadTarget target, Object[] row, OutputStream output, WrapperOptions options)
+			throws IOException;
+
+	/**
+	 * Write anything which follows the rows.
+	 */
+	default void writeTrailer(BulkLoadTarget target, OutputStream output) throws IOException {
+	}
+
+	/**
+	 * Write all the given rows, preceded by the header and followed by the trailer.
+	 *
+	 * @return The number of rows written
+	 */
+	default long encode(BulkLoadTarget target, Iterator<Object[]> rows, OutputStream output, WrapperOptions options)
+			throws IOException {
+		writeHeader( target, output );
+		long count = 0;
+		while ( rows.hasNext() ) {
+			writeRow( target, rows.next(), output, options );
+			count++;
+		}
+		writeTrailer( target, output );
+		return count;
+	}
+
+	/**
+	 * Unwrap the given JDBC value of the given mapping to the given Java type.
+	 */
+	@SuppressWarnings("unchecked")
+	static <X> X unwrap(JdbcMapping jdbcMapping, Object value, Class<X> type, WrapperOptions options) {
+		return ( (JavaType<Object>) jdbcMapping.getJdbcJavaType() ).unwrap( value, type, options );
+	}
+
+	/**
+	 * The date of the given JDBC value of a {@link org.hibernate.type.SqlTypes#DATE} mapping,
+	 * as {@link org.hibernate.type.descriptor.jdbc.DateJdbcType} would bind it.
+	 */
+	static LocalDate toLocalDate(JdbcMapping jdbcMapping, Object value, WrapperOptions options) {
+		final Date date = unwrap( jdbcMapping, value, Date.class, options );
+		return value instanceof Calendar
+				? LocalDate.ofInstant( Instant.ofEpochMilli( date.getTime() ), ( (Calendar) value ).getTimeZone().toZoneId() )
+				: date.toLocalDate();
+	}
+
+	/**
+	 * The time of the given JDBC value of a {@link org.hibernate.type.SqlTypes#TIME} mapping,
+	 * in the {@linkplain WrapperOptions#getJdbcTimeZone() JDBC time zone}, as
+	 * {@link org.hibernate.type.descriptor.jdbc.TimeJdbcType} would bind it.
+	 */
+	static LocalTime toLocalTime(JdbcMapping jdbcMapping, Object value, WrapperOptions options) {
+		final Time time = unwrap( jdbcMapping, value, Time.class, options );
+		final TimeZone timeZone = bindingTimeZone( value, options );
+		return timeZone == null
+				? time.toLocalTime()
+				: LocalTime.ofInstant( Instant.ofEpochMilli( time.getTime() ), timeZone.toZoneId() );
+	}
+
+	/**
+	 * The date and time of the given JDBC value of a {@link org.hibernate.type.SqlTypes#TIMESTAMP}
+	 * mapping, in the {@linkplain WrapperOptions#getJdbcTimeZone() JDBC time zone}, as
+	 * {@link org.hibernate.type.descriptor.jdbc.TimestampJdbcType} would bind it.
+	 */
+	static LocalDateTime toLocalDateTime(JdbcMapping jdbcMapping, Object value, WrapperOptions options) {
+		final Timestamp timestamp = unwrap( jdbcMapping, value, Timestamp.class, options );
+		final TimeZone timeZone = bindingTimeZone( value, options );
+		return timeZone == null
+				? timestamp.toLocalDateTime()
+				: LocalDateTime.ofInstant( timestamp.toInstant(), timeZone.toZoneId() );
+	}
+
+	private static TimeZone bindingTimeZone(Object value, WrapperOptions options) {
+		return value instanceof Calendar
+				? ( (Calendar) value ).getTimeZone()
+				: options.getJdbcTimeZone();
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.dialect.bulk;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+
+import org.hibernate.Incubating;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * A strategy for loading rows into a table using the native bulk load
+ * protocol of the database, for example, {@code COPY ... FROM STDIN}
+ * on PostgreSQL, which is typically much faster than batched inserts.
+ *
+ * @see org.hibernate.dialect.Dialect#getBulkLoadSupport()
+ * @see org.hibernate.StatelessSession#bulkInsert(Class, Iterable)
+ *
+ * @since 6.3
+ */
+@Incubating
+public interface BulkLoadSupport {
+	/**
+	 * Can rows of the given table be loaded using the bulk load protocol,
+	 * on the current connection of the given session?
+	 */
+	boolean canBulkLoad(BulkLoadTarget target, SharedSessionContractImplementor session);
+
+	/**
+	 * Load the given rows into the given table, using the current
+	 * connection of the given session.
+	 *
+	 * @param target The table, and the columns of the rows
+	 * @param rows The rows, each an array of JDBC values
+	 * @param session The session
+	 *
+	 * @return The number of rows loaded
+	 */
+	long bulkLoad(BulkLoadTarget target, Iterator<Object[]> rows, SharedSessionContractImplementor session)
+			throws SQLException;
+}
@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.dialect.bulk;
+
+import org.hibernate.Incubating;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+
+/**
+ * Describes the table, and the columns of that table, into which rows
+ * are loaded by a {@link BulkLoadSupport}. The values of each row are
+ * given in the order of the columns described here, as JDBC values of
+ * the corresponding {@link JdbcMapping}.
+ *
+ * @since 6.3
+ */
+@Incubating
+public class BulkLoadTarget {
+	private final String tableName;
+	private final String[] columnNames;
+	private final JdbcMapping[] jdbcMappings;
+
+	public BulkLoadTarget(String tableName, String[] columnNames, JdbcMapping[] jdbcMappings) {
+		assert columnNames.length == jdbcMappings.length;
+		this.tableName = tableName;
+		this.columnNames = columnNames;
+		this.jdbcMappings = jdbcMappings;
+	}
+
+	/**
+	 * The name of the table
+	 */
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * The number of columns, which is also the number of values in each row
+	 */
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	/**
+	 * The name of the column at the given position
+	 */
+	public String getColumnName(int position) {
+		return columnNames[position];
+	}
+
+	/**
+	 * The mapping of the values of the column at the given position
+	 */
+	public JdbcMapping getJdbcMapping(int position) {
+		return jdbcMappings[position];
+	}
+
+	@Override
+	public String toString() {
+		return "BulkLoadTarget(" + tableName + ")";
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.dialect.bulk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+
+import static org.hibernate.dialect.bulk.BulkLoadEncoder.toLocalDate;
+import static org.hibernate.dialect.bulk.BulkLoadEncoder.toLocalDateTime;
+import static org.hibernate.dialect.bulk.BulkLoadEncoder.toLocalTime;
+import static org.hibernate.dialect.bulk.BulkLoadEncoder.unwrap;
+
+/**
+ * Encodes rows as CSV, as described by RFC 4180, with one line per row.
+ * A {@code null} value is encoded as an empty, unquoted field, and an
+ * empty string as an empty, quoted field. Binary values are encoded in
+ * hexadecimal, prefixed by {@code \x}, which is the format understood by
+ * PostgreSQL for {@code bytea} columns.
+ *
+ * @since 6.3
+ */
+public class CsvBulkLoadEncoder implements BulkLoadEncoder {
+
+	public static final CsvBulkLoadEncoder INSTANCE = new CsvBulkLoadEncoder();
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	@Override
+	public boolean canEncode(JdbcMapping jdbcMapping) {
+		switch ( jdbcMapping.getJdbcType().getDefaultSqlTypeCode() ) {
+			case SqlTypes.BIT:
+			case SqlTypes.BOOLEAN:
+			case SqlTypes.TINYINT:
+			case SqlTypes.SMALLINT:
+			case SqlTypes.INTEGER:
+			case SqlTypes.BIGINT:
+			case SqlTypes.REAL:
+			case SqlTypes.FLOAT:
+			case SqlTypes.DOUBLE:
+			case SqlTypes.NUMERIC:
+			case SqlTypes.DECIMAL:
+			case SqlTypes.CHAR:
+			case SqlTypes.NCHAR:
+			case SqlTypes.VARCHAR:
+			case SqlTypes.NVARCHAR:
+			case SqlTypes.LONGVARCHAR:
+			case SqlTypes.LONGNVARCHAR:
+			case SqlTypes.LONG32VARCHAR:
+			case SqlTypes.LONG32NVARCHAR:
+			case SqlTypes.BINARY:
+			case SqlTypes.VARBINARY:
+			case SqlTypes.LONGVARBINARY:
+			case SqlTypes.LONG32VARBINARY:
+			case SqlTypes.DATE:
+			case SqlTypes.TIME:
+			case SqlTypes.TIMESTAMP:
+			case SqlTypes.TIMESTAMP_UTC:
+			case SqlTypes.TIMESTAMP_WITH_TIMEZONE:
+			case SqlTypes.UUID:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	@Override
+	public void writeRow(BulkLoadTarget target, Object[] row, OutputStream output, WrapperOptions options)
+			throws IOException {
+		final StringBuilder line = new StringBuilder();
+		for ( int i = 0; i < row.length; i++ ) {
+			if ( i > 0 ) {
+				line.append( ',' );
+			}
+			if ( row[i] != null ) {
+				appendValue( target.getJdbcMapping( i ), row[i], line, options );
+			}
+		}
+		line.append( '\n' );
+		output.write( line.toString().getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	protected void appendValue(JdbcMapping jdbcMapping, Object value, StringBuilder line, WrapperOptions options) {
+		switch ( jdbcMapping.getJdbcType().getDefaultSqlTypeCode() ) {
+			case SqlTypes.BIT:
+			case SqlTypes.BOOLEAN:
+				line.append( unwrap( jdbcMapping, value, Boolean.class, options ) );
+				break;
+			case SqlTypes.TINYINT:
+			case SqlTypes.SMALLINT:
+			case SqlTypes.INTEGER:
+			case SqlTypes.BIGINT:
+				line.append( unwrap( jdbcMapping, value, Long.class, options ) );
+				break;
+			case SqlTypes.REAL:
+				line.append( unwrap( jdbcMapping, value, Float.class, options ) );
+				break;
+			case SqlTypes.FLOAT:
+			case SqlTypes.DOUBLE:
+				line.append( unwrap( jdbcMapping, value, Double.class, options ) );
+				break;
+			case SqlTypes.NUMERIC:
+			case SqlTypes.DECIMAL:
+				line.append( unwrap( jdbcMapping, value, BigDecimal.class, options ).toPlainString() );
+				break;
+			case SqlTypes.BINARY:
+			case SqlTypes.VARBINARY:
+			case SqlTypes.LONGVARBINARY:
+			case SqlTypes.LONG32VARBINARY:
+				appendBinary( unwrap( jdbcMapping, value, byte[].class, options ), line );
+				break;
+			case SqlTypes.DATE:
+				line.append( toLocalDate( jdbcMapping, value, options ) );
+				break;
+			case SqlTypes.TIME:
+				line.append( toLocalTime( jdbcMapping, value, options ) );
+				break;
+			case SqlTypes.TIMESTAMP:
+				final LocalDateTime localDateTime = toLocalDateTime( jdbcMapping, value, options );
+				line.append( localDateTime.toLocalDate() ).append( ' ' ).append( localDateTime.toLocalTime() );
+				break;
+			case SqlTypes.TIMESTAMP_UTC:
+			case SqlTypes.TIMESTAMP_WITH_TIMEZONE:
+				line.append( unwrap( jdbcMapping, value, OffsetDateTime.class, options ) );
+				break;
+			case SqlTypes.UUID:
+				line.append( unwrap( jdbcMapping, value, UUID.class, options ) );
+				break;
+			default:
+				appendString( unwrap( jdbcMapping, value, String.class, options ), line );
+		}
+	}
+
+	protected void appendBinary(byte[] bytes, StringBuilder line) {
+		line.append( "\\x" );
+		for ( byte b : bytes ) {
+			line.append( HEX_DIGITS[( b >> 4 ) & 0xF] ).append( HEX_DIGITS[b & 0xF] );
+		}
+	}
+
+	protected void appendString(String string, StringBuilder line) {
+		if ( !needsQuoting( string ) ) {
+			line.append( string );
+			return;
+		}
+
+		line.append( '"' );
+		for ( int i = 0; i < string.length(); i++ ) {
+			final char c = string.charAt( i );
+			if ( c == '"' ) {
+				line.append( '"' );
+			}
+			line.append( c );
+		}
+		line.append( '"' );
+	}
+
+	private static boolean needsQuoting(String string) {
+		// an unquoted empty field represents null
+		if ( string.isEmpty() ) {
+			return true;
+		}
+		for ( int i = 0; i < string.length(); i++ ) {
+			switch ( string.charAt( i ) ) {
+				case ',':
+				case '"':
+				case '\n':
+				case '\r':
+				case '\\':
+					return true;
+			}
+		}
+		return false;
+	}
+}
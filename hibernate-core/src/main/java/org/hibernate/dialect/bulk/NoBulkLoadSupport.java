@@ -0,0 +1,32 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.dialect.bulk;
+
+import java.util.Iterator;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * An instance of {@link BulkLoadSupport} indicating that the database
+ * has no bulk load protocol, or that it is not supported.
+ *
+ * @since 6.3
+ */
+public class NoBulkLoadSupport implements BulkLoadSupport {
+
+	public static final BulkLoadSupport INSTANCE = new NoBulkLoadSupport();
+
+	@Override
+	public boolean canBulkLoad(BulkLoadTarget target, SharedSessionContractImplementor session) {
+		return false;
+	}
+
+	@Override
+	public long bulkLoad(BulkLoadTarget target, Iterator<Object[]> rows, SharedSessionContractImplementor session) {
+		throw new UnsupportedOperationException( "Dialect does not support bulk loading" );
+	}
+}
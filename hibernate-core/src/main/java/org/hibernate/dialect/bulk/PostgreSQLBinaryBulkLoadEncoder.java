@@ -0,0 +1,181 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.dialect.bulk;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+
+import static org.hibernate.dialect.bulk.BulkLoadEncoder.toLocalDate;
+import static org.hibernate.dialect.bulk.BulkLoadEncoder.toLocalDateTime;
+import static org.hibernate.dialect.bulk.BulkLoadEncoder.unwrap;
+
+/**
+ * Encodes rows in the binary format of the PostgreSQL {@code COPY} command.
+ * <p>
+ * Binary values must match the type of the column exactly, so only types
+ * which Hibernate maps to a single PostgreSQL column type are supported.
+ *
+ * @since 6.3
+ */
+public class PostgreSQLBinaryBulkLoadEncoder implements BulkLoadEncoder {
+
+	public static final PostgreSQLBinaryBulkLoadEncoder INSTANCE = new PostgreSQLBinaryBulkLoadEncoder();
+
+	private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+	// the PostgreSQL epoch is 2000-01-01
+	private static final long EPOCH_DAYS = 10_957L;
+	private static final long EPOCH_SECONDS = EPOCH_DAYS * 86_400L;
+
+	@Override
+	public boolean canEncode(JdbcMapping jdbcMapping) {
+		switch ( jdbcMapping.getJdbcType().getDefaultSqlTypeCode() ) {
+			case SqlTypes.BOOLEAN:
+			case SqlTypes.TINYINT:
+			case SqlTypes.SMALLINT:
+			case SqlTypes.INTEGER:
+			case SqlTypes.BIGINT:
+			case SqlTypes.REAL:
+			case SqlTypes.DOUBLE:
+			case SqlTypes.CHAR:
+			case SqlTypes.NCHAR:
+			case SqlTypes.VARCHAR:
+			case SqlTypes.NVARCHAR:
+			case SqlTypes.LONGVARCHAR:
+			case SqlTypes.LONGNVARCHAR:
+			case SqlTypes.LONG32VARCHAR:
+			case SqlTypes.LONG32NVARCHAR:
+			case SqlTypes.BINARY:
+			case SqlTypes.VARBINARY:
+			case SqlTypes.LONGVARBINARY:
+			case SqlTypes.LONG32VARBINARY:
+			case SqlTypes.DATE:
+			case SqlTypes.TIMESTAMP:
+			case SqlTypes.TIMESTAMP_UTC:
+			case SqlTypes.TIMESTAMP_WITH_TIMEZONE:
+			case SqlTypes.UUID:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	@Override
+	public void writeHeader(BulkLoadTarget target, OutputStream output) throws IOException {
+		final DataOutputStream data = dataOutput( output );
+		data.write( SIGNATURE );
+		// flags
+		data.writeInt( 0 );
+		// length of the header extension area
+		data.writeInt( 0 );
+	}
+
+	@Override
+	public void writeRow(BulkLoadTarget target, Object[] row, OutputStream output, WrapperOptions options)
+			throws IOException {
+		final DataOutputStream data = dataOutput( output );
+		data.writeShort( row.length );
+		for ( int i = 0; i < row.length; i++ ) {
+			if ( row[i] == null ) {
+				data.writeInt( -1 );
+			}
+			else {
+				writeValue( target.getJdbcMapping( i ), row[i], data, options );
+			}
+		}
+	}
+
+	@Override
+	public void writeTrailer(BulkLoadTarget target, OutputStream output) throws IOException {
+		dataOutput( output ).writeShort( -1 );
+	}
+
+	private static DataOutputStream dataOutput(OutputStream output) {
+		return output instanceof DataOutputStream
+				? (DataOutputStream) output
+				: new DataOutputStream( output );
+	}
+
+	protected void writeValue(JdbcMapping jdbcMapping, Object value, DataOutputStream data, WrapperOptions options)
+			throws IOException {
+		switch ( jdbcMapping.getJdbcType().getDefaultSqlTypeCode() ) {
+			case SqlTypes.BOOLEAN:
+				data.writeInt( 1 );
+				data.writeByte( unwrap( jdbcMapping, value, Boolean.class, options ) ? 1 : 0 );
+				break;
+			case SqlTypes.TINYINT:
+			case SqlTypes.SMALLINT:
+				data.writeInt( 2 );
+				data.writeShort( unwrap( jdbcMapping, value, Short.class, options ) );
+				break;
+			case SqlTypes.INTEGER:
+				data.writeInt( 4 );
+				data.writeInt( unwrap( jdbcMapping, value, Integer.class, options ) );
+				break;
+			case SqlTypes.BIGINT:
+				data.writeInt( 8 );
+				data.writeLong( unwrap( jdbcMapping, value, Long.class, options ) );
+				break;
+			case SqlTypes.REAL:
+				data.writeInt( 4 );
+				data.writeFloat( unwrap( jdbcMapping, value, Float.class, options ) );
+				break;
+			case SqlTypes.DOUBLE:
+				data.writeInt( 8 );
+				data.writeDouble( unwrap( jdbcMapping, value, Double.class, options ) );
+				break;
+			case SqlTypes.BINARY:
+			case SqlTypes.VARBINARY:
+			case SqlTypes.LONGVARBINARY:
+			case SqlTypes.LONG32VARBINARY:
+				writeBytes( unwrap( jdbcMapping, value, byte[].class, options ), data );
+				break;
+			case SqlTypes.DATE:
+				data.writeInt( 4 );
+				data.writeInt( (int) ( toLocalDate( jdbcMapping, value, options ).toEpochDay() - EPOCH_DAYS ) );
+				break;
+			case SqlTypes.TIMESTAMP:
+				final LocalDateTime localDateTime = toLocalDateTime( jdbcMapping, value, options );
+				data.writeInt( 8 );
+				data.writeLong( toMicros( localDateTime.toEpochSecond( ZoneOffset.UTC ), localDateTime.getNano() ) );
+				break;
+			case SqlTypes.TIMESTAMP_UTC:
+			case SqlTypes.TIMESTAMP_WITH_TIMEZONE:
+				final OffsetDateTime offsetDateTime = unwrap( jdbcMapping, value, OffsetDateTime.class, options );
+				data.writeInt( 8 );
+				data.writeLong( toMicros( offsetDateTime.toEpochSecond(), offsetDateTime.getNano() ) );
+				break;
+			case SqlTypes.UUID:
+				final UUID uuid = unwrap( jdbcMapping, value, UUID.class, options );
+				data.writeInt( 16 );
+				data.writeLong( uuid.getMostSignificantBits() );
+				data.writeLong( uuid.getLeastSignificantBits() );
+				break;
+			default:
+				writeBytes( unwrap( jdbcMapping, value, String.class, options ).getBytes( StandardCharsets.UTF_8 ), data );
+		}
+	}
+
+	private static void writeBytes(byte[] bytes, DataOutputStream data) throws IOException {
+		data.writeInt( bytes.length );
+		data.write( bytes );
+	}
+
+	private static long toMicros(long epochSecond, int nanos) {
+		return ( epochSecond - EPOCH_SECONDS ) * 1_000_000L + nanos / 1_000;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.dialect.bulk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * A {@link BulkLoadSupport} for PostgreSQL, using {@code COPY ... FROM STDIN}
+ * via the {@code PGCopyOutputStream} of the PostgreSQL JDBC driver. The driver
+ * is accessed reflectively, and the bulk load protocol is only used when the
+ * connection is a PostgreSQL JDBC driver connection.
+ * <p>
+ * By default, rows are sent in the {@linkplain CsvBulkLoadEncoder CSV} format,
+ * which the server parses according to the actual types of the columns.
+ * The {@linkplain #BINARY binary} variant avoids that parsing, but relies
+ * on the column types being exactly the ones Hibernate would generate.
+ *
+ * @since 6.3
+ */
+public class PostgreSQLBulkLoadSupport implements BulkLoadSupport {
+
+	public static final BulkLoadSupport INSTANCE = new PostgreSQLBulkLoadSupport( false );
+	public static final BulkLoadSupport BINARY = new PostgreSQLBulkLoadSupport( true );
+
+	private static final String PG_CONNECTION = "org.postgresql.PGConnection";
+	private static final String PG_COPY_OUTPUT_STREAM = "org.postgresql.copy.PGCopyOutputStream";
+
+	private final boolean binary;
+
+	public PostgreSQLBulkLoadSupport(boolean binary) {
+		this.binary = binary;
+	}
+
+	@Override
+	public boolean canBulkLoad(BulkLoadTarget target, SharedSessionContractImplementor session) {
+		if ( !CsvBulkLoadEncoder.INSTANCE.canEncode( target ) ) {
+			return false;
+		}
+		try {
+			final Class<?> pgConnectionClass = driverClass( PG_CONNECTION, session );
+			return pgConnectionClass != null && connection( session ).isWrapperFor( pgConnectionClass );
+		}
+		catch (SQLException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public long bulkLoad(BulkLoadTarget target, Iterator<Object[]> rows, SharedSessionContractImplementor session)
+			throws SQLException {
+		final BulkLoadEncoder encoder = binary && PostgreSQLBinaryBulkLoadEncoder.INSTANCE.canEncode( target )
+				? PostgreSQLBinaryBulkLoadEncoder.INSTANCE
+				: CsvBulkLoadEncoder.INSTANCE;
+		final String sql = copySql( target, encoder == CsvBulkLoadEncoder.INSTANCE ? "csv" : "binary" );
+		session.getJdbcServices().getSqlStatementLogger().logStatement( sql );
+
+		final Class<?> pgConnectionClass = driverClass( PG_CONNECTION, session );
+		final Class<?> copyStreamClass = driverClass( PG_COPY_OUTPUT_STREAM, session );
+		if ( pgConnectionClass == null || copyStreamClass == null ) {
+			throw new SQLException( "PostgreSQL JDBC driver not available" );
+		}
+
+		final OutputStream copy;
+		try {
+			copy = (OutputStream) copyStreamClass.getConstructor( pgConnectionClass, String.class )
+					.newInstance( connection( session ).unwrap( pgConnectionClass ), sql );
+		}
+		catch (InvocationTargetException e) {
+			throw sqlException( e.getTargetException(), sql );
+		}
+		catch (ReflectiveOperationException e) {
+			throw new SQLException( "Could not start bulk load: " + sql, e );
+		}
+
+		try {
+			encoder.encode( target, rows, copy, session );
+			return (Long) copyStreamClass.getMethod( "endCopy" ).invoke( copy );
+		}
+		catch (IOException | RuntimeException e) {
+			cancel( copyStreamClass, copy, e );
+			throw sqlException( e, sql );
+		}
+		catch (InvocationTargetException e) {
+			throw sqlException( e.getTargetException(), sql );
+		}
+		catch (ReflectiveOperationException e) {
+			throw new SQLException( "Could not complete bulk load: " + sql, e );
+		}
+	}
+
+	protected String copySql(BulkLoadTarget target, String format) {
+		final StringBuilder sql = new StringBuilder( "copy " ).append( target.getTableName() ).append( " (" );
+		for ( int i = 0; i < target.getColumnCount(); i++ ) {
+			if ( i > 0 ) {
+				sql.append( ',' );
+			}
+			sql.append( target.getColumnName( i ) );
+		}
+		return sql.append( ") from stdin with (format " ).append( format ).append( ')' ).toString();
+	}
+
+	private static void cancel(Class<?> copyStreamClass, OutputStream copy, Exception cause) {
+		try {
+			copyStreamClass.getMethod( "cancelCopy" ).invoke( copy );
+		}
+		catch (Exception e) {
+			cause.addSuppressed( e );
+		}
+	}
+
+	private static SQLException sqlException(Throwable cause, String sql) {
+		if ( cause instanceof SQLException ) {
+			return (SQLException) cause;
+		}
+		if ( cause.getCause() instanceof SQLException ) {
+			// the driver wraps failures in an IOException
+			return (SQLException) cause.getCause();
+		}
+		return new SQLException( "Could not bulk load rows: " + sql, cause );
+	}
+
+	private static Connection connection(SharedSessionContractImplementor session) {
+		return session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+	}
+
+	private static Class<?> driverClass(String className, SharedSessionContractImplementor session) {
+		try {
+			return session.getFactory().getServiceRegistry().getService( ClassLoaderService.class )
+					.classForName( className );
+		}
+		catch (ClassLoadingException e) {
+			return null;
+		}
+	}
+}
@@ -17,14 +17,19 @@ import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import static org.hibernate.engine.internal.ManagedTypeHelper.asManagedEntity;
@@ -58,9 +63,19 @@ public class EntityEntryContext {
 
 	private transient IdentityHashMap<Object,ManagedEntity> nonEnhancedEntityXref;
 
-	@SuppressWarnings("unchecked")
-	private transient Map.Entry<Object,EntityEntry>[] reentrantSafeEntries = new Map.Entry[0];
+	// the number of managed entities of each persister, see #getManagedEntityPersisters
+	private transient IdentityHashMap<EntityPersister,int[]> countsByPersister = new IdentityHashMap<>();
+
+	private transient EntityEntryCrossRefImpl[] reentrantSafeEntries = new EntityEntryCrossRefImpl[0];
 	private transient boolean dirty;
+	// whether entries were only ever appended since reentrantSafeEntries was built,
+	// in which case it can be extended rather than rebuilt
+	private transient boolean onlyAppended = true;
+
+	// the state of an ongoing #forEachEntityEntry, kept up to date by #removeEntityEntry and #clear
+	private transient boolean iterating;
+	private transient ManagedEntity iterationCursor;
+	private transient ManagedEntity iterationLast;
 
 	/**
 	 * Constructs a EntityEntryContext
@@ -126,6 +141,17 @@ public class EntityEntryContext {
 			}
 		}
 
+		if ( alreadyAssociated ) {
+			final EntityEntry previousEntry = managedEntity.$$_hibernate_getEntityEntry();
+			if ( previousEntry.getPersister() != entityEntry.getPersister() ) {
+				decrementCount( previousEntry.getPersister() );
+				incrementCount( entityEntry.getPersister() );
+			}
+		}
+		else {
+			incrementCount( entityEntry.getPersister() );
+		}
+
 		// associate the EntityEntry with the entity
 		managedEntity.$$_hibernate_setEntityEntry( entityEntry );
 
@@ -253,6 +279,7 @@ public class EntityEntryContext {
 		}
 
 		dirty = true;
+		onlyAppended = false;
 
 		if (managedEntity instanceof ImmutableManagedEntityHolder) {
 			assert entity == ( (ImmutableManagedEntityHolder) managedEntity ).managedEntity;
@@ -266,6 +293,17 @@ public class EntityEntryContext {
 		// prepare for re-linking...
 		final ManagedEntity previous = managedEntity.$$_hibernate_getPreviousManagedEntity();
 		final ManagedEntity next = managedEntity.$$_hibernate_getNextManagedEntity();
+
+		if ( iterating ) {
+			// step an ongoing iteration back, so that it carries on with the next entity
+			if ( managedEntity == iterationCursor ) {
+				iterationCursor = previous;
+			}
+			if ( managedEntity == iterationLast ) {
+				iterationLast = previous;
+			}
+		}
+
 		managedEntity.$$_hibernate_setPreviousManagedEntity( null );
 		managedEntity.$$_hibernate_setNextManagedEntity( null );
 
@@ -304,34 +342,117 @@ public class EntityEntryContext {
 		// finally clean out the ManagedEntity and return the associated EntityEntry
 		final EntityEntry theEntityEntry = managedEntity.$$_hibernate_getEntityEntry();
 		managedEntity.$$_hibernate_setEntityEntry( null );
+		decrementCount( theEntityEntry.getPersister() );
 		return theEntityEntry;
 	}
 
+	private void incrementCount(EntityPersister persister) {
+		final int[] persisterCount = countsByPersister.get( persister );
+		if ( persisterCount == null ) {
+			countsByPersister.put( persister, new int[] { 1 } );
+		}
+		else {
+			persisterCount[0]++;
+		}
+	}
+
+	private void decrementCount(EntityPersister persister) {
+		final int[] persisterCount = countsByPersister.get( persister );
+		if ( persisterCount != null && --persisterCount[0] == 0 ) {
+			countsByPersister.remove( persister );
+		}
+	}
+
+	/**
+	 * The persisters of the entities in this context, which are kept track of as entities are
+	 * added and removed, so that this costs nothing more than the number of distinct persisters.
+	 *
+	 * @return An unmodifiable view of the persisters
+	 */
+	public Set<EntityPersister> getManagedEntityPersisters() {
+		return Collections.unmodifiableSet( countsByPersister.keySet() );
+	}
+
 	/**
 	 * The main bugaboo with IdentityMap that warranted this class in the first place.
 	 *
 	 * Return an array of all the entity/EntityEntry pairs in this context.  The array is to make sure
 	 * that the iterators built off of it are safe from concurrency/reentrancy
+	 * <p>
+	 * If entities were only added to this context since the previous call, which is typical of
+	 * the successive calls made by a flush, the previous pairs are reused and only pairs for the
+	 * new entities are created.
 	 *
 	 * @return The safe array
 	 */
 	public Map.Entry<Object, EntityEntry>[] reentrantSafeEntityEntries() {
 		if ( dirty ) {
-			reentrantSafeEntries = new EntityEntryCrossRefImpl[count];
-			int i = 0;
-			ManagedEntity managedEntity = head;
+			final int previousCount = reentrantSafeEntries.length;
+			int i;
+			ManagedEntity managedEntity;
+			if ( onlyAppended && previousCount > 0 ) {
+				// the new entities were all linked after the last one we already have
+				i = previousCount;
+				managedEntity = reentrantSafeEntries[previousCount - 1].managedEntity.$$_hibernate_getNextManagedEntity();
+				reentrantSafeEntries = Arrays.copyOf( reentrantSafeEntries, count );
+			}
+			else {
+				i = 0;
+				managedEntity = head;
+				reentrantSafeEntries = new EntityEntryCrossRefImpl[count];
+			}
 			while ( managedEntity != null ) {
-				reentrantSafeEntries[i++] = new EntityEntryCrossRefImpl(
-						managedEntity.$$_hibernate_getEntityInstance(),
-						managedEntity.$$_hibernate_getEntityEntry()
-				);
+				reentrantSafeEntries[i++] = new EntityEntryCrossRefImpl( managedEntity );
 				managedEntity = managedEntity.$$_hibernate_getNextManagedEntity();
 			}
+			assert i == count;
 			dirty = false;
+			onlyAppended = true;
 		}
 		return reentrantSafeEntries;
 	}
 
+	/**
+	 * Performs the given action for each entity/EntityEntry pair in this context, in order, walking
+	 * the entries in place rather than allocating an array as {@link #reentrantSafeEntityEntries()}
+	 * does.
+	 * <p>
+	 * The action may add entities to, or remove entities from, this context: entities added while
+	 * iterating are not visited, and entities removed before being visited are skipped.
+	 *
+	 * @param action The action to perform
+	 */
+	public void forEachEntityEntry(BiConsumer<Object, EntityEntry> action) {
+		if ( iterating ) {
+			// a reentrant iteration, which cannot share the state of the ongoing one
+			for ( Map.Entry<Object, EntityEntry> entry : reentrantSafeEntityEntries() ) {
+				action.accept( entry.getKey(), entry.getValue() );
+			}
+			return;
+		}
+
+		iterating = true;
+		iterationLast = tail;
+		try {
+			ManagedEntity managedEntity = head;
+			while ( managedEntity != null ) {
+				iterationCursor = managedEntity;
+				action.accept( managedEntity.$$_hibernate_getEntityInstance(), managedEntity.$$_hibernate_getEntityEntry() );
+				// the action may have removed the current entity, stepping the cursor back
+				final ManagedEntity current = iterationCursor;
+				if ( current == iterationLast ) {
+					break;
+				}
+				managedEntity = current == null ? head : current.$$_hibernate_getNextManagedEntity();
+			}
+		}
+		finally {
+			iterating = false;
+			iterationCursor = null;
+			iterationLast = null;
+		}
+	}
+
 	private void processEachManagedEntity(final Consumer<ManagedEntity> action) {
 		ManagedEntity node = head;
 		while ( node != null ) {
@@ -384,8 +505,14 @@ public class EntityEntryContext {
 		head = null;
 		tail = null;
 		count = 0;
+		countsByPersister.clear();
+
+		// ends an ongoing iteration
+		iterationCursor = null;
+		iterationLast = null;
 
-		reentrantSafeEntries = null;
+		reentrantSafeEntries = new EntityEntryCrossRefImpl[0];
+		onlyAppended = true;
 	}
 
 	private static void clearManagedEntity(final ManagedEntity node) {
@@ -499,6 +626,7 @@ public class EntityEntryContext {
 				context.nonEnhancedEntityXref.put( entity, managedEntity );
 			}
 			managedEntity.$$_hibernate_setEntityEntry( entry );
+			context.incrementCount( entry.getPersister() );
 
 			if ( previous == null ) {
 				context.head = managedEntity;
@@ -693,12 +821,14 @@ public class EntityEntryContext {
 	 * Implementation of the EntityEntryCrossRef interface
 	 */
 	private static class EntityEntryCrossRefImpl implements EntityEntryCrossRef {
+		private final ManagedEntity managedEntity;
 		private final Object entity;
 		private EntityEntry entityEntry;
 
-		private EntityEntryCrossRefImpl(Object entity, EntityEntry entityEntry) {
-			this.entity = entity;
-			this.entityEntry = entityEntry;
+		private EntityEntryCrossRefImpl(ManagedEntity managedEntity) {
+			this.managedEntity = managedEntity;
+			this.entity = managedEntity.$$_hibernate_getEntityInstance();
+			this.entityEntry = managedEntity.$$_hibernate_getEntityEntry();
 		}
 
 		@Override
@@ -708,6 +838,12 @@ public class EntityEntryContext {
 
 		@Override
 		public EntityEntry getEntityEntry() {
+			// the entity may have been associated with a new EntityEntry since this
+			// cross-ref was created, or, if it was removed, with none at all
+			final EntityEntry current = managedEntity.$$_hibernate_getEntityEntry();
+			if ( current != null ) {
+				entityEntry = current;
+			}
 			return entityEntry;
 		}
 
@@ -0,0 +1,541 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.hibernate.AssertionFailure;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.EntityKeyedMap;
+import org.hibernate.internal.util.collections.LinearProbingHashMap;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * An {@link EntityKeyedMap} made of one open addressing table per entity
+ * hierarchy.
+ * <p>
+ * Since all the keys within a table share the same root entity, they only need
+ * to be compared by identifier. For hierarchies with an integral identifier
+ * ({@code Long}, {@code Integer} or {@code Short}) the identifiers are unboxed
+ * into a {@code long[]}, so that a lookup is a probe over a primitive array,
+ * with neither a call to {@link EntityKey#equals} nor, when using
+ * {@link #getByIdentifier}, the allocation of an {@code EntityKey}.
+ * <p>
+ * Should an identifier of some unexpected type ever be added to a table of the
+ * integral kind, the table falls back to comparing keys by {@code equals()}.
+ *
+ * @see OpenAddressingPersistenceContextStorage
+ */
+public final class OpenAddressingEntityKeyedMap<V> extends AbstractMap<EntityKey,V> implements EntityKeyedMap<V> {
+	private static final Object TOMBSTONE = new Object();
+
+	private final int expectedSize;
+	private final ArrayList<Partition> partitions = new ArrayList<>();
+	private final IdentityHashMap<EntityPersister,Partition> partitionsByPersister = new IdentityHashMap<>();
+
+	// the last partition used, since consecutive operations very often concern the same entity type
+	private EntityPersister lastPersister;
+	private Partition lastPartition;
+
+	private int size;
+
+	public OpenAddressingEntityKeyedMap(int expectedSize) {
+		this.expectedSize = expectedSize;
+	}
+
+	private Partition partition(EntityPersister persister, boolean create) {
+		if ( persister == lastPersister ) {
+			return lastPartition;
+		}
+		Partition partition = partitionsByPersister.get( persister );
+		if ( partition == null ) {
+			final String rootEntityName = persister.getRootEntityName();
+			for ( int i = 0; i < partitions.size(); i++ ) {
+				final Partition candidate = partitions.get( i );
+				if ( candidate.rootEntityName.equals( rootEntityName ) ) {
+					partition = candidate;
+					break;
+				}
+			}
+			if ( partition == null ) {
+				if ( !create ) {
+					return null;
+				}
+				partition = new Partition( rootEntityName, integralIdClass( persister ), expectedSize );
+				partitions.add( partition );
+			}
+			partitionsByPersister.put( persister, partition );
+		}
+		lastPersister = persister;
+		lastPartition = partition;
+		return partition;
+	}
+
+	private static Class<?> integralIdClass(EntityPersister persister) {
+		final Class<?> idClass = persister.getIdentifierType().getReturnedClass();
+		if ( idClass == Long.class || idClass == long.class ) {
+			return Long.class;
+		}
+		else if ( idClass == Integer.class || idClass == int.class ) {
+			return Integer.class;
+		}
+		else if ( idClass == Short.class || idClass == short.class ) {
+			return Short.class;
+		}
+		else {
+			return null;
+		}
+	}
+
+	private static int spread(long id) {
+		return LinearProbingHashMap.spread( (int) ( id ^ ( id >>> 32 ) ) );
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if ( key instanceof EntityKey ) {
+			final EntityKey entityKey = (EntityKey) key;
+			final Partition partition = partition( entityKey.getPersister(), false );
+			return partition != null && partition.indexOf( entityKey ) >= 0;
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if ( key instanceof EntityKey ) {
+			final EntityKey entityKey = (EntityKey) key;
+			final Partition partition = partition( entityKey.getPersister(), false );
+			if ( partition != null ) {
+				final int index = partition.indexOf( entityKey );
+				return index < 0 ? null : (V) partition.values[index];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V getByIdentifier(Object id, EntityPersister persister) {
+		if ( id == null ) {
+			throw new AssertionFailure( "null identifier (" + persister.getEntityName() + ")" );
+		}
+		final Partition partition = partition( persister, false );
+		if ( partition == null ) {
+			return null;
+		}
+		final int index;
+		if ( partition.integralIdClass != null ) {
+			index = id.getClass() == partition.integralIdClass
+					? partition.indexOfId( ( (Number) id ).longValue() )
+					: -1;
+		}
+		else {
+			index = partition.indexOfKey( new EntityKey( id, persister ) );
+		}
+		return index < 0 ? null : (V) partition.values[index];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(EntityKey key, V value) {
+		final Partition partition = partition( key.getPersister(), true );
+		final Object previous = partition.put( key, value );
+		if ( previous == null ) {
+			size++;
+			return null;
+		}
+		return previous == TOMBSTONE ? null : (V) previous;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if ( key instanceof EntityKey ) {
+			final EntityKey entityKey = (EntityKey) key;
+			final Partition partition = partition( entityKey.getPersister(), false );
+			if ( partition != null ) {
+				final int index = partition.indexOf( entityKey );
+				if ( index >= 0 ) {
+					final V previous = (V) partition.values[index];
+					partition.removeAt( index );
+					size--;
+					return previous;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		partitions.clear();
+		partitionsByPersister.clear();
+		lastPersister = null;
+		lastPartition = null;
+		size = 0;
+	}
+
+	/**
+	 * The total number of slots of the tables, live or not, mainly for testing
+	 */
+	public int getCapacity() {
+		int capacity = 0;
+		for ( int i = 0; i < partitions.size(); i++ ) {
+			capacity += partitions.get( i ).keys.length;
+		}
+		return capacity;
+	}
+
+	@Override
+	public Set<Entry<EntityKey, V>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<EntityKey, V>> iterator() {
+				return new SlotIterator<>() {
+					@Override
+					Entry<EntityKey, V> element(EntityKey key, Object value) {
+						return new KeyedEntry( key );
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public Set<EntityKey> keySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<EntityKey> iterator() {
+				return new SlotIterator<>() {
+					@Override
+					EntityKey element(EntityKey key, Object value) {
+						return key;
+					}
+				};
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey( o );
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public Collection<V> values() {
+		return new AbstractCollection<>() {
+			@Override
+			public Iterator<V> iterator() {
+				return new SlotIterator<>() {
+					@Override
+					@SuppressWarnings("unchecked")
+					V element(EntityKey key, Object value) {
+						return (V) value;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * The open addressing table holding the entries of a single entity hierarchy
+	 */
+	private static final class Partition {
+		private final String rootEntityName;
+		// non-null while all the identifiers are of this integral type
+		private Class<?> integralIdClass;
+
+		private long[] ids;
+		private Object[] keys;
+		private Object[] values;
+		// number of live entries
+		private int live;
+		// number of live entries plus tombstones
+		private int occupied;
+		private int threshold;
+
+		private Partition(String rootEntityName, Class<?> integralIdClass, int expectedSize) {
+			this.rootEntityName = rootEntityName;
+			this.integralIdClass = integralIdClass;
+			allocate( LinearProbingHashMap.capacityFor( expectedSize ) );
+		}
+
+		private void allocate(int capacity) {
+			ids = integralIdClass == null ? null : new long[capacity];
+			keys = new Object[capacity];
+			values = new Object[capacity];
+			threshold = ( capacity >> 2 ) * 3;
+		}
+
+		private int indexOf(EntityKey key) {
+			if ( integralIdClass != null ) {
+				final Object id = key.getIdentifier();
+				return id.getClass() == integralIdClass ? indexOfId( ( (Number) id ).longValue() ) : -1;
+			}
+			else {
+				return indexOfKey( key );
+			}
+		}
+
+		private int indexOfId(long id) {
+			final long[] ids = this.ids;
+			final Object[] keys = this.keys;
+			final int mask = keys.length - 1;
+			int index = spread( id ) & mask;
+			while ( true ) {
+				final Object candidate = keys[index];
+				if ( candidate == null ) {
+					return -1;
+				}
+				if ( ids[index] == id && candidate != TOMBSTONE ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+		}
+
+		private int indexOfKey(EntityKey key) {
+			final Object[] keys = this.keys;
+			final int mask = keys.length - 1;
+			int index = LinearProbingHashMap.spread( key.hashCode() ) & mask;
+			while ( true ) {
+				final Object candidate = keys[index];
+				if ( candidate == null ) {
+					return -1;
+				}
+				if ( candidate == key || candidate != TOMBSTONE && candidate.equals( key ) ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+		}
+
+		private int slotFor(Object key) {
+			return integralIdClass != null
+					? spread( ( (Number) ( (EntityKey) key ).getIdentifier() ).longValue() )
+					: LinearProbingHashMap.spread( key.hashCode() );
+		}
+
+		/**
+		 * @return the previous value, or {@code null} if the key is new
+		 */
+		private Object put(EntityKey key, Object value) {
+			if ( integralIdClass != null && key.getIdentifier().getClass() != integralIdClass ) {
+				// an identifier of an unexpected type: compare keys by equals() from now on
+				integralIdClass = null;
+				rehash( keys.length );
+			}
+
+			final int existing = indexOf( key );
+			if ( existing >= 0 ) {
+				final Object previous = values[existing];
+				values[existing] = value;
+				// a live entry may legitimately map to null
+				return previous == null ? TOMBSTONE : previous;
+			}
+
+			final Object[] keys = this.keys;
+			final int mask = keys.length - 1;
+			int index = slotFor( key ) & mask;
+			while ( keys[index] != null && keys[index] != TOMBSTONE ) {
+				index = ( index + 1 ) & mask;
+			}
+			if ( keys[index] == null ) {
+				occupied++;
+			}
+			keys[index] = key;
+			values[index] = value;
+			if ( ids != null ) {
+				ids[index] = ( (Number) key.getIdentifier() ).longValue();
+			}
+			live++;
+			if ( occupied > threshold ) {
+				// if most of the occupied slots are tombstones, purging them is enough
+				rehash( live >= occupied >> 1 ? keys.length << 1 : keys.length );
+			}
+			return null;
+		}
+
+		private void removeAt(int index) {
+			keys[index] = TOMBSTONE;
+			values[index] = null;
+			live--;
+		}
+
+		private void rehash(int capacity) {
+			final Object[] oldKeys = keys;
+			final Object[] oldValues = values;
+			allocate( capacity );
+			final Object[] keys = this.keys;
+			final int mask = capacity - 1;
+			for ( int i = 0; i < oldKeys.length; i++ ) {
+				final Object key = oldKeys[i];
+				if ( key != null && key != TOMBSTONE ) {
+					int index = slotFor( key ) & mask;
+					while ( keys[index] != null ) {
+						index = ( index + 1 ) & mask;
+					}
+					keys[index] = key;
+					values[index] = oldValues[i];
+					if ( ids != null ) {
+						ids[index] = ( (Number) ( (EntityKey) key ).getIdentifier() ).longValue();
+					}
+				}
+			}
+			occupied = live;
+		}
+	}
+
+	private abstract class SlotIterator<T> implements Iterator<T> {
+		private int partitionIndex = -1;
+		// the arrays are captured so that a rehash triggered during
+		// iteration does not cause entries to be seen twice
+		private Object[] keys = new Object[0];
+		private Object[] values;
+		private int next;
+		private Object[] currentKeys;
+		private int current = -1;
+		private Partition currentPartition;
+
+		SlotIterator() {
+			advance();
+		}
+
+		abstract T element(EntityKey key, Object value);
+
+		private void advance() {
+			while ( true ) {
+				while ( next < keys.length ) {
+					final Object key = keys[next];
+					if ( key != null && key != TOMBSTONE ) {
+						return;
+					}
+					next++;
+				}
+				if ( partitionIndex + 1 >= partitions.size() ) {
+					return;
+				}
+				final Partition partition = partitions.get( ++partitionIndex );
+				keys = partition.keys;
+				values = partition.values;
+				next = 0;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		@Override
+		public T next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			currentKeys = keys;
+			currentPartition = partitions.get( partitionIndex );
+			final T element = element( (EntityKey) keys[current], values[current] );
+			next++;
+			advance();
+			return element;
+		}
+
+		@Override
+		public void remove() {
+			if ( current < 0 ) {
+				throw new IllegalStateException();
+			}
+			if ( currentPartition.keys == currentKeys ) {
+				currentPartition.removeAt( current );
+				size--;
+			}
+			else {
+				OpenAddressingEntityKeyedMap.this.remove( currentKeys[current] );
+			}
+			current = -1;
+		}
+	}
+
+	private final class KeyedEntry implements Entry<EntityKey,V> {
+		private final EntityKey key;
+
+		private KeyedEntry(EntityKey key) {
+			this.key = key;
+		}
+
+		@Override
+		public EntityKey getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return get( key );
+		}
+
+		@Override
+		public V setValue(V value) {
+			return put( key, value );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof Entry ) ) {
+				return false;
+			}
+			final Entry<?, ?> that = (Entry<?, ?>) o;
+			return key.equals( that.getKey() ) && Objects.equals( getValue(), that.getValue() );
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ Objects.hashCode( getValue() );
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+}
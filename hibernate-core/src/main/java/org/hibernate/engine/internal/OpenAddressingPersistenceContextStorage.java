@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.Map;
+
+import org.hibernate.engine.spi.CollectionKey;
+import org.hibernate.engine.spi.EntityKeyedMap;
+import org.hibernate.engine.spi.PersistenceContextStorage;
+import org.hibernate.internal.util.collections.LinearProbingHashMap;
+
+/**
+ * A {@link PersistenceContextStorage} based on open addressing tables, which
+ * avoids allocating a node per entry and, for entities with an integral
+ * identifier, avoids the {@link org.hibernate.engine.spi.EntityKey} equality
+ * checks entirely.
+ *
+ * @see OpenAddressingEntityKeyedMap
+ */
+public class OpenAddressingPersistenceContextStorage implements PersistenceContextStorage {
+	/**
+	 * Singleton access
+	 */
+	public static final OpenAddressingPersistenceContextStorage INSTANCE = new OpenAddressingPersistenceContextStorage();
+
+	/**
+	 * The short name for this implementation, usable as the value of
+	 * {@value org.hibernate.cfg.AvailableSettings#PERSISTENCE_CONTEXT_STORAGE}
+	 */
+	public static final String SHORT_NAME = "open-addressing";
+
+	@Override
+	public <V> EntityKeyedMap<V> createEntityKeyedMap(int expectedSize) {
+		return new OpenAddressingEntityKeyedMap<>( expectedSize );
+	}
+
+	@Override
+	public <V> Map<CollectionKey, V> createCollectionKeyedMap(int expectedSize) {
+		return new LinearProbingHashMap<>( expectedSize );
+	}
+}
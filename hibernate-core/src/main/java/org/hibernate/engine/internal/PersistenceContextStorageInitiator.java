@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.Map;
+
+import org.hibernate.boot.registry.StandardServiceInitiator;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.engine.spi.PersistenceContextStorage;
+import org.hibernate.service.spi.ServiceException;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+
+import static org.hibernate.cfg.AvailableSettings.PERSISTENCE_CONTEXT_STORAGE;
+
+/**
+ * Initiator for the {@link PersistenceContextStorage} service
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PERSISTENCE_CONTEXT_STORAGE
+ */
+public class PersistenceContextStorageInitiator implements StandardServiceInitiator<PersistenceContextStorage> {
+	/**
+	 * Singleton access
+	 */
+	public static final PersistenceContextStorageInitiator INSTANCE = new PersistenceContextStorageInitiator();
+
+	@Override
+	public Class<PersistenceContextStorage> getServiceInitiated() {
+		return PersistenceContextStorage.class;
+	}
+
+	@Override
+	public PersistenceContextStorage initiateService(
+			Map<String, Object> configurationValues,
+			ServiceRegistryImplementor registry) {
+		final Object setting = configurationValues.get( PERSISTENCE_CONTEXT_STORAGE );
+
+		if ( setting == null ) {
+			return StandardPersistenceContextStorage.INSTANCE;
+		}
+
+		if ( setting instanceof PersistenceContextStorage ) {
+			return (PersistenceContextStorage) setting;
+		}
+
+		final Class<?> implClass;
+		if ( setting instanceof Class ) {
+			implClass = (Class<?>) setting;
+		}
+		else {
+			final String name = setting.toString().trim();
+			if ( name.isEmpty() || StandardPersistenceContextStorage.SHORT_NAME.equalsIgnoreCase( name ) ) {
+				return StandardPersistenceContextStorage.INSTANCE;
+			}
+			if ( OpenAddressingPersistenceContextStorage.SHORT_NAME.equalsIgnoreCase( name ) ) {
+				return OpenAddressingPersistenceContextStorage.INSTANCE;
+			}
+			implClass = registry.getService( ClassLoaderService.class ).classForName( name );
+		}
+
+		try {
+			return (PersistenceContextStorage) implClass.getConstructor().newInstance();
+		}
+		catch (Exception e) {
+			throw new ServiceException( "Could not build explicit PersistenceContextStorage [" + implClass.getName() + "]", e );
+		}
+	}
+}
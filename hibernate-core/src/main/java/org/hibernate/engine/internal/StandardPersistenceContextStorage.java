@@ -0,0 +1,48 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.engine.spi.CollectionKey;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.EntityKeyedMap;
+import org.hibernate.engine.spi.PersistenceContextStorage;
+import org.hibernate.internal.util.collections.CollectionHelper;
+
+/**
+ * The default {@link PersistenceContextStorage}, backed by {@link HashMap}.
+ */
+public class StandardPersistenceContextStorage implements PersistenceContextStorage {
+	/**
+	 * Singleton access
+	 */
+	public static final StandardPersistenceContextStorage INSTANCE = new StandardPersistenceContextStorage();
+
+	/**
+	 * The short name for this implementation, usable as the value of
+	 * {@value org.hibernate.cfg.AvailableSettings#PERSISTENCE_CONTEXT_STORAGE}
+	 */
+	public static final String SHORT_NAME = "standard";
+
+	@Override
+	public <V> EntityKeyedMap<V> createEntityKeyedMap(int expectedSize) {
+		return new EntityKeyedHashMap<>( expectedSize );
+	}
+
+	@Override
+	public <V> Map<CollectionKey, V> createCollectionKeyedMap(int expectedSize) {
+		return CollectionHelper.mapOfSize( expectedSize );
+	}
+
+	private static final class EntityKeyedHashMap<V> extends HashMap<EntityKey,V> implements EntityKeyedMap<V> {
+		private EntityKeyedHashMap(int expectedSize) {
+			super( CollectionHelper.determineProperSizing( expectedSize ), CollectionHelper.LOAD_FACTOR );
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
+import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
+import org.hibernate.engine.jdbc.mutation.group.PreparedStatementGroup;
+import org.hibernate.engine.jdbc.mutation.spi.Binding;
+import org.hibernate.engine.jdbc.mutation.spi.BindingGroup;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_LOGGER;
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_TRACE_ENABLED;
+
+/**
+ * A {@link BatchImpl} whose size is chosen by an {@link AdaptiveBatchSize}, which
+ * is shared by all batches with the same key. The time taken by each execution and
+ * the estimated number of bytes bound by each batch are reported back to it.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_ADAPTIVE
+ *
+ * @since 6.3
+ */
+public class AdaptiveBatch extends BatchImpl {
+	private final AdaptiveBatchSize batchSize;
+	private final StatisticsImplementor statistics;
+
+	private long boundBytes;
+
+	public AdaptiveBatch(
+			BatchKey key,
+			PreparedStatementGroup statementGroup,
+			AdaptiveBatchSize batchSize,
+			JdbcCoordinator jdbcCoordinator) {
+		super( key, statementGroup, batchSize.getBatchSize(), jdbcCoordinator );
+		this.batchSize = batchSize;
+		this.statistics = jdbcCoordinator.getJdbcSessionOwner() instanceof SharedSessionContractImplementor
+				? ( (SharedSessionContractImplementor) jdbcCoordinator.getJdbcSessionOwner() ).getFactory().getStatistics()
+				: null;
+	}
+
+	@Override
+	protected int getBatchSizeToUse() {
+		return batchSize.getBatchSize();
+	}
+
+	@Override
+	public void addToBatch(JdbcValueBindings jdbcValueBindings, TableInclusionChecker inclusionChecker) {
+		// the bindings are cleared once added to the batch, so measure them first
+		getStatementGroup().forEachStatement( (tableName, statementDetails) -> {
+			if ( inclusionChecker == null || inclusionChecker.include( statementDetails.getMutatingTableDetails() ) ) {
+				final BindingGroup bindingGroup = jdbcValueBindings.getBindingGroup( tableName );
+				if ( bindingGroup != null ) {
+					for ( Binding binding : bindingGroup.getBindings() ) {
+						boundBytes += estimateSize( binding.getValue() );
+					}
+				}
+			}
+		} );
+		super.addToBatch( jdbcValueBindings, inclusionChecker );
+	}
+
+	@Override
+	protected void performExecution() {
+		final int rows = getBatchPosition();
+		final long bytes = boundBytes;
+		boundBytes = 0;
+
+		final long start = System.nanoTime();
+		super.performExecution();
+		final long nanos = System.nanoTime() - start;
+
+		final int nextBatchSize = batchSize.recordExecution( rows, bytes, nanos );
+		if ( BATCH_TRACE_ENABLED ) {
+			BATCH_LOGGER.tracef(
+					"Executed JDBC batch of %s rows (~%s bytes) in %sns, next batch size %s - `%s`",
+					rows,
+					bytes,
+					nanos,
+					nextBatchSize,
+					getKey().toLoggableString()
+			);
+		}
+		if ( statistics != null && statistics.isStatisticsEnabled() ) {
+			statistics.jdbcBatchSizeChosen( getKey().toLoggableString(), nextBatchSize );
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		boundBytes = 0;
+		super.releaseStatements();
+	}
+
+	private static long estimateSize(Object value) {
+		if ( value == null ) {
+			return 1;
+		}
+		else if ( value instanceof CharSequence ) {
+			return ( (CharSequence) value ).length();
+		}
+		else if ( value instanceof byte[] ) {
+			return ( (byte[]) value ).length;
+		}
+		else if ( value instanceof char[] ) {
+			return ( (char[]) value ).length;
+		}
+		else {
+			return 8;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "AdaptiveBatch(" + getKey().toLoggableString() + ")";
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.mutation.group.PreparedStatementGroup;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_LOGGER;
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_TRACE_ENABLED;
+
+/**
+ * A builder for {@link AdaptiveBatch} instances, which keeps one {@link AdaptiveBatchSize}
+ * per {@linkplain BatchKey batch key}. Sessions with an explicit
+ * {@linkplain org.hibernate.SharedSessionContract#setJdbcBatchSize(Integer) JDBC batch size} get standard
+ * batches of that size instead.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_ADAPTIVE
+ *
+ * @since 6.3
+ */
+public class AdaptiveBatchBuilder extends BatchBuilderImpl {
+	private final AdaptiveBatchSize.Bounds bounds;
+	private final ConcurrentMap<String, AdaptiveBatchSize> batchSizes = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs an AdaptiveBatchBuilder
+	 *
+	 * @param globalBatchSize The initial batch size
+	 * @param multiRowInserts Whether inserts should be coalesced into
+	 * multi-row inserts, which are not sized adaptively
+	 * @param bounds The bounds of the chosen batch sizes
+	 */
+	public AdaptiveBatchBuilder(int globalBatchSize, boolean multiRowInserts, AdaptiveBatchSize.Bounds bounds) {
+		super( globalBatchSize, multiRowInserts );
+		this.bounds = bounds;
+
+		if ( BATCH_TRACE_ENABLED ) {
+			BATCH_LOGGER.tracef(
+					"Using adaptive batch sizes between %s and %s (at most %s bytes)",
+					bounds.getMinSize(),
+					bounds.getMaxSize(),
+					bounds.getMaxBytes()
+			);
+		}
+	}
+
+	/**
+	 * The batch size currently chosen for the batch key with the given
+	 * {@linkplain BatchKey#toLoggableString() loggable string}, or
+	 * {@code 0} if no batch with that key has been built
+	 */
+	public int getBatchSize(String batchKey) {
+		final AdaptiveBatchSize batchSize = batchSizes.get( batchKey );
+		return batchSize == null ? 0 : batchSize.getBatchSize();
+	}
+
+	@Override
+	protected Batch buildStandardBatch(
+			BatchKey key,
+			PreparedStatementGroup statementGroup,
+			int batchSize,
+			JdbcCoordinator jdbcCoordinator) {
+		if ( jdbcCoordinator.getJdbcSessionOwner().getJdbcBatchSize() != null ) {
+			// a batch size set explicitly on the session is used as is
+			return super.buildStandardBatch( key, statementGroup, batchSize, jdbcCoordinator );
+		}
+
+		final AdaptiveBatchSize adaptiveBatchSize = batchSizes.computeIfAbsent(
+				key.toLoggableString(),
+				(k) -> new AdaptiveBatchSize( batchSize, bounds )
+		);
+		return new AdaptiveBatch( key, statementGroup, adaptiveBatchSize, jdbcCoordinator );
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+/**
+ * Chooses the batch size for a single {@linkplain org.hibernate.engine.jdbc.batch.spi.BatchKey
+ * batch key} from the measured executions of the batch.
+ * <p>
+ * Starting from the initial batch size, the batch size is doubled for as long as
+ * the throughput (rows per unit of time) of full batches improves significantly.
+ * When it stops improving, smaller batch sizes are tried, and the size settles on the
+ * best size observed. A settled size is probed again if its throughput later degrades.
+ * Independently, the batch size is capped so that a single batch binds no more than
+ * the {@linkplain Bounds#getMaxBytes() maximum number of bytes}.
+ *
+ * @since 6.3
+ */
+public class AdaptiveBatchSize {
+	/**
+	 * The relative change of throughput which is considered significant
+	 */
+	private static final double TOLERANCE = 0.1;
+
+	private final Bounds bounds;
+
+	private volatile int batchSize;
+
+	private int bestBatchSize;
+	private double bestThroughput;
+	private int direction;
+
+	public AdaptiveBatchSize(int initialBatchSize, Bounds bounds) {
+		this.bounds = bounds;
+		this.batchSize = bounds.clamp( initialBatchSize );
+		this.bestBatchSize = batchSize;
+		this.direction = 1;
+	}
+
+	/**
+	 * The batch size to use for the next batch
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Record an execution of the batch, and choose the size of the next batch.
+	 *
+	 * @param rows The number of rows added to the executed batch
+	 * @param bytes The estimated number of bytes bound by the executed batch
+	 * @param nanos The time taken to execute the batch
+	 *
+	 * @return The batch size to use for the next batch
+	 */
+	public synchronized int recordExecution(int rows, long bytes, long nanos) {
+		if ( rows <= 0 ) {
+			return batchSize;
+		}
+
+		final int byteLimitedSize = byteLimitedSize( rows, bytes );
+		if ( batchSize > byteLimitedSize ) {
+			// start over from the largest size within the byte limit
+			batchSize = byteLimitedSize;
+			bestBatchSize = byteLimitedSize;
+			bestThroughput = 0;
+			direction = -1;
+			return batchSize;
+		}
+
+		if ( rows < batchSize ) {
+			// a partial batch executed explicitly, for example on flush,
+			// says nothing about the batch size
+			return batchSize;
+		}
+
+		final double throughput = (double) rows / Math.max( nanos, 1L );
+		if ( bestThroughput == 0 ) {
+			// first measurement
+			bestBatchSize = batchSize;
+			bestThroughput = throughput;
+			batchSize = step( bestBatchSize, direction, byteLimitedSize );
+		}
+		else if ( batchSize == bestBatchSize ) {
+			if ( direction == 0 && throughput < bestThroughput * ( 1 - TOLERANCE ) ) {
+				// the settled size got worse, so probe again
+				direction = 1;
+				bestThroughput = throughput;
+				batchSize = step( bestBatchSize, direction, byteLimitedSize );
+			}
+			else {
+				bestThroughput = throughput;
+			}
+		}
+		else if ( throughput > bestThroughput * ( 1 + TOLERANCE ) ) {
+			// the last step was an improvement, so keep going
+			bestBatchSize = batchSize;
+			bestThroughput = throughput;
+			batchSize = step( bestBatchSize, direction, byteLimitedSize );
+		}
+		else if ( direction > 0 ) {
+			// growing did not help, so try shrinking
+			direction = -1;
+			batchSize = step( bestBatchSize, direction, byteLimitedSize );
+		}
+		else {
+			direction = 0;
+			batchSize = bestBatchSize;
+		}
+
+		if ( batchSize == bestBatchSize ) {
+			direction = 0;
+		}
+		return batchSize;
+	}
+
+	private int byteLimitedSize(int rows, long bytes) {
+		final long bytesPerRow = Math.max( 1L, bytes / rows );
+		return bounds.clamp( bounds.maxBytes / bytesPerRow );
+	}
+
+	private int step(int size, int direction, int byteLimitedSize) {
+		if ( direction > 0 ) {
+			return Math.min( bounds.clamp( size * 2L ), byteLimitedSize );
+		}
+		else if ( direction < 0 ) {
+			return bounds.clamp( size / 2 );
+		}
+		else {
+			return size;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "AdaptiveBatchSize(" + batchSize + ")";
+	}
+
+	/**
+	 * The bounds within which the batch size is chosen
+	 */
+	public static class Bounds {
+		private final int minSize;
+		private final int maxSize;
+		private final long maxBytes;
+
+		public Bounds(int minSize, int maxSize, long maxBytes) {
+			if ( minSize < 1 ) {
+				throw new IllegalArgumentException( "Minimum batch size must be positive" );
+			}
+			if ( maxSize < minSize ) {
+				throw new IllegalArgumentException( "Maximum batch size must not be less than the minimum batch size" );
+			}
+			if ( maxBytes < 1 ) {
+				throw new IllegalArgumentException( "Maximum batch bytes must be positive" );
+			}
+			this.minSize = minSize;
+			this.maxSize = maxSize;
+			this.maxBytes = maxBytes;
+		}
+
+		public int getMinSize() {
+			return minSize;
+		}
+
+		public int getMaxSize() {
+			return maxSize;
+		}
+
+		public long getMaxBytes() {
+			return maxBytes;
+		}
+
+		int clamp(long size) {
+			return (int) Math.max( minSize, Math.min( maxSize, size ) );
+		}
+	}
+}
@@ -31,6 +31,7 @@ import static org.hibernate.jdbc.Expectations.NONE;
  */
 public class BatchBuilderImpl implements BatchBuilder {
 	private final int globalBatchSize;
+	private final boolean multiRowInserts;
 
 	/**
 	 * Constructs a BatchBuilderImpl
@@ -39,14 +40,30 @@ public class BatchBuilderImpl implements BatchBuilder {
 	 * on {@link #buildBatch}
 	 */
 	public BatchBuilderImpl(int globalBatchSize) {
+		this( globalBatchSize, false );
+	}
+
+	/**
+	 * Constructs a BatchBuilderImpl
+	 *
+	 * @param globalBatchSize The batch size to use.  Can be overridden
+	 * on {@link #buildBatch}
+	 * @param multiRowInserts Whether inserts should be coalesced into
+	 * multi-row inserts
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS
+	 */
+	public BatchBuilderImpl(int globalBatchSize, boolean multiRowInserts) {
 		if ( BATCH_TRACE_ENABLED ) {
 			BATCH_LOGGER.tracef(
-					"Using standard BatchBuilder (%s)",
-					globalBatchSize
+					"Using standard BatchBuilder (%s, multi-row inserts: %s)",
+					globalBatchSize,
+					multiRowInserts
 			);
 		}
 
 		this.globalBatchSize = globalBatchSize;
+		this.multiRowInserts = multiRowInserts;
 	}
 
 	public int getJdbcBatchSize() {
@@ -64,7 +81,26 @@ public class BatchBuilderImpl implements BatchBuilder {
 				: explicitBatchSize;
 		assert batchSize > 1;
 
-		return new BatchImpl( key, statementGroupSupplier.get(), batchSize, jdbcCoordinator );
+		final PreparedStatementGroup statementGroup = statementGroupSupplier.get();
+		if ( multiRowInserts ) {
+			final Batch multiRowInsertBatch = MultiRowInsertBatch.build( key, statementGroup, batchSize, jdbcCoordinator );
+			if ( multiRowInsertBatch != null ) {
+				return multiRowInsertBatch;
+			}
+		}
+
+		return buildStandardBatch( key, statementGroup, batchSize, jdbcCoordinator );
+	}
+
+	/**
+	 * Build a {@link Batch} which uses {@link java.sql.PreparedStatement#addBatch()}
+	 */
+	protected Batch buildStandardBatch(
+			BatchKey key,
+			PreparedStatementGroup statementGroup,
+			int batchSize,
+			JdbcCoordinator jdbcCoordinator) {
+		return new BatchImpl( key, statementGroup, batchSize, jdbcCoordinator );
 	}
 
 
@@ -49,8 +49,29 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 		}
 
 		if ( builder == null ) {
+			if ( ConfigurationHelper.getBoolean( AvailableSettings.BATCH_ADAPTIVE, configurationValues ) ) {
+				final int batchSize = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+				return new AdaptiveBatchBuilder(
+						batchSize,
+						ConfigurationHelper.getBoolean( AvailableSettings.BATCH_MULTI_ROW_INSERTS, configurationValues ),
+						new AdaptiveBatchSize.Bounds(
+								ConfigurationHelper.getInt( AvailableSettings.BATCH_ADAPTIVE_MIN_SIZE, configurationValues, 1 ),
+								ConfigurationHelper.getInt(
+										AvailableSettings.BATCH_ADAPTIVE_MAX_SIZE,
+										configurationValues,
+										Math.max( batchSize, 1000 )
+								),
+								ConfigurationHelper.getLong(
+										AvailableSettings.BATCH_ADAPTIVE_MAX_BYTES,
+										configurationValues,
+										4 * 1024 * 1024
+								)
+						)
+				);
+			}
 			return new BatchBuilderImpl(
-					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 )
+					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 ),
+					ConfigurationHelper.getBoolean( AvailableSettings.BATCH_MULTI_ROW_INSERTS, configurationValues )
 			);
 		}
 
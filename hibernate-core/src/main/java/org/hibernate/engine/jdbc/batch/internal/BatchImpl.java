@@ -147,7 +147,7 @@ public class BatchImpl implements Batch {
 		}
 
 		batchPosition++;
-		if ( batchPosition == batchSizeToUse ) {
+		if ( batchPosition >= getBatchSizeToUse() ) {
 			notifyObserversImplicitExecution();
 			performExecution();
 			batchPosition = 0;
@@ -155,6 +155,20 @@ public class BatchImpl implements Batch {
 		}
 	}
 
+	/**
+	 * The number of additions after which the batch is implicitly executed
+	 */
+	protected int getBatchSizeToUse() {
+		return batchSizeToUse;
+	}
+
+	/**
+	 * The number of additions since the batch was last executed
+	 */
+	protected final int getBatchPosition() {
+		return batchPosition;
+	}
+
 	protected void releaseStatements() {
 		statementGroup.forEachStatement( (tableName, statementDetails) -> {
 			if ( statementDetails.getStatement() == null ) {
@@ -251,7 +265,7 @@ public class BatchImpl implements Batch {
 			BATCH_LOGGER.tracef(
 					"Executing JDBC batch (%s / %s) - `%s`",
 					batchPosition,
-					batchSizeToUse,
+					getBatchSizeToUse(),
 					getKey().toLoggableString()
 			);
 		}
@@ -0,0 +1,385 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+
+import org.hibernate.StaleStateException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
+import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
+import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
+import org.hibernate.engine.jdbc.mutation.group.PreparedStatementGroup;
+import org.hibernate.engine.jdbc.mutation.internal.PreparedStatementGroupSingleTable;
+import org.hibernate.engine.jdbc.mutation.spi.Binding;
+import org.hibernate.engine.jdbc.mutation.spi.BindingGroup;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.jdbc.Expectations;
+import org.hibernate.jdbc.TooManyRowsAffectedException;
+import org.hibernate.sql.ast.internal.ParameterMarkerStrategyStandard;
+import org.hibernate.sql.model.MutationType;
+import org.hibernate.sql.model.PreparableMutationOperation;
+import org.hibernate.sql.model.TableMapping;
+
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_DEBUG_ENABLED;
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_LOGGER;
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_MESSAGE_LOGGER;
+import static org.hibernate.engine.jdbc.batch.JdbcBatchLogging.BATCH_TRACE_ENABLED;
+import static org.hibernate.sql.model.ModelMutationLogging.MODEL_MUTATION_LOGGER;
+import static org.hibernate.sql.model.ModelMutationLogging.MODEL_MUTATION_LOGGER_TRACE_ENABLED;
+
+/**
+ * A {@link Batch} for inserts into a single table which, rather than using
+ * {@link PreparedStatement#addBatch()}, collects the bindings of the queued
+ * rows and executes them as a single multi-row {@code insert ... values (...),(...)}
+ * statement.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS
+ */
+public class MultiRowInsertBatch implements Batch {
+	private static final String VALUES = ") values ";
+
+	private final BatchKey key;
+	private final PreparedStatementGroupSingleTable statementGroup;
+	private final TableMapping tableDetails;
+	private final Expectation expectation;
+
+	private final String insertPrefix;
+	private final String valuesTuple;
+	private final int parametersPerRow;
+	private final int rowsPerStatement;
+	private String fullStatementSql;
+
+	private final JdbcCoordinator jdbcCoordinator;
+	private final SharedSessionContractImplementor session;
+	private final SqlStatementLogger sqlStatementLogger;
+	private final SqlExceptionHelper sqlExceptionHelper;
+
+	private final LinkedHashSet<BatchObserver> observers = new LinkedHashSet<>();
+
+	private final Binding[][] rows;
+	private int batchPosition;
+	private boolean batchExecuted;
+
+	/**
+	 * Builds a {@code MultiRowInsertBatch} for the given statement group, if its
+	 * statement is an insert which can be rendered as a multi-row insert.
+	 *
+	 * @return The batch, or {@code null} if multi-row inserts are not applicable
+	 */
+	public static MultiRowInsertBatch build(
+			BatchKey key,
+			PreparedStatementGroup statementGroup,
+			int batchSize,
+			JdbcCoordinator jdbcCoordinator) {
+		if ( !( statementGroup instanceof PreparedStatementGroupSingleTable )
+				|| !( jdbcCoordinator.getJdbcSessionOwner() instanceof SharedSessionContractImplementor ) ) {
+			return null;
+		}
+
+		final PreparableMutationOperation operation =
+				( (PreparedStatementGroupSingleTable) statementGroup ).getMutationOperation();
+		if ( operation.getMutationType() != MutationType.INSERT
+				|| operation.isCallable()
+				|| operation.getExpectation() != Expectations.BASIC && operation.getExpectation() != Expectations.NONE ) {
+			return null;
+		}
+
+		final SharedSessionContractImplementor session =
+				(SharedSessionContractImplementor) jdbcCoordinator.getJdbcSessionOwner();
+		final Dialect dialect = session.getJdbcServices().getDialect();
+		if ( !dialect.supportsValuesListForInsert()
+				// custom SQL may bind parameters anywhere in the statement
+				|| operation.getTableDetails().getInsertDetails().getCustomSql() != null
+				// numbered parameter markers cannot simply be repeated
+				|| !ParameterMarkerStrategyStandard.isStandardRenderer(
+						session.getFactory().getFastSessionServices().parameterMarkerStrategy ) ) {
+			return null;
+		}
+
+		// the values tuple of a generated insert is the last part of the statement,
+		// and contains all the parameters, so that it can simply be repeated
+		final String sql = operation.getSqlString();
+		final int parametersPerRow = operation.getParameterBinders().size();
+		final int valuesIndex = sql.lastIndexOf( VALUES );
+		if ( parametersPerRow == 0 || valuesIndex < 0 || !sql.endsWith( ")" ) ) {
+			return null;
+		}
+		final String insertPrefix = sql.substring( 0, valuesIndex + VALUES.length() );
+		final String valuesTuple = sql.substring( valuesIndex + VALUES.length() );
+		if ( !valuesTuple.startsWith( "(" ) ) {
+			return null;
+		}
+
+		final int parameterCountLimit = dialect.getParameterCountLimit();
+		final int rowsPerStatement = parameterCountLimit > 0
+				? Math.min( batchSize, parameterCountLimit / parametersPerRow )
+				: batchSize;
+		if ( rowsPerStatement < 2 ) {
+			return null;
+		}
+
+		return new MultiRowInsertBatch(
+				key,
+				(PreparedStatementGroupSingleTable) statementGroup,
+				insertPrefix,
+				valuesTuple,
+				parametersPerRow,
+				rowsPerStatement,
+				jdbcCoordinator
+		);
+	}
+
+	private MultiRowInsertBatch(
+			BatchKey key,
+			PreparedStatementGroupSingleTable statementGroup,
+			String insertPrefix,
+			String valuesTuple,
+			int parametersPerRow,
+			int rowsPerStatement,
+			JdbcCoordinator jdbcCoordinator) {
+		this.key = key;
+		this.statementGroup = statementGroup;
+		this.tableDetails = statementGroup.getMutationOperation().getTableDetails();
+		this.expectation = statementGroup.getMutationOperation().getExpectation();
+		this.insertPrefix = insertPrefix;
+		this.valuesTuple = valuesTuple;
+		this.parametersPerRow = parametersPerRow;
+		this.rowsPerStatement = rowsPerStatement;
+		this.rows = new Binding[rowsPerStatement][];
+
+		this.jdbcCoordinator = jdbcCoordinator;
+		this.session = (SharedSessionContractImplementor) jdbcCoordinator.getJdbcSessionOwner();
+
+		final JdbcServices jdbcServices = jdbcCoordinator.getJdbcSessionOwner().getJdbcSessionContext().getJdbcServices();
+		this.sqlStatementLogger = jdbcServices.getSqlStatementLogger();
+		this.sqlExceptionHelper = jdbcServices.getSqlExceptionHelper();
+
+		if ( BATCH_TRACE_ENABLED ) {
+			BATCH_LOGGER.tracef(
+					"Created multi-row insert Batch (%s) - `%s`",
+					rowsPerStatement,
+					key.toLoggableString()
+			);
+		}
+	}
+
+	@Override
+	public final BatchKey getKey() {
+		return key;
+	}
+
+	@Override
+	public PreparedStatementGroup getStatementGroup() {
+		return statementGroup;
+	}
+
+	@Override
+	public void addObserver(BatchObserver observer) {
+		observers.add( observer );
+	}
+
+	@Override
+	public void addToBatch(JdbcValueBindings jdbcValueBindings, TableInclusionChecker inclusionChecker) {
+		if ( inclusionChecker != null && !inclusionChecker.include( tableDetails ) ) {
+			if ( MODEL_MUTATION_LOGGER_TRACE_ENABLED ) {
+				MODEL_MUTATION_LOGGER.tracef(
+						"Skipping addBatch for table : %s (batch-position=%s)",
+						tableDetails.getTableName(),
+						batchPosition + 1
+				);
+			}
+			return;
+		}
+
+		if ( BATCH_TRACE_ENABLED ) {
+			BATCH_LOGGER.tracef(
+					"Adding to multi-row insert (%s) - `%s`",
+					batchPosition + 1,
+					getKey().toLoggableString()
+			);
+		}
+
+		// the bindings are cleared by afterStatement(), so keep a copy
+		final BindingGroup bindingGroup = jdbcValueBindings.getBindingGroup( tableDetails.getTableName() );
+		rows[batchPosition] = bindingGroup == null
+				? new Binding[0]
+				: bindingGroup.getBindings().toArray( new Binding[0] );
+		jdbcValueBindings.afterStatement( tableDetails );
+
+		batchPosition++;
+		if ( batchPosition == rowsPerStatement ) {
+			notifyObserversImplicitExecution();
+			performExecution();
+			batchExecuted = true;
+		}
+	}
+
+	private void notifyObserversExplicitExecution() {
+		for ( BatchObserver observer : observers ) {
+			observer.batchExplicitlyExecuted();
+		}
+	}
+
+	private void notifyObserversImplicitExecution() {
+		for ( BatchObserver observer : observers ) {
+			observer.batchImplicitlyExecuted();
+		}
+	}
+
+	private void abortBatch(Exception cause) {
+		try {
+			jdbcCoordinator.abortBatch();
+		}
+		catch (RuntimeException e) {
+			cause.addSuppressed( e );
+		}
+	}
+
+	@Override
+	public void execute() {
+		notifyObserversExplicitExecution();
+		try {
+			if ( batchPosition == 0 ) {
+				if ( !batchExecuted && BATCH_DEBUG_ENABLED ) {
+					BATCH_LOGGER.debugf(
+							"No batched statements to execute - %s",
+							getKey().toLoggableString()
+					);
+				}
+			}
+			else {
+				performExecution();
+			}
+		}
+		finally {
+			releaseStatements();
+		}
+	}
+
+	private String renderSql(int numberOfRows) {
+		if ( numberOfRows == rowsPerStatement && fullStatementSql != null ) {
+			return fullStatementSql;
+		}
+
+		final StringBuilder sql = new StringBuilder(
+				insertPrefix.length() + numberOfRows * ( valuesTuple.length() + 1 )
+		);
+		sql.append( insertPrefix ).append( valuesTuple );
+		for ( int i = 1; i < numberOfRows; i++ ) {
+			sql.append( ',' ).append( valuesTuple );
+		}
+
+		final String rendered = sql.toString();
+		if ( numberOfRows == rowsPerStatement ) {
+			fullStatementSql = rendered;
+		}
+		return rendered;
+	}
+
+	private void performExecution() {
+		if ( BATCH_TRACE_ENABLED ) {
+			BATCH_LOGGER.tracef(
+					"Executing multi-row insert (%s / %s) - `%s`",
+					batchPosition,
+					rowsPerStatement,
+					getKey().toLoggableString()
+			);
+		}
+
+		final int numberOfRows = batchPosition;
+		final String sql = renderSql( numberOfRows );
+		PreparedStatement statement = null;
+		try {
+			sqlStatementLogger.logStatement( sql );
+			statement = jdbcCoordinator.getMutationStatementPreparer().prepareStatement( sql, false );
+			jdbcCoordinator.getLogicalConnection().getResourceRegistry().register( null, statement );
+
+			for ( int row = 0; row < numberOfRows; row++ ) {
+				final int offset = row * parametersPerRow;
+				for ( Binding binding : rows[row] ) {
+					binding.getValueBinder().bind(
+							statement,
+							binding.getValue(),
+							binding.getPosition() + offset,
+							session
+					);
+				}
+			}
+
+			final int rowCount = jdbcCoordinator.getResultSetReturn().executeUpdate( statement, sql );
+			checkRowCount( rowCount, numberOfRows, sql );
+		}
+		catch (SQLException e) {
+			abortBatch( e );
+			BATCH_MESSAGE_LOGGER.unableToExecuteBatch( e, sql );
+			throw sqlExceptionHelper.convert( e, "could not execute multi-row insert", sql );
+		}
+		catch (RuntimeException re) {
+			abortBatch( re );
+			BATCH_MESSAGE_LOGGER.unableToExecuteBatch( re, sql );
+			throw re;
+		}
+		finally {
+			if ( statement != null ) {
+				jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( statement );
+			}
+			Arrays.fill( rows, 0, numberOfRows, null );
+			batchPosition = 0;
+		}
+	}
+
+	private void checkRowCount(int rowCount, int numberOfRows, String sql) {
+		if ( expectation == Expectations.NONE || rowCount == numberOfRows ) {
+			return;
+		}
+
+		final String message = String.format(
+				Locale.ROOT,
+				"Multi-row insert returned unexpected row count; actual row count: %s; expected: %s; statement executed: %s",
+				rowCount,
+				numberOfRows,
+				sql
+		);
+		if ( rowCount < numberOfRows ) {
+			throw new StaleStateException( message );
+		}
+		throw new TooManyRowsAffectedException( message, numberOfRows, rowCount );
+	}
+
+	private void releaseStatements() {
+		statementGroup.release();
+		jdbcCoordinator.afterStatementExecution();
+	}
+
+	@Override
+	public void release() {
+		if ( batchPosition != 0 && BATCH_MESSAGE_LOGGER.isInfoEnabled() ) {
+			BATCH_MESSAGE_LOGGER.batchContainedStatementsOnRelease();
+		}
+		Arrays.fill( rows, null );
+		batchPosition = 0;
+		releaseStatements();
+		observers.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "MultiRowInsertBatch(" + getKey().toLoggableString() + ")";
+	}
+}
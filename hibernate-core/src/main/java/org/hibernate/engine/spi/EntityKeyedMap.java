@@ -0,0 +1,38 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.spi;
+
+import java.util.Map;
+
+import org.hibernate.Incubating;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * A {@code Map} keyed by {@link EntityKey}, as used by a {@link PersistenceContext}
+ * to hold entity instances and snapshots.
+ * <p>
+ * In addition to the usual {@code Map} operations, implementations may offer a more
+ * efficient lookup by identifier value and persister, which does not require that an
+ * {@code EntityKey} be instantiated just to perform the lookup.
+ *
+ * @see PersistenceContextStorage
+ */
+@Incubating
+public interface EntityKeyedMap<V> extends Map<EntityKey,V> {
+	/**
+	 * Look up the value mapped to the entity with the given identifier.
+	 * Equivalent to {@code get( new EntityKey( id, persister ) )}.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The persister for the entity
+	 *
+	 * @return The mapped value, or {@code null}
+	 */
+	default V getByIdentifier(Object id, EntityPersister persister) {
+		return get( new EntityKey( id, persister ) );
+	}
+}
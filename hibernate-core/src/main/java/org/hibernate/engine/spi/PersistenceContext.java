@@ -7,8 +7,10 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
@@ -167,6 +169,19 @@ public interface PersistenceContext {
 	 */
 	Object getEntity(EntityKey key);
 
+	/**
+	 * Get the entity instance with the given identifier, without the need
+	 * to instantiate an {@link EntityKey} just for the lookup.
+	 *
+	 * @param id The identifier of the entity
+	 * @param persister The persister for the entity
+	 *
+	 * @return The matching entity, or {@code null}
+	 */
+	default Object getEntity(Object id, EntityPersister persister) {
+		return getEntity( getSession().generateEntityKey( id, persister ) );
+	}
+
 	/**
 	 * Is there an entity with the given key in the persistence context
 	 *
@@ -494,6 +509,34 @@ public interface PersistenceContext {
 	 */
 	Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntries();
 
+	/**
+	 * Execute some action on each entity/EntityEntry combo associated with the persistence context,
+	 * without necessarily taking a copy of them first. The action may add or remove entities, and
+	 * entities added while iterating are not visited.
+	 *
+	 * @param action the lambda to apply on each entity,EntityEntry combo of the PersistenceContext.
+	 *
+	 * @since 6.3
+	 */
+	default void forEachEntityEntry(BiConsumer<Object,EntityEntry> action) {
+		for ( Map.Entry<Object,EntityEntry> entry : reentrantSafeEntityEntries() ) {
+			action.accept( entry.getKey(), entry.getValue() );
+		}
+	}
+
+	/**
+	 * The persisters of the entities associated with the persistence context. Implementations
+	 * should keep track of these as entities are added and removed, rather than visiting each
+	 * entity.
+	 *
+	 * @since 6.3
+	 */
+	default Set<EntityPersister> getManagedEntityPersisters() {
+		final Set<EntityPersister> persisters = new HashSet<>();
+		forEachEntityEntry( (entity, entry) -> persisters.add( entry.getPersister() ) );
+		return persisters;
+	}
+
 //	/**
 //	 * Get the mapping from entity instance to entity entry
 //	 *
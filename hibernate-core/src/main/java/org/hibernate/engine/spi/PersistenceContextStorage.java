@@ -0,0 +1,46 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.spi;
+
+import java.util.Map;
+
+import org.hibernate.Incubating;
+import org.hibernate.service.Service;
+
+/**
+ * Creates the maps used by a {@link PersistenceContext} to hold its entity
+ * instances, database snapshots and collections, keyed by {@link EntityKey}
+ * and {@link CollectionKey}.
+ * <p>
+ * A custom {@code PersistenceContextStorage} may be selected using the configuration
+ * property {@value org.hibernate.cfg.AvailableSettings#PERSISTENCE_CONTEXT_STORAGE}.
+ * The built-in implementations are:
+ * <ul>
+ *     <li>{@code standard}, which uses {@link java.util.HashMap}, and
+ *     <li>{@code open-addressing}, which uses open addressing tables partitioned
+ *     by entity hierarchy, with a specialized table for entities having an
+ *     integral identifier.
+ * </ul>
+ *
+ * @see org.hibernate.engine.internal.StatefulPersistenceContext
+ */
+@Incubating
+public interface PersistenceContextStorage extends Service {
+	/**
+	 * Create a map keyed by {@link EntityKey}.
+	 *
+	 * @param expectedSize The number of entries the map is expected to hold initially
+	 */
+	<V> EntityKeyedMap<V> createEntityKeyedMap(int expectedSize);
+
+	/**
+	 * Create a map keyed by {@link CollectionKey}.
+	 *
+	 * @param expectedSize The number of entries the map is expected to hold initially
+	 */
+	<V> Map<CollectionKey,V> createCollectionKeyedMap(int expectedSize);
+}
@@ -7,6 +7,8 @@
 package org.hibernate.event.internal;
 
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
 
 import org.hibernate.HibernateException;
 import org.hibernate.Interceptor;
@@ -39,6 +41,8 @@ import org.hibernate.persister.entity.EntityPersister;
 
 import org.jboss.logging.Logger;
 
+import static org.hibernate.engine.internal.ManagedTypeHelper.isSelfDirtinessTracker;
+
 /**
  * A convenience base class for listeners whose functionality results in flushing.
  *
@@ -206,32 +210,95 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 
 		// So this needs to be safe from concurrent modification problems.
 
-		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
-		final int count = entityEntries.length;
+		final EntityFlusher flusher = new EntityFlusher( source, flushListeners );
+		final int parallelDirtyCheckThreshold = source.getFactory().getFastSessionServices().parallelDirtyCheckThreshold;
+		if ( parallelDirtyCheckThreshold > 0
+				&& persistenceContext.getNumberOfManagedEntities() >= parallelDirtyCheckThreshold ) {
+			// the parallel pass needs the entries in an array anyway
+			final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
+			final boolean[] probablyUnmodified = findProbablyUnmodified( entityEntries );
+			for ( int i = 0; i < entityEntries.length; i++ ) {
+				flusher.flush( entityEntries[i].getKey(), entityEntries[i].getValue(), probablyUnmodified[i] );
+			}
+		}
+		else {
+			persistenceContext.forEachEntityEntry( flusher );
+		}
 
-		FlushEntityEvent entityEvent = null; //allow reuse of the event as it's heavily allocated in certain use cases
-		int eventGenerationId = 0; //Used to double-check the instance reuse won't cause problems
+		source.getActionQueue().sortActions();
 
-		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
-			// Update the status of the object and if necessary, schedule an update
+		return flusher.count;
+	}
 
-			final EntityEntry entry = me.getValue();
+	/**
+	 * Fires a {@link FlushEntityEvent} for each entity it is passed, reusing a single event instance
+	 * where possible.
+	 */
+	private class EntityFlusher implements BiConsumer<Object,EntityEntry> {
+		private final EventSource source;
+		private final EventListenerGroup<FlushEntityEventListener> flushListeners;
+
+		private FlushEntityEvent entityEvent; //allow reuse of the event as it's heavily allocated in certain use cases
+		private int eventGenerationId; //Used to double-check the instance reuse won't cause problems
+		private int count;
+
+		private EntityFlusher(EventSource source, EventListenerGroup<FlushEntityEventListener> flushListeners) {
+			this.source = source;
+			this.flushListeners = flushListeners;
+		}
+
+		@Override
+		public void accept(Object entity, EntityEntry entry) {
+			flush( entity, entry, false );
+		}
+
+		private void flush(Object entity, EntityEntry entry, boolean probablyUnmodified) {
+			// Update the status of the object and if necessary, schedule an update
+			count++;
 			final Status status = entry.getStatus();
 
 			if ( status != Status.LOADING && status != Status.GONE ) {
-				entityEvent = createOrReuseEventInstance( entityEvent, source, me.getKey(), entry );
+				entityEvent = createOrReuseEventInstance( entityEvent, source, entity, entry );
 
 				entityEvent.setInstanceGenerationId( ++eventGenerationId );
+				entityEvent.setProbablyUnmodified( probablyUnmodified );
 
 				flushListeners.fireEventOnEachListener( entityEvent, FlushEntityEventListener::onFlushEntity );
 				entityEvent.setAllowedToReuse( true );
 				assert entityEvent.getInstanceGenerationId() == eventGenerationId;
 			}
 		}
+	}
 
-		source.getActionQueue().sortActions();
-
-		return count;
+	/**
+	 * Reads the current state of every managed entity and determines whether it is unmodified,
+	 * splitting the work across the common {@link java.util.concurrent.ForkJoinPool}. Nothing
+	 * here may use the session, call an interceptor or callback, or resolve an association.
+	 * <p>
+	 * The result is only a hint: flushing an entity may run callbacks which modify a later
+	 * entity, and so each entity found to be unmodified is checked again, on the calling
+	 * thread, when it is flushed.
+	 *
+	 * @return whether each entity was found to be unmodified
+	 */
+	private static boolean[] findProbablyUnmodified(Map.Entry<Object,EntityEntry>[] entityEntries) {
+		final boolean[] probablyUnmodified = new boolean[entityEntries.length];
+		IntStream.range( 0, entityEntries.length ).parallel().forEach( i -> {
+			final Object entity = entityEntries[i].getKey();
+			final EntityEntry entry = entityEntries[i].getValue();
+			final Object[] loadedState = entry.getLoadedState();
+			// entities which track their own dirtiness are cheap to check anyway
+			if ( entry.getStatus() == Status.MANAGED && loadedState != null && !isSelfDirtinessTracker( entity ) ) {
+				try {
+					final EntityPersister persister = entry.getPersister();
+					probablyUnmodified[i] = persister.isUnmodified( persister.getValues( entity ), loadedState );
+				}
+				catch (RuntimeException e) {
+					// the entity is checked again on the calling thread, which reports the problem
+				}
+			}
+		} );
+		return probablyUnmodified;
 	}
 
 	/**
@@ -6,16 +6,35 @@
  */
 package org.hibernate.event.internal;
 
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.CascadeStyle;
+import org.hibernate.engine.spi.CascadeStyles;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.type.AnyType;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -29,6 +48,12 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, DefaultAutoFlushEventListener.class.getName() );
 
+	// marks an entity which cascades to an association to any entity type
+	private static final Serializable[] ANY_SPACES = new Serializable[0];
+
+	// the tables which flushing an entity could write to, see #reachableSpaces
+	private final Map<EntityPersister, Serializable[]> reachableSpacesByPersister = new ConcurrentHashMap<>();
+
 	/**
 	 * Handle the given auto-flush event.
 	 * 
@@ -40,7 +65,7 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 		try {
 			eventListenerManager.partialFlushStart();
 
-			if ( flushMightBeNeeded( source ) ) {
+			if ( flushMightBeNeeded( source ) && !querySpacesUnaffected( event, source ) ) {
 				// Need to get the number of collection removals before flushing to executions
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final ActionQueue actionQueue = source.getActionQueue();
@@ -88,4 +113,120 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 			&& ( persistenceContext.getNumberOfManagedEntities() > 0
 				|| persistenceContext.getCollectionEntriesSize() > 0 );
 	}
+
+	/**
+	 * Determine, without dirty checking anything, that flushing the session could not
+	 * possibly affect the query spaces of the event, when enabled by
+	 * {@value org.hibernate.cfg.AvailableSettings#AUTO_FLUSH_QUERY_SPACE_CHECK}.
+	 */
+	private boolean querySpacesUnaffected(AutoFlushEvent event, EventSource source) {
+		if ( !source.getFactory().getFastSessionServices().autoFlushQuerySpaceCheckEnabled
+				|| source.getHibernateFlushMode() == FlushMode.ALWAYS ) {
+			return false;
+		}
+		final Set<String> querySpaces = event.getQuerySpaces();
+		if ( source.getActionQueue().areTablesToBeUpdated( querySpaces ) ) {
+			return false;
+		}
+		for ( EntityPersister persister : source.getPersistenceContextInternal().getManagedEntityPersisters() ) {
+			if ( mightAffect( persister, querySpaces ) ) {
+				return false;
+			}
+		}
+		LOG.trace( "No need to flush, since no managed entity or collection affects the query spaces" );
+		return true;
+	}
+
+	private boolean mightAffect(EntityPersister persister, Set<String> querySpaces) {
+		final Serializable[] spaces = reachableSpacesByPersister.computeIfAbsent( persister, DefaultAutoFlushEventListener::reachableSpaces );
+		return spaces == ANY_SPACES || intersects( spaces, querySpaces );
+	}
+
+	private static boolean intersects(Serializable[] spaces, Set<String> querySpaces) {
+		for ( Serializable space : spaces ) {
+			if ( querySpaces.contains( space ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The tables which flushing an entity could write to: the tables of the entity and of the
+	 * collections it owns, and those of every entity which it cascades to, transitively.
+	 */
+	private static Serializable[] reachableSpaces(EntityPersister persister) {
+		final MappingMetamodelImplementor mappingMetamodel = persister.getFactory().getMappingMetamodel();
+		final Set<Serializable> spaces = new HashSet<>();
+		final Set<String> visitedEntityNames = new HashSet<>();
+		final Deque<EntityPersister> pending = new ArrayDeque<>();
+		pending.add( persister );
+		visitedEntityNames.add( persister.getEntityName() );
+		while ( !pending.isEmpty() ) {
+			final EntityPersister current = pending.remove();
+			Collections.addAll( spaces, current.getPropertySpaces() );
+			final Type[] propertyTypes = current.getPropertyTypes();
+			final CascadeStyle[] cascadeStyles = current.getPropertyCascadeStyles();
+			for ( int i = 0; i < propertyTypes.length; i++ ) {
+				final Set<String> cascadedEntityNames =
+						cascadeStyles[i] == CascadeStyles.NONE ? null : new HashSet<>();
+				if ( !addReachableSpaces( propertyTypes[i], mappingMetamodel, spaces, cascadedEntityNames ) ) {
+					return ANY_SPACES;
+				}
+				if ( cascadedEntityNames != null ) {
+					for ( String entityName : cascadedEntityNames ) {
+						// the association might refer to an entity of any subclass
+						final EntityPersister cascaded = mappingMetamodel.getEntityDescriptor( entityName );
+						for ( String subclassEntityName : cascaded.getEntityMetamodel().getSubclassEntityNames() ) {
+							if ( visitedEntityNames.add( subclassEntityName ) ) {
+								pending.add( mappingMetamodel.getEntityDescriptor( subclassEntityName ) );
+							}
+						}
+					}
+				}
+			}
+		}
+		return spaces.toArray( new Serializable[0] );
+	}
+
+	/**
+	 * Adds the tables of the collections of the given property type to the spaces, and, when
+	 * the property cascades, the names of the entities it refers to to the entity names.
+	 *
+	 * @return {@code false} if the property cascades to an association to any entity type
+	 */
+	private static boolean addReachableSpaces(
+			Type type,
+			MappingMetamodelImplementor mappingMetamodel,
+			Set<Serializable> spaces,
+			Set<String> cascadedEntityNames) {
+		if ( type instanceof CollectionType ) {
+			final String role = ( (CollectionType) type ).getRole();
+			final CollectionPersister collectionPersister = mappingMetamodel.getCollectionDescriptor( role );
+			Collections.addAll( spaces, collectionPersister.getCollectionSpaces() );
+			if ( cascadedEntityNames != null ) {
+				if ( collectionPersister.hasIndex()
+						&& !addReachableSpaces( collectionPersister.getIndexType(), mappingMetamodel, spaces, cascadedEntityNames ) ) {
+					return false;
+				}
+				return addReachableSpaces( collectionPersister.getElementType(), mappingMetamodel, spaces, cascadedEntityNames );
+			}
+		}
+		else if ( type instanceof CompositeType ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				if ( !addReachableSpaces( subtype, mappingMetamodel, spaces, cascadedEntityNames ) ) {
+					return false;
+				}
+			}
+		}
+		else if ( cascadedEntityNames != null ) {
+			if ( type instanceof AnyType ) {
+				return false;
+			}
+			else if ( type instanceof EntityType ) {
+				cascadedEntityNames.add( ( (EntityType) type ).getAssociatedEntityName() );
+			}
+		}
+		return true;
+	}
 }
@@ -491,8 +491,16 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			final Object[] loadedState = entry.getLoadedState();
 			final Object entity = event.getEntity();
 			if ( loadedState != null ) {
-				// dirty check against the usual snapshot of the entity
-				dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+				// dirty check against the usual snapshot of the entity,
+				// skipping it if a quick check shows the state is unchanged
+				final boolean unmodified = event.isProbablyUnmodified()
+						// the state read now is checked again, since the hint may be stale
+						? persister.isUnmodified( values, loadedState )
+						: session.getFactory().getFastSessionServices().quickDirtyCheckEnabled
+								&& persister.isUnmodified( values, loadedState, session );
+				if ( !unmodified ) {
+					dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+				}
 				dirtyCheckPossible = true;
 			}
 			else if ( entry.getStatus() == Status.DELETED && !entry.isModifiableEntity() ) {
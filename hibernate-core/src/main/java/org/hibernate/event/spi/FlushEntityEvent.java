@@ -15,6 +15,7 @@ public class FlushEntityEvent extends AbstractEvent {
 
 	private Object entity;
 	private Object[] propertyValues;
+	private boolean probablyUnmodified;
 	private Object[] databaseSnapshot;
 	private int[] dirtyProperties;
 	private boolean hasDirtyCollection;
@@ -75,6 +76,21 @@ public class FlushEntityEvent extends AbstractEvent {
 	public void setPropertyValues(Object[] propertyValues) {
 		this.propertyValues = propertyValues;
 	}
+	/**
+	 * Whether the state of the entity was found to be unmodified with respect to
+	 * its loaded state before this event was fired. This is only a hint, since the
+	 * entity may have been modified since, and its state must be checked again.
+	 *
+	 * @since 6.3
+	 */
+	public boolean isProbablyUnmodified() {
+		return probablyUnmodified;
+	}
+
+	public void setProbablyUnmodified(boolean probablyUnmodified) {
+		this.probablyUnmodified = probablyUnmodified;
+	}
+
 	public Object getEntity() {
 		return entity;
 	}
@@ -97,6 +113,7 @@ public class FlushEntityEvent extends AbstractEvent {
 		this.allowedToReuse = false;
 		//and reset other fields to the default:
 		this.propertyValues = null;
+		this.probablyUnmodified = false;
 		this.databaseSnapshot = null;
 		this.dirtyProperties = null;
 		this.hasDirtyCollection = false;
@@ -23,6 +23,7 @@ import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
 import org.hibernate.engine.jdbc.mutation.spi.MutationExecutorService;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.PersistenceContextStorage;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.event.service.spi.EventListenerGroup;
 import org.hibernate.event.service.spi.EventListenerRegistry;
@@ -172,6 +173,10 @@ public final class FastSessionServices {
 	//Some fields are handy as public - still considered internal.
 	public final EntityCopyObserverFactory entityCopyObserverFactory;
 	public final BatchBuilder batchBuilder;
+	public final PersistenceContextStorage persistenceContextStorage;
+	public final boolean quickDirtyCheckEnabled;
+	public final boolean autoFlushQuerySpaceCheckEnabled;
+	public final int parallelDirtyCheckThreshold;
 	public final Dialect dialect;
 	public final ParameterMarkerStrategy parameterMarkerStrategy;
 
@@ -235,6 +240,9 @@ public final class FastSessionServices {
 		this.preferredSqlTypeCodeForBoolean = sessionFactoryOptions.getPreferredSqlTypeCodeForBoolean();
 		this.defaultTimeZoneStorageStrategy = sessionFactoryOptions.getDefaultTimeZoneStorageStrategy();
 		this.defaultJdbcBatchSize = sessionFactoryOptions.getJdbcBatchSize();
+		this.quickDirtyCheckEnabled = sessionFactoryOptions.isQuickDirtyCheckEnabled();
+		this.autoFlushQuerySpaceCheckEnabled = sessionFactoryOptions.isAutoFlushQuerySpaceCheckEnabled();
+		this.parallelDirtyCheckThreshold = sessionFactoryOptions.getParallelDirtyCheckThreshold();
 		this.requiresMultiTenantConnectionProvider = sessionFactory.getSessionFactoryOptions().isMultiTenancyEnabled();
 		this.parameterMarkerStrategy = serviceRegistry.getService( ParameterMarkerStrategy.class );
 		this.mutationExecutorService = serviceRegistry.getService( MutationExecutorService.class );
@@ -265,6 +273,7 @@ public final class FastSessionServices {
 		this.jsonFormatMapper = sessionFactoryOptions.getJsonFormatMapper();
 		this.xmlFormatMapper = sessionFactoryOptions.getXmlFormatMapper();
 		this.batchBuilder = serviceRegistry.getService( BatchBuilder.class );
+		this.persistenceContextStorage = serviceRegistry.getService( PersistenceContextStorage.class );
 	}
 
 	private static FlushMode initializeDefaultFlushMode(Map<String, Object> defaultSessionProperties) {
@@ -8,13 +8,20 @@ package org.hibernate.internal;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
 import org.hibernate.metamodel.mapping.JdbcMapping;
 import org.hibernate.metamodel.mapping.JdbcMappingContainer;
 import org.hibernate.sql.ast.SqlAstWalker;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
+import org.hibernate.sql.exec.internal.JdbcParameterBindingImpl;
 import org.hibernate.sql.exec.spi.ExecutionContext;
+import org.hibernate.sql.exec.spi.JdbcOperation;
 import org.hibernate.sql.exec.spi.JdbcParameterBinder;
+import org.hibernate.sql.exec.spi.JdbcParameterBinding;
 import org.hibernate.sql.exec.spi.JdbcParameterBindings;
 
 /**
@@ -23,10 +30,88 @@ import org.hibernate.sql.exec.spi.JdbcParameterBindings;
 public class FilterJdbcParameter implements JdbcParameter, JdbcParameterBinder {
 	private final JdbcMapping jdbcMapping;
 	private final Object jdbcParameterValue;
+	private final String filterName;
+	private final String parameterName;
+	private final int elementIndex;
 
 	public FilterJdbcParameter(JdbcMapping jdbcMapping, Object jdbcParameterValue) {
+		this( jdbcMapping, jdbcParameterValue, null, null, -1 );
+	}
+
+	/**
+	 * Creates a parameter of the named filter parameter which binds the given value,
+	 * unless the {@link JdbcParameterBindings} of the execution hold another value for
+	 * it, as {@linkplain #bindCurrentValues bound} by a reused statement.
+	 *
+	 * @param elementIndex the index of the bound element of a multivalued filter
+	 * parameter, or {@code -1} for a single valued filter parameter
+	 *
+	 * @since 6.3
+	 */
+	public FilterJdbcParameter(
+			JdbcMapping jdbcMapping,
+			Object jdbcParameterValue,
+			String filterName,
+			String parameterName,
+			int elementIndex) {
 		this.jdbcMapping = jdbcMapping;
 		this.jdbcParameterValue = jdbcParameterValue;
+		this.filterName = filterName;
+		this.parameterName = parameterName;
+		this.elementIndex = elementIndex;
+	}
+
+	/**
+	 * Binds the values the enabled filters of the session have now to the filter
+	 * parameters of the given operation, which was translated for an earlier
+	 * execution, so that the operation may be reused for other filter values.
+	 *
+	 * @since 6.3
+	 */
+	public static void bindCurrentValues(
+			JdbcOperation jdbcOperation,
+			JdbcParameterBindings jdbcParameterBindings,
+			SharedSessionContractImplementor session) {
+		final LoadQueryInfluencers loadQueryInfluencers = session.getLoadQueryInfluencers();
+		if ( !loadQueryInfluencers.hasEnabledFilters() ) {
+			return;
+		}
+		for ( JdbcParameterBinder parameterBinder : jdbcOperation.getParameterBinders() ) {
+			if ( parameterBinder instanceof FilterJdbcParameter ) {
+				final FilterJdbcParameter parameter = (FilterJdbcParameter) parameterBinder;
+				if ( parameter.filterName != null ) {
+					final FilterImpl filter = (FilterImpl) loadQueryInfluencers.getEnabledFilter( parameter.filterName );
+					if ( filter != null ) {
+						jdbcParameterBindings.addBinding(
+								parameter,
+								new JdbcParameterBindingImpl(
+										parameter.jdbcMapping,
+										parameter.jdbcMapping.convertToRelationalValue( parameter.elementValue( filter ) )
+								)
+						);
+					}
+				}
+			}
+		}
+	}
+
+	private Object elementValue(FilterImpl filter) {
+		final Object value = filter.getParameter( parameterName );
+		if ( elementIndex < 0 ) {
+			return value;
+		}
+		else if ( value instanceof List<?> && elementIndex < ( (List<?>) value ).size() ) {
+			return ( (List<?>) value ).get( elementIndex );
+		}
+		else if ( value instanceof Iterable<?> ) {
+			int index = 0;
+			for ( Object element : (Iterable<?>) value ) {
+				if ( index++ == elementIndex ) {
+					return element;
+				}
+			}
+		}
+		return jdbcParameterValue;
 	}
 
 	@Override
@@ -36,9 +121,10 @@ public class FilterJdbcParameter implements JdbcParameter, JdbcParameterBinder {
 
 	@Override
 	public void bindParameterValue(PreparedStatement statement, int startPosition, JdbcParameterBindings jdbcParameterBindings, ExecutionContext executionContext) throws SQLException {
+		final JdbcParameterBinding binding = jdbcParameterBindings.getBinding( this );
 		jdbcMapping.getJdbcValueBinder().bind(
 				statement,
-				jdbcMapping.convertToRelationalValue( jdbcParameterValue ),
+				binding == null ? jdbcMapping.convertToRelationalValue( jdbcParameterValue ) : binding.getBindValue(),
 				startPosition,
 				executionContext.getSession()
 		);
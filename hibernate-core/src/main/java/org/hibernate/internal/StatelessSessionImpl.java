@@ -6,7 +6,11 @@
  */
 package org.hibernate.internal;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
@@ -19,6 +23,8 @@ import org.hibernate.bytecode.enhance.spi.interceptor.EnhancementAsProxyLaziness
 import org.hibernate.bytecode.spi.BytecodeEnhancementMetadata;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.dialect.bulk.BulkLoadSupport;
+import org.hibernate.dialect.bulk.BulkLoadTarget;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
@@ -28,7 +34,9 @@ import org.hibernate.engine.spi.PersistentAttributeInterceptor;
 import org.hibernate.engine.transaction.internal.jta.JtaStatusHelper;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.mutation.InsertCoordinator;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.generator.Generator;
 import org.hibernate.generator.BeforeExecutionGenerator;
@@ -62,6 +70,18 @@ import static org.hibernate.proxy.HibernateProxy.extractLazyInitializer;
 public class StatelessSessionImpl extends AbstractSharedSessionContract implements StatelessSession {
 	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( StatelessSessionImpl.class );
 
+	/**
+	 * The maximum number of rows loaded by {@link #bulkInsert} using a single bulk
+	 * load command
+	 */
+	private static final int BULK_INSERT_CHUNK_SIZE = 10_000;
+
+	/**
+	 * The maximum JDBC batch size used by {@link #insertMultiple}, {@link #updateMultiple},
+	 * {@link #deleteMultiple} and {@link #bulkInsert} when no batch size is configured
+	 */
+	private static final int MAX_MULTIPLE_BATCH_SIZE = 1_000;
+
 	private static final LoadQueryInfluencers NO_INFLUENCERS = new LoadQueryInfluencers() {
 		@Override @Deprecated
 		public String getInternalFetchProfile() {
@@ -98,17 +118,94 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public Object insert(String entityName, Object entity) {
 		checkOpen();
-		final EntityPersister persister = getEntityPersister( entityName, entity );
+		return insert( getEntityPersister( entityName, entity ), entity );
+	}
+
+	@Override
+	public void insertMultiple(List<?> entities) {
+		checkOpen();
+		forEachBatched( entities, entities.size(), this::insert );
+	}
+
+	@Override
+	public <T> long bulkInsert(Class<T> entityClass, Iterable<? extends T> entities) {
+		checkOpen();
+		final EntityPersister persister = getFactory().getMappingMetamodel().getEntityDescriptor( entityClass );
+		// only entities inserted by an InsertCoordinator, as single rows of plain values, can be bulk loaded
+		final InsertCoordinator insertCoordinator = persister instanceof AbstractEntityPersister
+				? ( (AbstractEntityPersister) persister ).getInsertCoordinator()
+				: null;
+		final BulkLoadTarget target = insertCoordinator == null ? null : insertCoordinator.getBulkLoadTarget();
+		final BulkLoadSupport bulkLoadSupport = getJdbcServices().getDialect().getBulkLoadSupport();
+		if ( target == null || !bulkLoadSupport.canBulkLoad( target, this ) ) {
+			return forEachBatched(
+					entities,
+					MAX_MULTIPLE_BATCH_SIZE,
+					(entityPersister, entity) -> {
+						checkBulkInsertType( persister, entityPersister );
+						insert( entityPersister, entity );
+					}
+			);
+		}
+
+		// preserve the order of any statements already batched
+		getJdbcCoordinator().executeBatch();
+
+		// the identifiers of a chunk are generated before the chunk is
+		// loaded, since generating them may require the connection
+		final List<Object[]> rows = new ArrayList<>();
+		long count = 0;
+		Class<?> checkedClass = null;
+		for ( Object entity : entities ) {
+			if ( entity.getClass() != checkedClass ) {
+				checkBulkInsertType( persister, getEntityPersister( null, entity ) );
+				checkedClass = entity.getClass();
+			}
+			final Object[] state = persister.getValues( entity );
+			final Object id = generateIdentifier( persister, entity, state );
+			rows.add( insertCoordinator.decomposeForBulkLoad( id, state, entity, this ) );
+			persister.setIdentifier( entity, id, this );
+			if ( rows.size() == BULK_INSERT_CHUNK_SIZE ) {
+				count += bulkLoad( bulkLoadSupport, target, rows );
+				rows.clear();
+			}
+		}
+		if ( !rows.isEmpty() ) {
+			count += bulkLoad( bulkLoadSupport, target, rows );
+		}
+		return count;
+	}
+
+	private static void checkBulkInsertType(EntityPersister expected, EntityPersister actual) {
+		if ( actual != expected ) {
+			throw new IllegalArgumentException(
+					"Entity of type '" + actual.getEntityName()
+							+ "' is not an instance of exactly '" + expected.getEntityName() + "'"
+			);
+		}
+	}
+
+	private long bulkLoad(BulkLoadSupport bulkLoadSupport, BulkLoadTarget target, List<Object[]> rows) {
+		try {
+			return bulkLoadSupport.bulkLoad( target, rows.iterator(), this );
+		}
+		catch (SQLException e) {
+			throw getJdbcServices().getSqlExceptionHelper().convert(
+					e,
+					"Could not bulk load rows into table '" + target.getTableName() + "'"
+			);
+		}
+		finally {
+			getJdbcCoordinator().afterStatementExecution();
+		}
+	}
+
+	private Object insert(EntityPersister persister, Object entity) {
 		final Object id;
 		final Object[] state = persister.getValues( entity );
 		final Generator generator = persister.getGenerator();
 		if ( !generator.generatedOnExecution() ) {
-			id = ( (BeforeExecutionGenerator) generator).generate( this, entity, null, INSERT );
-			if ( persister.isVersioned() ) {
-				if ( seedVersion( entity, state, persister, this ) ) {
-					persister.setValues( entity, state );
-				}
-			}
+			id = generateIdentifier( persister, entity, state );
 			persister.insert( id, state, entity, this );
 		}
 		else {
@@ -118,6 +215,19 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		return id;
 	}
 
+	/**
+	 * Generate the identifier of a new instance, and seed its version
+	 */
+	private Object generateIdentifier(EntityPersister persister, Object entity, Object[] state) {
+		final Object id = ( (BeforeExecutionGenerator) persister.getGenerator() ).generate( this, entity, null, INSERT );
+		if ( persister.isVersioned() ) {
+			if ( seedVersion( entity, state, persister, this ) ) {
+				persister.setValues( entity, state );
+			}
+		}
+		return id;
+	}
+
 
 	// deletes ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -130,7 +240,16 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public void delete(String entityName, Object entity) {
 		checkOpen();
-		final EntityPersister persister = getEntityPersister( entityName, entity );
+		delete( getEntityPersister( entityName, entity ), entity );
+	}
+
+	@Override
+	public void deleteMultiple(List<?> entities) {
+		checkOpen();
+		forEachBatched( entities, entities.size(), this::delete );
+	}
+
+	private void delete(EntityPersister persister, Object entity) {
 		final Object id = persister.getIdentifier( entity, this );
 		final Object version = persister.getVersion( entity );
 		persister.delete( id, version, entity, this );
@@ -148,7 +267,16 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public void update(String entityName, Object entity) {
 		checkOpen();
-		final EntityPersister persister = getEntityPersister( entityName, entity );
+		update( getEntityPersister( entityName, entity ), entity );
+	}
+
+	@Override
+	public void updateMultiple(List<?> entities) {
+		checkOpen();
+		forEachBatched( entities, entities.size(), this::update );
+	}
+
+	private void update(EntityPersister persister, Object entity) {
 		final Object id = persister.getIdentifier( entity, this );
 		final Object[] state = persister.getValues( entity );
 		final Object oldVersion;
@@ -164,6 +292,40 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		persister.update( id, state, null, false, null, oldVersion, entity, null, this );
 	}
 
+	/**
+	 * Apply the given operation to each of the given entities, with JDBC batching enabled
+	 * even if no batch size is configured, and execute the batch once done.
+	 * <p>
+	 * The batch size used when none is configured is that given, but no more than
+	 * {@value #MAX_MULTIPLE_BATCH_SIZE}, the batch being executed each time it is full.
+	 */
+	private long forEachBatched(Iterable<?> entities, int batchSize, BiConsumer<EntityPersister, Object> operation) {
+		final Integer jdbcBatchSize = getJdbcBatchSize();
+		final Integer configuredJdbcBatchSize = getConfiguredJdbcBatchSize();
+		if ( ( configuredJdbcBatchSize == null || configuredJdbcBatchSize <= 1 ) && batchSize > 1 ) {
+			setJdbcBatchSize( Math.min( batchSize, MAX_MULTIPLE_BATCH_SIZE ) );
+		}
+		long count = 0;
+		try {
+			// avoid resolving the persister again for consecutive entities of the same class
+			Class<?> entityClass = null;
+			EntityPersister persister = null;
+			for ( Object entity : entities ) {
+				if ( entity.getClass() != entityClass ) {
+					entityClass = entity.getClass();
+					persister = getEntityPersister( null, entity );
+				}
+				operation.accept( persister, entity );
+				count++;
+			}
+			getJdbcCoordinator().executeBatch();
+		}
+		finally {
+			setJdbcBatchSize( jdbcBatchSize );
+		}
+		return count;
+	}
+
 
 	// loading ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -0,0 +1,112 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.Arrays;
+
+import static org.hibernate.internal.util.MathHelper.ceilingPowerOfTwo;
+
+/**
+ * A count-min sketch estimating how often keys were accessed, with 4-bit
+ * counters which are all halved once a number of accesses proportional to
+ * the size of the cache has been recorded, so that the estimate favors recent
+ * accesses. This is the frequency histogram of the TinyLFU admission policy
+ * described by Einziger, Friedman and Manes in <em>TinyLFU: A Highly Efficient
+ * Cache Admission Policy</em>.
+ * <p>
+ * Not thread-safe, the {@link TinyLfuCache} only uses it while holding its
+ * eviction lock.
+ *
+ * @since 6.3
+ */
+final class FrequencySketch {
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+	};
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final long ONE_MASK = 0x1111111111111111L;
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int size;
+
+	FrequencySketch(int expectedSize) {
+		final int capacity = ceilingPowerOfTwo( Math.min( Math.max( expectedSize, 16 ), 1 << 24 ) );
+		table = new long[capacity];
+		tableMask = capacity - 1;
+		sampleSize = 10 * capacity;
+	}
+
+	/**
+	 * The estimated number of recent accesses to the given key, at most 15.
+	 */
+	int frequency(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		int frequency = 15;
+		for ( int i = 0; i < 4; i++ ) {
+			final int offset = ( start + i ) << 2;
+			final int count = (int) ( ( table[indexOf( hash, i )] >>> offset ) & 0xfL );
+			frequency = Math.min( frequency, count );
+		}
+		return frequency;
+	}
+
+	/**
+	 * Record an access to the given key.
+	 */
+	void increment(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		boolean added = false;
+		for ( int i = 0; i < 4; i++ ) {
+			added |= incrementAt( indexOf( hash, i ), ( start + i ) << 2 );
+		}
+		if ( added && ++size == sampleSize ) {
+			reset();
+		}
+	}
+
+	/**
+	 * Forget all recorded accesses.
+	 */
+	void clear() {
+		Arrays.fill( table, 0L );
+		size = 0;
+	}
+
+	private boolean incrementAt(int index, int offset) {
+		final long mask = 0xfL << offset;
+		if ( ( table[index] & mask ) != mask ) {
+			table[index] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	private void reset() {
+		int oddCounters = 0;
+		for ( int i = 0; i < table.length; i++ ) {
+			oddCounters += Long.bitCount( table[i] & ONE_MASK );
+			table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+		}
+		size = ( size >>> 1 ) - ( oddCounters >>> 2 );
+	}
+
+	private int indexOf(int hash, int i) {
+		long index = ( hash + SEEDS[i] ) * SEEDS[i];
+		index += index >>> 32;
+		return ( (int) index ) & tableMask;
+	}
+
+	private static int spread(int hash) {
+		hash = ( ( hash >>> 16 ) ^ hash ) * 0x45d9f3b;
+		hash = ( ( hash >>> 16 ) ^ hash ) * 0x45d9f3b;
+		return ( hash >>> 16 ) ^ hash;
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A bounded cache used internally by Hibernate, for example to hold the
+ * {@linkplain org.hibernate.query.spi.QueryInterpretationCache interpretations
+ * and plans of queries}. Implementations must be safe for concurrent use, and
+ * are free to evict any entry at any time.
+ *
+ * @see InternalCacheFactory
+ *
+ * @since 6.3
+ */
+public interface InternalCache<K, V> {
+
+	/**
+	 * The value cached for the given key, or {@code null} if there is none.
+	 */
+	V get(K key);
+
+	/**
+	 * Cache the given value, replacing any value already cached for the key.
+	 */
+	void put(K key, V value);
+
+	/**
+	 * The value cached for the given key, or the value computed by the given
+	 * function, which is then cached. The function might be called concurrently
+	 * for the same key, in which case only one of the computed values is cached.
+	 */
+	V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+	/**
+	 * An estimate of the number of entries currently held by the cache.
+	 */
+	int heldElementsEstimate();
+
+	/**
+	 * Perform the given action for each entry currently held by the cache.
+	 */
+	void forEach(BiConsumer<? super K, ? super V> action);
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	void clear();
+}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+import org.hibernate.Incubating;
+
+/**
+ * Creates the {@linkplain InternalCache bounded caches} used by the
+ * {@linkplain org.hibernate.query.spi.QueryInterpretationCache query
+ * interpretation cache}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_FACTORY
+ *
+ * @since 6.3
+ */
+@Incubating
+public interface InternalCacheFactory {
+
+	/**
+	 * Create a cache holding entries up to the given total weight.
+	 *
+	 * @param maximumWeight the maximum total weight of the entries held by the cache
+	 * @param weigher determines the weight of an entry, which must be at least {@code 1}
+	 * @param evictionListener called when an entry is evicted to make room for other
+	 * entries, but not when it is replaced, or removed by {@link InternalCache#clear()}
+	 */
+	<K, V> InternalCache<K, V> createInternalCache(
+			int maximumWeight,
+			ToIntBiFunction<? super K, ? super V> weigher,
+			BiConsumer<? super K, ? super V> evictionListener);
+
+	/**
+	 * Create a cache holding up to the given number of entries.
+	 */
+	default <K, V> InternalCache<K, V> createInternalCache(int maximumSize) {
+		return createInternalCache( maximumSize, (key, value) -> 1, (key, value) -> {} );
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * Creates caches backed by a {@link BoundedConcurrentHashMap} with LIRS eviction,
+ * which were used by the query interpretation cache before Hibernate 6.3.
+ * <p>
+ * These caches hold up to the given maximum weight in entries, whatever their
+ * weight, and do not notify evictions.
+ *
+ * @since 6.3
+ */
+public class LegacyInternalCacheFactory implements InternalCacheFactory {
+	/**
+	 * The short name of this factory for
+	 * {@value org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_FACTORY}
+	 */
+	public static final String SHORT_NAME = "lirs";
+
+	public static final LegacyInternalCacheFactory INSTANCE = new LegacyInternalCacheFactory();
+
+	@Override
+	public <K, V> InternalCache<K, V> createInternalCache(
+			int maximumWeight,
+			ToIntBiFunction<? super K, ? super V> weigher,
+			BiConsumer<? super K, ? super V> evictionListener) {
+		return new LegacyInternalCache<>( maximumWeight );
+	}
+
+	private static class LegacyInternalCache<K, V> implements InternalCache<K, V> {
+		private final BoundedConcurrentHashMap<K, V> map;
+
+		private LegacyInternalCache(int maximumSize) {
+			map = new BoundedConcurrentHashMap<>( maximumSize, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		}
+
+		@Override
+		public V get(K key) {
+			return map.get( key );
+		}
+
+		@Override
+		public void put(K key, V value) {
+			map.put( key, value );
+		}
+
+		@Override
+		public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+			return map.computeIfAbsent( key, mappingFunction );
+		}
+
+		@Override
+		public int heldElementsEstimate() {
+			return map.size();
+		}
+
+		@Override
+		public void forEach(BiConsumer<? super K, ? super V> action) {
+			map.forEach( action );
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+		}
+	}
+}
@@ -0,0 +1,442 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+import static org.hibernate.internal.util.MathHelper.ceilingPowerOfTwo;
+
+/**
+ * A bounded cache with a W-TinyLFU eviction policy.
+ * <p>
+ * Entries are held by a {@link ConcurrentHashMap}, so that reads never block.
+ * Instead of updating the eviction policy, a read records the entry it found in
+ * one of several lossy buffers, which are drained to the policy under a lock by
+ * whichever thread fills a buffer or writes to the cache. Writes update the
+ * policy directly, while holding that same lock.
+ * <p>
+ * New entries are admitted to a small LRU window. When the window overflows,
+ * its least recently used entry becomes a candidate for the main space, which
+ * is a segmented LRU of a probation and a protected segment. The candidate
+ * replaces the least recently used entry of the probation segment only if it
+ * was accessed more often recently, as estimated by a {@link FrequencySketch}.
+ * Otherwise, the candidate is evicted.
+ *
+ * @see TinyLfuCacheFactory
+ *
+ * @since 6.3
+ */
+public class TinyLfuCache<K, V> implements InternalCache<K, V> {
+	private static final int READ_BUFFER_SIZE = 16;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	private static final int MAX_READ_BUFFERS = 64;
+
+	private static final byte NO_QUEUE = 0;
+	private static final byte WINDOW = 1;
+	private static final byte PROBATION = 2;
+	private static final byte PROTECTED = 3;
+
+	private final ConcurrentHashMap<K, Node<K, V>> data;
+	private final ToIntBiFunction<? super K, ? super V> weigher;
+	private final BiConsumer<? super K, ? super V> evictionListener;
+	private final ReadBuffer<K, V>[] readBuffers;
+
+	// the eviction policy, guarded by the eviction lock
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final FrequencySketch sketch;
+	private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+	private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+	private final AccessOrderQueue<K, V> protectedSegment = new AccessOrderQueue<>();
+	private final long maximumWeight;
+	private final long maximumWindowWeight;
+	private final long maximumProtectedWeight;
+	private long weight;
+	private long windowWeight;
+	private long protectedWeight;
+
+	@SuppressWarnings("unchecked")
+	public TinyLfuCache(
+			int maximumWeight,
+			ToIntBiFunction<? super K, ? super V> weigher,
+			BiConsumer<? super K, ? super V> evictionListener) {
+		if ( maximumWeight < 1 ) {
+			throw new IllegalArgumentException( "Maximum weight must be positive: " + maximumWeight );
+		}
+		this.data = new ConcurrentHashMap<>( Math.min( maximumWeight, 1 << 16 ) );
+		this.weigher = weigher;
+		this.evictionListener = evictionListener;
+		this.sketch = new FrequencySketch( maximumWeight );
+		this.maximumWeight = maximumWeight;
+		this.maximumWindowWeight = Math.max( 1, maximumWeight / 100 );
+		this.maximumProtectedWeight = ( maximumWeight - maximumWindowWeight ) * 4 / 5;
+
+		final int readBufferCount = Math.min(
+				ceilingPowerOfTwo( Runtime.getRuntime().availableProcessors() ),
+				MAX_READ_BUFFERS
+		);
+		this.readBuffers = new ReadBuffer[readBufferCount];
+		for ( int i = 0; i < readBufferCount; i++ ) {
+			readBuffers[i] = new ReadBuffer<>();
+		}
+	}
+
+	@Override
+	public V get(K key) {
+		final Node<K, V> node = data.get( key );
+		if ( node == null ) {
+			return null;
+		}
+		afterRead( node );
+		return node.value;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		final Node<K, V> node = new Node<>( key, value, weigh( key, value ) );
+		final Node<K, V> replaced = data.put( key, node );
+		afterWrite( node, replaced );
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		final Node<K, V> existing = data.get( key );
+		if ( existing != null ) {
+			afterRead( existing );
+			return existing.value;
+		}
+
+		final V value = mappingFunction.apply( key );
+		if ( value == null ) {
+			return null;
+		}
+		final Node<K, V> node = new Node<>( key, value, weigh( key, value ) );
+		final Node<K, V> concurrent = data.putIfAbsent( key, node );
+		if ( concurrent != null ) {
+			afterRead( concurrent );
+			return concurrent.value;
+		}
+		afterWrite( node, null );
+		return value;
+	}
+
+	@Override
+	public int heldElementsEstimate() {
+		return data.size();
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		data.forEach( (key, node) -> action.accept( key, node.value ) );
+	}
+
+	@Override
+	public void clear() {
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			retireAll( window );
+			retireAll( probation );
+			retireAll( protectedSegment );
+			data.clear();
+			sketch.clear();
+			weight = 0;
+			windowWeight = 0;
+			protectedWeight = 0;
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private int weigh(K key, V value) {
+		final int weight = weigher.applyAsInt( key, value );
+		if ( weight < 1 ) {
+			throw new IllegalArgumentException( "Weight of cache entry must be positive: " + weight );
+		}
+		return weight;
+	}
+
+	private void afterRead(Node<K, V> node) {
+		final ReadBuffer<K, V> buffer = readBuffers[readBufferIndex()];
+		if ( !buffer.offer( node ) && evictionLock.tryLock() ) {
+			try {
+				drainReadBuffers();
+			}
+			finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private int readBufferIndex() {
+		final long threadId = Thread.currentThread().getId();
+		return (int) ( ( threadId * 0x9e3779b97f4a7c15L ) >>> 32 ) & ( readBuffers.length - 1 );
+	}
+
+	private void afterWrite(Node<K, V> node, Node<K, V> replaced) {
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			if ( replaced != null ) {
+				retire( replaced );
+			}
+			// the node might already have been replaced, or removed by clear()
+			if ( node.retired || data.get( node.key ) != node ) {
+				return;
+			}
+			if ( node.weight > maximumWeight ) {
+				// it would evict every other entry, and then itself
+				evict( node );
+			}
+			else {
+				sketch.increment( node.key );
+				window.addLast( node );
+				node.queue = WINDOW;
+				weight += node.weight;
+				windowWeight += node.weight;
+				evict();
+			}
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void drainReadBuffers() {
+		for ( ReadBuffer<K, V> buffer : readBuffers ) {
+			buffer.drainTo( this );
+		}
+	}
+
+	private void onAccess(Node<K, V> node) {
+		if ( node.retired || node.queue == NO_QUEUE ) {
+			return;
+		}
+		sketch.increment( node.key );
+		switch ( node.queue ) {
+			case WINDOW:
+				window.moveToLast( node );
+				break;
+			case PROBATION:
+				probation.remove( node );
+				protectedSegment.addLast( node );
+				node.queue = PROTECTED;
+				protectedWeight += node.weight;
+				while ( protectedWeight > maximumProtectedWeight ) {
+					final Node<K, V> demoted = protectedSegment.pollFirst();
+					probation.addLast( demoted );
+					demoted.queue = PROBATION;
+					protectedWeight -= demoted.weight;
+				}
+				break;
+			case PROTECTED:
+				protectedSegment.moveToLast( node );
+				break;
+		}
+	}
+
+	private void evict() {
+		final List<Node<K, V>> candidates = new ArrayList<>();
+		while ( windowWeight > maximumWindowWeight ) {
+			final Node<K, V> candidate = window.pollFirst();
+			windowWeight -= candidate.weight;
+			candidate.queue = NO_QUEUE;
+			candidates.add( candidate );
+		}
+
+		for ( Node<K, V> candidate : candidates ) {
+			probation.addLast( candidate );
+			candidate.queue = PROBATION;
+			while ( weight > maximumWeight ) {
+				final Node<K, V> victim = probation.peekFirst();
+				if ( victim == candidate || sketch.frequency( candidate.key ) <= sketch.frequency( victim.key ) ) {
+					evict( candidate );
+					break;
+				}
+				evict( victim );
+			}
+		}
+
+		// entries heavier than the window may leave the cache overweight
+		while ( weight > maximumWeight ) {
+			if ( !probation.isEmpty() ) {
+				evict( probation.peekFirst() );
+			}
+			else if ( !protectedSegment.isEmpty() ) {
+				evict( protectedSegment.peekFirst() );
+			}
+			else {
+				evict( window.peekFirst() );
+			}
+		}
+	}
+
+	private void evict(Node<K, V> node) {
+		data.remove( node.key, node );
+		retire( node );
+		evictionListener.accept( node.key, node.value );
+	}
+
+	private void retire(Node<K, V> node) {
+		if ( node.retired ) {
+			return;
+		}
+		node.retired = true;
+		switch ( node.queue ) {
+			case WINDOW:
+				window.remove( node );
+				windowWeight -= node.weight;
+				break;
+			case PROBATION:
+				probation.remove( node );
+				break;
+			case PROTECTED:
+				protectedSegment.remove( node );
+				protectedWeight -= node.weight;
+				break;
+			default:
+				// not yet admitted to the policy
+				return;
+		}
+		node.queue = NO_QUEUE;
+		weight -= node.weight;
+	}
+
+	private void retireAll(AccessOrderQueue<K, V> queue) {
+		for ( Node<K, V> node = queue.pollFirst(); node != null; node = queue.pollFirst() ) {
+			node.retired = true;
+			node.queue = NO_QUEUE;
+		}
+	}
+
+	private static final class Node<K, V> {
+		final K key;
+		final V value;
+		final int weight;
+
+		// guarded by the eviction lock
+		byte queue = NO_QUEUE;
+		boolean retired;
+		Node<K, V> previous;
+		Node<K, V> next;
+
+		Node(K key, V value, int weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * A doubly-linked list of nodes in access order, from least to most recently used
+	 */
+	private static final class AccessOrderQueue<K, V> {
+		private Node<K, V> first;
+		private Node<K, V> last;
+
+		boolean isEmpty() {
+			return first == null;
+		}
+
+		Node<K, V> peekFirst() {
+			return first;
+		}
+
+		Node<K, V> pollFirst() {
+			final Node<K, V> node = first;
+			if ( node != null ) {
+				remove( node );
+			}
+			return node;
+		}
+
+		void addLast(Node<K, V> node) {
+			node.previous = last;
+			node.next = null;
+			if ( last == null ) {
+				first = node;
+			}
+			else {
+				last.next = node;
+			}
+			last = node;
+		}
+
+		void moveToLast(Node<K, V> node) {
+			if ( node != last ) {
+				remove( node );
+				addLast( node );
+			}
+		}
+
+		void remove(Node<K, V> node) {
+			if ( node.previous == null ) {
+				first = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				last = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+			node.previous = null;
+			node.next = null;
+		}
+	}
+
+	/**
+	 * A bounded ring buffer of reads which drops reads when full or contended,
+	 * since the eviction policy can tolerate missing some of them
+	 */
+	private static final class ReadBuffer<K, V> {
+		private final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>( READ_BUFFER_SIZE );
+		private final AtomicLong writeCounter = new AtomicLong();
+		// only written while holding the eviction lock
+		private final AtomicLong readCounter = new AtomicLong();
+
+		/**
+		 * @return {@code false} if the buffer is full and should be drained
+		 */
+		boolean offer(Node<K, V> node) {
+			final long tail = writeCounter.get();
+			if ( tail - readCounter.get() >= READ_BUFFER_SIZE ) {
+				return false;
+			}
+			if ( writeCounter.compareAndSet( tail, tail + 1 ) ) {
+				buffer.lazySet( (int) tail & READ_BUFFER_MASK, node );
+			}
+			return true;
+		}
+
+		void drainTo(TinyLfuCache<K, V> cache) {
+			long head = readCounter.get();
+			final long tail = writeCounter.get();
+			for ( ; head < tail; head++ ) {
+				final int index = (int) head & READ_BUFFER_MASK;
+				final Node<K, V> node = buffer.get( index );
+				if ( node == null ) {
+					// the read has not been published yet
+					break;
+				}
+				buffer.lazySet( index, null );
+				cache.onAccess( node );
+			}
+			readCounter.lazySet( head );
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Creates {@link TinyLfuCache}s, the default kind of cache used by the
+ * query interpretation cache.
+ *
+ * @since 6.3
+ */
+public class TinyLfuCacheFactory implements InternalCacheFactory {
+	/**
+	 * The short name of this factory for
+	 * {@value org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_FACTORY}
+	 */
+	public static final String SHORT_NAME = "tinylfu";
+
+	public static final TinyLfuCacheFactory INSTANCE = new TinyLfuCacheFactory();
+
+	@Override
+	public <K, V> InternalCache<K, V> createInternalCache(
+			int maximumWeight,
+			ToIntBiFunction<? super K, ? super V> weigher,
+			BiConsumer<? super K, ? super V> evictionListener) {
+		return new TinyLfuCache<>( maximumWeight, weigher, evictionListener );
+	}
+}
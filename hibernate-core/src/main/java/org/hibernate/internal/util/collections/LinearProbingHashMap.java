@@ -0,0 +1,391 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@code Map} based on open addressing with linear probing, storing keys
+ * and values in two parallel arrays rather than in a chain of node objects.
+ * <p>
+ * Compared to {@link java.util.HashMap} this avoids one allocation per entry
+ * and keeps lookups within a contiguous array, which matters for the very
+ * large maps kept by a persistence context. Removal leaves a tombstone
+ * behind, so that removing entries through an iterator is safe; tombstones
+ * are purged when the table is next rehashed.
+ * <p>
+ * {@code null} keys are not supported.
+ */
+public final class LinearProbingHashMap<K,V> extends AbstractMap<K,V> {
+	private static final Object TOMBSTONE = new Object();
+	private static final int MIN_CAPACITY = 8;
+
+	private Object[] keys;
+	private Object[] values;
+	// number of live entries
+	private int size;
+	// number of live entries plus tombstones
+	private int occupied;
+	private int threshold;
+
+	public LinearProbingHashMap(int expectedSize) {
+		allocate( capacityFor( expectedSize ) );
+	}
+
+	/**
+	 * The smallest power of two able to hold {@code expectedSize} entries
+	 * without exceeding a 75% load factor.
+	 */
+	public static int capacityFor(int expectedSize) {
+		final int minimum = Math.max( MIN_CAPACITY, expectedSize + ( expectedSize / 3 ) + 1 );
+		return Integer.highestOneBit( minimum - 1 ) << 1;
+	}
+
+	/**
+	 * Spreads the bits of a hash code, so that sequential values (which are
+	 * very common for identifiers) do not cluster in the table.
+	 */
+	public static int spread(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		threshold = ( capacity >> 2 ) * 3;
+	}
+
+	private int indexOf(Object key) {
+		final Object[] keys = this.keys;
+		final int mask = keys.length - 1;
+		int index = spread( key.hashCode() ) & mask;
+		while ( true ) {
+			final Object candidate = keys[index];
+			if ( candidate == null ) {
+				return -1;
+			}
+			if ( candidate == key || candidate != TOMBSTONE && candidate.equals( key ) ) {
+				return index;
+			}
+			index = ( index + 1 ) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key != null && indexOf( key ) >= 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if ( key == null ) {
+			return null;
+		}
+		final int index = indexOf( key );
+		return index < 0 ? null : (V) values[index];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		Objects.requireNonNull( key );
+		final Object[] keys = this.keys;
+		final int mask = keys.length - 1;
+		int index = spread( key.hashCode() ) & mask;
+		int firstTombstone = -1;
+		while ( true ) {
+			final Object candidate = keys[index];
+			if ( candidate == null ) {
+				break;
+			}
+			if ( candidate == TOMBSTONE ) {
+				if ( firstTombstone < 0 ) {
+					firstTombstone = index;
+				}
+			}
+			else if ( candidate == key || candidate.equals( key ) ) {
+				final V previous = (V) values[index];
+				values[index] = value;
+				return previous;
+			}
+			index = ( index + 1 ) & mask;
+		}
+
+		if ( firstTombstone >= 0 ) {
+			keys[firstTombstone] = key;
+			values[firstTombstone] = value;
+			size++;
+		}
+		else {
+			keys[index] = key;
+			values[index] = value;
+			size++;
+			if ( ++occupied > threshold ) {
+				rehash();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if ( key == null ) {
+			return null;
+		}
+		final int index = indexOf( key );
+		if ( index < 0 ) {
+			return null;
+		}
+		final V previous = (V) values[index];
+		removeAt( index );
+		return previous;
+	}
+
+	private void removeAt(int index) {
+		keys[index] = TOMBSTONE;
+		values[index] = null;
+		size--;
+	}
+
+	@Override
+	public void clear() {
+		if ( occupied > 0 ) {
+			Arrays.fill( keys, null );
+			Arrays.fill( values, null );
+			size = 0;
+			occupied = 0;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void rehash() {
+		final Object[] oldKeys = keys;
+		final Object[] oldValues = values;
+		// if most of the occupied slots are tombstones, purging them is enough
+		final int capacity = size >= occupied >> 1 ? oldKeys.length << 1 : oldKeys.length;
+		allocate( capacity );
+		final Object[] keys = this.keys;
+		final int mask = capacity - 1;
+		for ( int i = 0; i < oldKeys.length; i++ ) {
+			final Object key = oldKeys[i];
+			if ( key != null && key != TOMBSTONE ) {
+				int index = spread( key.hashCode() ) & mask;
+				while ( keys[index] != null ) {
+					index = ( index + 1 ) & mask;
+				}
+				keys[index] = key;
+				values[index] = oldValues[i];
+			}
+		}
+		occupied = size;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		final Object[] keys = this.keys;
+		final Object[] values = this.values;
+		for ( int i = 0; i < keys.length; i++ ) {
+			final Object key = keys[i];
+			if ( key != null && key != TOMBSTONE ) {
+				action.accept( (K) key, (V) values[i] );
+			}
+		}
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new SlotIterator<>() {
+					@Override
+					@SuppressWarnings("unchecked")
+					Entry<K, V> element(int index) {
+						return new SlotEntry( index, (K) iteratedKeys[index] );
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<K> iterator() {
+				return new SlotIterator<>() {
+					@Override
+					@SuppressWarnings("unchecked")
+					K element(int index) {
+						return (K) iteratedKeys[index];
+					}
+				};
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey( o );
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public Collection<V> values() {
+		return new AbstractCollection<>() {
+			@Override
+			public Iterator<V> iterator() {
+				return new SlotIterator<>() {
+					@Override
+					@SuppressWarnings("unchecked")
+					V element(int index) {
+						return (V) iteratedValues[index];
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private abstract class SlotIterator<T> implements Iterator<T> {
+		// the arrays are captured so that a rehash triggered during
+		// iteration does not cause entries to be seen twice
+		final Object[] iteratedKeys = keys;
+		final Object[] iteratedValues = values;
+		private int next = advance( 0 );
+		private int current = -1;
+
+		abstract T element(int index);
+
+		private int advance(int from) {
+			for ( int i = from; i < iteratedKeys.length; i++ ) {
+				final Object key = iteratedKeys[i];
+				if ( key != null && key != TOMBSTONE ) {
+					return i;
+				}
+			}
+			return iteratedKeys.length;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < iteratedKeys.length;
+		}
+
+		@Override
+		public T next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			next = advance( next + 1 );
+			return element( current );
+		}
+
+		@Override
+		public void remove() {
+			if ( current < 0 ) {
+				throw new IllegalStateException();
+			}
+			if ( iteratedKeys == keys ) {
+				removeAt( current );
+			}
+			else {
+				LinearProbingHashMap.this.remove( iteratedKeys[current] );
+			}
+			current = -1;
+		}
+	}
+
+	private final class SlotEntry implements Entry<K,V> {
+		private final int index;
+		private final K key;
+
+		private SlotEntry(int index, K key) {
+			this.index = index;
+			this.key = key;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return keys[index] == key ? (V) values[index] : get( key );
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V setValue(V value) {
+			if ( keys[index] == key ) {
+				final V previous = (V) values[index];
+				values[index] = value;
+				return previous;
+			}
+			return put( key, value );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof Map.Entry ) ) {
+				return false;
+			}
+			final Entry<?, ?> that = (Entry<?, ?>) o;
+			return key.equals( that.getKey() ) && Objects.equals( getValue(), that.getValue() );
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ Objects.hashCode( getValue() );
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+}
@@ -248,18 +248,18 @@ public class CacheEntityLoaderHelper {
 			return null;
 		}
 
-		final Object ce = getFromSharedCache( entityKey.getIdentifier(), persister, source );
+		final CacheEntry entry = getFromSharedCache( entityKey.getIdentifier(), persister, source );
 
-		if ( ce == null ) {
+		if ( entry == null ) {
 			// nothing was found in cache
 			return null;
 		}
 
-		return processCachedEntry( entity, persister, ce, source, entityKey );
+		return processCachedEntry( entity, persister, entry, source, entityKey );
 	}
 
 
-	private Object getFromSharedCache(
+	private CacheEntry getFromSharedCache(
 			final Object entityId,
 			final EntityPersister persister,
 			SessionImplementor source) {
@@ -273,9 +273,13 @@ public class CacheEntityLoaderHelper {
 		);
 
 		final Object ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		// a cached state which cannot be read by this mapping of the entity is a miss
+		final CacheEntry entry = ce == null
+				? null
+				: (CacheEntry) persister.getCacheEntryStructure().destructure( ce, factory );
 		final StatisticsImplementor statistics = factory.getStatistics();
 		if ( statistics.isStatisticsEnabled() ) {
-			if ( ce == null ) {
+			if ( entry == null ) {
 				statistics.entityCacheMiss(
 						StatsHelper.INSTANCE.getRootEntityRole( persister ),
 						cache.getRegion().getName()
@@ -288,17 +292,16 @@ public class CacheEntityLoaderHelper {
 				);
 			}
 		}
-		return ce;
+		return entry;
 	}
 
 	private Object processCachedEntry(
 			final Object instanceToLoad,
 			final EntityPersister persister,
-			final Object ce,
+			final CacheEntry entry,
 			final EventSource source,
 			final EntityKey entityKey) {
 
-		CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure( ce, source.getFactory() );
 		if ( entry.isReferenceEntry() ) {
 			if ( instanceToLoad != null ) {
 				throw new HibernateException(
@@ -11,6 +11,8 @@ import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.tuple.NonIdentifierAttribute;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.Type;
 
 /**
  * Operations for searching an array of property values for modified elements.
@@ -72,6 +74,85 @@ class DirtyHelper {
 		}
 	}
 
+	/**
+	 * Determine, as cheaply as possible, whether the given field values are certainly
+	 * not dirty.
+	 * <p>
+	 * A value of an immutable type which is the very same instance as its baseline is
+	 * not dirty, and a value of an immutable type which is a different instance is
+	 * conservatively assumed to be dirty, without calling {@link org.hibernate.type.Type#isDirty}.
+	 * Values of mutable types might have been modified in place, and so are always
+	 * subjected to the full dirty check.
+	 *
+	 * @param properties The property definitions
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity
+	 * @param mutability Whether the type of each property is mutable
+	 * @param includeColumns Columns to be included in the dirty checking, per property
+	 * @param session The session from which the dirty check request originated.
+	 *
+	 * @return {@code true} if no property is dirty, or {@code false} if some property
+	 *         might be dirty, in which case {@link #findDirty} must be called
+	 */
+	public static boolean isUnmodified(
+			final NonIdentifierAttribute[] properties,
+			final Object[] currentState,
+			final Object[] previousState,
+			final boolean[] mutability,
+			final boolean[][] includeColumns,
+			final SharedSessionContractImplementor session) {
+		for ( int i = 0; i < properties.length; i++ ) {
+			if ( mutability[i] ) {
+				if ( isDirty( properties, currentState, previousState, includeColumns, session, i ) ) {
+					return false;
+				}
+			}
+			else if ( currentState[i] != previousState[i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determine, without the help of a session, whether the given field values are
+	 * certainly not dirty.
+	 * <p>
+	 * Like {@link #isUnmodified(NonIdentifierAttribute[], Object[], Object[], boolean[], boolean[][], SharedSessionContractImplementor)},
+	 * but values of mutable types are only compared when they are of a basic type, and
+	 * are otherwise conservatively assumed to be dirty, so that no association is ever
+	 * resolved, and no interceptor is ever called.
+	 *
+	 * @param properties The property definitions
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity
+	 * @param mutability Whether the type of each property is mutable
+	 *
+	 * @return {@code true} if no property is dirty, or {@code false} if some property
+	 *         might be dirty
+	 */
+	public static boolean isUnmodified(
+			final NonIdentifierAttribute[] properties,
+			final Object[] currentState,
+			final Object[] previousState,
+			final boolean[] mutability) {
+		for ( int i = 0; i < properties.length; i++ ) {
+			final Object current = currentState[i];
+			final Object previous = previousState[i];
+			if ( current == previous || current == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+				continue;
+			}
+			if ( !mutability[i] || previous == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+				return false;
+			}
+			final Type type = properties[i].getType();
+			if ( !( type instanceof BasicType ) || !type.isEqual( current, previous ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Determine if any of the given field values are modified, returning an array containing
 	 * indices of the modified fields.
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 import org.hibernate.HibernateException;
+import org.hibernate.Incubating;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
@@ -374,6 +375,45 @@ public interface EntityPersister extends EntityMappingType, RootTableGroupProduc
 	 */
 	int[] findDirty(Object[] currentState, Object[] previousState, Object owner, SharedSessionContractImplementor session);
 
+	/**
+	 * Cheaply determine if the two snapshots certainly represent the same state,
+	 * without computing which properties are dirty. A {@code false} result does
+	 * not imply that the state is dirty, only that {@link #findDirty} must be
+	 * called to find out.
+	 *
+	 * @param currentState The current snapshot
+	 * @param previousState The baseline snapshot
+	 * @param session The originating session
+	 * @return {@code true} if no property is dirty
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_QUICK_DIRTY_CHECK
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default boolean isUnmodified(Object[] currentState, Object[] previousState, SharedSessionContractImplementor session) {
+		return false;
+	}
+
+	/**
+	 * Determine, without access to any session, if the two snapshots certainly
+	 * represent the same state. Unlike {@link #isUnmodified(Object[], Object[], SharedSessionContractImplementor)},
+	 * this never resolves an association nor calls an interceptor, and so it may
+	 * be called from any thread.
+	 *
+	 * @param currentState The current snapshot
+	 * @param previousState The baseline snapshot
+	 * @return {@code true} if no property is dirty
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default boolean isUnmodified(Object[] currentState, Object[] previousState) {
+		return false;
+	}
+
 	/**
 	 * Compare the two snapshots to determine if they represent modified state.
 	 *
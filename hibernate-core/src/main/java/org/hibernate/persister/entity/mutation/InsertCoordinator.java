@@ -11,12 +11,15 @@ import java.util.List;
 
 import org.hibernate.Internal;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.bulk.BulkLoadTarget;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
 import org.hibernate.engine.jdbc.mutation.MutationExecutor;
 import org.hibernate.engine.jdbc.mutation.ParameterUsage;
 import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
+import org.hibernate.engine.jdbc.mutation.group.PreparedStatementDetails;
+import org.hibernate.engine.jdbc.mutation.spi.BindingGroup;
 import org.hibernate.engine.jdbc.mutation.spi.MutationExecutorService;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -27,12 +30,17 @@ import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
 import org.hibernate.metamodel.mapping.AttributeMapping;
 import org.hibernate.metamodel.mapping.AttributeMappingsList;
 import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.JdbcMapping;
 import org.hibernate.metamodel.mapping.PluralAttributeMapping;
 import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.sql.exec.spi.JdbcParameterBinder;
+import org.hibernate.sql.model.MutationOperation;
 import org.hibernate.sql.model.MutationOperationGroup;
 import org.hibernate.sql.model.MutationType;
+import org.hibernate.sql.model.PreparableMutationOperation;
 import org.hibernate.sql.model.TableMapping;
 import org.hibernate.sql.model.ValuesAnalysis;
+import org.hibernate.sql.model.ast.ColumnValueParameter;
 import org.hibernate.sql.model.ast.builder.MutationGroupBuilder;
 import org.hibernate.sql.model.ast.builder.TableInsertBuilder;
 import org.hibernate.sql.model.ast.builder.TableInsertBuilderStandard;
@@ -52,6 +60,10 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 	private final MutationOperationGroup staticInsertGroup;
 	private final BasicBatchKey batchKey;
 
+	// resolved on first use, bulkLoadTargetResolved publishing bulkLoadTarget
+	private BulkLoadTarget bulkLoadTarget;
+	private volatile boolean bulkLoadTargetResolved;
+
 	public InsertCoordinator(AbstractEntityPersister entityPersister, SessionFactoryImplementor factory) {
 		super( entityPersister, factory );
 
@@ -196,8 +208,25 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 			boolean[] propertyInclusions,
 			TableInclusionChecker tableInclusionChecker,
 			SharedSessionContractImplementor session) {
-		final JdbcValueBindings jdbcValueBindings = mutationExecutor.getJdbcValueBindings();
+		decomposeForInsert(
+				mutationExecutor.getJdbcValueBindings(),
+				id,
+				values,
+				mutationGroup,
+				propertyInclusions,
+				tableInclusionChecker,
+				session
+		);
+	}
 
+	protected void decomposeForInsert(
+			JdbcValueBindings jdbcValueBindings,
+			Object id,
+			Object[] values,
+			MutationOperationGroup mutationGroup,
+			boolean[] propertyInclusions,
+			TableInclusionChecker tableInclusionChecker,
+			SharedSessionContractImplementor session) {
 		mutationGroup.forEachOperation( (position, operation) -> {
 			final EntityTableMapping tableDetails = (EntityTableMapping) operation.getTableDetails();
 			if ( tableInclusionChecker.include( tableDetails ) ) {
@@ -223,6 +252,130 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 		} );
 	}
 
+	/**
+	 * The table and columns of the static insert, if the entity is inserted as a single
+	 * row of plain parameter values, and no values are generated by the database.
+	 * Otherwise, {@code null}.
+	 *
+	 * @see org.hibernate.dialect.bulk.BulkLoadSupport
+	 */
+	public BulkLoadTarget getBulkLoadTarget() {
+		if ( !bulkLoadTargetResolved ) {
+			synchronized ( this ) {
+				if ( !bulkLoadTargetResolved ) {
+					bulkLoadTarget = resolveBulkLoadTarget();
+					bulkLoadTargetResolved = true;
+				}
+			}
+		}
+		return bulkLoadTarget;
+	}
+
+	private BulkLoadTarget resolveBulkLoadTarget() {
+		if ( staticInsertGroup == null
+				|| staticInsertGroup.getNumberOfOperations() != 1
+				|| entityPersister().getGenerator().generatedOnExecution()
+				|| entityPersister().hasInsertGeneratedProperties() ) {
+			return null;
+		}
+
+		final MutationOperation operation = staticInsertGroup.getSingleOperation();
+		if ( !( operation instanceof PreparableMutationOperation )
+				|| operation.getTableDetails().getInsertDetails().getCustomSql() != null ) {
+			return null;
+		}
+
+		final PreparableMutationOperation insert = (PreparableMutationOperation) operation;
+		final List<JdbcParameterBinder> parameterBinders = insert.getParameterBinders();
+		final int columnCount = parameterBinders.size();
+		if ( insert.isCallable()
+				|| insert.getExpectation().getNumberOfParametersUsed() != 0
+				|| columnCount == 0 ) {
+			return null;
+		}
+
+		// every column value must be a plain parameter, so that
+		// the row holds exactly the values of the parameters
+		final StringBuilder valuesTuple = new StringBuilder( ") values (" );
+		final String[] columnNames = new String[columnCount];
+		final JdbcMapping[] jdbcMappings = new JdbcMapping[columnCount];
+		for ( int i = 0; i < columnCount; i++ ) {
+			final JdbcParameterBinder parameterBinder = parameterBinders.get( i );
+			if ( !( parameterBinder instanceof ColumnValueParameter ) ) {
+				return null;
+			}
+			final ColumnValueParameter parameter = (ColumnValueParameter) parameterBinder;
+			columnNames[i] = parameter.getColumnReference().getColumnExpression();
+			jdbcMappings[i] = parameter.getJdbcMapping();
+			valuesTuple.append( i == 0 ? "?" : ",?" );
+		}
+		valuesTuple.append( ')' );
+		if ( !insert.getSqlString().endsWith( valuesTuple.toString() ) ) {
+			return null;
+		}
+
+		return new BulkLoadTarget( operation.getTableDetails().getTableName(), columnNames, jdbcMappings );
+	}
+
+	/**
+	 * Decompose the given attribute values into a row of JDBC values, in the
+	 * order of the columns of the {@linkplain #getBulkLoadTarget() bulk load target},
+	 * after applying any pre-insert in-memory value generation.
+	 */
+	public Object[] decomposeForBulkLoad(
+			Object id,
+			Object[] values,
+			Object entity,
+			SharedSessionContractImplementor session) {
+		final BulkLoadTarget target = getBulkLoadTarget();
+		assert target != null;
+
+		preInsertInMemoryValueGeneration( values, entity, session );
+
+		final Object[] row = new Object[target.getColumnCount()];
+		decomposeForInsert(
+				new BulkLoadRowBindings( staticInsertGroup.getSingleOperation(), row ),
+				id,
+				values,
+				staticInsertGroup,
+				entityPersister().getPropertyInsertability(),
+				(tableMapping) -> true,
+				session
+		);
+		return row;
+	}
+
+	/**
+	 * Collects the JDBC values into a row, rather than binding them to a statement
+	 */
+	private static class BulkLoadRowBindings implements JdbcValueBindings {
+		private final MutationOperation operation;
+		private final Object[] row;
+
+		private BulkLoadRowBindings(MutationOperation operation, Object[] row) {
+			this.operation = operation;
+			this.row = row;
+		}
+
+		@Override
+		public BindingGroup getBindingGroup(String tableName) {
+			return null;
+		}
+
+		@Override
+		public void bindValue(Object value, String tableName, String columnName, ParameterUsage usage) {
+			row[operation.getJdbcValueDescriptor( columnName, usage ).getJdbcPosition() - 1] = value;
+		}
+
+		@Override
+		public void beforeStatement(PreparedStatementDetails statementDetails) {
+		}
+
+		@Override
+		public void afterStatement(TableMapping mutatingTable) {
+		}
+	}
+
 	protected void breakDownJdbcValue(
 			Object id,
 			SharedSessionContractImplementor session,
@@ -13,6 +13,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import jakarta.persistence.CacheRetrieveMode;
@@ -161,6 +163,76 @@ public interface SelectionQuery<R> extends CommonQueryContract {
 		return getResultStream();
 	}
 
+	/**
+	 * Execute the query and pass each result to the given action as soon as
+	 * it is read from the JDBC {@link java.sql.ResultSet}, instead of first
+	 * collecting the results into a list.
+	 *
+	 * @return The number of results
+	 *
+	 * @see #forEachResult(Consumer, int)
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default long forEachResult(Consumer<? super R> action) {
+		return forEachResult( action, 0 );
+	}
+
+	/**
+	 * Execute the query and pass each result to the given action as soon as
+	 * it is read from the JDBC {@link java.sql.ResultSet}, instead of first
+	 * collecting the results into a list.
+	 * <p>
+	 * If {@code clearInterval} is positive, the persistence context is
+	 * {@linkplain Session#clear() cleared} after every {@code clearInterval}
+	 * results, so that the results of a very large query may be processed
+	 * in constant memory. The entities already passed to the action are
+	 * then detached, and any changes to them which were not flushed are
+	 * lost.
+	 *
+	 * @param action The action to pass each result to
+	 * @param clearInterval The number of results after which the persistence
+	 * context is cleared, or {@code 0} to never clear it
+	 *
+	 * @return The number of results
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	long forEachResult(Consumer<? super R> action, int clearInterval);
+
+	/**
+	 * A {@link Flow.Publisher} of the results of the query.
+	 *
+	 * @see #getResultPublisher(int)
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default Flow.Publisher<R> getResultPublisher() {
+		return getResultPublisher( 0 );
+	}
+
+	/**
+	 * A {@link Flow.Publisher} of the results of the query, which executes
+	 * the query for each {@linkplain Flow.Publisher#subscribe subscription}.
+	 * <p>
+	 * The query is executed on the thread subscribing, and the results are
+	 * {@linkplain #forEachResult(Consumer, int) passed} to the subscriber as
+	 * they are read. Reading the results is suspended while the subscriber
+	 * has not {@linkplain Flow.Subscription#request requested} more of them,
+	 * so the subscriber must request them from another thread if it does not
+	 * do so from {@link Flow.Subscriber#onSubscribe} or {@link Flow.Subscriber#onNext}.
+	 *
+	 * @param clearInterval The number of results after which the persistence
+	 * context is cleared, or {@code 0} to never clear it
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	Flow.Publisher<R> getResultPublisher(int clearInterval);
+
 	/**
 	 * Execute the query and return the single result of the query,
 	 * or {@code null} if the query returns no results.
@@ -6,6 +6,8 @@
  */
 package org.hibernate.query.hql.internal;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.hibernate.grammars.hql.HqlLexer;
 import org.hibernate.grammars.hql.HqlParser;
 import org.hibernate.query.hql.HqlLogging;
@@ -15,6 +17,11 @@ import org.jboss.logging.Logger;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.ATN;
+import org.antlr.v4.runtime.atn.LexerATNSimulator;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionContextCache;
+import org.antlr.v4.runtime.dfa.DFA;
 
 /**
  * Leverages ANTLR to build a parse tree from an HQL query.
@@ -24,19 +31,40 @@ import org.antlr.v4.runtime.Token;
 public class HqlParseTreeBuilder {
 	private static final Logger LOGGER = HqlLogging.subLogger( "reservedWordAsIdentifier" );
 	private static final boolean DEBUG_ENABLED = LOGGER.isDebugEnabled();
+	private static final Logger PARSER_LOGGER = HqlLogging.subLogger( "parser" );
+
+	/**
+	 * The default maximum number of states in the DFAs which ANTLR builds to
+	 * cache its predictions, above which they are discarded and built again
+	 * from scratch
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_HQL_PARSER_CACHE_MAX_STATES
+	 */
+	public static final int DEFAULT_MAX_DFA_STATES = 100_000;
 
 	/**
 	 * Singleton access
 	 */
 	public static final HqlParseTreeBuilder INSTANCE = new HqlParseTreeBuilder();
 
+	/**
+	 * The prediction cache used by new lexers and parsers, which is replaced
+	 * rather than cleared, so that lexers and parsers in use are not affected
+	 */
+	private final AtomicReference<PredictionCache> predictionCache = new AtomicReference<>( new PredictionCache() );
+
 	public HqlLexer buildHqlLexer(String hql) {
-		return new HqlLexer( CharStreams.fromString( hql ) );
+		final HqlLexer hqlLexer = new HqlLexer( CharStreams.fromString( hql ) );
+		final PredictionCache cache = predictionCache.get();
+		hqlLexer.setInterpreter(
+				new LexerATNSimulator( hqlLexer, HqlLexer._ATN, cache.lexerDecisionToDFA, cache.lexerContextCache )
+		);
+		return hqlLexer;
 	}
 
 	public HqlParser buildHqlParser(String hql, HqlLexer hqlLexer) {
 		// Build the parser
-		return new HqlParser( new CommonTokenStream( hqlLexer ) ) {
+		final HqlParser hqlParser = new HqlParser( new CommonTokenStream( hqlLexer ) ) {
 			@Override
 			protected void logUseOfReservedWordAsIdentifier(Token token) {
 				if ( DEBUG_ENABLED ) {
@@ -44,6 +72,62 @@ public class HqlParseTreeBuilder {
 				}
 			}
 		};
+		final PredictionCache cache = predictionCache.get();
+		hqlParser.setInterpreter(
+				new ParserATNSimulator( hqlParser, HqlParser._ATN, cache.parserDecisionToDFA, cache.parserContextCache )
+		);
+		return hqlParser;
+	}
+
+	/**
+	 * ANTLR caches the predictions of the lexer and parser in DFAs and in a
+	 * cache of prediction contexts, which are shared by all instances and grow
+	 * with every new shape of query. Replace them with empty ones once the DFAs
+	 * hold more than the given number of states, so that an application
+	 * generating many distinct queries does not make them grow without bounds.
+	 * <p>
+	 * ANTLR does not expect the DFAs to be cleared during a prediction, so the
+	 * lexers and parsers in use keep the previous cache, and only those built
+	 * afterwards use the new one.
+	 *
+	 * @param maxDfaStates the maximum number of states, or {@code 0} to never
+	 * replace the cache
+	 */
+	public void limitDfaCacheSize(int maxDfaStates) {
+		if ( maxDfaStates > 0 ) {
+			final PredictionCache cache = predictionCache.get();
+			if ( cache.countStates() > maxDfaStates
+					&& predictionCache.compareAndSet( cache, new PredictionCache() ) ) {
+				PARSER_LOGGER.debugf( "Replaced the HQL parser prediction cache with more than %s states", maxDfaStates );
+			}
+		}
+	}
+
+	private static class PredictionCache {
+		private final DFA[] lexerDecisionToDFA = createDecisionToDFA( HqlLexer._ATN );
+		private final DFA[] parserDecisionToDFA = createDecisionToDFA( HqlParser._ATN );
+		private final PredictionContextCache lexerContextCache = new PredictionContextCache();
+		private final PredictionContextCache parserContextCache = new PredictionContextCache();
+
+		private static DFA[] createDecisionToDFA(ATN atn) {
+			final DFA[] decisionToDFA = new DFA[ atn.getNumberOfDecisions() ];
+			for ( int i = 0; i < decisionToDFA.length; i++ ) {
+				decisionToDFA[i] = new DFA( atn.getDecisionState( i ), i );
+			}
+			return decisionToDFA;
+		}
+
+		private int countStates() {
+			return countStates( lexerDecisionToDFA ) + countStates( parserDecisionToDFA );
+		}
+
+		private static int countStates(DFA[] decisionToDFA) {
+			int count = 0;
+			for ( DFA dfa : decisionToDFA ) {
+				count += dfa.states.size();
+			}
+			return count;
+		}
 	}
 
 	public HqlParser buildHqlParser(String hql) {
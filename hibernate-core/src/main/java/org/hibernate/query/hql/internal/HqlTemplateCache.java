@@ -0,0 +1,295 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.hql.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.hibernate.grammars.hql.HqlLexer;
+import org.hibernate.internal.util.QuotingHelper;
+import org.hibernate.internal.util.cache.InternalCache;
+import org.hibernate.internal.util.cache.TinyLfuCacheFactory;
+import org.hibernate.query.sqm.ParsingException;
+import org.hibernate.query.sqm.tree.SqmCopyContext;
+import org.hibernate.query.sqm.tree.SqmStatement;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.expression.SqmLiteral;
+
+import org.antlr.v4.runtime.Token;
+
+/**
+ * Caches the SQM trees of HQL queries by the text of the query with its string
+ * and integer literals replaced by placeholders. A query which differs from a
+ * cached one only in the values of these literals is not parsed, but copied
+ * from the cached tree, replacing the values of its literals.
+ * <p>
+ * A tree is only cached if each replaced literal of the query maps to exactly
+ * one {@link SqmLiteral} with the same value, and the tree contains no other
+ * string or integer literals. Literals which are consumed by the semantic
+ * analysis, for example ordinal references in the {@code order by} clause,
+ * or repeated values thus make the query uncacheable.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_HQL_TEMPLATE_CACHE_MAX_SIZE
+ *
+ * @since 6.3
+ */
+class HqlTemplateCache {
+	private static final Template UNCACHEABLE = new Template( null, null );
+
+	private final InternalCache<Key, Template> cache;
+
+	HqlTemplateCache(int maxSize) {
+		this.cache = TinyLfuCacheFactory.INSTANCE.createInternalCache( maxSize );
+	}
+
+	/**
+	 * Replaces the literals of the given query by placeholders.
+	 *
+	 * @return the normalized query, or {@code null} if the query has no literals
+	 * to replace or cannot be lexed
+	 */
+	NormalizedQuery normalize(String hql, Class<?> expectedResultType) {
+		final StringBuilder text = new StringBuilder( hql.length() );
+		final List<Object> values = new ArrayList<>();
+		try {
+			final HqlLexer hqlLexer = HqlParseTreeBuilder.INSTANCE.buildHqlLexer( hql );
+			hqlLexer.removeErrorListeners();
+			hqlLexer.addErrorListener( StandardHqlTranslator.ERR_LISTENER );
+			for ( Token token = hqlLexer.nextToken(); token.getType() != Token.EOF; token = hqlLexer.nextToken() ) {
+				final Object value = literalValue( token );
+				text.append( token.getType() ).append( ':' );
+				if ( value == null ) {
+					// the length prefix makes the text unambiguous
+					text.append( token.getText().length() ).append( ':' ).append( token.getText() );
+				}
+				else {
+					values.add( value );
+				}
+				text.append( ' ' );
+			}
+		}
+		catch (ParsingException e) {
+			// let the parser report the error
+			return null;
+		}
+		if ( values.isEmpty() ) {
+			return null;
+		}
+		return new NormalizedQuery( new Key( text.toString(), expectedResultType ), values.toArray() );
+	}
+
+	private static Object literalValue(Token token) {
+		switch ( token.getType() ) {
+			case HqlLexer.STRING_LITERAL:
+				return QuotingHelper.unquoteStringLiteral( token.getText() );
+			case HqlLexer.INTEGER_LITERAL:
+				try {
+					return Integer.valueOf( token.getText().replace( "_", "" ) );
+				}
+				catch (NumberFormatException e) {
+					// too large for an Integer, leave it in the text
+					return null;
+				}
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * A copy of the cached tree for the given query with its own literal values,
+	 * or {@code null} if there is no cached tree for it
+	 */
+	@SuppressWarnings("unchecked")
+	<R> SqmStatement<R> instantiate(NormalizedQuery query) {
+		final Template template = cache.get( query.key );
+		if ( template == null || template.statement == null ) {
+			return null;
+		}
+		final Map<SqmLiteral<?>, Object> replacements = new IdentityHashMap<>( template.literals.length );
+		for ( int i = 0; i < template.literals.length; i++ ) {
+			replacements.put( template.literals[i], query.values[i] );
+		}
+		return (SqmStatement<R>) template.statement.copy( new LiteralCopyContext( replacements ) );
+	}
+
+	/**
+	 * Caches the tree built for the given query, if its literals can be mapped
+	 */
+	void put(NormalizedQuery query, SqmStatement<?> statement) {
+		cache.put( query.key, createTemplate( query, statement ) );
+	}
+
+	private static Template createTemplate(NormalizedQuery query, SqmStatement<?> statement) {
+		final Map<Object, Integer> indexByValue = new HashMap<>( query.values.length );
+		for ( int i = 0; i < query.values.length; i++ ) {
+			if ( indexByValue.put( query.values[i], i ) != null ) {
+				return UNCACHEABLE;
+			}
+		}
+
+		// The template is a private copy, so that its literals can be collected
+		// while copying and it is never modified by whoever uses the statement
+		final LiteralCopyContext copyContext = new LiteralCopyContext( null );
+		final SqmStatement<?> copy;
+		try {
+			copy = statement.copy( copyContext );
+		}
+		catch (RuntimeException e) {
+			return UNCACHEABLE;
+		}
+		final List<SqmLiteral<?>> copiedLiterals = copyContext.copiedLiterals;
+		if ( copiedLiterals.size() != query.values.length ) {
+			return UNCACHEABLE;
+		}
+		final SqmLiteral<?>[] literals = new SqmLiteral<?>[query.values.length];
+		for ( SqmLiteral<?> literal : copiedLiterals ) {
+			final Integer index = indexByValue.get( literal.getLiteralValue() );
+			if ( index == null || literals[index] != null ) {
+				return UNCACHEABLE;
+			}
+			literals[index] = literal;
+		}
+		return new Template( copy, literals );
+	}
+
+	void clear() {
+		cache.clear();
+	}
+
+	static final class NormalizedQuery {
+		private final Key key;
+		private final Object[] values;
+
+		private NormalizedQuery(Key key, Object[] values) {
+			this.key = key;
+			this.values = values;
+		}
+	}
+
+	private static final class Key {
+		private final String text;
+		private final Class<?> expectedResultType;
+		private final int hashCode;
+
+		private Key(String text, Class<?> expectedResultType) {
+			this.text = text;
+			this.expectedResultType = expectedResultType;
+			this.hashCode = 31 * text.hashCode() + Objects.hashCode( expectedResultType );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof Key ) ) {
+				return false;
+			}
+			final Key that = (Key) o;
+			return expectedResultType == that.expectedResultType
+					&& text.equals( that.text );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static final class Template {
+		private final SqmStatement<?> statement;
+		private final SqmLiteral<?>[] literals;
+
+		private Template(SqmStatement<?> statement, SqmLiteral<?>[] literals) {
+			this.statement = statement;
+			this.literals = literals;
+		}
+	}
+
+	/**
+	 * Like {@link SqmCopyContext#simpleContext()}, but either collects the copies
+	 * of the string and integer literals, or replaces the given literals by
+	 * literals of the same type with other values.
+	 */
+	private static final class LiteralCopyContext implements SqmCopyContext {
+		private final IdentityHashMap<Object, Object> map = new IdentityHashMap<>();
+		private final Map<SqmLiteral<?>, Object> replacements;
+		private final List<SqmLiteral<?>> copiedLiterals = new ArrayList<>();
+
+		private LiteralCopyContext(Map<SqmLiteral<?>, Object> replacements) {
+			this.replacements = replacements;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T getCopy(T original) {
+			if ( original instanceof SqmPath ) {
+				return (T) getPathCopy( (SqmPath<?>) original );
+			}
+			else {
+				return (T) map.get( original );
+			}
+		}
+
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public <T> T registerCopy(T original, T copy) {
+			T registered = copy;
+			if ( original.getClass() == SqmLiteral.class ) {
+				final SqmLiteral<?> literal = (SqmLiteral<?>) original;
+				if ( replacements == null ) {
+					final Object value = literal.getLiteralValue();
+					if ( value instanceof String || value instanceof Integer ) {
+						copiedLiterals.add( (SqmLiteral<?>) copy );
+					}
+				}
+				else {
+					final Object value = replacements.get( literal );
+					if ( value != null ) {
+						registered = (T) new SqmLiteral( value, literal.getNodeType(), literal.nodeBuilder() );
+					}
+				}
+			}
+			final Object old = map.put( original, registered );
+			if ( old != null ) {
+				throw new IllegalArgumentException( "Already registered a copy: " + old );
+			}
+			return registered;
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T extends SqmPath<?>> T getPathCopy(T original) {
+			final T existing = (T) map.get( original );
+			if ( existing != null ) {
+				return existing;
+			}
+
+			final SqmPath<?> root = getRoot( original );
+			if ( root != original ) {
+				root.copy( this );
+				// root path might have already copied original
+				return (T) map.get( original );
+			}
+			else {
+				return null;
+			}
+		}
+
+		private static SqmPath<?> getRoot(SqmPath<?> path) {
+			if ( path.getLhs() != null ) {
+				return getRoot( path.getLhs() );
+			}
+			else {
+				return path;
+			}
+		}
+	}
+}
@@ -61,19 +61,79 @@ public class StandardHqlTranslator implements HqlTranslator {
 
 	private final SqmCreationContext sqmCreationContext;
 	private final SqmCreationOptions sqmCreationOptions;
+	private final HqlTemplateCache templateCache;
+	private final int parserCacheMaxStates;
 
 
 	public StandardHqlTranslator(
 			SqmCreationContext sqmCreationContext,
 			SqmCreationOptions sqmCreationOptions) {
+		this( sqmCreationContext, sqmCreationOptions, 0 );
+	}
+
+	/**
+	 * @param templateCacheMaxSize the maximum number of cached trees of queries
+	 * which differ only in the values of their literals, or {@code 0} to not
+	 * cache them
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_HQL_TEMPLATE_CACHE_MAX_SIZE
+	 */
+	public StandardHqlTranslator(
+			SqmCreationContext sqmCreationContext,
+			SqmCreationOptions sqmCreationOptions,
+			int templateCacheMaxSize) {
+		this( sqmCreationContext, sqmCreationOptions, templateCacheMaxSize, HqlParseTreeBuilder.DEFAULT_MAX_DFA_STATES );
+	}
+
+	/**
+	 * @param templateCacheMaxSize the maximum number of cached trees of queries
+	 * which differ only in the values of their literals, or {@code 0} to not
+	 * cache them
+	 * @param parserCacheMaxStates the maximum number of states of the shared
+	 * parser prediction cache, or {@code 0} to not limit it
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_HQL_TEMPLATE_CACHE_MAX_SIZE
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_HQL_PARSER_CACHE_MAX_STATES
+	 */
+	public StandardHqlTranslator(
+			SqmCreationContext sqmCreationContext,
+			SqmCreationOptions sqmCreationOptions,
+			int templateCacheMaxSize,
+			int parserCacheMaxStates) {
 		this.sqmCreationContext = sqmCreationContext;
 		this.sqmCreationOptions = sqmCreationOptions;
+		this.templateCache = templateCacheMaxSize > 0 ? new HqlTemplateCache( templateCacheMaxSize ) : null;
+		this.parserCacheMaxStates = parserCacheMaxStates;
 	}
 
 	@Override
 	public <R> SqmStatement<R> translate(String query, Class<R> expectedResultType) {
 		HqlLogging.QUERY_LOGGER.debugf( "HQL : " + query );
 
+		if ( templateCache != null ) {
+			final HqlTemplateCache.NormalizedQuery normalizedQuery = templateCache.normalize( query, expectedResultType );
+			if ( normalizedQuery != null ) {
+				final SqmStatement<R> cached = templateCache.instantiate( normalizedQuery );
+				if ( cached != null ) {
+					return cached;
+				}
+				final SqmStatement<R> sqmStatement = buildSemanticModel( query, expectedResultType );
+				templateCache.put( normalizedQuery, sqmStatement );
+				return sqmStatement;
+			}
+		}
+
+		return buildSemanticModel( query, expectedResultType );
+	}
+
+	@Override
+	public void close() {
+		if ( templateCache != null ) {
+			templateCache.clear();
+		}
+	}
+
+	private <R> SqmStatement<R> buildSemanticModel(String query, Class<R> expectedResultType) {
 		final HqlParser.StatementContext hqlParseTree = parseHql( query );
 
 		// then we perform semantic analysis and build the semantic representation...
@@ -129,5 +189,8 @@ public class StandardHqlTranslator implements HqlTranslator {
 		catch ( ParsingException ex ) {
 			throw new SemanticException( "Illegal HQL syntax [" + ex.getMessage() + "]", hql, ex );
 		}
+		finally {
+			HqlParseTreeBuilder.INSTANCE.limitDfaCacheSize( parserCacheMaxStates );
+		}
 	}
 }
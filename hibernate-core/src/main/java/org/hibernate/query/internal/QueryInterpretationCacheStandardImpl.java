@@ -7,11 +7,14 @@
 package org.hibernate.query.internal;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import jakarta.persistence.Tuple;
 
-import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.cache.InternalCache;
+import org.hibernate.internal.util.cache.InternalCacheFactory;
+import org.hibernate.internal.util.cache.TinyLfuCacheFactory;
 import org.hibernate.query.QueryLogging;
 import org.hibernate.query.spi.HqlInterpretation;
 import org.hibernate.query.spi.NonSelectQueryPlan;
@@ -38,29 +41,59 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final BoundedConcurrentHashMap<Key, QueryPlan> queryPlanCache;
+	private final InternalCache<Key, QueryPlan> queryPlanCache;
 
-	private final BoundedConcurrentHashMap<String, HqlInterpretation> hqlInterpretationCache;
-	private final BoundedConcurrentHashMap<String, ParameterInterpretation> nativeQueryParamCache;
+	private final InternalCache<String, HqlInterpretation> hqlInterpretationCache;
+	private final InternalCache<String, ParameterInterpretation> nativeQueryParamCache;
 	private final Supplier<StatisticsImplementor> statisticsSupplier;
 
 	public QueryInterpretationCacheStandardImpl(int maxQueryPlanCount, Supplier<StatisticsImplementor> statisticsSupplier) {
+		this( maxQueryPlanCount, TinyLfuCacheFactory.INSTANCE, statisticsSupplier );
+	}
+
+	public QueryInterpretationCacheStandardImpl(
+			int maxQueryPlanCount,
+			InternalCacheFactory cacheFactory,
+			Supplier<StatisticsImplementor> statisticsSupplier) {
+		this( maxQueryPlanCount, null, cacheFactory, statisticsSupplier );
+	}
+
+	/**
+	 * @param maxQueryPlanCount The maximum number of entries of each cache
+	 * @param maxQueryPlanWeight If not {@code null}, the maximum total
+	 * {@linkplain QueryPlan#getCacheWeight() weight} of the cached query plans,
+	 * which then bounds the query plan cache instead of {@code maxQueryPlanCount}
+	 */
+	public QueryInterpretationCacheStandardImpl(
+			int maxQueryPlanCount,
+			Integer maxQueryPlanWeight,
+			InternalCacheFactory cacheFactory,
+			Supplier<StatisticsImplementor> statisticsSupplier) {
 		log.debugf( "Starting QueryPlanCache(%s)", maxQueryPlanCount );
 
-		this.queryPlanCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		this.hqlInterpretationCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		this.nativeQueryParamCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		this.queryPlanCache = maxQueryPlanWeight == null
+				? cacheFactory.createInternalCache( maxQueryPlanCount, (key, plan) -> 1, this::queryPlanEvicted )
+				: cacheFactory.createInternalCache( maxQueryPlanWeight, (key, plan) -> plan.getCacheWeight(), this::queryPlanEvicted );
+		this.hqlInterpretationCache = cacheFactory.createInternalCache( maxQueryPlanCount );
+		this.nativeQueryParamCache = cacheFactory.createInternalCache( maxQueryPlanCount );
 		this.statisticsSupplier = statisticsSupplier;
 	}
 
+	private void queryPlanEvicted(Key key, QueryPlan plan) {
+		final StatisticsImplementor statistics = statisticsSupplier.get();
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.queryPlanCacheEviction( key.getQueryString() );
+		}
+	}
+
 	@Override
 	public int getNumberOfCachedHqlInterpretations() {
-		return hqlInterpretationCache.size();
+		return hqlInterpretationCache.heldElementsEstimate();
 	}
 
 	@Override
 	public int getNumberOfCachedQueryPlans() {
-		return queryPlanCache.size();
+		return queryPlanCache.heldElementsEstimate();
 	}
 
 	@Override
@@ -88,15 +121,41 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 		return plan;
 	}
 
+	@Override
+	public void visitSelectQueryPlanKeys(Consumer<Key> action) {
+		queryPlanCache.forEach(
+				(key, plan) -> {
+					if ( plan instanceof SelectQueryPlan ) {
+						action.accept( key );
+					}
+				}
+		);
+	}
+
 	@Override
 	public NonSelectQueryPlan getNonSelectQueryPlan(Key key) {
 		log.tracef( "QueryPlan#getNonSelectQueryPlan(%s)", key );
+		final StatisticsImplementor statistics = statisticsSupplier.get();
+		final boolean stats = statistics.isStatisticsEnabled();
+
+		final QueryPlan cached = queryPlanCache.get( key );
+		if ( cached instanceof NonSelectQueryPlan ) {
+			if ( stats ) {
+				statistics.queryPlanCacheHit( key.getQueryString() );
+			}
+			return (NonSelectQueryPlan) cached;
+		}
+
+		if ( stats ) {
+			statistics.queryPlanCacheMiss( key.getQueryString() );
+		}
 		return null;
 	}
 
 	@Override
 	public void cacheNonSelectQueryPlan(Key key, NonSelectQueryPlan plan) {
 		log.tracef( "QueryPlan#cacheNonSelectQueryPlan(%s)", key );
+		queryPlanCache.put( key.prepareForStore(), plan );
 	}
 
 	@Override
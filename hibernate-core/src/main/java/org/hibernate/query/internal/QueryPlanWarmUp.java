@@ -0,0 +1,296 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.query.QueryLogging;
+import org.hibernate.query.spi.QueryInterpretationCache;
+import org.hibernate.query.sqm.internal.QuerySqmImpl;
+import org.hibernate.query.sqm.internal.SqmInterpretationsKey;
+import org.hibernate.query.sqm.spi.NamedSqmQueryMemento;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+
+import org.jboss.logging.Logger;
+
+import static org.hibernate.cfg.AvailableSettings.QUERY_PLAN_WARM_UP;
+import static org.hibernate.cfg.AvailableSettings.QUERY_PLAN_WARM_UP_FILE;
+import static org.hibernate.cfg.AvailableSettings.QUERY_PLAN_WARM_UP_THREADS;
+import static org.hibernate.query.spi.AbstractSelectionQuery.CRITERIA_HQL_STRING;
+
+/**
+ * Prepares the plans of named HQL select queries, and of the queries listed in
+ * the {@linkplain org.hibernate.cfg.AvailableSettings#QUERY_PLAN_WARM_UP_FILE
+ * warm-up file}, when the {@link SessionFactory} is created, and writes the
+ * queries whose plans are cached to that file when it is closed.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_WARM_UP
+ *
+ * @since 6.3
+ */
+public class QueryPlanWarmUp implements SessionFactoryObserver {
+	private static final Logger log = QueryLogging.subLogger( "plan.warm_up" );
+
+	private static final String HQL_PROPERTY = ".hql";
+	private static final String RESULT_TYPE_PROPERTY = ".result_type";
+
+	private volatile ExecutorService executor;
+
+	@Override
+	public void sessionFactoryCreated(SessionFactory factory) {
+		final SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) factory;
+		final Map<String, Object> properties = sessionFactory.getProperties();
+		if ( !ConfigurationHelper.getBoolean( QUERY_PLAN_WARM_UP, properties, false )
+				|| !sessionFactory.getQueryEngine().getInterpretationCache().isEnabled() ) {
+			return;
+		}
+
+		final List<WarmUpQuery> queries = new ArrayList<>();
+		sessionFactory.getQueryEngine().getNamedObjectRepository().visitSqmQueryMementos(
+				memento -> queries.add( new NamedWarmUpQuery( memento ) )
+		);
+		final String file = ConfigurationHelper.getString( QUERY_PLAN_WARM_UP_FILE, properties );
+		if ( file != null ) {
+			readQueries( Paths.get( file ), sessionFactory, queries );
+		}
+		if ( queries.isEmpty() ) {
+			return;
+		}
+
+		final int threads = ConfigurationHelper.getInt( QUERY_PLAN_WARM_UP_THREADS, properties, 0 );
+		final long startTime = System.nanoTime();
+		final AtomicInteger prepared = new AtomicInteger();
+		if ( threads > 0 ) {
+			final ExecutorService executor = Executors.newFixedThreadPool(
+					threads,
+					runnable -> {
+						final Thread thread = new Thread( runnable, "hibernate-query-plan-warm-up" );
+						thread.setDaemon( true );
+						return thread;
+					}
+			);
+			this.executor = executor;
+			final CompletableFuture<?>[] futures = new CompletableFuture[queries.size()];
+			for ( int i = 0; i < futures.length; i++ ) {
+				final WarmUpQuery query = queries.get( i );
+				futures[i] = CompletableFuture.runAsync( () -> prepare( query, sessionFactory, prepared ), executor );
+			}
+			CompletableFuture.allOf( futures ).whenComplete(
+					(result, failure) -> {
+						executor.shutdown();
+						logSummary( prepared.get(), queries.size(), startTime );
+					}
+			);
+		}
+		else {
+			for ( WarmUpQuery query : queries ) {
+				prepare( query, sessionFactory, prepared );
+			}
+			logSummary( prepared.get(), queries.size(), startTime );
+		}
+	}
+
+	@Override
+	public void sessionFactoryClosing(SessionFactory factory) {
+		final ExecutorService executor = this.executor;
+		if ( executor != null ) {
+			executor.shutdownNow();
+		}
+
+		final SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) factory;
+		final String file = ConfigurationHelper.getString( QUERY_PLAN_WARM_UP_FILE, sessionFactory.getProperties() );
+		if ( file != null ) {
+			writeQueries( Paths.get( file ), sessionFactory.getQueryEngine().getInterpretationCache() );
+		}
+	}
+
+	private static void prepare(WarmUpQuery query, SessionFactoryImplementor sessionFactory, AtomicInteger prepared) {
+		final long startTime = System.nanoTime();
+		try ( SessionImplementor session = sessionFactory.openTemporarySession() ) {
+			final QuerySqmImpl<?> sqmQuery = query.createQuery( session );
+			if ( sqmQuery == null ) {
+				return;
+			}
+			sqmQuery.prepareSelectQueryPlan();
+			prepared.incrementAndGet();
+			if ( log.isDebugEnabled() ) {
+				log.debugf(
+						"Prepared plan of query %s in %s ms",
+						query,
+						TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime )
+				);
+			}
+		}
+		catch (RuntimeException e) {
+			log.warnf( e, "Unable to prepare plan of query %s", query );
+		}
+	}
+
+	private static void logSummary(int prepared, int queries, long startTime) {
+		log.debugf(
+				"Prepared plans of %s of %s queries in %s ms",
+				prepared,
+				queries,
+				TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime )
+		);
+	}
+
+	private static void readQueries(Path file, SessionFactoryImplementor sessionFactory, List<WarmUpQuery> queries) {
+		if ( !Files.exists( file ) ) {
+			return;
+		}
+		final Properties properties = new Properties();
+		try ( Reader reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 ) ) {
+			properties.load( reader );
+		}
+		catch (IOException e) {
+			log.warnf( e, "Unable to read query plan warm-up file %s", file );
+			return;
+		}
+
+		final ClassLoaderService classLoaderService =
+				sessionFactory.getServiceRegistry().getService( ClassLoaderService.class );
+		for ( int i = 0; properties.containsKey( i + HQL_PROPERTY ); i++ ) {
+			final String hql = properties.getProperty( i + HQL_PROPERTY );
+			final String resultTypeName = properties.getProperty( i + RESULT_TYPE_PROPERTY );
+			try {
+				final Class<?> resultType = resultTypeName == null || resultTypeName.isEmpty()
+						? null
+						: classLoaderService.classForName( resultTypeName );
+				queries.add( new HqlWarmUpQuery( hql, resultType ) );
+			}
+			catch (RuntimeException e) {
+				log.warnf( e, "Unable to load result type of query [%s]", hql );
+			}
+		}
+	}
+
+	private static void writeQueries(Path file, QueryInterpretationCache interpretationCache) {
+		final Set<HqlWarmUpQuery> queries = new LinkedHashSet<>();
+		interpretationCache.visitSelectQueryPlanKeys(
+				key -> {
+					if ( key instanceof SqmInterpretationsKey ) {
+						final SqmInterpretationsKey sqmKey = (SqmInterpretationsKey) key;
+						if ( sqmKey.getCriteriaParameters() == null
+								&& !CRITERIA_HQL_STRING.equals( sqmKey.getQueryString() ) ) {
+							queries.add( new HqlWarmUpQuery( sqmKey.getQueryString(), sqmKey.getResultType() ) );
+						}
+					}
+				}
+		);
+
+		final Properties properties = new Properties();
+		int i = 0;
+		for ( HqlWarmUpQuery query : queries ) {
+			properties.setProperty( i + HQL_PROPERTY, query.hql );
+			if ( query.resultType != null ) {
+				properties.setProperty( i + RESULT_TYPE_PROPERTY, query.resultType.getName() );
+			}
+			i++;
+		}
+		try ( Writer writer = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) ) {
+			properties.store( writer, "Queries whose plans are prepared at startup" );
+		}
+		catch (IOException e) {
+			log.warnf( e, "Unable to write query plan warm-up file %s", file );
+		}
+	}
+
+	private interface WarmUpQuery {
+		/**
+		 * The query to prepare, or {@code null} if it is not a select query
+		 */
+		QuerySqmImpl<?> createQuery(SessionImplementor session);
+	}
+
+	private static class NamedWarmUpQuery implements WarmUpQuery {
+		private final NamedSqmQueryMemento memento;
+
+		private NamedWarmUpQuery(NamedSqmQueryMemento memento) {
+			this.memento = memento;
+		}
+
+		/**
+		 * The query without a result type, since the plan cached for it is the one
+		 * used by {@link org.hibernate.Session#createNamedQuery(String)}
+		 */
+		@Override
+		public QuerySqmImpl<?> createQuery(SessionImplementor session) {
+			final Object query = memento.toQuery( session );
+			return query instanceof QuerySqmImpl<?>
+					&& ( (QuerySqmImpl<?>) query ).getSqmStatement() instanceof SqmSelectStatement<?>
+					? (QuerySqmImpl<?>) query
+					: null;
+		}
+
+		@Override
+		public String toString() {
+			return "'" + memento.getRegistrationName() + "'";
+		}
+	}
+
+	private static class HqlWarmUpQuery implements WarmUpQuery {
+		private final String hql;
+		private final Class<?> resultType;
+
+		private HqlWarmUpQuery(String hql, Class<?> resultType) {
+			this.hql = hql;
+			this.resultType = resultType;
+		}
+
+		@Override
+		public QuerySqmImpl<?> createQuery(SessionImplementor session) {
+			final Object query = session.createQuery( hql, resultType );
+			return query instanceof QuerySqmImpl<?> ? (QuerySqmImpl<?>) query : null;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof HqlWarmUpQuery ) ) {
+				return false;
+			}
+			final HqlWarmUpQuery that = (HqlWarmUpQuery) o;
+			return hql.equals( that.hql ) && resultType == that.resultType;
+		}
+
+		@Override
+		public int hashCode() {
+			return hql.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "[" + hql + "]";
+		}
+	}
+}
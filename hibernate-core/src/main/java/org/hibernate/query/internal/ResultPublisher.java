@@ -0,0 +1,150 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.internal;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+import org.hibernate.query.SelectionQuery;
+
+/**
+ * A {@link Flow.Publisher} of the results of a query, which executes the query
+ * on the subscribing thread and blocks it while the subscriber has no demand.
+ *
+ * @see SelectionQuery#getResultPublisher(int)
+ *
+ * @since 6.3
+ */
+public class ResultPublisher<R> implements Flow.Publisher<R> {
+	private final SelectionQuery<R> query;
+	private final int clearInterval;
+
+	public ResultPublisher(SelectionQuery<R> query, int clearInterval) {
+		this.query = query;
+		this.clearInterval = clearInterval;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super R> subscriber) {
+		Objects.requireNonNull( subscriber );
+		final ResultSubscription<R> subscription = new ResultSubscription<>( subscriber );
+		subscriber.onSubscribe( subscription );
+		try {
+			if ( subscription.awaitDemand() ) {
+				query.forEachResult( subscription::onNext, clearInterval );
+			}
+		}
+		catch (Cancelled e) {
+			return;
+		}
+		catch (RuntimeException e) {
+			subscription.onError( e );
+			return;
+		}
+		subscription.onComplete();
+	}
+
+	private static class ResultSubscription<R> implements Flow.Subscription {
+		private final Flow.Subscriber<? super R> subscriber;
+
+		private long demand;
+		private boolean cancelled;
+		private RuntimeException requestFailure;
+
+		private ResultSubscription(Flow.Subscriber<? super R> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public synchronized void request(long n) {
+			if ( n <= 0 ) {
+				requestFailure = new IllegalArgumentException( "Requested a non-positive number of results: " + n );
+				cancelled = true;
+			}
+			else {
+				demand += n;
+				if ( demand < 0 ) {
+					// effectively unbounded
+					demand = Long.MAX_VALUE;
+				}
+			}
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void cancel() {
+			cancelled = true;
+			notifyAll();
+		}
+
+		/**
+		 * Wait until there is demand for another result
+		 *
+		 * @return {@code false} if the subscription was cancelled
+		 */
+		private boolean awaitDemand() {
+			final RuntimeException failure;
+			final boolean active;
+			synchronized ( this ) {
+				while ( demand == 0 && !cancelled ) {
+					try {
+						wait();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						cancelled = true;
+					}
+				}
+				failure = requestFailure;
+				requestFailure = null;
+				active = !cancelled;
+			}
+			if ( failure != null ) {
+				subscriber.onError( failure );
+			}
+			return active;
+		}
+
+		private void onNext(R result) {
+			if ( !awaitDemand() ) {
+				// stop reading the results
+				throw new Cancelled();
+			}
+			synchronized ( this ) {
+				if ( demand != Long.MAX_VALUE ) {
+					demand--;
+				}
+			}
+			subscriber.onNext( result );
+		}
+
+		private void onError(RuntimeException e) {
+			if ( !isCancelled() ) {
+				subscriber.onError( e );
+			}
+		}
+
+		private void onComplete() {
+			if ( !isCancelled() ) {
+				subscriber.onComplete();
+			}
+		}
+
+		private synchronized boolean isCancelled() {
+			return cancelled;
+		}
+	}
+
+	/**
+	 * Signals the cancellation of the subscription to the query execution
+	 */
+	private static class Cancelled extends RuntimeException {
+		private Cancelled() {
+			super( null, null, false, false );
+		}
+	}
+}
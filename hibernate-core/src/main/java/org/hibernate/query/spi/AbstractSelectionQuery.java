@@ -17,6 +17,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -54,6 +56,7 @@ import org.hibernate.query.QueryParameter;
 import org.hibernate.query.QueryTypeMismatchException;
 import org.hibernate.query.SelectionQuery;
 import org.hibernate.query.criteria.JpaSelection;
+import org.hibernate.query.internal.ResultPublisher;
 import org.hibernate.query.internal.ScrollableResultsIterator;
 import org.hibernate.query.named.NamedQueryMemento;
 import org.hibernate.query.sqm.SqmExpressible;
@@ -70,6 +73,7 @@ import org.hibernate.query.sqm.tree.select.SqmSelection;
 import org.hibernate.sql.exec.internal.CallbackImpl;
 import org.hibernate.sql.exec.spi.Callback;
 import org.hibernate.sql.results.internal.TupleMetadata;
+import org.hibernate.sql.results.spi.StreamingResultsConsumer;
 import org.hibernate.type.BasicType;
 import org.hibernate.type.descriptor.java.JavaType;
 import org.hibernate.type.descriptor.java.spi.PrimitiveJavaType;
@@ -465,6 +469,55 @@ public abstract class AbstractSelectionQuery<R>
 		return (Stream) stream.onClose( scrollableResults::close );
 	}
 
+	@Override
+	public long forEachResult(Consumer<? super R> action, int clearInterval) {
+		if ( clearInterval < 0 ) {
+			throw new IllegalArgumentException( "Clear interval cannot be negative: " + clearInterval );
+		}
+		beforeQuery();
+		boolean success = false;
+		try {
+			final long count = doForEach( action, clearInterval );
+			success = true;
+			return count;
+		}
+		catch (IllegalQueryOperationException e) {
+			throw new IllegalStateException( e );
+		}
+		catch (TypeMismatchException e) {
+			throw new IllegalArgumentException( e );
+		}
+		catch (HibernateException he) {
+			throw getSession().getExceptionConverter().convert( he, getQueryOptions().getLockOptions() );
+		}
+		finally {
+			afterQuery( success );
+		}
+	}
+
+	/**
+	 * Pass each result to the given action as soon as it is read.  By default,
+	 * the results are {@linkplain #doScroll scrolled}.
+	 */
+	protected long doForEach(Consumer<? super R> action, int clearInterval) {
+		try ( ScrollableResultsImplementor<R> results = doScroll( ScrollMode.FORWARD_ONLY ) ) {
+			return StreamingResultsConsumer.forEach(
+					new ScrollableResultsIterator<>( results ),
+					action,
+					clearInterval,
+					getSession()
+			);
+		}
+	}
+
+	@Override
+	public Flow.Publisher<R> getResultPublisher(int clearInterval) {
+		if ( clearInterval < 0 ) {
+			throw new IllegalArgumentException( "Clear interval cannot be negative: " + clearInterval );
+		}
+		return new ResultPublisher<>( this, clearInterval );
+	}
+
 	@Override
 	public R uniqueResult() {
 		return uniqueElement( list() );
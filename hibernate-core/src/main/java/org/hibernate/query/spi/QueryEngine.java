@@ -16,6 +16,7 @@ import org.hibernate.boot.Metadata;
 import org.hibernate.boot.model.FunctionContributions;
 import org.hibernate.boot.model.FunctionContributor;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.boot.registry.selector.spi.StrategySelector;
 import org.hibernate.boot.spi.MetadataImplementor;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cfg.AvailableSettings;
@@ -23,8 +24,12 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.query.spi.NativeQueryInterpreter;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.util.cache.InternalCacheFactory;
+import org.hibernate.internal.util.cache.LegacyInternalCacheFactory;
+import org.hibernate.internal.util.cache.TinyLfuCacheFactory;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.query.hql.HqlTranslator;
+import org.hibernate.query.hql.internal.HqlParseTreeBuilder;
 import org.hibernate.query.hql.internal.StandardHqlTranslator;
 import org.hibernate.query.hql.spi.SqmCreationOptions;
 import org.hibernate.query.internal.QueryInterpretationCacheDisabledImpl;
@@ -66,11 +71,21 @@ public class QueryEngine {
 		return new QueryEngine(
 				sessionFactory,
 				metadata.getTypeConfiguration(),
-				resolveHqlTranslator( options, dialect, sessionFactory, new SqmCreationOptionsStandard( options ) ),
+				resolveHqlTranslator(
+						options,
+						dialect,
+						sessionFactory,
+						new SqmCreationOptionsStandard( options ),
+						sessionFactory.getProperties()
+				),
 				resolveSqmTranslatorFactory( options, dialect ),
 				createFunctionRegistry( sessionFactory, metadata, options, dialect ),
 				metadata.buildNamedQueryRepository( sessionFactory ),
-				buildInterpretationCache( sessionFactory::getStatistics, sessionFactory.getProperties() )
+				buildInterpretationCache(
+						sessionFactory::getStatistics,
+						sessionFactory.getProperties(),
+						sessionFactory.getServiceRegistry()
+				)
 		);
 	}
 
@@ -149,7 +164,8 @@ public class QueryEngine {
 			QueryEngineOptions runtimeOptions,
 			Dialect dialect,
 			SqmCreationContext sqmCreationContext,
-			SqmCreationOptions sqmCreationOptions) {
+			SqmCreationOptions sqmCreationOptions,
+			Map<String,Object> properties) {
 		if ( runtimeOptions.getCustomHqlTranslator() != null ) {
 			return runtimeOptions.getCustomHqlTranslator();
 		}
@@ -157,7 +173,16 @@ public class QueryEngine {
 			return dialect.getHqlTranslator();
 		}
 		else {
-			return new StandardHqlTranslator( sqmCreationContext, sqmCreationOptions );
+			return new StandardHqlTranslator(
+					sqmCreationContext,
+					sqmCreationOptions,
+					ConfigurationHelper.getInt( AvailableSettings.QUERY_HQL_TEMPLATE_CACHE_MAX_SIZE, properties, 0 ),
+					ConfigurationHelper.getInt(
+							AvailableSettings.QUERY_HQL_PARSER_CACHE_MAX_STATES,
+							properties,
+							HqlParseTreeBuilder.DEFAULT_MAX_DFA_STATES
+					)
+			);
 		}
 	}
 
@@ -186,7 +211,8 @@ public class QueryEngine {
 
 	private static QueryInterpretationCache buildInterpretationCache(
 			Supplier<StatisticsImplementor> statisticsSupplier,
-			Map<String,Object> properties) {
+			Map<String,Object> properties,
+			ServiceRegistry serviceRegistry) {
 		final boolean explicitUseCache = ConfigurationHelper.getBoolean(
 				AvailableSettings.QUERY_PLAN_CACHE_ENABLED,
 				properties,
@@ -204,7 +230,12 @@ public class QueryEngine {
 					? explicitMaxPlanSize
 					: DEFAULT_QUERY_PLAN_MAX_COUNT;
 
-			return new QueryInterpretationCacheStandardImpl( size, statisticsSupplier );
+			return new QueryInterpretationCacheStandardImpl(
+					size,
+					ConfigurationHelper.getInteger( AvailableSettings.QUERY_PLAN_CACHE_MAX_WEIGHT, properties ),
+					resolveInternalCacheFactory( properties, serviceRegistry ),
+					statisticsSupplier
+			);
 		}
 		else {
 			// disabled
@@ -212,6 +243,22 @@ public class QueryEngine {
 		}
 	}
 
+	private static InternalCacheFactory resolveInternalCacheFactory(
+			Map<String,Object> properties,
+			ServiceRegistry serviceRegistry) {
+		final Object setting = properties.get( AvailableSettings.QUERY_PLAN_CACHE_FACTORY );
+		if ( setting == null || TinyLfuCacheFactory.SHORT_NAME.equalsIgnoreCase( setting.toString().trim() ) ) {
+			return TinyLfuCacheFactory.INSTANCE;
+		}
+		else if ( LegacyInternalCacheFactory.SHORT_NAME.equalsIgnoreCase( setting.toString().trim() ) ) {
+			return LegacyInternalCacheFactory.INSTANCE;
+		}
+		else {
+			return serviceRegistry.getService( StrategySelector.class )
+					.resolveStrategy( InternalCacheFactory.class, setting );
+		}
+	}
+
 	public void prepare(SessionFactoryImplementor sessionFactory, Metadata bootMetamodel) {
 		namedObjectRepository.prepare( sessionFactory, bootMetamodel );
 	}
@@ -6,6 +6,7 @@
  */
 package org.hibernate.query.spi;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -39,6 +40,14 @@ public interface QueryInterpretationCache {
 
 	<R> SelectQueryPlan<R> resolveSelectQueryPlan(Key key, Supplier<SelectQueryPlan<R>> creator);
 
+	/**
+	 * Visit the keys of the cached {@linkplain SelectQueryPlan select query plans}.
+	 *
+	 * @since 6.3
+	 */
+	default void visitSelectQueryPlanKeys(Consumer<Key> action) {
+	}
+
 	NonSelectQueryPlan getNonSelectQueryPlan(Key key);
 	void cacheNonSelectQueryPlan(Key key, NonSelectQueryPlan plan);
 
@@ -15,4 +15,16 @@ import org.hibernate.Incubating;
  */
 @Incubating
 public interface QueryPlan {
+	/**
+	 * The weight of this plan in the {@linkplain QueryInterpretationCache query
+	 * plan cache}, an estimate of the memory held by this plan relative to the
+	 * plan of a query with a single root and no joins, whose weight is {@code 1}.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_MAX_WEIGHT
+	 *
+	 * @since 6.3
+	 */
+	default int getCacheWeight() {
+		return 1;
+	}
 }
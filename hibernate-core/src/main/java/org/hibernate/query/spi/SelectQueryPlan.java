@@ -7,10 +7,13 @@
 package org.hibernate.query.spi;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.hibernate.Incubating;
 import org.hibernate.ScrollMode;
 import org.hibernate.query.Query;
+import org.hibernate.query.internal.ScrollableResultsIterator;
+import org.hibernate.sql.results.spi.StreamingResultsConsumer;
 
 /**
  * General contract for performing execution of a query returning results.  These
@@ -42,4 +45,40 @@ public interface SelectQueryPlan<R> extends QueryPlan {
 	 */
 	ScrollableResultsImplementor<R> performScroll(ScrollMode scrollMode, DomainQueryExecutionContext executionContext);
 
+	/**
+	 * Perform (execute) the query passing each result to the given action as soon
+	 * as it is read, clearing the persistence context every {@code clearInterval}
+	 * results, unless it is {@code 0}
+	 *
+	 * @return The number of results
+	 *
+	 * @see org.hibernate.query.SelectionQuery#forEachResult(Consumer, int)
+	 *
+	 * @since 6.3
+	 */
+	default long performForEach(
+			Consumer<? super R> action,
+			int clearInterval,
+			DomainQueryExecutionContext executionContext) {
+		try ( ScrollableResultsImplementor<R> results = performScroll( ScrollMode.FORWARD_ONLY, executionContext ) ) {
+			return StreamingResultsConsumer.forEach(
+					new ScrollableResultsIterator<>( results ),
+					action,
+					clearInterval,
+					executionContext.getSession()
+			);
+		}
+	}
+
+	/**
+	 * Prepare the plan for executions in the given context, for example by
+	 * translating the query, without executing it.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_WARM_UP
+	 *
+	 * @since 6.3
+	 */
+	default void prepare(DomainQueryExecutionContext executionContext) {
+	}
+
 }
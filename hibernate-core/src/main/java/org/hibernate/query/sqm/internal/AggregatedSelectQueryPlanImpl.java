@@ -9,6 +9,7 @@ package org.hibernate.query.sqm.internal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.hibernate.ScrollMode;
 import org.hibernate.internal.EmptyScrollableResults;
@@ -16,6 +17,7 @@ import org.hibernate.query.spi.DomainQueryExecutionContext;
 import org.hibernate.query.spi.Limit;
 import org.hibernate.query.spi.ScrollableResultsImplementor;
 import org.hibernate.query.spi.SelectQueryPlan;
+import org.hibernate.sql.results.spi.StreamingResultsConsumer;
 
 /**
  * @author Steve Ebersole
@@ -69,6 +71,20 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 		return overallResults;
 	}
 
+	@Override
+	public long performForEach(
+			Consumer<? super R> action,
+			int clearInterval,
+			DomainQueryExecutionContext executionContext) {
+		// the limit is applied across the aggregated queries, so collect the results
+		return StreamingResultsConsumer.forEach(
+				performList( executionContext ).iterator(),
+				action,
+				clearInterval,
+				executionContext.getSession()
+		);
+	}
+
 	@Override
 	public ScrollableResultsImplementor<R> performScroll(ScrollMode scrollMode, DomainQueryExecutionContext executionContext) {
 		if ( executionContext.getQueryOptions().getEffectiveLimit().getMaxRowsJpa() == 0 ) {
@@ -76,4 +92,11 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 		}
 		throw new UnsupportedOperationException();
 	}
+
+	@Override
+	public void prepare(DomainQueryExecutionContext executionContext) {
+		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+			aggregatedQueryPlan.prepare( executionContext );
+		}
+	}
 }
@@ -8,8 +8,11 @@ package org.hibernate.query.sqm.internal;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
 import org.hibernate.ScrollMode;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
@@ -19,14 +22,18 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.SubselectFetch;
 import org.hibernate.internal.EmptyScrollableResults;
+import org.hibernate.internal.FilterJdbcParameter;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.metamodel.mapping.MappingModelExpressible;
 import org.hibernate.query.IllegalQueryOperationException;
 import org.hibernate.query.Query;
 import org.hibernate.query.TupleTransformer;
 import org.hibernate.query.spi.DomainQueryExecutionContext;
+import org.hibernate.query.spi.Limit;
 import org.hibernate.query.spi.QueryEngine;
 import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.QueryParameterBinding;
+import org.hibernate.query.spi.QueryParameterBindings;
 import org.hibernate.query.spi.QueryParameterImplementor;
 import org.hibernate.query.spi.ScrollableResultsImplementor;
 import org.hibernate.query.spi.SelectQueryPlan;
@@ -35,7 +42,14 @@ import org.hibernate.query.sqm.sql.SqmTranslation;
 import org.hibernate.query.sqm.sql.SqmTranslator;
 import org.hibernate.query.sqm.sql.SqmTranslatorFactory;
 import org.hibernate.query.sqm.tree.expression.SqmParameter;
+import org.hibernate.query.sqm.tree.from.SqmFrom;
+import org.hibernate.query.sqm.tree.from.SqmFromClause;
+import org.hibernate.query.sqm.tree.from.SqmJoin;
+import org.hibernate.query.sqm.tree.from.SqmRoot;
 import org.hibernate.query.sqm.tree.select.SqmDynamicInstantiation;
+import org.hibernate.query.sqm.tree.select.SqmQueryGroup;
+import org.hibernate.query.sqm.tree.select.SqmQueryPart;
+import org.hibernate.query.sqm.tree.select.SqmQuerySpec;
 import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
 import org.hibernate.query.sqm.tree.select.SqmSelection;
 import org.hibernate.sql.ast.SqlAstTranslator;
@@ -58,6 +72,7 @@ import org.hibernate.sql.results.spi.ListResultsConsumer;
 import org.hibernate.sql.results.spi.RowTransformer;
 
 import static org.hibernate.query.sqm.internal.QuerySqmImpl.CRITERIA_HQL_STRING;
+import static org.hibernate.query.sqm.internal.SqmUtil.getPaddedInListSize;
 
 /**
  * Standard Hibernate implementation of SelectQueryPlan for SQM-backed
@@ -67,13 +82,25 @@ import static org.hibernate.query.sqm.internal.QuerySqmImpl.CRITERIA_HQL_STRING;
  * @author Steve Ebersole
  */
 public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
+	private static final int LIMIT_VARIANTS = 4;
+
 	private final SqmSelectStatement<?> sqm;
 	private final DomainParameterXref domainParameterXref;
 	private final RowTransformer<R> rowTransformer;
 	private final SqmInterpreter<List<R>, Void> listInterpreter;
 	private final SqmInterpreter<ScrollableResultsImplementor<R>, ScrollMode> scrollInterpreter;
-
-	private volatile CacheableSqmInterpretation cacheableSqmInterpretation;
+	private final SqmInterpreter<Long, ForEachAction<R>> forEachInterpreter;
+	private final int cacheWeight;
+
+	/**
+	 * The interpretations for the different shapes of the limit, indexed by
+	 * {@link #limitVariant(QueryOptions)}, so that executing the query with
+	 * and without pagination does not translate it again every time. The
+	 * lock options need no variants since they are part of the cache key
+	 * of the plan itself.
+	 */
+	private final AtomicReferenceArray<CacheableSqmInterpretation> cacheableSqmInterpretations =
+			new AtomicReferenceArray<>( LIMIT_VARIANTS );
 
 	public ConcreteSqmSelectQueryPlan(
 			SqmSelectStatement<?> sqm,
@@ -86,6 +113,7 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		this.domainParameterXref = domainParameterXref;
 
 		this.rowTransformer = determineRowTransformer( sqm, resultType, tupleMetadata, queryOptions );
+		this.cacheWeight = weigh( sqm.getQueryPart() );
 
 		final ListResultsConsumer.UniqueSemantic uniqueSemantic;
 		if ( sqm.producesUniqueResults() && !AppliedGraphs.containsCollectionFetches( queryOptions ) ) {
@@ -97,53 +125,58 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		this.listInterpreter = (unused, executionContext, sqmInterpretation, jdbcParameterBindings) -> {
 			final SharedSessionContractImplementor session = executionContext.getSession();
 			final JdbcOperationQuerySelect jdbcSelect = sqmInterpretation.getJdbcSelect();
-			try {
-				final SubselectFetch.RegistrationHandler subSelectFetchKeyHandler = SubselectFetch.createRegistrationHandler(
-						session.getPersistenceContext().getBatchFetchQueue(),
-						sqmInterpretation.selectStatement,
-						JdbcParametersList.empty(),
-						jdbcParameterBindings
-				);
+			final SubselectFetch.RegistrationHandler subSelectFetchKeyHandler = SubselectFetch.createRegistrationHandler(
+					session.getPersistenceContext().getBatchFetchQueue(),
+					sqmInterpretation.selectStatement,
+					JdbcParametersList.empty(),
+					jdbcParameterBindings
+			);
 
-				session.autoFlushIfRequired( jdbcSelect.getAffectedTableNames() );
+			session.autoFlushIfRequired( jdbcSelect.getAffectedTableNames() );
 
-				return session.getFactory().getJdbcServices().getJdbcSelectExecutor().list(
-						jdbcSelect,
-						jdbcParameterBindings,
-						listInterpreterExecutionContext( hql, executionContext, jdbcSelect, subSelectFetchKeyHandler ),
-						rowTransformer,
-						uniqueSemantic
-				);
-			}
-			finally {
-				domainParameterXref.clearExpansions();
-			}
+			return session.getFactory().getJdbcServices().getJdbcSelectExecutor().list(
+					jdbcSelect,
+					jdbcParameterBindings,
+					listInterpreterExecutionContext( hql, executionContext, jdbcSelect, subSelectFetchKeyHandler ),
+					rowTransformer,
+					uniqueSemantic
+			);
 		};
 
 		this.scrollInterpreter = (scrollMode, executionContext, sqmInterpretation, jdbcParameterBindings) -> {
-			try {
-//				final SubselectFetch.RegistrationHandler subSelectFetchKeyHandler = SubselectFetch.createRegistrationHandler(
-//						executionContext.getSession().getPersistenceContext().getBatchFetchQueue(),
-//						sqmInterpretation.selectStatement,
-//						Collections.emptyList(),
-//						jdbcParameterBindings
-//				);
-
-				final JdbcSelectExecutor jdbcSelectExecutor = executionContext.getSession()
-						.getFactory()
-						.getJdbcServices()
-						.getJdbcSelectExecutor();
-				return jdbcSelectExecutor.scroll(
-						sqmInterpretation.getJdbcSelect(),
-						scrollMode,
-						jdbcParameterBindings,
-						new SqmJdbcExecutionContextAdapter( executionContext, sqmInterpretation.jdbcSelect ),
-						rowTransformer
-				);
-			}
-			finally {
-				domainParameterXref.clearExpansions();
-			}
+//			final SubselectFetch.RegistrationHandler subSelectFetchKeyHandler = SubselectFetch.createRegistrationHandler(
+//					executionContext.getSession().getPersistenceContext().getBatchFetchQueue(),
+//					sqmInterpretation.selectStatement,
+//					Collections.emptyList(),
+//					jdbcParameterBindings
+//			);
+
+			final JdbcSelectExecutor jdbcSelectExecutor = executionContext.getSession()
+					.getFactory()
+					.getJdbcServices()
+					.getJdbcSelectExecutor();
+			return jdbcSelectExecutor.scroll(
+					sqmInterpretation.getJdbcSelect(),
+					scrollMode,
+					jdbcParameterBindings,
+					new SqmJdbcExecutionContextAdapter( executionContext, sqmInterpretation.jdbcSelect ),
+					rowTransformer
+			);
+		};
+
+		this.forEachInterpreter = (forEachAction, executionContext, sqmInterpretation, jdbcParameterBindings) -> {
+			final JdbcSelectExecutor jdbcSelectExecutor = executionContext.getSession()
+					.getFactory()
+					.getJdbcServices()
+					.getJdbcSelectExecutor();
+			return jdbcSelectExecutor.forEach(
+					sqmInterpretation.getJdbcSelect(),
+					jdbcParameterBindings,
+					new SqmJdbcExecutionContextAdapter( executionContext, sqmInterpretation.jdbcSelect ),
+					rowTransformer,
+					forEachAction.action,
+					forEachAction.clearInterval
+			);
 		};
 
 		// todo (6.0) : we should do as much of the building as we can here
@@ -152,10 +185,47 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		// NOTE : this statement ^^ is not affected by load-query-influencers,
 		//		multi-valued parameter expansion, etc - because those all
 		//		cause the plan to not be cached.
-		// NOTE2 (regarding NOTE) : not sure multi-valued parameter expansion, in
-		//		particular, should veto caching of the plan.  The expansion happens
-		//		for each execution - see creation of `JdbcParameterBindings` in
-		//		`#performList` and `#performScroll`.
+		// NOTE2 (regarding NOTE) : multi-valued parameters are expanded during
+		//		translation, and the expansions are kept by the interpretation
+		//		on its own copy of the `DomainParameterXref`, so that a cached
+		//		plan is never affected by the expansions of another execution.
+		//		See `CacheableSqmInterpretation#hasCompatibleExpansions`.
+	}
+
+	@Override
+	public int getCacheWeight() {
+		return cacheWeight;
+	}
+
+	/**
+	 * Most of the memory held by a plan is for the SQL AST and the result
+	 * assemblers, which grow with the number of roots and joins
+	 */
+	private static int weigh(SqmQueryPart<?> queryPart) {
+		if ( queryPart instanceof SqmQueryGroup<?> ) {
+			int weight = 0;
+			for ( SqmQueryPart<?> part : ( (SqmQueryGroup<?>) queryPart ).getQueryParts() ) {
+				weight += weigh( part );
+			}
+			return weight;
+		}
+		final SqmFromClause fromClause = ( (SqmQuerySpec<?>) queryPart ).getFromClause();
+		if ( fromClause == null || fromClause.getRoots().isEmpty() ) {
+			return 1;
+		}
+		int weight = 0;
+		for ( SqmRoot<?> root : fromClause.getRoots() ) {
+			weight += weigh( root );
+		}
+		return weight;
+	}
+
+	private static int weigh(SqmFrom<?, ?> from) {
+		int weight = 1;
+		for ( SqmJoin<?, ?> join : from.getSqmJoins() ) {
+			weight += weigh( join );
+		}
+		return weight;
 	}
 
 	protected static SqmJdbcExecutionContextAdapter listInterpreterExecutionContext(
@@ -252,53 +322,121 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		return withCacheableSqmInterpretation( executionContext, scrollMode, scrollInterpreter );
 	}
 
+	@Override
+	public long performForEach(
+			Consumer<? super R> action,
+			int clearInterval,
+			DomainQueryExecutionContext executionContext) {
+		if ( executionContext.getQueryOptions().getEffectiveLimit().getMaxRowsJpa() == 0 ) {
+			return 0;
+		}
+		return withCacheableSqmInterpretation(
+				executionContext,
+				new ForEachAction<>( action, clearInterval ),
+				forEachInterpreter
+		);
+	}
+
+	@Override
+	public void prepare(DomainQueryExecutionContext executionContext) {
+		final int variant = limitVariant( executionContext.getQueryOptions() );
+		if ( cacheableSqmInterpretations.get( variant ) == null ) {
+			synchronized ( this ) {
+				if ( cacheableSqmInterpretations.get( variant ) == null ) {
+					final CacheableSqmInterpretation localCopy = buildCacheableSqmInterpretation(
+							sqm,
+							domainParameterXref,
+							executionContext,
+							expectedSqlLength()
+					);
+					localCopy.firstParameterBindings = null;
+					cacheableSqmInterpretations.set( variant, localCopy );
+				}
+			}
+		}
+	}
+
+	/**
+	 * The limit and offset are bound as JDBC parameters, so the translated SQL
+	 * only depends on whether they are present, not on their values
+	 */
+	private static int limitVariant(QueryOptions queryOptions) {
+		final Limit limit = queryOptions.getLimit();
+		if ( limit == null ) {
+			return 0;
+		}
+		return ( limit.getFirstRow() == null ? 0 : 1 ) | ( limit.getMaxRows() == null ? 0 : 2 );
+	}
+
+	/**
+	 * The length of the SQL of another variant, which is a good estimate for
+	 * the length of the SQL of a new variant
+	 */
+	private int expectedSqlLength() {
+		for ( int i = 0; i < LIMIT_VARIANTS; i++ ) {
+			final CacheableSqmInterpretation interpretation = cacheableSqmInterpretations.get( i );
+			if ( interpretation != null ) {
+				return interpretation.jdbcSelect.getSqlString().length();
+			}
+		}
+		return 0;
+	}
+
 	private <T, X> T withCacheableSqmInterpretation(DomainQueryExecutionContext executionContext, X context, SqmInterpreter<T, X> interpreter) {
 		// NOTE : VERY IMPORTANT - intentional double-lock checking
 		//		The other option would be to leverage `java.util.concurrent.locks.ReadWriteLock`
 		//		to protect access.  However, synchronized is much simpler here.  We will verify
 		// 		during throughput testing whether this is an issue and consider changes then
 
-		CacheableSqmInterpretation localCopy = cacheableSqmInterpretation;
+		final int variant = limitVariant( executionContext.getQueryOptions() );
+		CacheableSqmInterpretation localCopy = cacheableSqmInterpretations.get( variant );
 		JdbcParameterBindings jdbcParameterBindings = null;
 
 		if ( localCopy == null ) {
 			synchronized ( this ) {
-				localCopy = cacheableSqmInterpretation;
+				localCopy = cacheableSqmInterpretations.get( variant );
 				if ( localCopy == null ) {
 					localCopy = buildCacheableSqmInterpretation(
 							sqm,
 							domainParameterXref,
-							executionContext
+							executionContext,
+							expectedSqlLength()
 					);
 					jdbcParameterBindings = localCopy.firstParameterBindings;
 					localCopy.firstParameterBindings = null;
-					cacheableSqmInterpretation = localCopy;
+					cacheableSqmInterpretations.set( variant, localCopy );
 				}
 			}
 		}
 		else {
 			// If the translation depends on parameter bindings or it isn't compatible with the current query options,
 			// we have to rebuild the JdbcSelect, which is still better than having to translate from SQM to SQL AST again
-			if ( localCopy.jdbcSelect.dependsOnParameterBindings() ) {
+			// If the multi-valued parameters were expanded for a different number of values, we have to translate again
+			final boolean compatibleExpansions = localCopy.hasCompatibleExpansions( executionContext.getQueryParameterBindings() );
+			if ( compatibleExpansions && localCopy.jdbcSelect.dependsOnParameterBindings() ) {
 				jdbcParameterBindings = createJdbcParameterBindings( localCopy, executionContext );
 			}
-			// If the translation depends on the limit or lock options, we have to rebuild the JdbcSelect
-			// We could avoid this by putting the lock options into the cache key
-			if ( !localCopy.jdbcSelect.isCompatibleWith( jdbcParameterBindings, executionContext.getQueryOptions() ) ) {
+			// The presence of a limit and offset selects the variant, but the translation may still
+			// depend on their values, e.g. if the dialect renders them as literals
+			if ( !compatibleExpansions
+					|| !localCopy.jdbcSelect.isCompatibleWith( jdbcParameterBindings, executionContext.getQueryOptions() ) ) {
 				localCopy = buildCacheableSqmInterpretation(
 						sqm,
 						domainParameterXref,
-						executionContext
+						executionContext,
+						localCopy.jdbcSelect.getSqlString().length()
 				);
 				jdbcParameterBindings = localCopy.firstParameterBindings;
 				localCopy.firstParameterBindings = null;
-				cacheableSqmInterpretation = localCopy;
+				cacheableSqmInterpretations.set( variant, localCopy );
 			}
 		}
 
 		if ( jdbcParameterBindings == null ) {
 			jdbcParameterBindings = createJdbcParameterBindings( localCopy, executionContext );
 		}
+		// the translation may have been cached with the filter values of another execution
+		FilterJdbcParameter.bindCurrentValues( localCopy.jdbcSelect, jdbcParameterBindings, executionContext.getSession() );
 
 		return interpreter.interpret( context, executionContext, localCopy, jdbcParameterBindings );
 	}
@@ -307,7 +445,7 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		final SharedSessionContractImplementor session = executionContext.getSession();
 		return SqmUtil.createJdbcParameterBindings(
 				executionContext.getQueryParameterBindings(),
-				domainParameterXref,
+				sqmInterpretation.getDomainParameterXref(),
 				sqmInterpretation.getJdbcParamsXref(),
 				session.getFactory().getRuntimeMetamodels().getMappingMetamodel(),
 				sqmInterpretation.getTableGroupAccess()::findTableGroup,
@@ -325,17 +463,24 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 	private static CacheableSqmInterpretation buildCacheableSqmInterpretation(
 			SqmSelectStatement<?> sqm,
 			DomainParameterXref domainParameterXref,
-			DomainQueryExecutionContext executionContext) {
+			DomainQueryExecutionContext executionContext,
+			int expectedSqlLength) {
 		final SharedSessionContractImplementor session = executionContext.getSession();
 		final SessionFactoryImplementor sessionFactory = session.getFactory();
 		final QueryEngine queryEngine = sessionFactory.getQueryEngine();
 
 		final SqmTranslatorFactory sqmTranslatorFactory = queryEngine.getSqmTranslatorFactory();
 
+		final QueryParameterBindings domainParameterBindings = executionContext.getQueryParameterBindings();
+		// The expansions of multi-valued parameters are specific to this interpretation
+		final DomainParameterXref interpretationXref = domainParameterBindings.hasAnyMultiValuedBindings()
+				? domainParameterXref.copy()
+				: domainParameterXref;
+
 		final SqmTranslator<SelectStatement> sqmConverter = sqmTranslatorFactory.createSelectTranslator(
 				sqm,
 				executionContext.getQueryOptions(),
-				domainParameterXref,
+				interpretationXref,
 				executionContext.getQueryParameterBindings(),
 				executionContext.getSession().getLoadQueryInfluencers(),
 				sessionFactory,
@@ -354,10 +499,10 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		);
 
 		final Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref
-				= SqmUtil.generateJdbcParamsXref( domainParameterXref, sqmInterpretation::getJdbcParamsBySqmParam );
+				= SqmUtil.generateJdbcParamsXref( interpretationXref, sqmInterpretation::getJdbcParamsBySqmParam );
 		final JdbcParameterBindings jdbcParameterBindings = SqmUtil.createJdbcParameterBindings(
-				executionContext.getQueryParameterBindings(),
-				domainParameterXref,
+				domainParameterBindings,
+				interpretationXref,
 				jdbcParamsXref,
 				session.getFactory().getRuntimeMetamodels().getMappingMetamodel(),
 				tableGroupAccess::findTableGroup,
@@ -369,18 +514,72 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 				},
 				session
 		);
+		selectTranslator.ensureSqlCapacity( expectedSqlLength );
 		final JdbcOperationQuerySelect jdbcSelect = selectTranslator.translate( jdbcParameterBindings, executionContext.getQueryOptions() );
 
 		return new CacheableSqmInterpretation(
 				sqmInterpretation.getSqlAst(),
 				jdbcSelect,
 				tableGroupAccess,
+				interpretationXref,
 				jdbcParamsXref,
 				sqmInterpretation.getSqmParameterMappingModelTypeResolutions(),
+				jdbcServices.getDialect().getInExpressionCountLimit(),
+				expandedValueCounts( interpretationXref, domainParameterBindings, jdbcServices.getDialect().getInExpressionCountLimit() ),
 				jdbcParameterBindings
 		);
 	}
 
+	/**
+	 * The number of values each multi-valued parameter was expanded for
+	 */
+	private static Map<QueryParameterImplementor<?>, Integer> expandedValueCounts(
+			DomainParameterXref domainParameterXref,
+			QueryParameterBindings domainParameterBindings,
+			int inExprLimit) {
+		if ( !domainParameterBindings.hasAnyMultiValuedBindings() ) {
+			return Collections.emptyMap();
+		}
+		final Map<QueryParameterImplementor<?>, Integer> expandedValueCounts = new IdentityHashMap<>();
+		for ( Map.Entry<QueryParameterImplementor<?>, List<SqmParameter<?>>> entry :
+				domainParameterXref.getSqmParamByQueryParam().entrySet() ) {
+			final QueryParameterBinding<?> binding = domainParameterBindings.getBinding( entry.getKey() );
+			if ( binding.isMultiValued() ) {
+				expandedValueCounts.put(
+						entry.getKey(),
+						expandedValueCount(
+								domainParameterXref,
+								entry.getValue(),
+								binding.getBindValues().size(),
+								inExprLimit
+						)
+				);
+			}
+		}
+		return expandedValueCounts;
+	}
+
+	/**
+	 * The number of values the given occurrences of a parameter are expanded for:
+	 * the size of the padded list if the expansions of all occurrences are padded,
+	 * or the exact number of values otherwise
+	 */
+	private static int expandedValueCount(
+			DomainParameterXref domainParameterXref,
+			List<SqmParameter<?>> sqmParameters,
+			int valueCount,
+			int inExprLimit) {
+		if ( valueCount == 0 ) {
+			return 0;
+		}
+		for ( SqmParameter<?> sqmParameter : sqmParameters ) {
+			if ( !domainParameterXref.isExpansionPadded( sqmParameter ) ) {
+				return valueCount;
+			}
+		}
+		return getPaddedInListSize( valueCount, inExprLimit );
+	}
+
 	private interface SqmInterpreter<T, X> {
 		T interpret(
 				X context,
@@ -389,29 +588,76 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 				JdbcParameterBindings jdbcParameterBindings);
 	}
 
+	private static class ForEachAction<R> {
+		private final Consumer<? super R> action;
+		private final int clearInterval;
+
+		private ForEachAction(Consumer<? super R> action, int clearInterval) {
+			this.action = action;
+			this.clearInterval = clearInterval;
+		}
+	}
+
 	private static class CacheableSqmInterpretation {
 		private final SelectStatement selectStatement;
 		private final JdbcOperationQuerySelect jdbcSelect;
 		private final FromClauseAccess tableGroupAccess;
+		private final DomainParameterXref domainParameterXref;
 		private final Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref;
 		private final Map<SqmParameter<?>, MappingModelExpressible<?>> sqmParameterMappingModelTypes;
+		private final int inExprLimit;
+		private final Map<QueryParameterImplementor<?>, Integer> expandedValueCounts;
 		private transient JdbcParameterBindings firstParameterBindings;
 
 		CacheableSqmInterpretation(
 				SelectStatement selectStatement,
 				JdbcOperationQuerySelect jdbcSelect,
 				FromClauseAccess tableGroupAccess,
+				DomainParameterXref domainParameterXref,
 				Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref,
 				Map<SqmParameter<?>, MappingModelExpressible<?>> sqmParameterMappingModelTypes,
+				int inExprLimit,
+				Map<QueryParameterImplementor<?>, Integer> expandedValueCounts,
 				JdbcParameterBindings firstParameterBindings) {
 			this.selectStatement = selectStatement;
 			this.jdbcSelect = jdbcSelect;
 			this.tableGroupAccess = tableGroupAccess;
+			this.domainParameterXref = domainParameterXref;
 			this.jdbcParamsXref = jdbcParamsXref;
 			this.sqmParameterMappingModelTypes = sqmParameterMappingModelTypes;
+			this.inExprLimit = inExprLimit;
+			this.expandedValueCounts = expandedValueCounts;
 			this.firstParameterBindings = firstParameterBindings;
 		}
 
+		/**
+		 * Were the multi-valued parameters expanded such that the given bindings can be bound?
+		 */
+		boolean hasCompatibleExpansions(QueryParameterBindings domainParameterBindings) {
+			int multiValuedCount = 0;
+			for ( Map.Entry<QueryParameterImplementor<?>, List<SqmParameter<?>>> entry :
+					domainParameterXref.getSqmParamByQueryParam().entrySet() ) {
+				final QueryParameterBinding<?> binding = domainParameterBindings.getBinding( entry.getKey() );
+				if ( binding.isMultiValued() ) {
+					final Integer translatedValueCount = expandedValueCounts.get( entry.getKey() );
+					if ( translatedValueCount == null || translatedValueCount != expandedValueCount(
+							domainParameterXref,
+							entry.getValue(),
+							binding.getBindValues().size(),
+							inExprLimit
+					) ) {
+						return false;
+					}
+					multiValuedCount++;
+				}
+			}
+			return multiValuedCount == expandedValueCounts.size();
+		}
+
+		DomainParameterXref getDomainParameterXref() {
+			return domainParameterXref;
+		}
+
 		SelectStatement getSelectStatement() {
 			return selectStatement;
 		}
@@ -0,0 +1,267 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.cache.spi.QueryKey;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.spi.DomainQueryExecutionContext;
+import org.hibernate.query.spi.QueryInterpretationCache;
+import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.QueryParameterBinding;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.spi.QueryParameterImplementor;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+import org.hibernate.query.spi.SelectQueryPlan;
+import org.hibernate.query.sqm.tree.expression.JpaCriteriaParameter;
+import org.hibernate.sql.exec.spi.Callback;
+
+/**
+ * A cached {@link SelectQueryPlan} of a Criteria-based query. The plan refers to
+ * the parameters of the query it was built for, so it may only be executed for an
+ * {@linkplain SqmStructuralKey equivalent} query after translating the parameters
+ * of that query to its own, by their position in the tree.
+ *
+ * @see SqmStructuralKey
+ *
+ * @since 6.3
+ */
+public class CriteriaSelectQueryPlan<R> implements SelectQueryPlan<R> {
+	private final SelectQueryPlan<R> delegate;
+	private final List<JpaCriteriaParameter<?>> parameters;
+
+	public CriteriaSelectQueryPlan(SelectQueryPlan<R> delegate, List<JpaCriteriaParameter<?>> parameters) {
+		this.delegate = delegate;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Resolve the plan for the given key from the cache, building it if needed,
+	 * and adapt it to the parameters of the query the key was created for.
+	 */
+	public static <R> SelectQueryPlan<R> resolveSelectQueryPlan(
+			SqmInterpretationsKey cacheKey,
+			QueryInterpretationCache interpretationCache,
+			Supplier<SelectQueryPlan<R>> creator) {
+		final List<JpaCriteriaParameter<?>> queryParameters = cacheKey.getCriteriaParameters();
+		if ( queryParameters == null ) {
+			return interpretationCache.resolveSelectQueryPlan( cacheKey, creator );
+		}
+		final SelectQueryPlan<R> queryPlan = interpretationCache.resolveSelectQueryPlan(
+				cacheKey,
+				() -> new CriteriaSelectQueryPlan<>( creator.get(), queryParameters )
+		);
+		if ( queryPlan instanceof CriteriaSelectQueryPlan<?> ) {
+			return ( (CriteriaSelectQueryPlan<R>) queryPlan ).forParameters( queryParameters );
+		}
+		return queryPlan;
+	}
+
+	/**
+	 * A view of this plan which accepts bindings for the given parameters, which
+	 * must be in the same order as the parameters this plan was built for
+	 */
+	public SelectQueryPlan<R> forParameters(List<JpaCriteriaParameter<?>> queryParameters) {
+		assert queryParameters.size() == parameters.size();
+		Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> planToQuery = null;
+		Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> queryToPlan = null;
+		for ( int i = 0; i < parameters.size(); i++ ) {
+			final JpaCriteriaParameter<?> planParameter = parameters.get( i );
+			final JpaCriteriaParameter<?> queryParameter = queryParameters.get( i );
+			if ( planParameter != queryParameter ) {
+				if ( planToQuery == null ) {
+					planToQuery = new IdentityHashMap<>( parameters.size() );
+					queryToPlan = new IdentityHashMap<>( parameters.size() );
+				}
+				planToQuery.put( planParameter, queryParameter );
+				queryToPlan.put( queryParameter, planParameter );
+			}
+		}
+		if ( planToQuery == null ) {
+			// the query this plan was built for
+			return delegate;
+		}
+		return new RemappedSelectQueryPlan<>( delegate, planToQuery, queryToPlan );
+	}
+
+	@Override
+	public List<R> performList(DomainQueryExecutionContext executionContext) {
+		return delegate.performList( executionContext );
+	}
+
+	@Override
+	public ScrollableResultsImplementor<R> performScroll(
+			ScrollMode scrollMode,
+			DomainQueryExecutionContext executionContext) {
+		return delegate.performScroll( scrollMode, executionContext );
+	}
+
+	@Override
+	public long performForEach(
+			Consumer<? super R> action,
+			int clearInterval,
+			DomainQueryExecutionContext executionContext) {
+		return delegate.performForEach( action, clearInterval, executionContext );
+	}
+
+	@Override
+	public void prepare(DomainQueryExecutionContext executionContext) {
+		delegate.prepare( executionContext );
+	}
+
+	private static class RemappedSelectQueryPlan<R> implements SelectQueryPlan<R> {
+		private final SelectQueryPlan<R> delegate;
+		private final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> planToQuery;
+		private final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> queryToPlan;
+
+		private RemappedSelectQueryPlan(
+				SelectQueryPlan<R> delegate,
+				Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> planToQuery,
+				Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> queryToPlan) {
+			this.delegate = delegate;
+			this.planToQuery = planToQuery;
+			this.queryToPlan = queryToPlan;
+		}
+
+		@Override
+		public List<R> performList(DomainQueryExecutionContext executionContext) {
+			return delegate.performList( new RemappedExecutionContext( executionContext, this ) );
+		}
+
+		@Override
+		public ScrollableResultsImplementor<R> performScroll(
+				ScrollMode scrollMode,
+				DomainQueryExecutionContext executionContext) {
+			return delegate.performScroll( scrollMode, new RemappedExecutionContext( executionContext, this ) );
+		}
+
+		@Override
+		public long performForEach(
+				Consumer<? super R> action,
+				int clearInterval,
+				DomainQueryExecutionContext executionContext) {
+			return delegate.performForEach(
+					action,
+					clearInterval,
+					new RemappedExecutionContext( executionContext, this )
+			);
+		}
+
+		@Override
+		public void prepare(DomainQueryExecutionContext executionContext) {
+			delegate.prepare( new RemappedExecutionContext( executionContext, this ) );
+		}
+	}
+
+	private static class RemappedExecutionContext implements DomainQueryExecutionContext {
+		private final DomainQueryExecutionContext executionContext;
+		private final QueryParameterBindings parameterBindings;
+
+		private RemappedExecutionContext(DomainQueryExecutionContext executionContext, RemappedSelectQueryPlan<?> plan) {
+			this.executionContext = executionContext;
+			this.parameterBindings = new RemappedQueryParameterBindings(
+					executionContext.getQueryParameterBindings(),
+					plan.planToQuery,
+					plan.queryToPlan
+			);
+		}
+
+		@Override
+		public QueryOptions getQueryOptions() {
+			return executionContext.getQueryOptions();
+		}
+
+		@Override
+		public QueryParameterBindings getQueryParameterBindings() {
+			return parameterBindings;
+		}
+
+		@Override
+		public Callback getCallback() {
+			return executionContext.getCallback();
+		}
+
+		@Override
+		public SharedSessionContractImplementor getSession() {
+			return executionContext.getSession();
+		}
+	}
+
+	/**
+	 * Exposes the bindings of the executed query as bindings of the parameters of the plan
+	 */
+	private static class RemappedQueryParameterBindings implements QueryParameterBindings {
+		private final QueryParameterBindings bindings;
+		private final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> planToQuery;
+		private final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> queryToPlan;
+
+		private RemappedQueryParameterBindings(
+				QueryParameterBindings bindings,
+				Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> planToQuery,
+				Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> queryToPlan) {
+			this.bindings = bindings;
+			this.planToQuery = planToQuery;
+			this.queryToPlan = queryToPlan;
+		}
+
+		@SuppressWarnings("unchecked")
+		private <P> QueryParameterImplementor<P> toQueryParameter(QueryParameterImplementor<P> parameter) {
+			final QueryParameterImplementor<?> queryParameter = planToQuery.get( parameter );
+			return queryParameter == null ? parameter : (QueryParameterImplementor<P>) queryParameter;
+		}
+
+		@Override
+		public boolean isBound(QueryParameterImplementor<?> parameter) {
+			return bindings.isBound( toQueryParameter( parameter ) );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(QueryParameterImplementor<P> parameter) {
+			return bindings.getBinding( toQueryParameter( parameter ) );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(String name) {
+			return bindings.getBinding( name );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(int position) {
+			return bindings.getBinding( position );
+		}
+
+		@Override
+		public void validate() {
+			bindings.validate();
+		}
+
+		@Override
+		public boolean hasAnyMultiValuedBindings() {
+			return bindings.hasAnyMultiValuedBindings();
+		}
+
+		@Override
+		public QueryKey.ParameterBindingsMemento generateQueryKeyMemento(SharedSessionContractImplementor persistenceContext) {
+			return bindings.generateQueryKeyMemento( persistenceContext );
+		}
+
+		@Override
+		public void visitBindings(BiConsumer<QueryParameterImplementor<?>, QueryParameterBinding<?>> action) {
+			bindings.visitBindings( (parameter, binding) -> {
+				final QueryParameterImplementor<?> planParameter = queryToPlan.get( parameter );
+				action.accept( planParameter == null ? parameter : planParameter, binding );
+			} );
+		}
+	}
+}
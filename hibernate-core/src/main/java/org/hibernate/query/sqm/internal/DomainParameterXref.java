@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.hibernate.query.internal.QueryParameterNamedImpl;
@@ -114,6 +115,7 @@ public class DomainParameterXref {
 	private final Map<SqmParameter<?>, QueryParameterImplementor<?>> queryParamBySqmParam;
 
 	private Map<SqmParameter<?>,List<SqmParameter<?>>> expansions;
+	private Set<SqmParameter<?>> paddedExpansions;
 
 	/**
 	 * @implSpec Constructor is defined as public for
@@ -215,7 +217,35 @@ public class DomainParameterXref {
 		return sqmParameters == null ? Collections.emptyList() : sqmParameters;
 	}
 
+	/**
+	 * Marks the expansions of the given parameter as padded to the
+	 * {@linkplain SqmUtil#getPaddedInListSize size of the rendered IN list},
+	 * the excess expansions being bound to the last value of the parameter
+	 *
+	 * @since 6.3
+	 */
+	public void markExpansionsPadded(SqmParameter<?> originalSqmParameter) {
+		if ( paddedExpansions == null ) {
+			paddedExpansions = Collections.newSetFromMap( new IdentityHashMap<>() );
+		}
+		paddedExpansions.add( originalSqmParameter );
+	}
+
+	/**
+	 * Were the expansions of the given parameter padded?
+	 *
+	 * @see #markExpansionsPadded
+	 *
+	 * @since 6.3
+	 */
+	public boolean isExpansionPadded(SqmParameter<?> sqmParameter) {
+		return paddedExpansions != null && paddedExpansions.contains( sqmParameter );
+	}
+
 	public void clearExpansions() {
+		if ( paddedExpansions != null ) {
+			paddedExpansions.clear();
+		}
 		if ( expansions == null ) {
 			return;
 		}
@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.hibernate.CacheMode;
@@ -624,6 +625,19 @@ public class QuerySqmImpl<R>
 		}
 	}
 
+	@Override
+	protected long doForEach(Consumer<? super R> action, int clearInterval) {
+		verifySelect();
+
+		final SqmSelectStatement<?> sqmStatement = (SqmSelectStatement<?>) getSqmStatement();
+		if ( sqmStatement.containsCollectionFetches()
+				|| AppliedGraphs.containsCollectionFetches( getQueryOptions() ) ) {
+			// the rows of an entity with fetched collections need to be combined
+			return super.doForEach( action, clearInterval );
+		}
+		return resolveSelectQueryPlan().performForEach( action, clearInterval, this );
+	}
+
 	@Override
 	protected ScrollableResultsImplementor doScroll(ScrollMode scrollMode) {
 		return resolveSelectQueryPlan().performScroll( scrollMode, this );
@@ -633,11 +647,26 @@ public class QuerySqmImpl<R>
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Select query plan
 
+	/**
+	 * Resolve the plan of this select query and prepare it for execution,
+	 * without executing it. Parameters which are not bound are prepared as
+	 * if they were bound to {@code null}.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_WARM_UP
+	 *
+	 * @since 6.3
+	 */
+	public void prepareSelectQueryPlan() {
+		verifySelect();
+		resolveSelectQueryPlan().prepare( this );
+	}
+
 	private SelectQueryPlan<R> resolveSelectQueryPlan() {
-		final QueryInterpretationCache.Key cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
+		final SqmInterpretationsKey cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
 		if ( cacheKey != null ) {
-			return getSession().getFactory().getQueryEngine().getInterpretationCache().resolveSelectQueryPlan(
+			return CriteriaSelectQueryPlan.resolveSelectQueryPlan(
 					cacheKey,
+					getSession().getFactory().getQueryEngine().getInterpretationCache(),
 					this::buildSelectQueryPlan
 			);
 		}
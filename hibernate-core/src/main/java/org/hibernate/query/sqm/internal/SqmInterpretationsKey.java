@@ -6,19 +6,43 @@
  */
 package org.hibernate.query.sqm.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 
+import org.hibernate.Filter;
 import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.FilterDefinition;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.graph.spi.AppliedGraph;
+import org.hibernate.graph.spi.AttributeNodeImplementor;
+import org.hibernate.graph.spi.GraphImplementor;
+import org.hibernate.graph.spi.SubGraphImplementor;
+import org.hibernate.internal.FilterImpl;
 import org.hibernate.query.ResultListTransformer;
 import org.hibernate.query.TupleTransformer;
 import org.hibernate.query.spi.QueryInterpretationCache;
 import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.spi.QueryParameterImplementor;
+import org.hibernate.query.sqm.tree.SqmStatement;
+import org.hibernate.query.sqm.tree.expression.JpaCriteriaParameter;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+
+import jakarta.persistence.Tuple;
 
 import static java.lang.Boolean.TRUE;
+import static java.util.Collections.emptySet;
+import static java.util.Comparator.comparing;
 import static org.hibernate.query.spi.AbstractSelectionQuery.CRITERIA_HQL_STRING;
+import static org.hibernate.query.sqm.internal.SqmUtil.getPaddedInListSize;
 
 /**
  * @author Steve Ebersole
@@ -33,17 +57,41 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 	public interface InterpretationsKeySource extends CacheabilityInfluencers {
 		Class<?> getResultType();
+
+		QueryParameterBindings getQueryParameterBindings();
+
+		/**
+		 * The statement, needed to key the plans of Criteria-based queries
+		 */
+		default SqmStatement<?> getSqmStatement() {
+			return null;
+		}
 	}
 
 	public static SqmInterpretationsKey createInterpretationsKey(InterpretationsKeySource keySource) {
 		if ( isCacheable (keySource ) ) {
+			final SqmStructuralKey structure;
+			if ( CRITERIA_HQL_STRING.equals( keySource.getQueryString() ) ) {
+				// Criteria-based queries have no query string, and are keyed by the shape of the tree
+				structure = resolveCriteriaStructure( keySource );
+				if ( structure == null ) {
+					return null;
+				}
+			}
+			else {
+				structure = null;
+			}
 			return new SqmInterpretationsKey(
 					keySource.getQueryString(),
+					structure,
 					keySource.getResultType(),
 					keySource.getQueryOptions().getLockOptions(),
 					keySource.getQueryOptions().getTupleTransformer(),
 					keySource.getQueryOptions().getResultListTransformer(),
-					new HashSet<>( keySource.getLoadQueryInfluencers().getEnabledFetchProfileNames() )
+					new HashSet<>( keySource.getLoadQueryInfluencers().getEnabledFetchProfileNames() ),
+					enabledFiltersFingerprint( keySource.getLoadQueryInfluencers() ),
+					appliedGraphFingerprint( keySource.getQueryOptions().getAppliedGraph() ),
+					multiValuedBindingsFingerprint( keySource, structure )
 			);
 		}
 		else {
@@ -51,66 +99,213 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 		}
 	}
 
+	private static SqmStructuralKey resolveCriteriaStructure(InterpretationsKeySource keySource) {
+		// a Tuple result refers to the selections of the query which built the plan
+		if ( keySource.getResultType() == Tuple.class || !( keySource.getSqmStatement() instanceof SqmSelectStatement<?> ) ) {
+			return null;
+		}
+		return SqmStructuralKey.from( (SqmSelectStatement<?>) keySource.getSqmStatement() );
+	}
+
+	/**
+	 * Describes the enabled filters, along with the number of values of each
+	 * multivalued filter parameter. The values themselves are not part of the
+	 * key, since they are bound when the statement is executed.
+	 */
+	private static String enabledFiltersFingerprint(LoadQueryInfluencers loadQueryInfluencers) {
+		if ( !loadQueryInfluencers.hasEnabledFilters() ) {
+			return null;
+		}
+		final StringBuilder fingerprint = new StringBuilder();
+		for ( Filter filter : new TreeMap<>( loadQueryInfluencers.getEnabledFilters() ).values() ) {
+			final FilterDefinition filterDefinition = filter.getFilterDefinition();
+			fingerprint.append( filter.getName() ).append( '(' );
+			for ( String parameterName : new TreeSet<>( filterDefinition.getParameterNames() ) ) {
+				final Object value = ( (FilterImpl) filter ).getParameter( parameterName );
+				fingerprint.append( parameterName );
+				// the translator renders one parameter marker per element of a multivalued parameter
+				if ( value instanceof Iterable<?>
+						&& !filterDefinition.getParameterJdbcMapping( parameterName ).getJavaTypeDescriptor().isInstance( value ) ) {
+					int size = 0;
+					for ( Object ignored : (Iterable<?>) value ) {
+						size++;
+					}
+					fingerprint.append( '[' ).append( size ).append( ']' );
+				}
+				fingerprint.append( ',' );
+			}
+			fingerprint.append( ')' );
+		}
+		return fingerprint.toString();
+	}
+
+	/**
+	 * Describes the number of values of each multivalued parameter binding,
+	 * padded like the IN lists the plan is translated for. The parameters of a
+	 * Criteria-based query are identified by their position in the tree, since
+	 * its plan is shared with queries having other parameter objects.
+	 */
+	private static String multiValuedBindingsFingerprint(InterpretationsKeySource keySource, SqmStructuralKey structure) {
+		final QueryParameterBindings bindings = keySource.getQueryParameterBindings();
+		if ( !bindings.hasAnyMultiValuedBindings() ) {
+			return null;
+		}
+		final int inExprLimit = keySource.getLoadQueryInfluencers().getSessionFactory()
+				.getJdbcServices().getDialect().getInExpressionCountLimit();
+		final Map<String, Integer> valueCounts = new TreeMap<>();
+		bindings.visitBindings( (parameter, binding) -> {
+			if ( binding.isMultiValued() ) {
+				valueCounts.put(
+						parameterIdentifier( parameter, structure ),
+						getPaddedInListSize( binding.getBindValues().size(), inExprLimit )
+				);
+			}
+		} );
+		return valueCounts.toString();
+	}
+
+	private static String parameterIdentifier(QueryParameterImplementor<?> parameter, SqmStructuralKey structure) {
+		if ( structure != null ) {
+			final List<JpaCriteriaParameter<?>> parameters = structure.getParameters();
+			for ( int i = 0; i < parameters.size(); i++ ) {
+				if ( parameters.get( i ) == parameter ) {
+					return "#" + i;
+				}
+			}
+		}
+		return parameter.getName() != null ? ":" + parameter.getName() : "?" + parameter.getPosition();
+	}
+
+	/**
+	 * Describes the applied entity graph, independently of the order in which its
+	 * nodes were added
+	 */
+	private static String appliedGraphFingerprint(AppliedGraph appliedGraph) {
+		if ( appliedGraph.getSemantic() == null || appliedGraph.getGraph() == null ) {
+			return null;
+		}
+		final StringBuilder fingerprint = new StringBuilder( appliedGraph.getSemantic().name() ).append( ':' );
+		appendGraph( fingerprint, appliedGraph.getGraph() );
+		return fingerprint.toString();
+	}
+
+	private static void appendGraph(StringBuilder fingerprint, GraphImplementor<?> graph) {
+		fingerprint.append( graph.getGraphedType().getTypeName() ).append( '(' );
+		final List<AttributeNodeImplementor<?>> attributeNodes = new ArrayList<>( graph.getAttributeNodeImplementors() );
+		attributeNodes.sort( comparing( AttributeNodeImplementor::getAttributeName ) );
+		for ( AttributeNodeImplementor<?> attributeNode : attributeNodes ) {
+			fingerprint.append( attributeNode.getAttributeName() );
+			appendSubGraphs( fingerprint, "", attributeNode.getSubGraphMap() );
+			appendSubGraphs( fingerprint, "key ", attributeNode.getKeySubGraphMap() );
+			fingerprint.append( ',' );
+		}
+		fingerprint.append( ')' );
+	}
+
+	private static void appendSubGraphs(
+			StringBuilder fingerprint,
+			String prefix,
+			Map<? extends Class<?>, ? extends SubGraphImplementor<?>> subGraphs) {
+		if ( subGraphs != null && !subGraphs.isEmpty() ) {
+			final List<Class<?>> subTypes = new ArrayList<>( subGraphs.keySet() );
+			subTypes.sort( comparing( Class::getName ) );
+			for ( Class<?> subType : subTypes ) {
+				fingerprint.append( '{' ).append( prefix ).append( subType.getName() ).append( ' ' );
+				appendGraph( fingerprint, subGraphs.get( subType ) );
+				fingerprint.append( '}' );
+			}
+		}
+	}
+
 	private static boolean isCacheable(InterpretationsKeySource keySource) {
 		assert keySource.getQueryOptions().getAppliedGraph() != null;
 
-		// for now at least, skip caching Criteria-based plans
-		// - especially wrt parameters atm; this works with HQL because the
-		// parameters are part of the query string; with Criteria, they're not.
-		return ! CRITERIA_HQL_STRING.equals( keySource.getQueryString() )
-				// At the moment we cannot cache query plan if there is filter enabled.
-			&& ! keySource.getLoadQueryInfluencers().hasEnabledFilters()
-				// At the moment we cannot cache query plan if it has an entity graph
-			&& keySource.getQueryOptions().getAppliedGraph().getSemantic() == null
-				// todo (6.0) : this one may be ok because of how I implemented multi-valued param handling
-				// - the expansion is done per-execution based on the "static" SQM
-				// - Note from Christian: The call to domainParameterXref.clearExpansions()
-				//   in ConcreteSqmSelectQueryPlan is a concurrency issue when cached
-				// - This could be solved by using a method-local clone of domainParameterXref
-				//   when multi-valued params exist
-			&& ! keySource.hasMultiValuedParameterBindingsChecker().get() == TRUE;
+		// Multi-valued parameters are expanded during translation, one parameter per value.
+		// With IN clause parameter padding, the expansions of an IN list are padded to the
+		// next power of two, so that the plan can be reused for lists of a similar size,
+		// and the key then includes the padded sizes
+		return ! keySource.hasMultiValuedParameterBindingsChecker().get() == TRUE
+				|| isInClauseParameterPaddingEnabled( keySource );
+	}
+
+	private static boolean isInClauseParameterPaddingEnabled(InterpretationsKeySource keySource) {
+		final SessionFactoryImplementor sessionFactory = keySource.getLoadQueryInfluencers().getSessionFactory();
+		return sessionFactory != null && sessionFactory.getSessionFactoryOptions().inClauseParameterPaddingEnabled();
 	}
 
 	public static QueryInterpretationCache.Key generateNonSelectKey(InterpretationsKeySource keyDetails) {
-		// todo (6.0) : do we want to cache non-select plans?  If so, what requirements?
-		//		- very minimum is that it be a "simple" (non-multi-table) statement
-		//
-		// for now... no caching of non-select plans
-		return null;
+		// The plans of non-select statements keep their translation, and the multi-table
+		// plans delegate to the mutation strategy for each execution. Neither depends on
+		// anything but the statement and the enabled filters, except for the expansion
+		// of multi-valued parameters, which is recorded on the DomainParameterXref shared
+		// by all executions of the plan. Criteria-based statements have no query string.
+		if ( CRITERIA_HQL_STRING.equals( keyDetails.getQueryString() )
+				|| keyDetails.hasMultiValuedParameterBindingsChecker().get() == TRUE ) {
+			return null;
+		}
+		return new SqmInterpretationsKey(
+				keyDetails.getQueryString(),
+				null,
+				null,
+				keyDetails.getQueryOptions().getLockOptions(),
+				null,
+				null,
+				emptySet(),
+				enabledFiltersFingerprint( keyDetails.getLoadQueryInfluencers() ),
+				null,
+				null
+		);
 	}
 
 	private final String query;
+	private final SqmStructuralKey structure;
 	private final Class<?> resultType;
 	private final LockOptions lockOptions;
 	private final TupleTransformer<?> tupleTransformer;
 	private final ResultListTransformer<?> resultListTransformer;
 	private final Collection<String> enabledFetchProfiles;
+	private final String enabledFilters;
+	private final String appliedGraph;
+	private final String multiValuedBindings;
 
 	private SqmInterpretationsKey(
 			String query,
+			SqmStructuralKey structure,
 			Class<?> resultType,
 			LockOptions lockOptions,
 			TupleTransformer<?> tupleTransformer,
 			ResultListTransformer<?> resultListTransformer,
-			Collection<String> enabledFetchProfiles) {
+			Collection<String> enabledFetchProfiles,
+			String enabledFilters,
+			String appliedGraph,
+			String multiValuedBindings) {
 		this.query = query;
+		this.structure = structure;
 		this.resultType = resultType;
 		this.lockOptions = lockOptions;
 		this.tupleTransformer = tupleTransformer;
 		this.resultListTransformer = resultListTransformer;
 		this.enabledFetchProfiles = enabledFetchProfiles;
+		this.enabledFilters = enabledFilters;
+		this.appliedGraph = appliedGraph;
+		this.multiValuedBindings = multiValuedBindings;
 	}
 
 	@Override
 	public QueryInterpretationCache.Key prepareForStore() {
 		return new SqmInterpretationsKey(
 				query,
+				// The cache must not keep the parameters of the query which built the plan alive
+				structure == null ? null : structure.withoutParameters(),
 				resultType,
 				// Since lock options are mutable, we need a copy for the cache key
 				lockOptions.makeCopy(),
 				tupleTransformer,
 				resultListTransformer,
-				enabledFetchProfiles
+				enabledFetchProfiles,
+				enabledFilters,
+				appliedGraph,
+				multiValuedBindings
 		);
 	}
 
@@ -119,6 +314,21 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 		return query;
 	}
 
+	/**
+	 * The result type of the query, or {@code null} if it was not specified
+	 */
+	public Class<?> getResultType() {
+		return resultType;
+	}
+
+	/**
+	 * For a Criteria-based query, its parameters in the order in which the key
+	 * identifies them, or {@code null} for other queries
+	 */
+	public List<JpaCriteriaParameter<?>> getCriteriaParameters() {
+		return structure == null ? null : structure.getParameters();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if ( this == o ) {
@@ -130,11 +340,15 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 		final SqmInterpretationsKey that = (SqmInterpretationsKey) o;
 		return query.equals( that.query )
+				&& Objects.equals( structure, that.structure )
 				&& areEqual( resultType, that.resultType )
 				&& areEqual( lockOptions, that.lockOptions )
 				&& areEqual( tupleTransformer, that.tupleTransformer )
 				&& areEqual( resultListTransformer, that.resultListTransformer )
-				&& areEqual( enabledFetchProfiles, that.enabledFetchProfiles );
+				&& areEqual( enabledFetchProfiles, that.enabledFetchProfiles )
+				&& areEqual( enabledFilters, that.enabledFilters )
+				&& areEqual( appliedGraph, that.appliedGraph )
+				&& areEqual( multiValuedBindings, that.multiValuedBindings );
 	}
 
 	private <T> boolean areEqual(T o1, T o2) {
@@ -143,6 +357,6 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 	@Override
 	public int hashCode() {
-		return query.hashCode();
+		return 31 * query.hashCode() + Objects.hashCode( structure );
 	}
 }
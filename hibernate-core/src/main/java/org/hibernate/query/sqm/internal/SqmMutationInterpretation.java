@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.mapping.MappingModelExpressible;
+import org.hibernate.query.spi.DomainQueryExecutionContext;
+import org.hibernate.query.spi.QueryParameterImplementor;
+import org.hibernate.query.sqm.spi.SqmParameterMappingModelResolutionAccess;
+import org.hibernate.query.sqm.sql.SqmTranslation;
+import org.hibernate.query.sqm.sql.SqmTranslator;
+import org.hibernate.query.sqm.tree.expression.SqmParameter;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.tree.MutationStatement;
+import org.hibernate.sql.exec.spi.JdbcOperationQueryMutation;
+import org.hibernate.sql.exec.spi.JdbcParameterBindings;
+import org.hibernate.sql.exec.spi.JdbcParametersList;
+
+/**
+ * The interpretation of a non-select SQM statement kept by its plan: the SQL AST,
+ * the JDBC operation it was rendered to, and what is needed to bind the parameters
+ * of that operation. Since a plan may be cached and executed concurrently, an
+ * interpretation is never modified once it is built, and a plan replaces it as a
+ * whole when it needs to translate again.
+ *
+ * @since 6.3
+ */
+class SqmMutationInterpretation<S extends MutationStatement, J extends JdbcOperationQueryMutation> {
+	private final SqmTranslation<S> sqmTranslation;
+	private final Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref;
+	private final J jdbcOperation;
+	private transient JdbcParameterBindings firstParameterBindings;
+
+	private SqmMutationInterpretation(
+			SqmTranslation<S> sqmTranslation,
+			Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref,
+			J jdbcOperation,
+			JdbcParameterBindings firstParameterBindings) {
+		this.sqmTranslation = sqmTranslation;
+		this.jdbcParamsXref = jdbcParamsXref;
+		this.jdbcOperation = jdbcOperation;
+		this.firstParameterBindings = firstParameterBindings;
+	}
+
+	/**
+	 * Translate the statement, and render the JDBC operation for the parameter
+	 * bindings of the given execution
+	 */
+	static <S extends MutationStatement, J extends JdbcOperationQueryMutation> SqmMutationInterpretation<S, J> interpret(
+			SqmTranslator<S> sqmTranslator,
+			Function<S, SqlAstTranslator<J>> sqlAstTranslatorCreator,
+			DomainParameterXref domainParameterXref,
+			DomainQueryExecutionContext executionContext) {
+		final SqmTranslation<S> sqmTranslation = sqmTranslator.translate();
+		final Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref =
+				SqmUtil.generateJdbcParamsXref( domainParameterXref, sqmTranslation::getJdbcParamsBySqmParam );
+		final JdbcParameterBindings jdbcParameterBindings = createJdbcParameterBindings(
+				sqmTranslation,
+				jdbcParamsXref,
+				domainParameterXref,
+				executionContext
+		);
+		final J jdbcOperation = sqlAstTranslatorCreator.apply( sqmTranslation.getSqlAst() )
+				.translate( jdbcParameterBindings, executionContext.getQueryOptions() );
+		return new SqmMutationInterpretation<>( sqmTranslation, jdbcParamsXref, jdbcOperation, jdbcParameterBindings );
+	}
+
+	SqmTranslation<S> getSqmTranslation() {
+		return sqmTranslation;
+	}
+
+	Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> getJdbcParamsXref() {
+		return jdbcParamsXref;
+	}
+
+	J getJdbcOperation() {
+		return jdbcOperation;
+	}
+
+	/**
+	 * The bindings the JDBC operation was rendered for, which may only be
+	 * obtained once, before the interpretation is shared
+	 */
+	JdbcParameterBindings takeFirstParameterBindings() {
+		final JdbcParameterBindings jdbcParameterBindings = firstParameterBindings;
+		firstParameterBindings = null;
+		return jdbcParameterBindings;
+	}
+
+	JdbcParameterBindings createJdbcParameterBindings(
+			DomainParameterXref domainParameterXref,
+			DomainQueryExecutionContext executionContext) {
+		return createJdbcParameterBindings( sqmTranslation, jdbcParamsXref, domainParameterXref, executionContext );
+	}
+
+	private static JdbcParameterBindings createJdbcParameterBindings(
+			SqmTranslation<?> sqmTranslation,
+			Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref,
+			DomainParameterXref domainParameterXref,
+			DomainQueryExecutionContext executionContext) {
+		final SharedSessionContractImplementor session = executionContext.getSession();
+		return SqmUtil.createJdbcParameterBindings(
+				executionContext.getQueryParameterBindings(),
+				domainParameterXref,
+				jdbcParamsXref,
+				session.getFactory().getRuntimeMetamodels().getMappingMetamodel(),
+				sqmTranslation.getFromClauseAccess()::findTableGroup,
+				new SqmParameterMappingModelResolutionAccess() {
+					@Override @SuppressWarnings("unchecked")
+					public <T> MappingModelExpressible<T> getResolvedMappingModelType(SqmParameter<T> parameter) {
+						return (MappingModelExpressible<T>) sqmTranslation.getSqmParameterMappingModelTypeResolutions().get( parameter );
+					}
+				},
+				session
+		);
+	}
+}
@@ -13,6 +13,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import jakarta.persistence.CacheRetrieveMode;
@@ -326,6 +327,17 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		return list;
 	}
 
+	@Override
+	protected long doForEach(Consumer<? super R> action, int clearInterval) {
+		final SqmSelectStatement<?> sqmStatement = (SqmSelectStatement<?>) getSqmStatement();
+		if ( sqmStatement.containsCollectionFetches()
+				|| AppliedGraphs.containsCollectionFetches( getQueryOptions() ) ) {
+			// the rows of an entity with fetched collections need to be combined
+			return super.doForEach( action, clearInterval );
+		}
+		return resolveQueryPlan().performForEach( action, clearInterval, this );
+	}
+
 	@Override
 	protected ScrollableResultsImplementor<R> doScroll(ScrollMode scrollMode) {
 		return resolveQueryPlan().performScroll( scrollMode, this );
@@ -336,10 +348,11 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 	// Query plan
 
 	private SelectQueryPlan<R> resolveQueryPlan() {
-		final QueryInterpretationCache.Key cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
+		final SqmInterpretationsKey cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
 		if ( cacheKey != null ) {
-			return getSession().getFactory().getQueryEngine().getInterpretationCache().resolveSelectQueryPlan(
+			return CriteriaSelectQueryPlan.resolveSelectQueryPlan(
 					cacheKey,
+					getSession().getFactory().getQueryEngine().getInterpretationCache(),
 					this::buildQueryPlan
 			);
 		}
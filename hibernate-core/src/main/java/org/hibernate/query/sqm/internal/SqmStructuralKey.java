@@ -0,0 +1,449 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.query.sqm.function.SelfRenderingSqmAggregateFunction;
+import org.hibernate.query.sqm.function.SelfRenderingSqmFunction;
+import org.hibernate.query.sqm.tree.SqmTypedNode;
+import org.hibernate.query.sqm.tree.domain.SqmBagJoin;
+import org.hibernate.query.sqm.tree.domain.SqmBasicValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmEmbeddedValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmEntityValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmListJoin;
+import org.hibernate.query.sqm.tree.domain.SqmMapJoin;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.domain.SqmPluralValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmSetJoin;
+import org.hibernate.query.sqm.tree.domain.SqmSingularJoin;
+import org.hibernate.query.sqm.tree.expression.JpaCriteriaParameter;
+import org.hibernate.query.sqm.tree.expression.SqmBinaryArithmetic;
+import org.hibernate.query.sqm.tree.expression.SqmCaseSearched;
+import org.hibernate.query.sqm.tree.expression.SqmDistinct;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.hibernate.query.sqm.tree.expression.SqmJpaCriteriaParameterWrapper;
+import org.hibernate.query.sqm.tree.expression.SqmLiteral;
+import org.hibernate.query.sqm.tree.expression.SqmStar;
+import org.hibernate.query.sqm.tree.expression.SqmTuple;
+import org.hibernate.query.sqm.tree.expression.SqmUnaryOperation;
+import org.hibernate.query.sqm.tree.from.SqmAttributeJoin;
+import org.hibernate.query.sqm.tree.from.SqmCrossJoin;
+import org.hibernate.query.sqm.tree.from.SqmEntityJoin;
+import org.hibernate.query.sqm.tree.from.SqmFrom;
+import org.hibernate.query.sqm.tree.from.SqmJoin;
+import org.hibernate.query.sqm.tree.from.SqmQualifiedJoin;
+import org.hibernate.query.sqm.tree.from.SqmRoot;
+import org.hibernate.query.sqm.tree.predicate.SqmBetweenPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmBooleanExpressionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmComparisonPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmEmptinessPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmGroupedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmInListPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmJunctionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmLikePredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmMemberOfPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNegatedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNullnessPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmPredicate;
+import org.hibernate.query.sqm.tree.select.SqmDynamicInstantiation;
+import org.hibernate.query.sqm.tree.select.SqmDynamicInstantiationArgument;
+import org.hibernate.query.sqm.tree.select.SqmJpaCompoundSelection;
+import org.hibernate.query.sqm.tree.select.SqmOrderByClause;
+import org.hibernate.query.sqm.tree.select.SqmQuerySpec;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.query.sqm.tree.select.SqmSelectableNode;
+import org.hibernate.query.sqm.tree.select.SqmSelection;
+import org.hibernate.query.sqm.tree.select.SqmSortSpecification;
+
+/**
+ * Describes the shape of a criteria {@link SqmSelectStatement}, for use as part
+ * of a query plan cache key. The HQL rendering of a criteria tree can't serve
+ * that purpose, since it is neither stable nor complete.
+ * <p>
+ * Two criteria queries built the same way have equal keys, even though they are
+ * made of distinct objects, and even if different values are bound to their
+ * parameters. Parameters are identified by the order in which they first occur
+ * in the tree, which is exposed by {@link #getParameters()}, so that a plan built
+ * for one query may be executed using the parameter bindings of the other.
+ * <p>
+ * Only a well-understood subset of SQM is supported. When the tree contains
+ * anything else, such as a subquery, a treat or a CTE, {@link #from} returns
+ * {@code null}, and the query plan is not cached.
+ *
+ * @since 6.3
+ */
+public final class SqmStructuralKey {
+	private final List<Object> structure;
+	private final List<JpaCriteriaParameter<?>> parameters;
+	private final int hashCode;
+
+	private SqmStructuralKey(List<Object> structure, List<JpaCriteriaParameter<?>> parameters, int hashCode) {
+		this.structure = structure;
+		this.parameters = parameters;
+		this.hashCode = hashCode;
+	}
+
+	/**
+	 * Determine the key for the given statement, or {@code null}
+	 * if the statement contains unsupported constructs.
+	 */
+	public static SqmStructuralKey from(SqmSelectStatement<?> statement) {
+		final Builder builder = new Builder();
+		if ( !builder.appendStatement( statement ) ) {
+			return null;
+		}
+		return new SqmStructuralKey( builder.structure, builder.parameters, builder.structure.hashCode() );
+	}
+
+	/**
+	 * The criteria parameters of the statement, in order of first occurrence.
+	 * Not available on a key which was {@linkplain #withoutParameters() prepared}
+	 * for storage in the cache.
+	 */
+	public List<JpaCriteriaParameter<?>> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * A copy of this key which does not keep a reference to the parameters of the
+	 * statement it was built from.
+	 */
+	public SqmStructuralKey withoutParameters() {
+		return new SqmStructuralKey( structure, null, hashCode );
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+		final SqmStructuralKey that = (SqmStructuralKey) o;
+		return hashCode == that.hashCode && structure.equals( that.structure );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	private static class Builder {
+		private final List<Object> structure = new ArrayList<>();
+		private final List<JpaCriteriaParameter<?>> parameters = new ArrayList<>();
+		private final Map<JpaCriteriaParameter<?>, Integer> parameterPositions = new IdentityHashMap<>();
+		private final Map<SqmFrom<?, ?>, Integer> fromPositions = new IdentityHashMap<>();
+
+		private boolean appendStatement(SqmSelectStatement<?> statement) {
+			if ( !statement.getCteStatements().isEmpty() || !( statement.getQueryPart() instanceof SqmQuerySpec<?> ) ) {
+				return false;
+			}
+			final SqmQuerySpec<?> querySpec = (SqmQuerySpec<?>) statement.getQueryPart();
+			for ( SqmRoot<?> root : querySpec.getFromClause().getRoots() ) {
+				if ( root.getClass() != SqmRoot.class || !appendFrom( root ) ) {
+					return false;
+				}
+				structure.add( root.getEntityName() );
+			}
+
+			structure.add( querySpec.getSelectClause().isDistinct() );
+			final List<SqmSelection<?>> selections = querySpec.getSelectClause().getSelections();
+			structure.add( selections.size() );
+			for ( SqmSelection<?> selection : selections ) {
+				structure.add( selection.getAlias() );
+				if ( !appendSelectable( selection.getSelectableNode() ) ) {
+					return false;
+				}
+			}
+
+			if ( !appendPredicate( querySpec.getWhereClause() == null ? null : querySpec.getWhereClause().getPredicate() ) ) {
+				return false;
+			}
+
+			final List<SqmExpression<?>> groupBy = querySpec.getGroupByClauseExpressions();
+			structure.add( groupBy.size() );
+			for ( SqmExpression<?> expression : groupBy ) {
+				if ( !appendExpression( expression ) ) {
+					return false;
+				}
+			}
+			if ( !appendPredicate( querySpec.getHavingClausePredicate() ) ) {
+				return false;
+			}
+
+			final SqmOrderByClause orderByClause = querySpec.getOrderByClause();
+			if ( orderByClause != null ) {
+				for ( SqmSortSpecification sortSpecification : orderByClause.getSortSpecifications() ) {
+					structure.add( sortSpecification.getSortOrder() );
+					structure.add( sortSpecification.getNullPrecedence() );
+					if ( !appendExpression( sortSpecification.getSortExpression() ) ) {
+						return false;
+					}
+				}
+			}
+			structure.add( SqmOrderByClause.class );
+
+			structure.add( querySpec.getFetchClauseType() );
+			return appendExpression( querySpec.getOffsetExpression() )
+					&& appendExpression( querySpec.getFetchExpression() );
+		}
+
+		private boolean appendFrom(SqmFrom<?, ?> from) {
+			if ( from.hasTreats() ) {
+				return false;
+			}
+			fromPositions.put( from, fromPositions.size() );
+			structure.add( from.getClass() );
+			for ( SqmJoin<?, ?> join : from.getSqmJoins() ) {
+				if ( !appendJoin( join ) ) {
+					return false;
+				}
+			}
+			structure.add( SqmJoin.class );
+			return true;
+		}
+
+		private boolean appendJoin(SqmJoin<?, ?> join) {
+			final Class<?> joinClass = join.getClass();
+			if ( joinClass == SqmSingularJoin.class
+					|| joinClass == SqmSetJoin.class
+					|| joinClass == SqmListJoin.class
+					|| joinClass == SqmBagJoin.class
+					|| joinClass == SqmMapJoin.class ) {
+				structure.add( join.getReferencedPathSource().getPathName() );
+				structure.add( ( (SqmAttributeJoin<?, ?>) join ).isFetched() );
+			}
+			else if ( joinClass == SqmEntityJoin.class ) {
+				structure.add( ( (SqmEntityJoin<?>) join ).getEntityName() );
+			}
+			else if ( joinClass == SqmCrossJoin.class ) {
+				structure.add( ( (SqmCrossJoin<?>) join ).getEntityName() );
+			}
+			else {
+				return false;
+			}
+			structure.add( join.getSqmJoinType() );
+			if ( !appendFrom( join ) ) {
+				return false;
+			}
+			// the join predicate may refer to the join itself, and so comes after it
+			return !( join instanceof SqmQualifiedJoin<?, ?> )
+					|| appendPredicate( ( (SqmQualifiedJoin<?, ?>) join ).getJoinPredicate() );
+		}
+
+		private boolean appendSelectable(SqmSelectableNode<?> selectable) {
+			if ( selectable instanceof SqmDynamicInstantiation<?> ) {
+				final SqmDynamicInstantiation<?> instantiation = (SqmDynamicInstantiation<?>) selectable;
+				structure.add( SqmDynamicInstantiation.class );
+				structure.add( instantiation.getInstantiationTarget().getNature() );
+				structure.add( instantiation.getInstantiationTarget().getJavaType() );
+				structure.add( instantiation.getArguments().size() );
+				for ( SqmDynamicInstantiationArgument<?> argument : instantiation.getArguments() ) {
+					structure.add( argument.getAlias() );
+					if ( !appendSelectable( argument.getSelectableNode() ) ) {
+						return false;
+					}
+				}
+				return true;
+			}
+			else if ( selectable instanceof SqmJpaCompoundSelection<?> ) {
+				final SqmJpaCompoundSelection<?> compoundSelection = (SqmJpaCompoundSelection<?>) selectable;
+				structure.add( SqmJpaCompoundSelection.class );
+				structure.add( compoundSelection.getJavaType() );
+				structure.add( compoundSelection.getSelectionItems().size() );
+				for ( SqmSelectableNode<?> selectionItem : compoundSelection.getSelectionItems() ) {
+					if ( !appendSelectable( selectionItem ) ) {
+						return false;
+					}
+				}
+				return true;
+			}
+			else if ( selectable instanceof SqmExpression<?> ) {
+				return appendExpression( (SqmExpression<?>) selectable );
+			}
+			return false;
+		}
+
+		private boolean appendExpression(SqmExpression<?> expression) {
+			if ( expression == null ) {
+				structure.add( null );
+				return true;
+			}
+			structure.add( expression.getClass() );
+			if ( expression instanceof SqmFrom<?, ?> ) {
+				final Integer position = fromPositions.get( expression );
+				structure.add( position );
+				return position != null;
+			}
+			else if ( expression instanceof SqmBasicValuedSimplePath<?>
+					|| expression instanceof SqmEmbeddedValuedSimplePath<?>
+					|| expression instanceof SqmEntityValuedSimplePath<?>
+					|| expression instanceof SqmPluralValuedSimplePath<?> ) {
+				final SqmPath<?> path = (SqmPath<?>) expression;
+				structure.add( path.getReferencedPathSource().getPathName() );
+				return appendExpression( path.getLhs() );
+			}
+			else if ( expression instanceof JpaCriteriaParameter<?> ) {
+				return appendParameter( (JpaCriteriaParameter<?>) expression );
+			}
+			else if ( expression instanceof SqmJpaCriteriaParameterWrapper<?> ) {
+				return appendParameter( ( (SqmJpaCriteriaParameterWrapper<?>) expression ).getJpaCriteriaParameter() );
+			}
+			else if ( expression instanceof SqmLiteral<?> ) {
+				structure.add( expression.getNodeType() );
+				structure.add( ( (SqmLiteral<?>) expression ).getLiteralValue() );
+				return true;
+			}
+			else if ( expression instanceof SqmBinaryArithmetic<?> ) {
+				final SqmBinaryArithmetic<?> arithmetic = (SqmBinaryArithmetic<?>) expression;
+				structure.add( arithmetic.getOperator() );
+				structure.add( arithmetic.getNodeType() );
+				return appendExpression( arithmetic.getLeftHandOperand() )
+						&& appendExpression( arithmetic.getRightHandOperand() );
+			}
+			else if ( expression instanceof SqmUnaryOperation<?> ) {
+				final SqmUnaryOperation<?> operation = (SqmUnaryOperation<?>) expression;
+				structure.add( operation.getOperation() );
+				return appendExpression( operation.getOperand() );
+			}
+			else if ( expression.getClass() == SelfRenderingSqmFunction.class
+					|| expression.getClass() == SelfRenderingSqmAggregateFunction.class
+							&& ( (SelfRenderingSqmAggregateFunction<?>) expression ).getFilter() == null ) {
+				final SelfRenderingSqmFunction<?> function = (SelfRenderingSqmFunction<?>) expression;
+				structure.add( function.getFunctionName() );
+				structure.add( function.getNodeType() );
+				structure.add( function.getArguments().size() );
+				for ( SqmTypedNode<?> argument : function.getArguments() ) {
+					if ( !appendFunctionArgument( argument ) ) {
+						return false;
+					}
+				}
+				return true;
+			}
+			else if ( expression instanceof SqmCaseSearched<?> ) {
+				final SqmCaseSearched<?> caseSearched = (SqmCaseSearched<?>) expression;
+				structure.add( caseSearched.getNodeType() );
+				structure.add( caseSearched.getWhenFragments().size() );
+				for ( SqmCaseSearched.WhenFragment<?> whenFragment : caseSearched.getWhenFragments() ) {
+					if ( !appendPredicate( whenFragment.getPredicate() )
+							|| !appendExpression( whenFragment.getResult() ) ) {
+						return false;
+					}
+				}
+				return appendExpression( caseSearched.getOtherwise() );
+			}
+			else if ( expression instanceof SqmTuple<?> ) {
+				return appendExpressions( ( (SqmTuple<?>) expression ).getGroupedExpressions() );
+			}
+			else {
+				return expression instanceof SqmStar;
+			}
+		}
+
+		private boolean appendExpressions(List<? extends SqmExpression<?>> expressions) {
+			structure.add( expressions.size() );
+			for ( SqmExpression<?> expression : expressions ) {
+				if ( !appendExpression( expression ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean appendFunctionArgument(SqmTypedNode<?> argument) {
+			if ( argument instanceof SqmDistinct<?> ) {
+				structure.add( SqmDistinct.class );
+				return appendExpression( ( (SqmDistinct<?>) argument ).getExpression() );
+			}
+			// other kinds of arguments, for example cast targets, are not supported
+			return argument instanceof SqmExpression<?> && appendExpression( (SqmExpression<?>) argument );
+		}
+
+		private boolean appendParameter(JpaCriteriaParameter<?> parameter) {
+			Integer position = parameterPositions.get( parameter );
+			if ( position == null ) {
+				position = parameters.size();
+				parameterPositions.put( parameter, position );
+				parameters.add( parameter );
+			}
+			structure.add( position );
+			structure.add( parameter.getNodeType() );
+			structure.add( parameter.allowsMultiValuedBinding() );
+			return true;
+		}
+
+		private boolean appendPredicate(SqmPredicate predicate) {
+			if ( predicate == null ) {
+				structure.add( null );
+				return true;
+			}
+			structure.add( predicate.getClass() );
+			structure.add( predicate.isNegated() );
+			if ( predicate instanceof SqmComparisonPredicate ) {
+				final SqmComparisonPredicate comparison = (SqmComparisonPredicate) predicate;
+				structure.add( comparison.getSqmOperator() );
+				return appendExpression( comparison.getLeftHandExpression() )
+						&& appendExpression( comparison.getRightHandExpression() );
+			}
+			else if ( predicate instanceof SqmJunctionPredicate ) {
+				final SqmJunctionPredicate junction = (SqmJunctionPredicate) predicate;
+				structure.add( junction.getOperator() );
+				structure.add( junction.getPredicates().size() );
+				for ( SqmPredicate subPredicate : junction.getPredicates() ) {
+					if ( !appendPredicate( subPredicate ) ) {
+						return false;
+					}
+				}
+				return true;
+			}
+			else if ( predicate instanceof SqmNullnessPredicate ) {
+				return appendExpression( ( (SqmNullnessPredicate) predicate ).getExpression() );
+			}
+			else if ( predicate instanceof SqmLikePredicate ) {
+				final SqmLikePredicate like = (SqmLikePredicate) predicate;
+				structure.add( like.isCaseSensitive() );
+				return appendExpression( like.getMatchExpression() )
+						&& appendExpression( like.getPattern() )
+						&& appendExpression( like.getEscapeCharacter() );
+			}
+			else if ( predicate instanceof SqmInListPredicate<?> ) {
+				final SqmInListPredicate<?> inList = (SqmInListPredicate<?>) predicate;
+				return appendExpression( inList.getTestExpression() )
+						&& appendExpressions( inList.getListExpressions() );
+			}
+			else if ( predicate instanceof SqmBetweenPredicate ) {
+				final SqmBetweenPredicate between = (SqmBetweenPredicate) predicate;
+				return appendExpression( between.getExpression() )
+						&& appendExpression( between.getLowerBound() )
+						&& appendExpression( between.getUpperBound() );
+			}
+			else if ( predicate instanceof SqmNegatedPredicate ) {
+				return appendPredicate( ( (SqmNegatedPredicate) predicate ).getWrappedPredicate() );
+			}
+			else if ( predicate instanceof SqmBooleanExpressionPredicate ) {
+				return appendExpression( ( (SqmBooleanExpressionPredicate) predicate ).getBooleanExpression() );
+			}
+			else if ( predicate instanceof SqmGroupedPredicate ) {
+				return appendPredicate( ( (SqmGroupedPredicate) predicate ).getSubPredicate() );
+			}
+			else if ( predicate instanceof SqmEmptinessPredicate ) {
+				return appendExpression( ( (SqmEmptinessPredicate) predicate ).getPluralPath() );
+			}
+			else if ( predicate instanceof SqmMemberOfPredicate ) {
+				final SqmMemberOfPredicate memberOf = (SqmMemberOfPredicate) predicate;
+				return appendExpression( memberOf.getLeftHandExpression() )
+						&& appendExpression( memberOf.getPluralPath() );
+			}
+			return false;
+		}
+	}
+}
@@ -58,6 +58,8 @@ import org.hibernate.sql.exec.internal.JdbcParameterBindingsImpl;
 import org.hibernate.sql.exec.spi.JdbcParameterBindings;
 import org.hibernate.type.spi.TypeConfiguration;
 
+import static org.hibernate.internal.util.MathHelper.ceilingPowerOfTwo;
+
 /**
  * Helper utilities for dealing with SQM
  *
@@ -108,6 +110,33 @@ public class SqmUtil {
 		);
 	}
 
+	/**
+	 * The number of parameters an IN list of the given number of values is padded to
+	 * when {@linkplain org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_PADDING
+	 * IN clause parameter padding} is enabled. That is the next power of two, unless it
+	 * exceeds the {@linkplain org.hibernate.dialect.Dialect#getInExpressionCountLimit()
+	 * limit} of the dialect, in which case the last of the IN lists the predicate is
+	 * split into is padded instead.
+	 *
+	 * @since 6.3
+	 */
+	public static int getPaddedInListSize(int valueCount, int inExprLimit) {
+		if ( valueCount == 0 ) {
+			return 0;
+		}
+		final int paddedSize = ceilingPowerOfTwo( valueCount );
+		if ( inExprLimit > 0 && paddedSize > inExprLimit ) {
+			if ( valueCount < inExprLimit ) {
+				return inExprLimit;
+			}
+			final int remainder = valueCount % inExprLimit;
+			return remainder == 0
+					? valueCount
+					: valueCount - remainder + Math.min( ceilingPowerOfTwo( remainder ), inExprLimit );
+		}
+		return paddedSize;
+	}
+
 	public static Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> generateJdbcParamsXref(
 			DomainParameterXref domainParameterXref,
 			JdbcParameterBySqmParameterAccess jdbcParameterBySqmParameterAccess) {
@@ -255,16 +284,19 @@ public class SqmUtil {
 					final Collection<?> bindValues = domainParamBinding.getBindValues();
 					final Iterator<?> valueItr = bindValues.iterator();
 
+					Object bindValue = null;
+
 					// the original SqmParameter is the one we are processing.. create a binding for it..
 					for ( int i = 0; i < jdbcParamsBinds.size(); i++ ) {
 						final JdbcParametersList jdbcParams = jdbcParamsBinds.get( i );
+						bindValue = valueItr.next();
 						createValueBindings(
 								jdbcParameterBindings,
 								queryParam,
 								domainParamBinding,
 								parameterType,
 								jdbcParams,
-								valueItr.next(),
+								bindValue,
 								tableGroupLocator,
 								session
 						);
@@ -272,19 +304,24 @@ public class SqmUtil {
 
 					// an then one for each of the expansions
 					final List<SqmParameter<?>> expansions = domainParameterXref.getExpansions( sqmParameter );
-					assert expansions.size() == bindValues.size() - 1;
-					int expansionPosition = 0;
-					while ( valueItr.hasNext() ) {
-						final SqmParameter<?> expansionSqmParam = expansions.get( expansionPosition++ );
+					// padded expansions in excess of the bind values are bound to the last value
+					assert expansions.size() == bindValues.size() - 1
+							|| domainParameterXref.isExpansionPadded( sqmParameter )
+							&& expansions.size() >= bindValues.size() - 1;
+					for ( int expansionPosition = 0; expansionPosition < expansions.size(); expansionPosition++ ) {
+						final SqmParameter<?> expansionSqmParam = expansions.get( expansionPosition );
 						final List<JdbcParametersList> jdbcParamBinds = jdbcParamMap.get( expansionSqmParam );
 						for ( int i = 0; i < jdbcParamBinds.size(); i++ ) {
 							JdbcParametersList expansionJdbcParams = jdbcParamBinds.get( i );
+							if ( valueItr.hasNext() ) {
+								bindValue = valueItr.next();
+							}
 							createValueBindings(
 									jdbcParameterBindings,
 									queryParam, domainParamBinding,
 									parameterType,
 									expansionJdbcParams,
-									valueItr.next(),
+									bindValue,
 									tableGroupLocator,
 									session
 							);
@@ -427,6 +427,7 @@ import static org.hibernate.query.sqm.TemporalUnit.NANOSECOND;
 import static org.hibernate.query.sqm.TemporalUnit.NATIVE;
 import static org.hibernate.query.sqm.TemporalUnit.SECOND;
 import static org.hibernate.query.sqm.UnaryArithmeticOperator.UNARY_MINUS;
+import static org.hibernate.query.sqm.internal.SqmUtil.getPaddedInListSize;
 import static org.hibernate.sql.ast.spi.SqlAstTreeHelper.combinePredicates;
 import static org.hibernate.type.spi.TypeConfiguration.isDuration;
 
@@ -7691,6 +7692,19 @@ public abstract class BaseSqmToSqlAstConverter<T extends Statement> extends Base
 				domainParameterXref.addExpansion( domainParam, sqmParameter, sqmParamToConsume );
 				inListPredicate.addExpression( consumeSingleSqmParameter( sqmParamToConsume ) );
 			}
+			if ( creationContext.getSessionFactory().getSessionFactoryOptions().inClauseParameterPaddingEnabled() ) {
+				// pad the expansions like the IN list will be rendered, so that the translation
+				// can be reused for all lists of a similar size. The excess expansions
+				// are bound to the last value of the list
+				final int valueCount = inListPredicate.getListExpressions().size();
+				final int paddedSize = getPaddedInListSize( valueCount, getDialect().getInExpressionCountLimit() );
+				for ( int i = valueCount; i < paddedSize; i++ ) {
+					final SqmParameter<?> sqmParamToConsume = sqmParameter.copy();
+					domainParameterXref.addExpansion( domainParam, sqmParameter, sqmParamToConsume );
+					inListPredicate.addExpression( consumeSingleSqmParameter( sqmParamToConsume ) );
+				}
+				domainParameterXref.markExpansionsPadded( sqmParameter );
+			}
 			return inListPredicate;
 		}
 		finally {
@@ -17,6 +17,7 @@ import org.hibernate.bytecode.internal.BytecodeProviderInitiator;
 import org.hibernate.bytecode.internal.ProxyFactoryFactoryInitiator;
 import org.hibernate.cache.internal.RegionFactoryInitiator;
 import org.hibernate.engine.config.internal.ConfigurationServiceInitiator;
+import org.hibernate.engine.internal.PersistenceContextStorageInitiator;
 import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
 import org.hibernate.engine.jdbc.connections.internal.ConnectionProviderInitiator;
 import org.hibernate.engine.jdbc.connections.internal.MultiTenantConnectionProviderInitiator;
@@ -121,6 +122,9 @@ public final class StandardServiceInitiators {
 		// BatchBuilder
 		serviceInitiators.add( BatchBuilderInitiator.INSTANCE );
 
+		// PersistenceContextStorage
+		serviceInitiators.add( PersistenceContextStorageInitiator.INSTANCE );
+
 		// SqlStatementLoggerInitiator
 		serviceInitiators.add( SqlStatementLoggerInitiator.INSTANCE );
 
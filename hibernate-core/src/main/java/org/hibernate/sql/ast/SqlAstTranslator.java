@@ -8,6 +8,7 @@ package org.hibernate.sql.ast;
 
 import java.util.Set;
 
+import org.hibernate.Incubating;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.util.collections.Stack;
 import org.hibernate.query.spi.QueryOptions;
@@ -50,4 +51,15 @@ public interface SqlAstTranslator<T extends JdbcOperation> extends SqlAstWalker
 	Set<String> getAffectedTableNames();
 
 	T translate(JdbcParameterBindings jdbcParameterBindings, QueryOptions queryOptions);
+
+	/**
+	 * Hints at the length of the SQL about to be rendered, e.g. the length of a
+	 * previous rendering of the same statement, so that the SQL buffer can be
+	 * sized once instead of growing repeatedly.
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default void ensureSqlCapacity(int expectedLength) {
+	}
 }
@@ -18,6 +18,7 @@ import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Consumer;
@@ -505,6 +506,11 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 		return false;
 	}
 
+	@Override
+	public void ensureSqlCapacity(int expectedLength) {
+		sqlBuffer.ensureCapacity( expectedLength );
+	}
+
 	@Override
 	public void appendSql(String fragment) {
 		sqlBuffer.append( fragment );
@@ -3288,9 +3294,9 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 			clauseStack.push( Clause.ORDER );
 			try {
 				String separator = NO_SEPARATOR;
-				for ( SortSpecification sortSpecification : sortSpecifications ) {
+				for ( int i = 0; i < sortSpecifications.size(); i++ ) {
 					appendSql( separator );
-					visitSortSpecification( sortSpecification );
+					visitSortSpecification( sortSpecifications.get( i ) );
 					separator = COMA_SEPARATOR;
 				}
 			}
@@ -3676,10 +3682,11 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 		final SortOrder sortOrder = sortSpecification.getSortOrder();
 		final SqlTuple sqlTuple = SqlTupleContainer.getSqlTuple( sortExpression );
 		if ( sqlTuple != null ) {
+			final List<? extends Expression> expressions = sqlTuple.getExpressions();
 			String separator = NO_SEPARATOR;
-			for ( Expression expression : sqlTuple.getExpressions() ) {
+			for ( int i = 0; i < expressions.size(); i++ ) {
 				appendSql( separator );
-				visitSortSpecification( expression, sortOrder, nullPrecedence );
+				visitSortSpecification( expressions.get( i ), sortOrder, nullPrecedence );
 				separator = COMA_SEPARATOR;
 			}
 		}
@@ -4598,9 +4605,9 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 				final SqlTuple sqlTuple = SqlTupleContainer.getSqlTuple( expression );
 				if ( sqlTuple != null ) {
 					final List<? extends Expression> expressions = sqlTuple.getExpressions();
-					for ( Expression e : expressions ) {
+					for ( int j = 0; j < expressions.size(); j++ ) {
 						appendSql( separator );
-						renderSelectExpression( e );
+						renderSelectExpression( expressions.get( j ) );
 						appendSql( WHITESPACE );
 						if ( columnAliases == null ) {
 							appendSql( 'c' );
@@ -4659,9 +4666,10 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 	private BitSet getSelectItemsToInline() {
 		final QuerySpec querySpec = (QuerySpec) getQueryPartStack().getCurrent();
 		final List<SqlSelection> sqlSelections = querySpec.getSelectClause().getSqlSelections();
+		final List<Expression> groupByClauseExpressions = querySpec.getGroupByClauseExpressions();
 		final BitSet bitSet = new BitSet( sqlSelections.size() );
-		for ( Expression groupByClauseExpression : querySpec.getGroupByClauseExpressions() ) {
-			final SqlSelectionExpression selectItemReference = getSelectItemReference( groupByClauseExpression );
+		for ( int i = 0; i < groupByClauseExpressions.size(); i++ ) {
+			final SqlSelectionExpression selectItemReference = getSelectItemReference( groupByClauseExpressions.get( i ) );
 			if ( selectItemReference != null ) {
 				bitSet.set( sqlSelections.indexOf( selectItemReference.getSelection() ) );
 			}
@@ -4671,8 +4679,9 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 
 	private boolean hasSelectAliasInGroupByClause() {
 		final QuerySpec querySpec = (QuerySpec) getQueryPartStack().getCurrent();
-		for ( Expression groupByClauseExpression : querySpec.getGroupByClauseExpressions() ) {
-			if ( getSelectItemReference( groupByClauseExpression ) != null ) {
+		final List<Expression> groupByClauseExpressions = querySpec.getGroupByClauseExpressions();
+		for ( int i = 0; i < groupByClauseExpressions.size(); i++ ) {
+			if ( getSelectItemReference( groupByClauseExpressions.get( i ) ) != null ) {
 				return true;
 			}
 		}
@@ -5120,9 +5129,10 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 			appendSql( " from " );
 			try {
 				clauseStack.push( Clause.FROM );
+				final List<TableGroup> roots = fromClause.getRoots();
 				String separator = NO_SEPARATOR;
-				for ( TableGroup root : fromClause.getRoots() ) {
-					separator = renderFromClauseRoot( root, separator );
+				for ( int i = 0; i < roots.size(); i++ ) {
+					separator = renderFromClauseRoot( roots.get( i ), separator );
 				}
 			}
 			finally {
@@ -5276,8 +5286,8 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 	}
 
 	protected boolean hasNestedTableGroupsToRender(List<TableGroupJoin> nestedTableGroupJoins) {
-		for ( TableGroupJoin nestedTableGroupJoin : nestedTableGroupJoins ) {
-			final TableGroup joinedGroup = nestedTableGroupJoin.getJoinedGroup();
+		for ( int i = 0; i < nestedTableGroupJoins.size(); i++ ) {
+			final TableGroup joinedGroup = nestedTableGroupJoins.get( i ).getJoinedGroup();
 			if ( !joinedGroup.isInitialized() ) {
 				continue;
 			}
@@ -5527,7 +5537,8 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 			return;
 		}
 
-		for ( TableReferenceJoin tableJoin : joins ) {
+		for ( int i = 0; i < joins.size(); i++ ) {
+			final TableReferenceJoin tableJoin = joins.get( i );
 			appendSql( WHITESPACE );
 			appendSql( tableJoin.getJoinType().getText() );
 			appendSql( "join " );
@@ -6287,6 +6298,17 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 	}
 
 	protected final void renderCommaSeparated(Iterable<? extends SqlAstNode> expressions) {
+		if ( expressions instanceof List<?> && expressions instanceof RandomAccess ) {
+			// Avoid allocating an iterator for the common case of argument lists
+			final List<? extends SqlAstNode> list = (List<? extends SqlAstNode>) expressions;
+			for ( int i = 0; i < list.size(); i++ ) {
+				if ( i != 0 ) {
+					appendSql( COMA_SEPARATOR );
+				}
+				list.get( i ).accept( this );
+			}
+			return;
+		}
 		String separator = NO_SEPARATOR;
 		for ( SqlAstNode expression : expressions ) {
 			appendSql( separator );
@@ -6426,7 +6448,9 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 			Consumer<Expression> resultRenderer) {
 		appendSql( "case" );
 		final SqlAstNodeRenderingMode original = this.parameterRenderingMode;
-		for ( CaseSearchedExpression.WhenFragment whenFragment : caseSearchedExpression.getWhenFragments() ) {
+		final List<CaseSearchedExpression.WhenFragment> whenFragments = caseSearchedExpression.getWhenFragments();
+		for ( int i = 0; i < whenFragments.size(); i++ ) {
+			final CaseSearchedExpression.WhenFragment whenFragment = whenFragments.get( i );
 			if ( original != SqlAstNodeRenderingMode.INLINE_ALL_PARAMETERS ) {
 				this.parameterRenderingMode = SqlAstNodeRenderingMode.DEFAULT;
 			}
@@ -6506,7 +6530,9 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 			this.parameterRenderingMode = SqlAstNodeRenderingMode.DEFAULT;
 		}
 		caseSimpleExpression.getFixture().accept( this );
-		for ( CaseSimpleExpression.WhenFragment whenFragment : caseSimpleExpression.getWhenFragments() ) {
+		final List<CaseSimpleExpression.WhenFragment> whenFragments = caseSimpleExpression.getWhenFragments();
+		for ( int i = 0; i < whenFragments.size(); i++ ) {
+			final CaseSimpleExpression.WhenFragment whenFragment = whenFragments.get( i );
 			if ( original != SqlAstNodeRenderingMode.INLINE_ALL_PARAMETERS ) {
 				this.parameterRenderingMode = SqlAstNodeRenderingMode.DEFAULT;
 			}
@@ -6729,32 +6755,15 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 
 		appendSql( sqlFragment.substring( startPosition, markerStart ) );
 
-		final Object value = parameter.getValue();
-		final JdbcMapping valueMapping = parameter.getValueMapping();
-
-		if ( value instanceof Iterable
-				&& !valueMapping.getJavaTypeDescriptor().isInstance( value ) ) {
-			processIterableFilterParameterValue( valueMapping, ( (Iterable<?>) value ).iterator() );
-		}
-		else {
-			processSingularFilterParameterValue( valueMapping, value );
-		}
-
-		return markerStart + marker.length();
-	}
-
-	private void processSingularFilterParameterValue(JdbcMapping valueMapping, Object value) {
-		visitParameterAsParameter( new FilterJdbcParameter( valueMapping, value ) );
-	}
-
-	private void processIterableFilterParameterValue(JdbcMapping valueMapping, Iterator<?> iterator) {
-		while ( iterator.hasNext() ) {
-			final Object element = iterator.next();
-			processSingularFilterParameterValue( valueMapping, element );
-			if ( iterator.hasNext() ) {
+		final List<FilterJdbcParameter> jdbcParameters = parameter.getJdbcParameters();
+		for ( int i = 0; i < jdbcParameters.size(); i++ ) {
+			if ( i > 0 ) {
 				appendSql( "," );
 			}
+			visitParameterAsParameter( jdbcParameters.get( i ) );
 		}
+
+		return markerStart + marker.length();
 	}
 
 	@Override
@@ -75,12 +75,26 @@ public class FilterPredicate implements Predicate {
 		private final String parameterName;
 		private final JdbcMapping valueMapping;
 		private final Object value;
+		private final List<FilterJdbcParameter> jdbcParameters;
 
 		public FilterFragmentParameter(String filterName, String parameterName, JdbcMapping valueMapping, Object value) {
 			this.filterName = filterName;
 			this.parameterName = parameterName;
 			this.valueMapping = valueMapping;
 			this.value = value;
+
+			if ( value instanceof Iterable<?> && !valueMapping.getJavaTypeDescriptor().isInstance( value ) ) {
+				jdbcParameters = new ArrayList<>();
+				int elementIndex = 0;
+				for ( Object element : (Iterable<?>) value ) {
+					jdbcParameters.add(
+							new FilterJdbcParameter( valueMapping, element, filterName, parameterName, elementIndex++ )
+					);
+				}
+			}
+			else {
+				jdbcParameters = List.of( new FilterJdbcParameter( valueMapping, value, filterName, parameterName, -1 ) );
+			}
 		}
 
 		public String getFilterName() {
@@ -98,6 +112,18 @@ public class FilterPredicate implements Predicate {
 		public Object getValue() {
 			return value;
 		}
+
+		/**
+		 * The parameters binding the value, one per element of a multivalued
+		 * parameter. Every rendering of the fragment, including a re-rendering
+		 * for a subselect fetch, uses these same parameters, and thus binds the
+		 * values of the execution which loaded the owners.
+		 *
+		 * @since 6.3
+		 */
+		public List<FilterJdbcParameter> getJdbcParameters() {
+			return jdbcParameters;
+		}
 	}
 
 	public static class FilterFragmentPredicate implements Predicate {
@@ -13,6 +13,7 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -61,6 +62,7 @@ import org.hibernate.sql.results.spi.ResultsConsumer;
 import org.hibernate.sql.results.spi.RowReader;
 import org.hibernate.sql.results.spi.RowTransformer;
 import org.hibernate.sql.results.spi.ScrollableResultsConsumer;
+import org.hibernate.sql.results.spi.StreamingResultsConsumer;
 import org.hibernate.stat.spi.StatisticsImplementor;
 import org.hibernate.type.BasicType;
 import org.hibernate.type.descriptor.java.JavaType;
@@ -148,6 +150,30 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 		return stream.onClose( scrollableResults::close );
 	}
 
+	@Override
+	public <R> long forEach(
+			JdbcOperationQuerySelect jdbcSelect,
+			JdbcParameterBindings jdbcParameterBindings,
+			ExecutionContext executionContext,
+			RowTransformer<R> rowTransformer,
+			Consumer<? super R> action,
+			int clearInterval) {
+		final SharedSessionContractImplementor session = executionContext.getSession();
+		session.autoFlushIfRequired( jdbcSelect.getAffectedTableNames() );
+		return executeQuery(
+				jdbcSelect,
+				jdbcParameterBindings,
+				executionContext,
+				rowTransformer,
+				null,
+				(sql) -> executionContext.getSession()
+						.getJdbcCoordinator()
+						.getStatementPreparer()
+						.prepareStatement( sql ),
+				new StreamingResultsConsumer<>( action, clearInterval )
+		);
+	}
+
 	private <T, R> T executeQuery(
 			JdbcOperationQuerySelect jdbcSelect,
 			JdbcParameterBindings jdbcParameterBindings,
@@ -384,6 +410,10 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 		if ( result instanceof List ) {
 			return ( (List<?>) result ).size();
 		}
+		else if ( result instanceof Long ) {
+			// the number of rows streamed by a StreamingResultsConsumer
+			return (int) Math.min( (Long) result, Integer.MAX_VALUE );
+		}
 		return -1;
 	}
 
@@ -211,8 +211,7 @@ public class JdbcOperationQuerySelect extends AbstractJdbcOperationQuery {
 				// If this query includes the parameter this is only compatible when a requested value is given through the query options
 				// If not, this query string contains limit/offset but the query options don't request that
 				// Considering this case compatible would lead to binding null for limit/offset which is invalid
-				// todo (6.0): maybe it's better if the presence/absence is part of the cache key the cache?
-				//  org.hibernate.query.internal.QueryInterpretationCacheStandardImpl.hqlInterpretationCache
+				// Query plans keep a translation per presence/absence of limit and offset, so this is rare
 				return requestedValue != null;
 			}
 			else {
@@ -223,7 +222,7 @@ public class JdbcOperationQuerySelect extends AbstractJdbcOperationQuery {
 				else {
 					value = requestedValue;
 				}
-				return value != (int) jdbcParameterBinding.getBindValue();
+				return value == (int) jdbcParameterBinding.getBindValue();
 			}
 		}
 	}
@@ -7,6 +7,7 @@
 package org.hibernate.sql.exec.spi;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.hibernate.Incubating;
@@ -14,6 +15,7 @@ import org.hibernate.ScrollMode;
 import org.hibernate.query.spi.ScrollableResultsImplementor;
 import org.hibernate.sql.results.spi.ListResultsConsumer;
 import org.hibernate.sql.results.spi.RowTransformer;
+import org.hibernate.sql.results.spi.StreamingResultsConsumer;
 
 /**
  * An executor for JdbcSelect operations.
@@ -51,4 +53,35 @@ public interface JdbcSelectExecutor {
 			JdbcParameterBindings jdbcParameterBindings,
 			ExecutionContext executionContext,
 			RowTransformer<R> rowTransformer);
+
+	/**
+	 * Execute the select, passing each row to the given action as soon as it is
+	 * read, instead of collecting the rows.
+	 *
+	 * @param clearInterval The number of rows after which the persistence context
+	 * is cleared, or {@code 0} to never clear it
+	 *
+	 * @return The number of rows
+	 *
+	 * @see StreamingResultsConsumer
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default <R> long forEach(
+			JdbcOperationQuerySelect jdbcSelect,
+			JdbcParameterBindings jdbcParameterBindings,
+			ExecutionContext executionContext,
+			RowTransformer<R> rowTransformer,
+			Consumer<? super R> action,
+			int clearInterval) {
+		try ( Stream<R> stream = stream( jdbcSelect, jdbcParameterBindings, executionContext, rowTransformer ) ) {
+			return StreamingResultsConsumer.forEach(
+					stream.iterator(),
+					action,
+					clearInterval,
+					executionContext.getSession()
+			);
+		}
+	}
 }
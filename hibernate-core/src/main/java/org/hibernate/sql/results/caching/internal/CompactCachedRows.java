@@ -0,0 +1,421 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.results.caching.internal;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.metamodel.mapping.JdbcMappingContainer;
+import org.hibernate.metamodel.mapping.SqlExpressible;
+import org.hibernate.sql.ast.spi.SqlSelection;
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesMapping;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The JDBC values of the rows of a query result in the query cache, encoded
+ * column by column into a single byte array according to the {@link JdbcMapping}
+ * of each column.
+ * <p>
+ * Each encoded column starts with a bitmap of its null values, followed by its
+ * values in fixed width big-endian form, or, for strings, by the offsets of the
+ * values followed by their UTF-8 encoded bytes.  The values of columns whose
+ * Java type has no encoding, or which hold values of an unexpected type, are
+ * kept as objects instead.
+ * <p>
+ * The values are decoded straight from the byte array when they are accessed,
+ * without materializing the rows.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_COMPACT_QUERY_CACHE_ENTRIES
+ *
+ * @since 6.3
+ */
+public final class CompactCachedRows implements Serializable {
+	private static final byte OBJECT = 0;
+	private static final byte BOOLEAN = 1;
+	private static final byte SHORT = 2;
+	private static final byte INTEGER = 3;
+	private static final byte LONG = 4;
+	private static final byte FLOAT = 5;
+	private static final byte DOUBLE = 6;
+	private static final byte STRING = 7;
+
+	private final int rowCount;
+	private final byte[] columnTypes;
+	private final int[] columnOffsets;
+	private final byte[] data;
+	private final Object[][] objectColumns;
+
+	private CompactCachedRows(
+			int rowCount,
+			byte[] columnTypes,
+			int[] columnOffsets,
+			byte[] data,
+			Object[][] objectColumns) {
+		this.rowCount = rowCount;
+		this.columnTypes = columnTypes;
+		this.columnOffsets = columnOffsets;
+		this.data = data;
+		this.objectColumns = objectColumns;
+	}
+
+	/**
+	 * The {@link JdbcMapping} of each position of the rows described by the given
+	 * mapping, or {@code null} for positions with no basic mapping
+	 */
+	public static JdbcMapping[] resolveColumnMappings(JdbcValuesMapping valuesMapping) {
+		final JdbcMapping[] columnMappings = new JdbcMapping[ valuesMapping.getRowSize() ];
+		for ( SqlSelection sqlSelection : valuesMapping.getSqlSelections() ) {
+			final int position = sqlSelection.getValuesArrayPosition();
+			if ( columnMappings[position] == null ) {
+				final JdbcMappingContainer expressionType = sqlSelection.getExpressionType();
+				if ( expressionType instanceof JdbcMapping ) {
+					columnMappings[position] = (JdbcMapping) expressionType;
+				}
+				else if ( expressionType instanceof SqlExpressible ) {
+					columnMappings[position] = ( (SqlExpressible) expressionType ).getJdbcMapping();
+				}
+			}
+		}
+		return columnMappings;
+	}
+
+	/**
+	 * Encode the given rows, each of which has a value for every column mapping
+	 */
+	public static CompactCachedRows encode(List<Object[]> rows, JdbcMapping[] columnMappings) {
+		final int rowCount = rows.size();
+		final int columnCount = columnMappings.length;
+		final int bitmapSize = ( rowCount + 7 ) >> 3;
+		final byte[] columnTypes = new byte[columnCount];
+		final int[] columnOffsets = new int[columnCount];
+		final byte[][][] stringColumns = new byte[columnCount][][];
+		Object[][] objectColumns = null;
+
+		int size = 0;
+		for ( int column = 0; column < columnCount; column++ ) {
+			byte columnType = resolveColumnType( columnMappings[column], rows, column );
+			if ( columnType == STRING ) {
+				stringColumns[column] = encodeStrings( rows, column );
+				if ( stringColumns[column] == null ) {
+					columnType = OBJECT;
+				}
+			}
+			columnTypes[column] = columnType;
+			columnOffsets[column] = size;
+			switch ( columnType ) {
+				case OBJECT:
+					if ( objectColumns == null ) {
+						objectColumns = new Object[columnCount][];
+					}
+					final Object[] values = new Object[rowCount];
+					for ( int row = 0; row < rowCount; row++ ) {
+						values[row] = rows.get( row )[column];
+					}
+					objectColumns[column] = values;
+					break;
+				case STRING:
+					size += bitmapSize + ( rowCount + 1 ) * Integer.BYTES;
+					for ( byte[] bytes : stringColumns[column] ) {
+						if ( bytes != null ) {
+							size += bytes.length;
+						}
+					}
+					break;
+				default:
+					size += bitmapSize + rowCount * width( columnType );
+			}
+		}
+
+		final byte[] data = new byte[size];
+		final ByteBuffer buffer = ByteBuffer.wrap( data );
+		for ( int column = 0; column < columnCount; column++ ) {
+			final byte columnType = columnTypes[column];
+			if ( columnType == OBJECT ) {
+				continue;
+			}
+			final int bitmapOffset = columnOffsets[column];
+			buffer.position( bitmapOffset + bitmapSize );
+			if ( columnType == STRING ) {
+				final byte[][] strings = stringColumns[column];
+				int offset = 0;
+				for ( int row = 0; row < rowCount; row++ ) {
+					buffer.putInt( offset );
+					if ( strings[row] == null ) {
+						data[bitmapOffset + ( row >> 3 )] |= (byte) ( 1 << ( row & 7 ) );
+					}
+					else {
+						offset += strings[row].length;
+					}
+				}
+				buffer.putInt( offset );
+				for ( byte[] bytes : strings ) {
+					if ( bytes != null ) {
+						buffer.put( bytes );
+					}
+				}
+			}
+			else {
+				for ( int row = 0; row < rowCount; row++ ) {
+					final Object value = rows.get( row )[column];
+					if ( value == null ) {
+						data[bitmapOffset + ( row >> 3 )] |= (byte) ( 1 << ( row & 7 ) );
+						buffer.position( buffer.position() + width( columnType ) );
+					}
+					else {
+						putValue( buffer, columnType, value );
+					}
+				}
+			}
+		}
+
+		return new CompactCachedRows( rowCount, columnTypes, columnOffsets, data, objectColumns );
+	}
+
+	private static byte resolveColumnType(JdbcMapping columnMapping, List<Object[]> rows, int column) {
+		if ( columnMapping == null ) {
+			return OBJECT;
+		}
+		final Class<?> javaTypeClass = columnMapping.getJdbcJavaType().getJavaTypeClass();
+		final byte columnType;
+		if ( javaTypeClass == Boolean.class ) {
+			columnType = BOOLEAN;
+		}
+		else if ( javaTypeClass == Short.class ) {
+			columnType = SHORT;
+		}
+		else if ( javaTypeClass == Integer.class ) {
+			columnType = INTEGER;
+		}
+		else if ( javaTypeClass == Long.class ) {
+			columnType = LONG;
+		}
+		else if ( javaTypeClass == Float.class ) {
+			columnType = FLOAT;
+		}
+		else if ( javaTypeClass == Double.class ) {
+			columnType = DOUBLE;
+		}
+		else if ( javaTypeClass == String.class ) {
+			columnType = STRING;
+		}
+		else {
+			return OBJECT;
+		}
+		// the values must be decoded to exactly what was read from the ResultSet
+		for ( Object[] row : rows ) {
+			final Object value = row[column];
+			if ( value != null && value.getClass() != javaTypeClass ) {
+				return OBJECT;
+			}
+		}
+		return columnType;
+	}
+
+	/**
+	 * @return the UTF-8 encoded values of the column, or {@code null} if some value
+	 * cannot be encoded losslessly
+	 */
+	private static byte[][] encodeStrings(List<Object[]> rows, int column) {
+		final byte[][] strings = new byte[rows.size()][];
+		for ( int row = 0; row < strings.length; row++ ) {
+			final String value = (String) rows.get( row )[column];
+			if ( value != null ) {
+				if ( hasUnpairedSurrogate( value ) ) {
+					// would not survive the encoding
+					return null;
+				}
+				strings[row] = value.getBytes( UTF_8 );
+			}
+		}
+		return strings;
+	}
+
+	private static boolean hasUnpairedSurrogate(String value) {
+		for ( int i = 0; i < value.length(); i++ ) {
+			final char c = value.charAt( i );
+			if ( Character.isHighSurrogate( c ) ) {
+				if ( i + 1 < value.length() && Character.isLowSurrogate( value.charAt( i + 1 ) ) ) {
+					i++;
+				}
+				else {
+					return true;
+				}
+			}
+			else if ( Character.isLowSurrogate( c ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int width(byte columnType) {
+		switch ( columnType ) {
+			case BOOLEAN:
+				return 1;
+			case SHORT:
+				return Short.BYTES;
+			case INTEGER:
+			case FLOAT:
+				return Integer.BYTES;
+			case LONG:
+			case DOUBLE:
+				return Long.BYTES;
+			default:
+				throw new IllegalArgumentException( "Column type has no fixed width: " + columnType );
+		}
+	}
+
+	private static void putValue(ByteBuffer buffer, byte columnType, Object value) {
+		switch ( columnType ) {
+			case BOOLEAN:
+				buffer.put( (Boolean) value ? (byte) 1 : (byte) 0 );
+				break;
+			case SHORT:
+				buffer.putShort( (Short) value );
+				break;
+			case INTEGER:
+				buffer.putInt( (Integer) value );
+				break;
+			case LONG:
+				buffer.putLong( (Long) value );
+				break;
+			case FLOAT:
+				buffer.putFloat( (Float) value );
+				break;
+			case DOUBLE:
+				buffer.putDouble( (Double) value );
+				break;
+			default:
+				throw new IllegalArgumentException( "Column type has no fixed width: " + columnType );
+		}
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getColumnCount() {
+		return columnTypes.length;
+	}
+
+	public boolean isNull(int row, int column) {
+		if ( columnTypes[column] == OBJECT ) {
+			return objectColumns[column][row] == null;
+		}
+		else {
+			return ( data[columnOffsets[column] + ( row >> 3 )] & ( 1 << ( row & 7 ) ) ) != 0;
+		}
+	}
+
+	/**
+	 * The value at the given row and column, as it was read from the JDBC ResultSet
+	 */
+	public Object getValue(int row, int column) {
+		final byte columnType = columnTypes[column];
+		if ( columnType == OBJECT ) {
+			return objectColumns[column][row];
+		}
+		else if ( isNull( row, column ) ) {
+			return null;
+		}
+		switch ( columnType ) {
+			case BOOLEAN:
+				return data[valueOffset( row, column )] != 0;
+			case SHORT:
+				return readShort( valueOffset( row, column ) );
+			case INTEGER:
+				return readInt( valueOffset( row, column ) );
+			case LONG:
+				return readLong( valueOffset( row, column ) );
+			case FLOAT:
+				return Float.intBitsToFloat( readInt( valueOffset( row, column ) ) );
+			case DOUBLE:
+				return Double.longBitsToDouble( readLong( valueOffset( row, column ) ) );
+			case STRING:
+				return readString( row, column );
+			default:
+				throw new IllegalStateException( "Unknown column type: " + columnType );
+		}
+	}
+
+	/**
+	 * The non-null numeric value at the given row and column as an {@code int}
+	 */
+	public int getIntValue(int row, int column) {
+		switch ( columnTypes[column] ) {
+			case SHORT:
+				return readShort( valueOffset( row, column ) );
+			case INTEGER:
+				return readInt( valueOffset( row, column ) );
+			default:
+				return ( (Number) getValue( row, column ) ).intValue();
+		}
+	}
+
+	/**
+	 * The non-null numeric value at the given row and column as a {@code long}
+	 */
+	public long getLongValue(int row, int column) {
+		switch ( columnTypes[column] ) {
+			case INTEGER:
+				return readInt( valueOffset( row, column ) );
+			case LONG:
+				return readLong( valueOffset( row, column ) );
+			default:
+				return ( (Number) getValue( row, column ) ).longValue();
+		}
+	}
+
+	/**
+	 * The non-null numeric value at the given row and column as a {@code double}
+	 */
+	public double getDoubleValue(int row, int column) {
+		switch ( columnTypes[column] ) {
+			case FLOAT:
+				return Float.intBitsToFloat( readInt( valueOffset( row, column ) ) );
+			case DOUBLE:
+				return Double.longBitsToDouble( readLong( valueOffset( row, column ) ) );
+			default:
+				return ( (Number) getValue( row, column ) ).doubleValue();
+		}
+	}
+
+	private int valueOffset(int row, int column) {
+		return columnOffsets[column] + ( ( rowCount + 7 ) >> 3 ) + row * width( columnTypes[column] );
+	}
+
+	private String readString(int row, int column) {
+		final int offsetsStart = columnOffsets[column] + ( ( rowCount + 7 ) >> 3 );
+		final int bytesStart = offsetsStart + ( rowCount + 1 ) * Integer.BYTES;
+		final int start = readInt( offsetsStart + row * Integer.BYTES );
+		final int end = readInt( offsetsStart + ( row + 1 ) * Integer.BYTES );
+		return new String( data, bytesStart + start, end - start, UTF_8 );
+	}
+
+	private short readShort(int index) {
+		return (short) ( ( data[index] & 0xff ) << 8 | data[index + 1] & 0xff );
+	}
+
+	private int readInt(int index) {
+		return ( data[index] & 0xff ) << 24
+				| ( data[index + 1] & 0xff ) << 16
+				| ( data[index + 2] & 0xff ) << 8
+				| data[index + 3] & 0xff;
+	}
+
+	private long readLong(int index) {
+		return (long) readInt( index ) << 32 | readInt( index + 4 ) & 0xffffffffL;
+	}
+
+	@Override
+	public String toString() {
+		return "CompactCachedRows(" + rowCount + " rows, " + data.length + " bytes)";
+	}
+}
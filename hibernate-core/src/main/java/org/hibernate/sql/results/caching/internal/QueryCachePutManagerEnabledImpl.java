@@ -13,6 +13,7 @@ import java.util.List;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsCache;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.mapping.JdbcMapping;
 import org.hibernate.sql.results.caching.QueryCachePutManager;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
 import org.hibernate.stat.spi.StatisticsImplementor;
@@ -28,6 +29,7 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 	private final StatisticsImplementor statistics;
 	private final QueryKey queryKey;
 	private final String queryIdentifier;
+	private final JdbcMapping[] compactColumnMappings;
 	private final List<Object> dataToCache = new ArrayList<>();
 
 	public QueryCachePutManagerEnabledImpl(
@@ -36,10 +38,25 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 			QueryKey queryKey,
 			String queryIdentifier,
 			JdbcValuesMetadata metadataForCache) {
+		this( queryCache, statistics, queryKey, queryIdentifier, metadataForCache, null );
+	}
+
+	/**
+	 * @param compactColumnMappings The mapping of each column of the rows, if the
+	 * rows should be cached as {@link CompactCachedRows}, or {@code null}
+	 */
+	public QueryCachePutManagerEnabledImpl(
+			QueryResultsCache queryCache,
+			StatisticsImplementor statistics,
+			QueryKey queryKey,
+			String queryIdentifier,
+			JdbcValuesMetadata metadataForCache,
+			JdbcMapping[] compactColumnMappings) {
 		this.queryCache = queryCache;
 		this.statistics = statistics;
 		this.queryKey = queryKey;
 		this.queryIdentifier = queryIdentifier;
+		this.compactColumnMappings = compactColumnMappings;
 		if ( metadataForCache != null ) {
 			dataToCache.add( metadataForCache );
 		}
@@ -60,7 +77,7 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 		if ( queryKey != null ) {
 			final boolean put = queryCache.put(
 					queryKey,
-					dataToCache,
+					compactColumnMappings == null ? dataToCache : compactData(),
 					session
 			);
 			if ( put && statistics.isStatisticsEnabled() ) {
@@ -68,4 +85,19 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 			}
 		}
 	}
+
+	/**
+	 * Replace the rows with a single {@link CompactCachedRows}, after the metadata if any
+	 */
+	private List<Object> compactData() {
+		final boolean hasMetadata = !dataToCache.isEmpty() && dataToCache.get( 0 ) instanceof JdbcValuesMetadata;
+		//noinspection unchecked
+		final List<Object[]> rows = (List<Object[]>) (List<?>) dataToCache.subList( hasMetadata ? 1 : 0, dataToCache.size() );
+		final List<Object> compactData = new ArrayList<>( 2 );
+		if ( hasMetadata ) {
+			compactData.add( dataToCache.get( 0 ) );
+		}
+		compactData.add( CompactCachedRows.encode( rows, compactColumnMappings ) );
+		return compactData;
+	}
 }
@@ -8,6 +8,7 @@ package org.hibernate.sql.results.jdbc.internal;
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.sql.results.caching.QueryCachePutManager;
+import org.hibernate.sql.results.caching.internal.QueryCachePutManagerDisabledImpl;
 import org.hibernate.sql.results.jdbc.spi.JdbcValues;
 import org.hibernate.sql.results.jdbc.spi.RowProcessingState;
 
@@ -16,18 +17,21 @@ import org.hibernate.sql.results.jdbc.spi.RowProcessingState;
  */
 public abstract class AbstractJdbcValues implements JdbcValues {
 	private final QueryCachePutManager queryCachePutManager;
+	private final boolean cachingRows;
 
 	public AbstractJdbcValues(QueryCachePutManager queryCachePutManager) {
 		if ( queryCachePutManager == null ) {
 			throw new IllegalArgumentException( "QueryCachePutManager cannot be null" );
 		}
 		this.queryCachePutManager = queryCachePutManager;
+		// avoid materializing the values array of every row when nothing is put into the cache
+		this.cachingRows = !( queryCachePutManager instanceof QueryCachePutManagerDisabledImpl );
 	}
 
 	@Override
 	public final boolean next(RowProcessingState rowProcessingState) {
 		final boolean hadRow = processNext( rowProcessingState );
-		if ( hadRow ) {
+		if ( hadRow && cachingRows ) {
 			queryCachePutManager.registerJdbcRow( getCurrentRowValuesArray() );
 		}
 		return hadRow;
@@ -10,10 +10,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.pagination.LimitHandler;
 import org.hibernate.dialect.pagination.NoopLimitHandler;
@@ -22,14 +24,19 @@ import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.metamodel.mapping.JdbcMappingContainer;
+import org.hibernate.metamodel.mapping.SqlExpressible;
 import org.hibernate.query.spi.Limit;
 import org.hibernate.query.spi.QueryOptions;
 import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.hibernate.sql.ast.spi.SqlSelection;
 import org.hibernate.sql.exec.spi.ExecutionContext;
 import org.hibernate.sql.exec.spi.JdbcLockStrategy;
 import org.hibernate.sql.exec.spi.JdbcOperationQuerySelect;
 import org.hibernate.sql.exec.spi.JdbcParameterBinder;
 import org.hibernate.sql.exec.spi.JdbcParameterBindings;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
 
 /**
  * @author Steve Ebersole
@@ -48,6 +55,8 @@ public class DeferredResultSetAccess extends AbstractResultSetAccess {
 	private final Limit limit;
 	private final LimitHandler limitHandler;
 	private final boolean usesFollowOnLocking;
+	private final int adaptiveFetchSize;
+	private final int maximumAdaptiveFetchSize;
 
 	private PreparedStatement preparedStatement;
 	private ResultSet resultSet;
@@ -129,6 +138,79 @@ public class DeferredResultSetAccess extends AbstractResultSetAccess {
 					executionContext.getSession().getFactory().getSessionFactoryOptions().isCommentsEnabled()
 			);
 		}
+
+		final SessionFactoryImplementor factory = executionContext.getSession().getFactory();
+		final int initialFetchSize = resolveInitialAdaptiveFetchSize( jdbcSelect, queryOptions, factory );
+		if ( initialFetchSize > 0 ) {
+			final List<SqlSelection> sqlSelections =
+					( (JdbcValuesMappingProducerStandard) jdbcSelect.getJdbcValuesMappingProducer() ).getSqlSelections();
+			// the maximum must be known before the statement is executed with the initial fetch size
+			maximumAdaptiveFetchSize = resolveMaximumFetchSize( factory, sqlSelections );
+			adaptiveFetchSize = Math.min( initialFetchSize, maximumAdaptiveFetchSize );
+		}
+		else {
+			maximumAdaptiveFetchSize = 0;
+			adaptiveFetchSize = 0;
+		}
+	}
+
+	private static int resolveInitialAdaptiveFetchSize(
+			JdbcOperationQuerySelect jdbcSelect,
+			QueryOptions queryOptions,
+			SessionFactoryImplementor factory) {
+		final SessionFactoryOptions options = factory.getSessionFactoryOptions();
+		if ( !options.isAdaptiveFetchSizeEnabled()
+				|| options.getJdbcFetchSize() != null
+				|| queryOptions != null && queryOptions.getFetchSize() != null ) {
+			// a fetch size specified explicitly is never adapted
+			return 0;
+		}
+		if ( !( jdbcSelect.getJdbcValuesMappingProducer() instanceof JdbcValuesMappingProducerStandard ) ) {
+			// the selections of a native query are only known from the ResultSet
+			return 0;
+		}
+		return Math.max( factory.getJdbcServices().getDialect().getInitialAdaptiveFetchSize(), 0 );
+	}
+
+	/**
+	 * The largest fetch size allowed by the dialect for which the fetched rows
+	 * fit into the memory budget, according to the estimated size of each row
+	 */
+	private static int resolveMaximumFetchSize(SessionFactoryImplementor factory, List<SqlSelection> sqlSelections) {
+		final int maximumFetchSize = factory.getJdbcServices().getDialect().getMaximumAdaptiveFetchSize();
+		final int memoryBudget = factory.getSessionFactoryOptions().getFetchSizeMemoryBudget();
+		if ( memoryBudget <= 0 ) {
+			return Math.max( maximumFetchSize, 1 );
+		}
+		int rowSize = 0;
+		for ( SqlSelection sqlSelection : sqlSelections ) {
+			rowSize += estimateColumnSize( sqlSelection.getExpressionType() );
+		}
+		return Math.max( Math.min( maximumFetchSize, memoryBudget / Math.max( rowSize, 1 ) ), 1 );
+	}
+
+	private static int estimateColumnSize(JdbcMappingContainer expressionType) {
+		final JdbcType jdbcType;
+		if ( expressionType instanceof JdbcMapping ) {
+			jdbcType = ( (JdbcMapping) expressionType ).getJdbcType();
+		}
+		else if ( expressionType instanceof SqlExpressible ) {
+			jdbcType = ( (SqlExpressible) expressionType ).getJdbcMapping().getJdbcType();
+		}
+		else {
+			return 64;
+		}
+		if ( jdbcType.isLob() ) {
+			// the value might be materialized by the driver
+			return 1024;
+		}
+		else if ( jdbcType.isNumber() || jdbcType.isTemporal() ) {
+			return 16;
+		}
+		else {
+			// strings, binary data, and everything else
+			return 64;
+		}
 	}
 
 	private static boolean useFollowOnLocking(
@@ -178,6 +260,16 @@ public class DeferredResultSetAccess extends AbstractResultSetAccess {
 		return usesFollowOnLocking;
 	}
 
+	@Override
+	public int getAdaptiveFetchSize() {
+		return adaptiveFetchSize;
+	}
+
+	@Override
+	public int getMaximumAdaptiveFetchSize() {
+		return maximumAdaptiveFetchSize;
+	}
+
 	protected void bindParameters(PreparedStatement preparedStatement) throws SQLException {
 		final QueryOptions queryOptions = executionContext.getQueryOptions();
 
@@ -190,6 +282,9 @@ public class DeferredResultSetAccess extends AbstractResultSetAccess {
 				preparedStatement.setQueryTimeout( queryOptions.getTimeout() );
 			}
 		}
+		if ( adaptiveFetchSize > 0 ) {
+			preparedStatement.setFetchSize( adaptiveFetchSize );
+		}
 
 		// bind parameters
 		// 		todo : validate that all query parameters were bound?
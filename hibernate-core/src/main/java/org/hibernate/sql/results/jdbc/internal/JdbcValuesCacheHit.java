@@ -10,6 +10,7 @@ import java.util.List;
 
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.sql.results.ResultsLogger;
+import org.hibernate.sql.results.caching.internal.CompactCachedRows;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerDisabledImpl;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMapping;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
@@ -24,6 +25,7 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 	private static final Object[][] NO_DATA = new Object[0][];
 
 	private Object[][] cachedData;
+	private CompactCachedRows compactRows;
 	private final int numberOfRows;
 	private final JdbcValuesMapping resolvedMapping;
 	private int position = -1;
@@ -41,7 +43,32 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 	}
 
 	public JdbcValuesCacheHit(List<?> cachedResults, JdbcValuesMapping resolvedMapping) {
-		this( extractData( cachedResults ), resolvedMapping );
+		this( extractCompactRows( cachedResults ), cachedResults, resolvedMapping );
+	}
+
+	private JdbcValuesCacheHit(
+			CompactCachedRows compactRows,
+			List<?> cachedResults,
+			JdbcValuesMapping resolvedMapping) {
+		super( QueryCachePutManagerDisabledImpl.INSTANCE );
+		if ( compactRows == null ) {
+			this.cachedData = extractData( cachedResults );
+			this.numberOfRows = cachedData.length;
+		}
+		else {
+			// the values are read straight from the encoded rows
+			this.compactRows = compactRows;
+			this.numberOfRows = compactRows.getRowCount();
+		}
+		this.resolvedMapping = resolvedMapping;
+	}
+
+	private static CompactCachedRows extractCompactRows(List<?> cachedResults) {
+		if ( CollectionHelper.isEmpty( cachedResults ) ) {
+			return null;
+		}
+		final Object last = cachedResults.get( cachedResults.size() - 1 );
+		return last instanceof CompactCachedRows ? (CompactCachedRows) last : null;
 	}
 
 	private static Object[][] extractData(List<?> cachedResults) {
@@ -233,12 +260,27 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 		if ( position >= numberOfRows ) {
 			return null;
 		}
+		if ( compactRows != null ) {
+			final Object[] row = new Object[ compactRows.getColumnCount() ];
+			for ( int i = 0; i < row.length; i++ ) {
+				row[i] = compactRows.getValue( position, i );
+			}
+			return row;
+		}
 		return cachedData[position];
 	}
 
+	@Override
+	public Object getCurrentRowValue(int position) {
+		return compactRows == null
+				? super.getCurrentRowValue( position )
+				: compactRows.getValue( this.position, position );
+	}
+
 	@Override
 	protected void release() {
 		cachedData = null;
+		compactRows = null;
 	}
 
 	@Override
@@ -36,6 +36,16 @@ public class JdbcValuesMappingProducerStandard implements JdbcValuesMappingProdu
 		this.resolvedMapping = new StandardJdbcValuesMapping( sqlSelections, domainResults );
 	}
 
+	/**
+	 * The selections, which unlike those of a native query, are known before
+	 * the query is executed
+	 *
+	 * @since 6.3
+	 */
+	public List<SqlSelection> getSqlSelections() {
+		return resolvedMapping.getSqlSelections();
+	}
+
 	@Override
 	public void addAffectedTableNames(Set<String> affectedTableNames, SessionFactoryImplementor sessionFactory) {
 
@@ -19,6 +19,7 @@ import org.hibernate.sql.ast.spi.SqlSelection;
 import org.hibernate.sql.exec.ExecutionException;
 import org.hibernate.sql.exec.spi.ExecutionContext;
 import org.hibernate.sql.results.caching.QueryCachePutManager;
+import org.hibernate.sql.results.caching.internal.CompactCachedRows;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerDisabledImpl;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerEnabledImpl;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMapping;
@@ -39,6 +40,13 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 	private final SqlSelection[] sqlSelections;
 	private final Object[] currentRowJdbcValues;
 
+	// When the fetch size is adaptive, it is doubled every time the rows
+	// already fetched have been read, up to the maximum fetch size, after
+	// which adaptiveFetchSize is reset to zero
+	private final int maximumFetchSize;
+	private int adaptiveFetchSize;
+	private int rowsBeforeFetch;
+
 	public JdbcValuesResultSetImpl(
 			ResultSetAccess resultSetAccess,
 			QueryKey queryCacheKey,
@@ -47,13 +55,23 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 			JdbcValuesMapping valuesMapping,
 			JdbcValuesMetadata metadataForCache,
 			ExecutionContext executionContext) {
-		super( resolveQueryCachePutManager( executionContext, queryOptions, queryCacheKey, queryIdentifier, metadataForCache ) );
+		super( resolveQueryCachePutManager( executionContext, queryOptions, queryCacheKey, queryIdentifier, valuesMapping, metadataForCache ) );
 		this.resultSetAccess = resultSetAccess;
 		this.valuesMapping = valuesMapping;
 		this.executionContext = executionContext;
 
 		this.sqlSelections = valuesMapping.getSqlSelections().toArray( new SqlSelection[0] );
 		this.currentRowJdbcValues = new Object[ valuesMapping.getRowSize() ];
+
+		final int initialFetchSize = resultSetAccess.getAdaptiveFetchSize();
+		if ( initialFetchSize > 0 ) {
+			this.maximumFetchSize = resultSetAccess.getMaximumAdaptiveFetchSize();
+			this.adaptiveFetchSize = initialFetchSize == maximumFetchSize ? 0 : initialFetchSize;
+			this.rowsBeforeFetch = initialFetchSize;
+		}
+		else {
+			this.maximumFetchSize = 0;
+		}
 	}
 
 	private static QueryCachePutManager resolveQueryCachePutManager(
@@ -61,6 +79,7 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 			QueryOptions queryOptions,
 			QueryKey queryCacheKey,
 			String queryIdentifier,
+			JdbcValuesMapping valuesMapping,
 			JdbcValuesMetadata metadataForCache) {
 		if ( queryCacheKey != null ) {
 			final SessionFactoryImplementor factory = executionContext.getSession().getFactory();
@@ -71,7 +90,10 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 					factory.getStatistics(),
 					queryCacheKey,
 					queryIdentifier,
-					metadataForCache
+					metadataForCache,
+					factory.getSessionFactoryOptions().isCompactQueryCacheEntriesEnabled()
+							? CompactCachedRows.resolveColumnMappings( valuesMapping )
+							: null
 			);
 		}
 		else {
@@ -201,7 +223,18 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 
 	private boolean advanceNext() {
 		try {
-			return resultSetAccess.getResultSet().next();
+			final ResultSet resultSet = resultSetAccess.getResultSet();
+			if ( adaptiveFetchSize > 0 && rowsBeforeFetch-- == 0 ) {
+				// the rows fetched so far have all been read,
+				// so fetch more of them with the next round trip
+				adaptiveFetchSize = Math.min( adaptiveFetchSize * 2, maximumFetchSize );
+				resultSet.setFetchSize( adaptiveFetchSize );
+				rowsBeforeFetch = adaptiveFetchSize - 1;
+				if ( adaptiveFetchSize == maximumFetchSize ) {
+					adaptiveFetchSize = 0;
+				}
+			}
+			return resultSet.next();
 		}
 		catch (SQLException e) {
 			throw makeExecutionException( "Error advancing (next) ResultSet position", e );
@@ -292,6 +325,8 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 
 	@Override
 	public void setFetchSize(int fetchSize) {
+		// a fetch size specified explicitly is never adapted
+		adaptiveFetchSize = 0;
 		try {
 			resultSetAccess.getResultSet().setFetchSize( fetchSize );
 		}
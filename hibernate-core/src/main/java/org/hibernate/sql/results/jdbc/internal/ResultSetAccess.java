@@ -32,6 +32,28 @@ public interface ResultSetAccess extends JdbcValuesMetadata {
 	SessionFactoryImplementor getFactory();
 	void release();
 
+	/**
+	 * The fetch size the statement was executed with, if the fetch size should be
+	 * grown as the rows of the {@link ResultSet} are read.
+	 *
+	 * @return the initial fetch size, or {@code 0} if the fetch size is not adaptive
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_FETCH_SIZE
+	 */
+	default int getAdaptiveFetchSize() {
+		return 0;
+	}
+
+	/**
+	 * The fetch size up to which the {@linkplain #getAdaptiveFetchSize() adaptive
+	 * fetch size} may grow, which is never less than the initial fetch size.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FETCH_SIZE_MEMORY_BUDGET
+	 */
+	default int getMaximumAdaptiveFetchSize() {
+		return 0;
+	}
+
 	default int getColumnCount() {
 		try {
 			return getResultSet().getMetaData().getColumnCount();
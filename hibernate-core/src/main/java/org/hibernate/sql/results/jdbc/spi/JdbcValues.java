@@ -6,6 +6,7 @@
  */
 package org.hibernate.sql.results.jdbc.spi;
 
+import org.hibernate.Incubating;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
 /**
@@ -74,6 +75,18 @@ public interface JdbcValues {
 	 */
 	Object[] getCurrentRowValuesArray();
 
+	/**
+	 * Get the JDBC value at the given position of the row currently positioned at.
+	 *
+	 * @see #getCurrentRowValuesArray()
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default Object getCurrentRowValue(int position) {
+		return getCurrentRowValuesArray()[position];
+	}
+
 	/**
 	 * Give implementations a chance to finish processing
 	 */
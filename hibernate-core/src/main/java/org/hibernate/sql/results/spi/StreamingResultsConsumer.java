@@ -0,0 +1,221 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.results.spi;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.hibernate.Incubating;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.sql.results.internal.RowProcessingStateStandardImpl;
+import org.hibernate.sql.results.jdbc.internal.JdbcValuesSourceProcessingStateStandardImpl;
+import org.hibernate.sql.results.jdbc.spi.JdbcValues;
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesSourceProcessingOptions;
+
+/**
+ * ResultsConsumer which passes each row to an action as soon as it is read,
+ * instead of collecting the rows into a List, and returns the number of rows.
+ * <p>
+ * Just like with {@link ScrollableResultsConsumer scrolling}, the loading of
+ * each row is finished before it is passed to the action, so that nothing is
+ * held on to for the rows already processed except the entities in the
+ * persistence context.  Those may be released by clearing the persistence
+ * context every {@code clearInterval} rows.
+ *
+ * @since 6.3
+ */
+@Incubating
+public class StreamingResultsConsumer<R> implements ResultsConsumer<Long, R> {
+	private final Consumer<? super R> action;
+	private final int clearInterval;
+
+	/**
+	 * @param action The action to pass each row to
+	 * @param clearInterval The number of rows after which the persistence context
+	 * is cleared, or {@code 0} to never clear it
+	 */
+	public StreamingResultsConsumer(Consumer<? super R> action, int clearInterval) {
+		if ( clearInterval < 0 ) {
+			throw new IllegalArgumentException( "Clear interval cannot be negative: " + clearInterval );
+		}
+		this.action = action;
+		this.clearInterval = clearInterval;
+	}
+
+	@Override
+	public Long consume(
+			JdbcValues jdbcValues,
+			SharedSessionContractImplementor session,
+			JdbcValuesSourceProcessingOptions processingOptions,
+			JdbcValuesSourceProcessingStateStandardImpl jdbcValuesSourceProcessingState,
+			RowProcessingStateStandardImpl rowProcessingState,
+			RowReader<R> rowReader) {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		RuntimeException ex = null;
+		try {
+			persistenceContext.getLoadContexts().register( jdbcValuesSourceProcessingState );
+			final long count = forEach(
+					new RowIterator<>( persistenceContext, processingOptions, jdbcValuesSourceProcessingState, rowProcessingState, rowReader ),
+					action,
+					clearInterval,
+					session,
+					// clearing also discards the registration
+					() -> persistenceContext.getLoadContexts().register( jdbcValuesSourceProcessingState )
+			);
+
+			try {
+				rowReader.finishUp( jdbcValuesSourceProcessingState );
+				jdbcValuesSourceProcessingState.finishUp();
+			}
+			finally {
+				persistenceContext.getLoadContexts().deregister( jdbcValuesSourceProcessingState );
+			}
+			return count;
+		}
+		catch (RuntimeException e) {
+			ex = e;
+		}
+		finally {
+			try {
+				jdbcValues.finishUp( session );
+			}
+			catch (RuntimeException e) {
+				if ( ex != null ) {
+					ex.addSuppressed( e );
+				}
+				else {
+					ex = e;
+				}
+			}
+			finally {
+				if ( ex != null ) {
+					throw ex;
+				}
+			}
+		}
+		throw new IllegalStateException( "Should not reach this" );
+	}
+
+	/**
+	 * Pass each of the given results to the action, clearing the persistence
+	 * context of the given session every {@code clearInterval} results, unless
+	 * it is {@code 0}
+	 *
+	 * @return The number of results
+	 */
+	public static <R> long forEach(
+			Iterator<R> results,
+			Consumer<? super R> action,
+			int clearInterval,
+			SharedSessionContractImplementor session) {
+		return forEach( results, action, clearInterval, session, null );
+	}
+
+	private static <R> long forEach(
+			Iterator<R> results,
+			Consumer<? super R> action,
+			int clearInterval,
+			SharedSessionContractImplementor session,
+			Runnable afterClear) {
+		long count = 0;
+		while ( results.hasNext() ) {
+			action.accept( results.next() );
+			count++;
+			if ( clearInterval > 0 && count % clearInterval == 0 ) {
+				clear( session );
+				if ( afterClear != null ) {
+					afterClear.run();
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Clear the persistence context of the given session, including the pending
+	 * actions of a stateful session, just like {@link Session#clear()}
+	 */
+	public static void clear(SharedSessionContractImplementor session) {
+		if ( session instanceof Session ) {
+			( (Session) session ).clear();
+		}
+		else {
+			session.getPersistenceContext().clear();
+		}
+	}
+
+	/**
+	 * Reads the rows one at a time, finishing the loading of each row before
+	 * returning it
+	 */
+	private static class RowIterator<R> implements Iterator<R> {
+		private final PersistenceContext persistenceContext;
+		private final JdbcValuesSourceProcessingOptions processingOptions;
+		private final JdbcValuesSourceProcessingStateStandardImpl jdbcValuesSourceProcessingState;
+		private final RowProcessingStateStandardImpl rowProcessingState;
+		private final RowReader<R> rowReader;
+
+		private boolean advanced;
+		private boolean hasRow;
+
+		private RowIterator(
+				PersistenceContext persistenceContext,
+				JdbcValuesSourceProcessingOptions processingOptions,
+				JdbcValuesSourceProcessingStateStandardImpl jdbcValuesSourceProcessingState,
+				RowProcessingStateStandardImpl rowProcessingState,
+				RowReader<R> rowReader) {
+			this.persistenceContext = persistenceContext;
+			this.processingOptions = processingOptions;
+			this.jdbcValuesSourceProcessingState = jdbcValuesSourceProcessingState;
+			this.rowProcessingState = rowProcessingState;
+			this.rowReader = rowReader;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if ( !advanced ) {
+				hasRow = rowProcessingState.next();
+				advanced = true;
+			}
+			return hasRow;
+		}
+
+		@Override
+		public R next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			advanced = false;
+
+			final R row;
+			persistenceContext.beforeLoad();
+			try {
+				row = rowReader.readRow( rowProcessingState, processingOptions );
+				rowProcessingState.finishRowProcessing();
+				jdbcValuesSourceProcessingState.finishUp();
+			}
+			finally {
+				persistenceContext.afterLoad();
+			}
+			persistenceContext.initializeNonLazyCollections();
+			return row;
+		}
+	}
+
+	@Override
+	public boolean canResultsBeCached() {
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "StreamingResultsConsumer(" + clearInterval + ")";
+	}
+}
@@ -8,6 +8,8 @@ package org.hibernate.stat;
 
 import java.time.Instant;
 
+import org.hibernate.Incubating;
+
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -381,4 +383,43 @@ public interface Statistics {
 	 * The global number of query plans lookups <em>not</em> found in cache.
 	 */
 	long getQueryPlanCacheMissCount();
+
+	/**
+	 * The global number of query plans evicted from the cache to make room
+	 * for other query plans.
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default long getQueryPlanCacheEvictionCount() {
+		return 0;
+	}
+
+	/**
+	 * The keys of the JDBC batches for which a batch size has been chosen
+	 * by {@linkplain org.hibernate.cfg.AvailableSettings#BATCH_ADAPTIVE
+	 * adaptive batch sizing}.
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default String[] getJdbcBatchKeys() {
+		return new String[0];
+	}
+
+	/**
+	 * The JDBC batch size most recently chosen by {@linkplain
+	 * org.hibernate.cfg.AvailableSettings#BATCH_ADAPTIVE adaptive batch sizing}
+	 * for the JDBC batch with the given key.
+	 *
+	 * @param batchKey The {@linkplain org.hibernate.engine.jdbc.batch.spi.BatchKey#toLoggableString() key} of the batch
+	 *
+	 * @return The batch size, or {@code 0} if no batch size has been chosen for the key
+	 *
+	 * @since 6.3
+	 */
+	@Incubating
+	default int getJdbcBatchSize(String batchKey) {
+		return 0;
+	}
 }
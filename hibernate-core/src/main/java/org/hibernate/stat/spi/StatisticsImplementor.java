@@ -265,6 +265,16 @@ public interface StatisticsImplementor extends Statistics, Service {
 		//For backward compatibility
 	}
 
+	/**
+	 * Callback indicating a plan was evicted from the query plan cache.
+	 *
+	 * @param query The query
+	 *
+	 * @since 6.3
+	 */
+	default void queryPlanCacheEviction(String query) {
+	}
+
 	/**
 	 * Callback indicating compilation of a sql/hql query
 	 *
@@ -274,4 +284,16 @@ public interface StatisticsImplementor extends Statistics, Service {
 	default void queryCompiled(String hql, long microseconds) {
 		//For backward compatibility
 	}
+
+	/**
+	 * Callback indicating that a JDBC batch size was chosen by adaptive batch sizing.
+	 *
+	 * @param batchKey The key of the batch
+	 * @param batchSize The chosen batch size
+	 *
+	 * @since 6.3
+	 */
+	default void jdbcBatchSizeChosen(String batchKey, int batchSize) {
+		//For backward compatibility
+	}
 }
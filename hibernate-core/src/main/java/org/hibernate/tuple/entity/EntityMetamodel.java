@@ -96,6 +96,7 @@ public class EntityMetamodel implements Serializable {
 	private final boolean[] propertyUpdateability;
 	private final boolean[] nonlazyPropertyUpdateability;
 	private final boolean[] propertyCheckability;
+	private final boolean[] propertyTypeMutability;
 	private final boolean[] propertyInsertability;
 	private final boolean[] propertyNullability;
 	private final boolean[] propertyVersionability;
@@ -214,6 +215,7 @@ public class EntityMetamodel implements Serializable {
 		propertyInsertability = new boolean[propertySpan];
 		nonlazyPropertyUpdateability = new boolean[propertySpan];
 		propertyCheckability = new boolean[propertySpan];
+		propertyTypeMutability = new boolean[propertySpan];
 		propertyNullability = new boolean[propertySpan];
 		propertyVersionability = new boolean[propertySpan];
 		propertyLaziness = new boolean[propertySpan];
@@ -364,6 +366,8 @@ public class EntityMetamodel implements Serializable {
 				foundOwnedCollection = true;
 			}
 
+			propertyTypeMutability[i] = propertyType.isMutable();
+
 			// Component types are dirty tracked as well so they are not exactly mutable for the "maybeDirty" check
 			if ( propertyType.isMutable() && propertyCheckability[i] && !( propertyType instanceof ComponentType ) ) {
 				mutableIndexes.set( i );
@@ -769,6 +773,14 @@ public class EntityMetamodel implements Serializable {
 		return propertyCheckability;
 	}
 
+	/**
+	 * Whether the {@linkplain Type type} of each property is {@linkplain Type#isMutable() mutable},
+	 * that is, whether a value of the property could be modified in place.
+	 */
+	public boolean[] getPropertyTypeMutability() {
+		return propertyTypeMutability;
+	}
+
 	public boolean[] getNonlazyPropertyUpdateability() {
 		return nonlazyPropertyUpdateability;
 	}
@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.orm.test.batch;
+
+import org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchSize;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.cfg.AvailableSettings.BATCH_ADAPTIVE;
+import static org.hibernate.cfg.AvailableSettings.BATCH_ADAPTIVE_MAX_SIZE;
+import static org.hibernate.cfg.AvailableSettings.BATCH_ADAPTIVE_MIN_SIZE;
+import static org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS;
+import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
+
+/**
+ * Tests for {@value org.hibernate.cfg.AvailableSettings#BATCH_ADAPTIVE}
+ */
+@DomainModel( annotatedClasses = { AdaptiveBatchSizeTest.Reading.class, AdaptiveBatchSizeTest.Sample.class } )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = STATEMENT_BATCH_SIZE, value = "4" ),
+				@Setting( name = BATCH_ADAPTIVE, value = "true" ),
+				@Setting( name = BATCH_ADAPTIVE_MIN_SIZE, value = "2" ),
+				@Setting( name = BATCH_ADAPTIVE_MAX_SIZE, value = "16" ),
+				@Setting( name = GENERATE_STATISTICS, value = "true" )
+		}
+)
+@SessionFactory
+public class AdaptiveBatchSizeTest {
+
+	@Test
+	public void testGrowsWhileThroughputImproves() {
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 8, new AdaptiveBatchSize.Bounds( 1, 64, 1024 * 1024 ) );
+		assertThat( batchSize.recordExecution( 8, 800, 8_000 ) ).isEqualTo( 16 );
+		// twice the throughput
+		assertThat( batchSize.recordExecution( 16, 1600, 8_000 ) ).isEqualTo( 32 );
+		// worse, so try a smaller size
+		assertThat( batchSize.recordExecution( 32, 3200, 32_000 ) ).isEqualTo( 8 );
+		// still worse, so settle on the best size
+		assertThat( batchSize.recordExecution( 8, 800, 8_000 ) ).isEqualTo( 16 );
+		assertThat( batchSize.recordExecution( 16, 1600, 8_000 ) ).isEqualTo( 16 );
+		// partial batches are not measured
+		assertThat( batchSize.recordExecution( 3, 300, 1 ) ).isEqualTo( 16 );
+		// the settled size became slower, so probe again
+		assertThat( batchSize.recordExecution( 16, 1600, 16_000 ) ).isEqualTo( 32 );
+	}
+
+	@Test
+	public void testBounds() {
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 100, new AdaptiveBatchSize.Bounds( 2, 10, 1024 * 1024 ) );
+		assertThat( batchSize.getBatchSize() ).isEqualTo( 10 );
+		// cannot grow beyond the maximum, so settle
+		assertThat( batchSize.recordExecution( 10, 1000, 10_000 ) ).isEqualTo( 10 );
+	}
+
+	@Test
+	public void testShrinksWhenBindingTooManyBytes() {
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 16, new AdaptiveBatchSize.Bounds( 1, 64, 1000 ) );
+		// 200 bytes per row allows 5 rows per batch
+		assertThat( batchSize.recordExecution( 16, 3200, 8_000 ) ).isEqualTo( 5 );
+		assertThat( batchSize.recordExecution( 5, 1000, 1_000 ) ).isLessThanOrEqualTo( 5 );
+	}
+
+	@Test
+	public void testStatistics(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		scope.inTransaction( (session) -> {
+			for ( int i = 1; i <= 40; i++ ) {
+				session.persist( new Reading( i, "reading " + i ) );
+			}
+		} );
+
+		assertThat( statistics.getJdbcBatchKeys() ).hasSize( 1 );
+		final String batchKey = statistics.getJdbcBatchKeys()[0];
+		assertThat( batchKey ).contains( Reading.class.getName() );
+		assertThat( statistics.getJdbcBatchSize( batchKey ) ).isBetween( 2, 16 );
+		assertThat( statistics.getJdbcBatchSize( "unknown" ) ).isEqualTo( 0 );
+
+		scope.inTransaction( (session) -> assertThat(
+				session.createSelectionQuery( "select count(*) from Reading", Long.class ).getSingleResult()
+		).isEqualTo( 40L ) );
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Reading" ).executeUpdate() );
+	}
+
+	@Test
+	public void testExplicitSessionBatchSize(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+
+		scope.inTransaction( (session) -> {
+			session.setJdbcBatchSize( 3 );
+			for ( int i = 1; i <= 10; i++ ) {
+				session.persist( new Sample( i ) );
+			}
+		} );
+
+		// the batches were not sized adaptively
+		assertThat( statistics.getJdbcBatchKeys() ).noneMatch( key -> key.contains( Sample.class.getName() ) );
+		scope.inTransaction( (session) -> assertThat(
+				session.createSelectionQuery( "select count(*) from Sample", Long.class ).getSingleResult()
+		).isEqualTo( 10L ) );
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Sample" ).executeUpdate() );
+	}
+
+	@Entity( name = "Sample" )
+	public static class Sample {
+		@Id
+		private Integer id;
+
+		public Sample() {
+		}
+
+		public Sample(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity( name = "Reading" )
+	public static class Reading {
+		@Id
+		private Integer id;
+		private String text;
+
+		public Reading() {
+		}
+
+		public Reading(Integer id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+	}
+}
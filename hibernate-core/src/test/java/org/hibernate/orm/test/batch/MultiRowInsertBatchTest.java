@@ -0,0 +1,171 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.orm.test.batch;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.annotations.ColumnTransformer;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DialectFeatureChecks;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialectFeature;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.cfg.AvailableSettings.BATCH_MULTI_ROW_INSERTS;
+import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
+
+/**
+ * Tests for {@value org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS}
+ */
+@DomainModel( annotatedClasses = {
+		MultiRowInsertBatchTest.Author.class,
+		MultiRowInsertBatchTest.Book.class,
+		MultiRowInsertBatchTest.Question.class
+} )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = STATEMENT_BATCH_SIZE, value = "5" ),
+				@Setting( name = BATCH_MULTI_ROW_INSERTS, value = "true" )
+		}
+)
+@SessionFactory( useCollectingStatementInspector = true )
+@RequiresDialectFeature( feature = DialectFeatureChecks.SupportsValuesListForInsert.class )
+public class MultiRowInsertBatchTest {
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Question" ).executeUpdate();
+			session.createMutationQuery( "delete Book" ).executeUpdate();
+			session.createMutationQuery( "delete Author" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testMultiRowInserts(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		statementInspector.clear();
+
+		scope.inTransaction( (session) -> {
+			final Author author = new Author( 1L, "Frank Herbert" );
+			session.persist( author );
+			for ( long i = 1; i <= 12; i++ ) {
+				// every third book has no author
+				session.persist( new Book( i, "Book " + i, i % 3 == 0 ? null : author ) );
+			}
+		} );
+
+		final List<String> inserts = statementInspector.getSqlQueries()
+				.stream()
+				.filter( sql -> sql.startsWith( "insert into Book" ) )
+				.collect( Collectors.toList() );
+		// 12 rows in statements of 5, 5 and 2 rows
+		assertThat( inserts ).hasSize( 3 );
+		assertThat( inserts.get( 2 ) ).containsOnlyOnce( "),(" );
+
+		scope.inTransaction( (session) -> {
+			final List<Book> books = session.createSelectionQuery( "from Book order by id", Book.class )
+					.getResultList();
+			assertThat( books ).hasSize( 12 );
+			for ( Book book : books ) {
+				assertThat( book.title ).isEqualTo( "Book " + book.id );
+				if ( book.id % 3 == 0 ) {
+					assertThat( book.author ).isNull();
+				}
+				else {
+					assertThat( book.author.name ).isEqualTo( "Frank Herbert" );
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testQuestionMarkInWriteExpression(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		statementInspector.clear();
+
+		scope.inTransaction( (session) -> {
+			for ( long i = 1; i <= 5; i++ ) {
+				session.persist( new Question( i, i % 2 == 0 ? null : "Question " + i ) );
+			}
+		} );
+
+		final List<String> inserts = statementInspector.getSqlQueries()
+				.stream()
+				.filter( sql -> sql.startsWith( "insert into Question" ) )
+				.collect( Collectors.toList() );
+		assertThat( inserts ).hasSize( 1 );
+
+		scope.inTransaction( (session) -> {
+			final List<Question> questions = session.createSelectionQuery( "from Question order by id", Question.class )
+					.getResultList();
+			assertThat( questions ).extracting( question -> question.text )
+					.containsExactly( "Question 1", "why?", "Question 3", "why?", "Question 5" );
+		} );
+	}
+
+	@Entity( name = "Author" )
+	public static class Author {
+		@Id
+		private Long id;
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Book" )
+	public static class Book {
+		@Id
+		private Long id;
+		private String title;
+		@ManyToOne
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Long id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+
+	@Entity( name = "Question" )
+	public static class Question {
+		@Id
+		private Long id;
+		@ColumnTransformer( write = "coalesce(?, 'why?')" )
+		private String text;
+
+		public Question() {
+		}
+
+		public Question(Long id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests caching the state of entities as {@link BinaryCacheEntry binary entries}
+ */
+@DomainModel( annotatedClasses = {
+		BinaryCacheEntryTest.Owner.class,
+		BinaryCacheEntryTest.Vehicle.class,
+		BinaryCacheEntryTest.Truck.class
+} )
+@SessionFactory( generateStatistics = true )
+@ServiceRegistry( settings = {
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_BINARY_CACHE_ENTRIES, value = "true" )
+} )
+public class BinaryCacheEntryTest {
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Owner owner = new Owner( 1, "owner" );
+			session.persist( owner );
+			session.persist( new Vehicle( 1, "car", 120_000L, LocalDate.of( 2019, 3, 1 ), Status.ACTIVE, new BigDecimal( "12500.50" ), owner ) );
+			session.persist( new Vehicle( 2, null, null, null, null, null, null ) );
+			session.persist( new Truck( 3, "truck", 500_000L, LocalDate.of( 2010, 7, 15 ), Status.RETIRED, null, owner, 3 ) );
+		} );
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Vehicle" ).executeUpdate();
+			session.createMutationQuery( "delete Owner" ).executeUpdate();
+		} );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testCachedState(SessionFactoryScope scope) {
+		assertThat( cachedItem( scope, 1 ) ).isInstanceOf( byte[].class );
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			final Vehicle vehicle = session.get( Vehicle.class, 1 );
+			assertThat( vehicle.name ).isEqualTo( "car" );
+			assertThat( vehicle.mileage ).isEqualTo( 120_000L );
+			assertThat( vehicle.registered ).isEqualTo( LocalDate.of( 2019, 3, 1 ) );
+			assertThat( vehicle.status ).isEqualTo( Status.ACTIVE );
+			assertThat( vehicle.price ).isEqualTo( new BigDecimal( "12500.50" ) );
+			assertThat( vehicle.version ).isEqualTo( 0 );
+			assertThat( session.getIdentifier( vehicle.owner ) ).isEqualTo( 1 );
+
+			final Vehicle empty = session.get( Vehicle.class, 2 );
+			assertThat( empty.name ).isNull();
+			assertThat( empty.mileage ).isNull();
+			assertThat( empty.status ).isNull();
+			assertThat( empty.owner ).isNull();
+		} );
+		assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testCachedSubclassState(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Vehicle vehicle = session.get( Vehicle.class, 3 );
+			assertThat( vehicle ).isInstanceOf( Truck.class );
+			assertThat( vehicle.name ).isEqualTo( "truck" );
+			assertThat( vehicle.status ).isEqualTo( Status.RETIRED );
+			assertThat( ( (Truck) vehicle ).axles ).isEqualTo( 3 );
+		} );
+		assertThat( scope.getSessionFactory().getStatistics().getSecondLevelCacheHitCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testUpdatedState(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.get( Vehicle.class, 1 ).mileage = 130_000L );
+		scope.getSessionFactory().getStatistics().clear();
+		scope.inTransaction( (session) -> {
+			final Vehicle vehicle = session.get( Vehicle.class, 1 );
+			assertThat( vehicle.mileage ).isEqualTo( 130_000L );
+			assertThat( vehicle.version ).isEqualTo( 1 );
+		} );
+		assertThat( scope.getSessionFactory().getStatistics().getSecondLevelCacheHitCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testUnreadableEntries(SessionFactoryScope scope) {
+		final SessionFactoryImplementor factory = scope.getSessionFactory();
+		final EntityPersister persister = persister( scope );
+		final CacheEntryStructure structure = persister.getCacheEntryStructure();
+		final byte[] bytes = (byte[]) cachedItem( scope, 1 );
+		assertThat( structure.destructure( bytes, factory ) ).isInstanceOf( CacheEntry.class );
+
+		// an entry written with a newer layout
+		final byte[] newerLayout = bytes.clone();
+		newerLayout[0] = BinaryCacheEntry.LAYOUT_VERSION + 1;
+		assertThat( structure.destructure( newerLayout, factory ) ).isNull();
+
+		// an entry written by a different mapping of the entity, the fingerprint
+		// following the layout version and the entity name
+		final byte[] otherMapping = bytes.clone();
+		otherMapping[1 + 2 + persister.getEntityName().length()] ^= 1;
+		assertThat( structure.destructure( otherMapping, factory ) ).isNull();
+	}
+
+	@Test
+	public void testUnreadableEntryIsMiss(SessionFactoryScope scope) {
+		final EntityPersister persister = persister( scope );
+		final byte[] newerLayout = ( (byte[]) cachedItem( scope, 1 ) ).clone();
+		newerLayout[0] = BinaryCacheEntry.LAYOUT_VERSION + 1;
+		scope.inTransaction( (session) -> {
+			final EntityDataAccess entityDataAccess = persister.getCacheAccessStrategy();
+			final Object cacheKey = entityDataAccess.generateCacheKey( 1, persister, scope.getSessionFactory(), null );
+			entityDataAccess.evict( cacheKey );
+			assertThat( entityDataAccess.putFromLoad( session, cacheKey, newerLayout, 0 ) ).isTrue();
+		} );
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inTransaction( (session) -> assertThat( session.get( Vehicle.class, 1 ).name ).isEqualTo( "car" ) );
+		assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( 0 );
+		assertThat( statistics.getSecondLevelCacheMissCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testEncodedSize(SessionFactoryScope scope) {
+		final CacheEntryStructure structure = persister( scope ).getCacheEntryStructure();
+		final byte[] bytes = (byte[]) cachedItem( scope, 1 );
+		final CacheEntry entry = (CacheEntry) structure.destructure( bytes, scope.getSessionFactory() );
+		assertThat( SerializationHelper.serialize( bytes ).length )
+				.isLessThan( SerializationHelper.serialize( entry ).length / 2 );
+	}
+
+	private static EntityPersister persister(SessionFactoryScope scope) {
+		return scope.getSessionFactory().getMappingMetamodel().getEntityDescriptor( Vehicle.class );
+	}
+
+	private static Serializable cachedItem(SessionFactoryScope scope, Integer id) {
+		final EntityPersister persister = persister( scope );
+		return scope.fromTransaction( (session) -> {
+			final EntityDataAccess entityDataAccess = persister.getCacheAccessStrategy();
+			final Object cacheKey = entityDataAccess.generateCacheKey( id, persister, scope.getSessionFactory(), null );
+			return (Serializable) entityDataAccess.get( session, cacheKey );
+		} );
+	}
+
+	public enum Status {
+		ACTIVE,
+		RETIRED
+	}
+
+	@Entity( name = "Owner" )
+	public static class Owner {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Owner() {
+		}
+
+		public Owner(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Vehicle" )
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	public static class Vehicle {
+		@Id
+		private Integer id;
+		@Version
+		private Integer version;
+		private String name;
+		private Long mileage;
+		private LocalDate registered;
+		@Enumerated( EnumType.STRING )
+		private Status status;
+		private BigDecimal price;
+		@ManyToOne( fetch = FetchType.LAZY )
+		private Owner owner;
+
+		public Vehicle() {
+		}
+
+		public Vehicle(
+				Integer id,
+				String name,
+				Long mileage,
+				LocalDate registered,
+				Status status,
+				BigDecimal price,
+				Owner owner) {
+			this.id = id;
+			this.name = name;
+			this.mileage = mileage;
+			this.registered = registered;
+			this.status = status;
+			this.price = price;
+			this.owner = owner;
+		}
+	}
+
+	@Entity( name = "Truck" )
+	public static class Truck extends Vehicle {
+		private Integer axles;
+
+		public Truck() {
+		}
+
+		public Truck(
+				Integer id,
+				String name,
+				Long mileage,
+				LocalDate registered,
+				Status status,
+				BigDecimal price,
+				Owner owner,
+				Integer axles) {
+			super( id, name, mileage, registered, status, price, owner );
+			this.axles = axles;
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.dialect.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.hibernate.dialect.bulk.BulkLoadEncoder;
+import org.hibernate.dialect.bulk.BulkLoadTarget;
+import org.hibernate.dialect.bulk.CsvBulkLoadEncoder;
+import org.hibernate.dialect.bulk.PostgreSQLBinaryBulkLoadEncoder;
+import org.hibernate.engine.jdbc.LobCreator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.spi.TypeConfiguration;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CsvBulkLoadEncoder} and {@link PostgreSQLBinaryBulkLoadEncoder}
+ */
+@DomainModel( annotatedClasses = BulkLoadEncoderTest.Document.class )
+@SessionFactory
+public class BulkLoadEncoderTest {
+
+	@Test
+	public void testCsv(SessionFactoryScope scope) {
+		scope.inSession( (session) -> {
+			final AbstractEntityPersister persister = persister( session );
+			final BulkLoadTarget target = persister.getInsertCoordinator().getBulkLoadTarget();
+			assertThat( target ).isNotNull();
+			assertThat( CsvBulkLoadEncoder.INSTANCE.canEncode( target ) ).isTrue();
+
+			final List<Object[]> rows = List.of(
+					row( persister, new Document( 1, "plain", true, new byte[] { 0x0a, (byte) 0xff } ), session ),
+					row( persister, new Document( 2, "", null, null ), session ),
+					row( persister, new Document( 3, "a \"b\", c\nd", false, new byte[0] ), session )
+			);
+			final String csv = new String( encode( target, rows, CsvBulkLoadEncoder.INSTANCE, session ), StandardCharsets.UTF_8 );
+			final String[] lines = csv.split( "\n", -1 );
+			assertThat( lines[0] ).isEqualTo( expectedLine( target, "1", "plain", "true", "\\x0aff" ) );
+			// an empty string is quoted, null is not
+			assertThat( lines[1] ).isEqualTo( expectedLine( target, "2", "\"\"", "", "" ) );
+			assertThat( csv ).endsWith( expectedLine( target, "3", "\"a \"\"b\"\", c\nd\"", "false", "\\x" ) + "\n" );
+		} );
+	}
+
+	@Test
+	public void testCsvTemporalsInJdbcTimeZone(SessionFactoryScope scope) {
+		scope.inSession( (session) -> {
+			final TypeConfiguration typeConfiguration = session.getTypeConfiguration();
+			final BulkLoadTarget target = new BulkLoadTarget(
+					"Event",
+					new String[] { "happened", "day" },
+					new JdbcMapping[] {
+							typeConfiguration.getBasicTypeForJavaType( LocalDateTime.class ),
+							typeConfiguration.getBasicTypeForJavaType( LocalDate.class )
+					}
+			);
+			final TimeZone jdbcTimeZone = TimeZone.getTimeZone( "GMT+05:30" );
+			final LocalDateTime happened = LocalDateTime.of( 2023, 3, 1, 23, 15, 30 );
+			final LocalDate day = LocalDate.of( 2023, 3, 1 );
+
+			// the timestamp is written as the driver would bind it, in the JDBC time zone
+			final LocalDateTime expected = happened.atZone( ZoneId.systemDefault() )
+					.withZoneSameInstant( jdbcTimeZone.toZoneId() )
+					.toLocalDateTime();
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			try {
+				CsvBulkLoadEncoder.INSTANCE.writeRow(
+						target,
+						new Object[] { happened, day },
+						output,
+						new JdbcTimeZoneOptions( session, jdbcTimeZone )
+				);
+			}
+			catch (IOException e) {
+				throw new RuntimeException( e );
+			}
+			assertThat( output.toString( StandardCharsets.UTF_8 ) )
+					.isEqualTo( expected.toLocalDate() + " " + expected.toLocalTime() + ",2023-03-01\n" );
+		} );
+	}
+
+	@Test
+	public void testPostgreSQLBinary(SessionFactoryScope scope) {
+		scope.inSession( (session) -> {
+			final AbstractEntityPersister persister = persister( session );
+			final BulkLoadTarget target = persister.getInsertCoordinator().getBulkLoadTarget();
+			assertThat( PostgreSQLBinaryBulkLoadEncoder.INSTANCE.canEncode( target ) ).isTrue();
+
+			final List<Object[]> rows = List.of(
+					row( persister, new Document( 7, "héllo", true, new byte[] { 1, 2, 3 } ), session ),
+					row( persister, new Document( 8, null, null, null ), session )
+			);
+
+			final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			try {
+				final DataOutputStream data = new DataOutputStream( expected );
+				data.write( new byte[] { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 } );
+				data.writeInt( 0 );
+				data.writeInt( 0 );
+				data.writeShort( target.getColumnCount() );
+				for ( int i = 0; i < target.getColumnCount(); i++ ) {
+					switch ( target.getColumnName( i ) ) {
+						case "id":
+							data.writeInt( 4 );
+							data.writeInt( 7 );
+							break;
+						case "title":
+							final byte[] title = "héllo".getBytes( StandardCharsets.UTF_8 );
+							data.writeInt( title.length );
+							data.write( title );
+							break;
+						case "published":
+							data.writeInt( 1 );
+							data.writeByte( 1 );
+							break;
+						case "content":
+							data.writeInt( 3 );
+							data.write( new byte[] { 1, 2, 3 } );
+							break;
+					}
+				}
+				data.writeShort( target.getColumnCount() );
+				for ( int i = 0; i < target.getColumnCount(); i++ ) {
+					if ( target.getColumnName( i ).equals( "id" ) ) {
+						data.writeInt( 4 );
+						data.writeInt( 8 );
+					}
+					else {
+						data.writeInt( -1 );
+					}
+				}
+				data.writeShort( -1 );
+			}
+			catch (IOException e) {
+				throw new RuntimeException( e );
+			}
+
+			assertThat( encode( target, rows, PostgreSQLBinaryBulkLoadEncoder.INSTANCE, session ) )
+					.isEqualTo( expected.toByteArray() );
+		} );
+	}
+
+	private static AbstractEntityPersister persister(SharedSessionContractImplementor session) {
+		return (AbstractEntityPersister) session.getFactory().getMappingMetamodel().getEntityDescriptor( Document.class );
+	}
+
+	private static Object[] row(AbstractEntityPersister persister, Document document, SharedSessionContractImplementor session) {
+		return persister.getInsertCoordinator()
+				.decomposeForBulkLoad( document.id, persister.getValues( document ), document, session );
+	}
+
+	private static byte[] encode(
+			BulkLoadTarget target,
+			List<Object[]> rows,
+			BulkLoadEncoder encoder,
+			SharedSessionContractImplementor session) {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try {
+			assertThat( encoder.encode( target, rows.iterator(), output, session ) ).isEqualTo( rows.size() );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( e );
+		}
+		return output.toByteArray();
+	}
+
+	private static String expectedLine(BulkLoadTarget target, String id, String title, String published, String content) {
+		final StringBuilder line = new StringBuilder();
+		for ( int i = 0; i < target.getColumnCount(); i++ ) {
+			if ( i > 0 ) {
+				line.append( ',' );
+			}
+			switch ( target.getColumnName( i ) ) {
+				case "id":
+					line.append( id );
+					break;
+				case "title":
+					line.append( title );
+					break;
+				case "published":
+					line.append( published );
+					break;
+				case "content":
+					line.append( content );
+					break;
+			}
+		}
+		return line.toString();
+	}
+
+	private static class JdbcTimeZoneOptions implements WrapperOptions {
+		private final SharedSessionContractImplementor session;
+		private final TimeZone jdbcTimeZone;
+
+		private JdbcTimeZoneOptions(SharedSessionContractImplementor session, TimeZone jdbcTimeZone) {
+			this.session = session;
+			this.jdbcTimeZone = jdbcTimeZone;
+		}
+
+		@Override
+		public SharedSessionContractImplementor getSession() {
+			return session;
+		}
+
+		@Override
+		public SessionFactoryImplementor getSessionFactory() {
+			return session.getSessionFactory();
+		}
+
+		@Override
+		public boolean useStreamForLobBinding() {
+			return session.useStreamForLobBinding();
+		}
+
+		@Override
+		public int getPreferredSqlTypeCodeForBoolean() {
+			return session.getPreferredSqlTypeCodeForBoolean();
+		}
+
+		@Override
+		public LobCreator getLobCreator() {
+			return session.getLobCreator();
+		}
+
+		@Override
+		public TimeZone getJdbcTimeZone() {
+			return jdbcTimeZone;
+		}
+	}
+
+	@Entity( name = "Document" )
+	public static class Document {
+		@Id
+		private Integer id;
+		private String title;
+		private Boolean published;
+		private byte[] content;
+
+		public Document() {
+		}
+
+		public Document(Integer id, String title, Boolean published, byte[] content) {
+			this.id = id;
+			this.title = title;
+			this.published = published;
+			this.content = content;
+		}
+	}
+}
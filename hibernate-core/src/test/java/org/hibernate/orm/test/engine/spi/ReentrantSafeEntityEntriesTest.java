@@ -0,0 +1,161 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.engine.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.Status;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistenceContext#reentrantSafeEntityEntries()} and
+ * {@link PersistenceContext#forEachEntityEntry}
+ */
+@DomainModel( annotatedClasses = ReentrantSafeEntityEntriesTest.Item.class )
+@SessionFactory
+public class ReentrantSafeEntityEntriesTest {
+
+	@Test
+	public void testAppendedEntries(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			final Item first = new Item( 1L );
+			final Item second = new Item( 2L );
+			session.persist( first );
+			session.persist( second );
+
+			final Map.Entry<Object, EntityEntry>[] entries = persistenceContext.reentrantSafeEntityEntries();
+			assertThat( entries ).extracting( Map.Entry::getKey ).containsExactly( first, second );
+			assertThat( persistenceContext.reentrantSafeEntityEntries() ).isSameAs( entries );
+
+			final Item third = new Item( 3L );
+			session.persist( third );
+
+			final Map.Entry<Object, EntityEntry>[] appended = persistenceContext.reentrantSafeEntityEntries();
+			assertThat( appended ).extracting( Map.Entry::getKey ).containsExactly( first, second, third );
+			// the previously returned array is unaffected
+			assertThat( entries ).hasSize( 2 );
+			assertThat( appended[0] ).isSameAs( entries[0] );
+			assertThat( appended[1] ).isSameAs( entries[1] );
+		} );
+	}
+
+	@Test
+	public void testRemovedEntries(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			final Item first = new Item( 11L );
+			final Item second = new Item( 12L );
+			final Item third = new Item( 13L );
+			session.persist( first );
+			session.persist( second );
+			session.persist( third );
+			session.flush();
+
+			final Map.Entry<Object, EntityEntry>[] entries = persistenceContext.reentrantSafeEntityEntries();
+			session.evict( second );
+
+			assertThat( persistenceContext.reentrantSafeEntityEntries() )
+					.extracting( Map.Entry::getKey )
+					.containsExactly( first, third );
+			// the previously returned array still reports the entry of the evicted entity
+			assertThat( entries[1].getKey() ).isSameAs( second );
+			assertThat( entries[1].getValue() ).isNotNull();
+
+			session.remove( first );
+			assertThat( persistenceContext.reentrantSafeEntityEntries()[0].getValue().getStatus() )
+					.isEqualTo( Status.DELETED );
+		} );
+	}
+
+	@Test
+	public void testForEachWithChanges(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			final Item first = new Item( 21L );
+			final Item second = new Item( 22L );
+			final Item third = new Item( 23L );
+			final Item fourth = new Item( 24L );
+			session.persist( first );
+			session.persist( second );
+			session.persist( third );
+			session.persist( fourth );
+			session.flush();
+
+			final List<Object> visited = new ArrayList<>();
+			persistenceContext.forEachEntityEntry( (entity, entry) -> {
+				visited.add( entity );
+				if ( entity == first ) {
+					// the entity being visited, and one not visited yet
+					session.evict( first );
+					session.evict( third );
+				}
+				else if ( entity == second ) {
+					// not visited, as it is added during the iteration
+					session.persist( new Item( 25L ) );
+				}
+			} );
+			assertThat( visited ).containsExactly( first, second, fourth );
+			assertThat( persistenceContext.getNumberOfManagedEntities() ).isEqualTo( 3 );
+		} );
+	}
+
+	@Test
+	public void testForEachRemovingLast(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			final Item first = new Item( 31L );
+			final Item second = new Item( 32L );
+			session.persist( first );
+			session.persist( second );
+			session.flush();
+
+			final List<Object> visited = new ArrayList<>();
+			persistenceContext.forEachEntityEntry( (entity, entry) -> {
+				visited.add( entity );
+				if ( entity == first ) {
+					session.evict( second );
+					session.persist( new Item( 33L ) );
+				}
+			} );
+			assertThat( visited ).containsExactly( first );
+
+			visited.clear();
+			persistenceContext.forEachEntityEntry( (entity, entry) -> {
+				visited.add( entity );
+				session.clear();
+			} );
+			assertThat( visited ).containsExactly( first );
+		} );
+	}
+
+	@Entity( name = "Item" )
+	public static class Item {
+		@Id
+		private Long id;
+
+		public Item() {
+		}
+
+		public Item(Long id) {
+			this.id = id;
+		}
+	}
+}
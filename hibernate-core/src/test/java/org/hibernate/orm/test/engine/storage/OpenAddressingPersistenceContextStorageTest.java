@@ -0,0 +1,174 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.engine.storage;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.internal.OpenAddressingEntityKeyedMap;
+import org.hibernate.engine.internal.OpenAddressingPersistenceContextStorage;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistenceContextStorage;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.ManyToOne;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OpenAddressingPersistenceContextStorage}
+ */
+@ServiceRegistry(
+		settings = @Setting( name = AvailableSettings.PERSISTENCE_CONTEXT_STORAGE, value = "open-addressing" )
+)
+@DomainModel( annotatedClasses = {
+		OpenAddressingPersistenceContextStorageTest.Animal.class,
+		OpenAddressingPersistenceContextStorageTest.Dog.class,
+		OpenAddressingPersistenceContextStorageTest.Owner.class
+} )
+@SessionFactory
+public class OpenAddressingPersistenceContextStorageTest {
+
+	@Test
+	public void testServiceSelection(SessionFactoryScope scope) {
+		assertThat( scope.getSessionFactory().getServiceRegistry().getService( PersistenceContextStorage.class ) )
+				.isSameAs( OpenAddressingPersistenceContextStorage.INSTANCE );
+	}
+
+	@Test
+	public void testManagedEntities(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			for ( long i = 0; i < 1_000; i++ ) {
+				final Owner owner = new Owner( "owner-" + i );
+				session.persist( owner );
+				session.persist( i % 2 == 0 ? new Animal( i, owner ) : new Dog( i, owner ) );
+			}
+		} );
+
+		scope.inTransaction( (session) -> {
+			final List<Animal> animals = session.createSelectionQuery( "from Animal a join fetch a.owner", Animal.class )
+					.list();
+			assertThat( animals ).hasSize( 1_000 );
+
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			assertThat( persistenceContext.getEntitiesByKey() ).hasSize( 2_000 );
+
+			final EntityPersister animalDescriptor = session.getFactory().getMappingMetamodel()
+					.getEntityDescriptor( Animal.class );
+			final EntityPersister dogDescriptor = session.getFactory().getMappingMetamodel()
+					.getEntityDescriptor( Dog.class );
+			final EntityPersister ownerDescriptor = session.getFactory().getMappingMetamodel()
+					.getEntityDescriptor( Owner.class );
+			for ( Animal animal : animals ) {
+				assertThat( persistenceContext.getEntity( animal.id, animalDescriptor ) ).isSameAs( animal );
+				assertThat( persistenceContext.getEntity( animal.id, dogDescriptor ) ).isSameAs( animal );
+				assertThat( persistenceContext.getEntity( animal.owner.name, ownerDescriptor ) ).isSameAs( animal.owner );
+				assertThat( session.get( Animal.class, animal.id ) ).isSameAs( animal );
+			}
+			assertThat( persistenceContext.getEntity( 1_000L, animalDescriptor ) ).isNull();
+
+			for ( int i = 0; i < 500; i++ ) {
+				session.remove( animals.get( i ) );
+			}
+			session.flush();
+			assertThat( persistenceContext.getEntitiesByKey() ).hasSize( 1_500 );
+			for ( int i = 0; i < 1_000; i++ ) {
+				final Animal animal = animals.get( i );
+				assertThat( persistenceContext.getEntity( animal.id, animalDescriptor ) )
+						.isSameAs( i < 500 ? null : animal );
+			}
+
+			session.clear();
+			assertThat( persistenceContext.getEntitiesByKey() ).isEmpty();
+			assertThat( session.createSelectionQuery( "from Animal", Animal.class ).list() ).hasSize( 500 );
+		} );
+	}
+
+	@Test
+	public void testCapacityUnderChurn(SessionFactoryScope scope) {
+		final EntityPersister persister = scope.getSessionFactory().getMappingMetamodel()
+				.getEntityDescriptor( Animal.class );
+		final OpenAddressingEntityKeyedMap<Long> map = new OpenAddressingEntityKeyedMap<>( 8 );
+		for ( long i = 0; i < 100; i++ ) {
+			map.put( new EntityKey( i, persister ), i );
+		}
+		final int capacity = map.getCapacity();
+
+		// evict and load entities, keeping the number of entries steady
+		for ( long i = 100; i < 100_000; i++ ) {
+			map.remove( new EntityKey( i - 100, persister ) );
+			map.put( new EntityKey( i, persister ), i );
+		}
+		assertThat( map ).hasSize( 100 );
+		assertThat( map.getCapacity() ).isLessThanOrEqualTo( capacity * 2 );
+		for ( long i = 99_900; i < 100_000; i++ ) {
+			assertThat( map.getByIdentifier( i, persister ) ).isEqualTo( i );
+		}
+		assertThat( map.getByIdentifier( 99_899L, persister ) ).isNull();
+	}
+
+	@AfterEach
+	public void dropTestData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Animal" ).executeUpdate();
+			session.createMutationQuery( "delete Owner" ).executeUpdate();
+		} );
+	}
+
+	@Entity( name = "Animal" )
+	@Inheritance( strategy = InheritanceType.SINGLE_TABLE )
+	public static class Animal {
+		@Id
+		private Long id;
+		@ManyToOne
+		private Owner owner;
+
+		public Animal() {
+		}
+
+		public Animal(Long id, Owner owner) {
+			this.id = id;
+			this.owner = owner;
+		}
+	}
+
+	@Entity( name = "Dog" )
+	public static class Dog extends Animal {
+		public Dog() {
+		}
+
+		public Dog(Long id, Owner owner) {
+			super( id, owner );
+		}
+	}
+
+	@Entity( name = "Owner" )
+	public static class Owner {
+		@Id
+		private String name;
+
+		public Owner() {
+		}
+
+		public Owner(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.flush;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@value AvailableSettings#AUTO_FLUSH_QUERY_SPACE_CHECK}
+ */
+@DomainModel(
+		annotatedClasses = {
+				AutoFlushQuerySpaceCheckTest.Shelf.class,
+				AutoFlushQuerySpaceCheckTest.Volume.class,
+				AutoFlushQuerySpaceCheckTest.Reader.class
+		}
+)
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.AUTO_FLUSH_QUERY_SPACE_CHECK, value = "true" ) )
+@SessionFactory( useCollectingStatementInspector = true )
+public class AutoFlushQuerySpaceCheckTest {
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Shelf shelf = new Shelf( 1L, "fiction" );
+			session.persist( shelf );
+			session.persist( new Volume( 1L, "Dune", shelf ) );
+			session.persist( new Reader( 1L, "Alice" ) );
+		} );
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Volume" ).executeUpdate();
+			session.createMutationQuery( "delete Shelf" ).executeUpdate();
+			session.createNativeMutationQuery( "delete from Reader_nicknames" ).executeUpdate();
+			session.createMutationQuery( "delete Reader" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testUnrelatedChangeNotFlushed(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			session.find( Shelf.class, 1L ).name = "science fiction";
+			statementInspector.clear();
+
+			session.createSelectionQuery( "from Reader", Reader.class ).getResultList();
+			statementInspector.assertExecutedCount( 1 );
+			statementInspector.assertIsSelect( 0 );
+
+			statementInspector.clear();
+		} );
+		// the change is flushed on commit
+		statementInspector.assertExecutedCount( 1 );
+		statementInspector.assertIsUpdate( 0 );
+	}
+
+	@Test
+	public void testRelatedChangeFlushed(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			session.find( Volume.class, 1L ).title = "Dune Messiah";
+			statementInspector.clear();
+
+			final List<String> titles = session.createSelectionQuery( "select title from Volume", String.class )
+					.getResultList();
+			assertThat( titles ).containsExactly( "Dune Messiah" );
+			statementInspector.assertExecutedCount( 2 );
+			statementInspector.assertIsUpdate( 0 );
+		} );
+	}
+
+	@Test
+	public void testPendingActionFlushed(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.persist( new Reader( 2L, "Bob" ) );
+			assertThat( session.createSelectionQuery( "from Reader", Reader.class ).getResultList() ).hasSize( 2 );
+		} );
+	}
+
+	@Test
+	public void testOwnedCollectionFlushed(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Reader reader = session.find( Reader.class, 1L );
+			reader.nicknames.add( "Ally" );
+			// the query space of the collection table belongs to no entity
+			final List<String> nicknames = session.createNativeQuery( "select nicknames from Reader_nicknames", String.class )
+					.addSynchronizedQuerySpace( "Reader_nicknames" )
+					.getResultList();
+			assertThat( nicknames ).containsExactly( "Ally" );
+		} );
+	}
+
+	@Test
+	public void testCascadeFlushed(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Volume volume = session.find( Volume.class, 1L );
+			// cascaded to the new Shelf at flush time
+			volume.shelf = new Shelf( 2L, "history" );
+			assertThat( session.createSelectionQuery( "from Shelf", Shelf.class ).getResultList() ).hasSize( 2 );
+		} );
+	}
+
+	@Test
+	public void testUnrelatedCascadeNotFlushed(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			// Volume cascades, but only to Shelf
+			session.find( Volume.class, 1L ).title = "Dune Messiah";
+			statementInspector.clear();
+
+			session.createSelectionQuery( "from Reader", Reader.class ).getResultList();
+			statementInspector.assertExecutedCount( 1 );
+			statementInspector.assertIsSelect( 0 );
+		} );
+	}
+
+	@Entity( name = "Shelf" )
+	public static class Shelf {
+		@Id
+		private Long id;
+		private String name;
+
+		public Shelf() {
+		}
+
+		public Shelf(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Volume" )
+	public static class Volume {
+		@Id
+		private Long id;
+		private String title;
+		@ManyToOne( cascade = CascadeType.PERSIST )
+		private Shelf shelf;
+
+		public Volume() {
+		}
+
+		public Volume(Long id, String title, Shelf shelf) {
+			this.id = id;
+			this.title = title;
+			this.shelf = shelf;
+		}
+	}
+
+	@Entity( name = "Reader" )
+	public static class Reader {
+		@Id
+		private Long id;
+		private String name;
+		@ElementCollection
+		private List<String> nicknames = new ArrayList<>();
+
+		public Reader() {
+		}
+
+		public Reader(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
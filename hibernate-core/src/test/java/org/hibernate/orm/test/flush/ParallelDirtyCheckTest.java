@@ -0,0 +1,143 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.flush;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@value AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD}
+ */
+@DomainModel( annotatedClasses = ParallelDirtyCheckTest.Sensor.class )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, value = "10" ) )
+@SessionFactory( useCollectingStatementInspector = true )
+public class ParallelDirtyCheckTest {
+	private static final int COUNT = 100;
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			for ( long i = 0; i < COUNT; i++ ) {
+				session.persist( new Sensor( i, "sensor " + i, new Date( 0 ) ) );
+			}
+		} );
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.createQuery( "from Sensor", Sensor.class )
+				.getResultList()
+				.forEach( session::remove ) );
+	}
+
+	@Test
+	public void testUnmodified(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			assertThat( session.createQuery( "from Sensor", Sensor.class ).getResultList() ).hasSize( COUNT );
+			statementInspector.clear();
+		} );
+		statementInspector.assertExecutedCount( 0 );
+	}
+
+	@Test
+	public void testModified(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		Sensor.updatingThreads.clear();
+		scope.inTransaction( (session) -> {
+			final List<Sensor> sensors = session.createQuery( "from Sensor order by id", Sensor.class )
+					.getResultList();
+			sensors.get( 3 ).name = "renamed";
+			sensors.get( 42 ).calibratedOn.setTime( 1_000_000_000L );
+			sensors.get( 77 ).tags = new ArrayList<>( List.of( "outdoor" ) );
+			statementInspector.clear();
+		} );
+		// the new collection does not dirty its owner
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "update" ) )
+				.hasSize( 2 );
+		// callbacks happen on the calling thread
+		assertThat( Sensor.updatingThreads ).containsExactly( Thread.currentThread(), Thread.currentThread() );
+
+		scope.inTransaction( (session) -> {
+			assertThat( session.find( Sensor.class, 3L ).name ).isEqualTo( "renamed" );
+			assertThat( session.find( Sensor.class, 42L ).calibratedOn.getTime() ).isEqualTo( 1_000_000_000L );
+			assertThat( session.find( Sensor.class, 77L ).tags ).containsExactly( "outdoor" );
+		} );
+	}
+
+	@Test
+	public void testModifiedByCallback(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<Sensor> sensors = session.createQuery( "from Sensor order by id", Sensor.class )
+					.getResultList();
+			sensors.get( 3 ).name = "renamed";
+			// modified while sensor 3 is flushed, after the parallel check
+			Sensor.renamedOnUpdate = sensors.get( 90 );
+		} );
+		Sensor.renamedOnUpdate = null;
+
+		scope.inTransaction( (session) -> {
+			assertThat( session.find( Sensor.class, 3L ).name ).isEqualTo( "renamed" );
+			assertThat( session.find( Sensor.class, 90L ).name ).isEqualTo( "renamed by callback" );
+		} );
+	}
+
+	@Entity( name = "Sensor" )
+	public static class Sensor {
+		private static final List<Thread> updatingThreads = new CopyOnWriteArrayList<>();
+		private static Sensor renamedOnUpdate;
+
+		@Id
+		private Long id;
+		private String name;
+		@Temporal( TemporalType.TIMESTAMP )
+		private Date calibratedOn;
+		@ElementCollection
+		private List<String> tags = new ArrayList<>();
+
+		public Sensor() {
+		}
+
+		public Sensor(Long id, String name, Date calibratedOn) {
+			this.id = id;
+			this.name = name;
+			this.calibratedOn = calibratedOn;
+		}
+
+		@PreUpdate
+		void preUpdate() {
+			updatingThreads.add( Thread.currentThread() );
+			if ( renamedOnUpdate != null && renamedOnUpdate != this ) {
+				renamedOnUpdate.name = "renamed by callback";
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.flush;
+
+import java.util.Date;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@value AvailableSettings#FLUSH_QUICK_DIRTY_CHECK}
+ */
+@DomainModel( annotatedClasses = QuickDirtyCheckTest.Document.class )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.FLUSH_QUICK_DIRTY_CHECK, value = "true" ) )
+@SessionFactory( useCollectingStatementInspector = true )
+public class QuickDirtyCheckTest {
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.persist( new Document( 1L, "first", new Date( 0 ), new Address( "Main Street", "Springfield" ) ) );
+			session.persist( new Document( 2L, "second", new Date( 0 ), new Address( "Elm Street", "Shelbyville" ) ) );
+		} );
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Document" ).executeUpdate() );
+	}
+
+	@Test
+	public void testUntouchedEntities(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			session.createSelectionQuery( "from Document", Document.class ).getResultList();
+			statementInspector.clear();
+		} );
+		statementInspector.assertExecutedCount( 0 );
+	}
+
+	@Test
+	public void testEqualValue(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			final Document document = session.find( Document.class, 1L );
+			// a different instance, but not a different value
+			document.title = new String( "first" );
+			statementInspector.clear();
+		} );
+		statementInspector.assertExecutedCount( 0 );
+	}
+
+	@Test
+	public void testModifiedImmutableValue(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			session.createSelectionQuery( "from Document", Document.class ).getResultList();
+			session.find( Document.class, 2L ).title = "changed";
+			statementInspector.clear();
+		} );
+		statementInspector.assertExecutedCount( 1 );
+		statementInspector.assertIsUpdate( 0 );
+
+		scope.inTransaction( (session) -> {
+			assertThat( session.find( Document.class, 1L ).title ).isEqualTo( "first" );
+			assertThat( session.find( Document.class, 2L ).title ).isEqualTo( "changed" );
+		} );
+	}
+
+	@Test
+	public void testModifiedMutableValue(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			// the Date is the same instance as the loaded one, but modified in place
+			session.find( Document.class, 1L ).modifiedOn.setTime( 1_000_000_000L );
+			statementInspector.clear();
+		} );
+		statementInspector.assertExecutedCount( 1 );
+		statementInspector.assertIsUpdate( 0 );
+
+		scope.inTransaction( (session) -> {
+			assertThat( session.find( Document.class, 1L ).modifiedOn.getTime() ).isEqualTo( 1_000_000_000L );
+		} );
+	}
+
+	@Test
+	public void testModifiedEmbeddable(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getCollectingStatementInspector();
+		scope.inTransaction( (session) -> {
+			session.find( Document.class, 2L ).address.city = "Capital City";
+			statementInspector.clear();
+		} );
+		statementInspector.assertExecutedCount( 1 );
+		statementInspector.assertIsUpdate( 0 );
+
+		scope.inTransaction( (session) -> {
+			assertThat( session.find( Document.class, 2L ).address.city ).isEqualTo( "Capital City" );
+		} );
+	}
+
+	@Entity( name = "Document" )
+	public static class Document {
+		@Id
+		private Long id;
+		private String title;
+		@Temporal( TemporalType.TIMESTAMP )
+		private Date modifiedOn;
+		@Embedded
+		private Address address;
+
+		public Document() {
+		}
+
+		public Document(Long id, String title, Date modifiedOn, Address address) {
+			this.id = id;
+			this.title = title;
+			this.modifiedOn = modifiedOn;
+			this.address = address;
+		}
+	}
+
+	@Embeddable
+	public static class Address {
+		private String street;
+		private String city;
+
+		public Address() {
+		}
+
+		public Address(String street, String city) {
+			this.street = street;
+			this.city = city;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.orm.jdbc.PreparedStatementSpyConnectionProvider;
+import org.hibernate.testing.orm.jdbc.PreparedStatementSpyConnectionProviderSettingProvider;
+import org.hibernate.testing.orm.junit.DialectFeatureChecks;
+import org.hibernate.testing.orm.junit.EntityManagerFactoryScope;
+import org.hibernate.testing.orm.junit.Jpa;
+import org.hibernate.testing.orm.junit.RequiresDialectFeature;
+import org.hibernate.testing.orm.junit.Setting;
+import org.hibernate.testing.orm.junit.SettingProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that the fetch size of a query grows as its rows are read, up to the
+ * number of rows fitting into the memory budget
+ */
+@Jpa(
+		annotatedClasses = AdaptiveFetchSizeTest.Reading.class,
+		integrationSettings = {
+				@Setting( name = AvailableSettings.ADAPTIVE_FETCH_SIZE, value = "true" ),
+				// 50 rows of an integer and a string
+				@Setting( name = AvailableSettings.FETCH_SIZE_MEMORY_BUDGET, value = "4000" )
+		},
+		settingProviders = @SettingProvider(
+				settingName = AvailableSettings.CONNECTION_PROVIDER,
+				provider = PreparedStatementSpyConnectionProviderSettingProvider.class
+		)
+)
+@RequiresDialectFeature( feature = DialectFeatureChecks.SupportsJdbcDriverProxying.class )
+public class AdaptiveFetchSizeTest {
+	private final List<String> fetchSizes = new ArrayList<>();
+
+	@BeforeAll
+	public void createData(EntityManagerFactoryScope scope) {
+		final PreparedStatementSpyConnectionProvider connectionProvider = (PreparedStatementSpyConnectionProvider)
+				scope.getEntityManagerFactory().getProperties().get( AvailableSettings.CONNECTION_PROVIDER );
+		connectionProvider.spyContext.registerCallback(
+				(spy, method, args, result) -> {
+					if ( method.getName().equals( "setFetchSize" ) ) {
+						fetchSizes.add( ( spy instanceof ResultSet ? "result set " : "statement " ) + args[0] );
+					}
+				}
+		);
+		scope.inTransaction( (entityManager) -> {
+			for ( int i = 1; i <= 100; i++ ) {
+				entityManager.persist( new Reading( i, "reading " + i ) );
+			}
+		} );
+	}
+
+	@AfterAll
+	public void dropData(EntityManagerFactoryScope scope) {
+		scope.inTransaction(
+				(entityManager) -> entityManager.createQuery( "delete Reading" ).executeUpdate()
+		);
+	}
+
+	@BeforeEach
+	public void clearFetchSizes() {
+		fetchSizes.clear();
+	}
+
+	@Test
+	public void testFetchSizeGrowth(EntityManagerFactoryScope scope) {
+		scope.inTransaction( (entityManager) -> {
+			final List<Reading> readings = entityManager.unwrap( Session.class )
+					.createSelectionQuery( "from Reading r order by r.id", Reading.class )
+					.getResultList();
+			assertThat( readings ).hasSize( 100 );
+			assertThat( fetchSizes ).containsExactly( "statement 16", "result set 32", "result set 50" );
+		} );
+	}
+
+	@Test
+	public void testFewRows(EntityManagerFactoryScope scope) {
+		scope.inTransaction( (entityManager) -> {
+			final List<Reading> readings = entityManager.unwrap( Session.class )
+					.createSelectionQuery( "from Reading r where r.id <= 10", Reading.class )
+					.getResultList();
+			assertThat( readings ).hasSize( 10 );
+			assertThat( fetchSizes ).containsExactly( "statement 16" );
+		} );
+	}
+
+	@Test
+	public void testInitialFetchSizeLimitedByMemoryBudget(EntityManagerFactoryScope scope) {
+		scope.inTransaction( (entityManager) -> {
+			// 15 rows of four strings fit into the memory budget
+			final List<Object[]> rows = entityManager.unwrap( Session.class )
+					.createSelectionQuery(
+							"select r.name || 'a', r.name || 'b', r.name || 'c', r.name || 'd' from Reading r",
+							Object[].class
+					)
+					.getResultList();
+			assertThat( rows ).hasSize( 100 );
+			assertThat( fetchSizes ).containsExactly( "statement 15" );
+		} );
+	}
+
+	@Test
+	public void testExplicitFetchSize(EntityManagerFactoryScope scope) {
+		scope.inTransaction( (entityManager) -> {
+			final List<Reading> readings = entityManager.unwrap( Session.class )
+					.createSelectionQuery( "from Reading r order by r.id", Reading.class )
+					.setFetchSize( 10 )
+					.getResultList();
+			assertThat( readings ).hasSize( 100 );
+			assertThat( fetchSizes ).containsExactly( "statement 10" );
+		} );
+	}
+
+	@Entity( name = "Reading" )
+	public static class Reading {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Reading() {
+		}
+
+		public Reading(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaParameterExpression;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for caching the query plans of queries with multivalued parameters
+ * when IN clause parameter padding is enabled
+ */
+@DomainModel( annotatedClasses = InListQueryPlanCacheTest.Person.class )
+@ServiceRegistry( settings = {
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+		@Setting( name = AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, value = "true" )
+} )
+@SessionFactory
+public class InListQueryPlanCacheTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			for ( int i = 1; i <= 10; i++ ) {
+				session.persist( new Person( i, "Person " + i ) );
+			}
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Person" ).executeUpdate() );
+	}
+
+	@BeforeEach
+	public void clearCache(SessionFactoryScope scope) {
+		final SessionFactoryImplementor sessionFactory = scope.getSessionFactory();
+		sessionFactory.getQueryEngine().getInterpretationCache().close();
+		sessionFactory.getStatistics().clear();
+	}
+
+	@Test
+	public void testListsOfSimilarSizeSharePlan(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			assertThat( idsIn( session, 1, 2, 3 ) ).containsExactly( 1, 2, 3 );
+			assertThat( idsIn( session, 4, 5, 6, 7 ) ).containsExactly( 4, 5, 6, 7 );
+			assertThat( idsIn( session, 10, 8, 9 ) ).containsExactly( 8, 9, 10 );
+			// compiling the HQL also counts as a miss
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 2 );
+
+			// a list which is padded to a different size needs a different plan
+			assertThat( idsIn( session, 1, 3, 5, 7, 9 ) ).containsExactly( 1, 3, 5, 7, 9 );
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 3 );
+
+			assertThat( idsIn( session, 2, 4 ) ).containsExactly( 2, 4 );
+			assertThat( idsIn( session ) ).isEmpty();
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 5 );
+		} );
+	}
+
+	@Test
+	public void testSingleValuedBinding(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			for ( int i = 1; i <= 2; i++ ) {
+				final List<Integer> ids = session.createSelectionQuery( "select id from Person where id in :ids", Integer.class )
+						.setParameter( "ids", i )
+						.getResultList();
+				assertThat( ids ).containsExactly( i );
+			}
+			assertThat( idsIn( session, 1, 2, 3 ) ).containsExactly( 1, 2, 3 );
+			// one plan for each of the two queries, plus compiling them
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 4 );
+		} );
+	}
+
+	@Test
+	public void testCriteria(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			for ( List<Integer> values : List.of( List.of( 1, 2, 3 ), List.of( 7, 8, 9, 10 ) ) ) {
+				final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+				final JpaCriteriaQuery<Integer> query = cb.createQuery( Integer.class );
+				final JpaRoot<Person> person = query.from( Person.class );
+				final JpaParameterExpression<List> ids = cb.parameter( List.class, "ids" );
+				query.select( person.<Integer>get( "id" ) )
+						.where( person.get( "id" ).in( ids ) )
+						.orderBy( cb.asc( person.get( "id" ) ) );
+				assertThat( session.createQuery( query ).setParameter( "ids", values ).getResultList() )
+						.containsExactlyElementsOf( values );
+			}
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 1 );
+			assertThat( statistics.getQueryPlanCacheHitCount() ).isEqualTo( 1 );
+		} );
+	}
+
+	private static List<Integer> idsIn(SessionImplementor session, Integer... ids) {
+		return session.createSelectionQuery( "select id from Person where id in :ids order by id", Integer.class )
+				.setParameterList( "ids", Arrays.asList( ids ) )
+				.getResultList();
+	}
+
+	@Entity( name = "Person" )
+	public static class Person {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
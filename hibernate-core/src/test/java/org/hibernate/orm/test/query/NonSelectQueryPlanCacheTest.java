@@ -0,0 +1,175 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.Arrays;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for caching the query plans of update, delete and insert statements
+ */
+@DomainModel( annotatedClasses = {
+		NonSelectQueryPlanCacheTest.Counter.class,
+		NonSelectQueryPlanCacheTest.Vehicle.class,
+		NonSelectQueryPlanCacheTest.Car.class
+} )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ) )
+@SessionFactory
+public class NonSelectQueryPlanCacheTest {
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.persist( new Counter( 1, 0 ) );
+			session.persist( new Counter( 2, 0 ) );
+			session.persist( new Car( 1, "red", 4 ) );
+			session.persist( new Car( 2, "blue", 2 ) );
+		} );
+		final SessionFactoryImplementor sessionFactory = scope.getSessionFactory();
+		sessionFactory.getQueryEngine().getInterpretationCache().close();
+		sessionFactory.getStatistics().clear();
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Counter" ).executeUpdate();
+			session.createMutationQuery( "delete Vehicle" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testSimpleStatements(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			for ( int i = 0; i < 3; i++ ) {
+				assertThat( session.createMutationQuery( "update Counter set amount = amount + :increment where id = :id" )
+						.setParameter( "increment", i + 1 )
+						.setParameter( "id", 1 )
+						.executeUpdate() ).isEqualTo( 1 );
+			}
+			// compiling the HQL also counts as a miss
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 2 );
+
+			for ( int id = 3; id <= 4; id++ ) {
+				assertThat( session.createMutationQuery( "insert into Counter (id, amount) values (:id, 0)" )
+						.setParameter( "id", id )
+						.executeUpdate() ).isEqualTo( 1 );
+			}
+			for ( int id = 2; id <= 3; id++ ) {
+				assertThat( session.createMutationQuery( "delete Counter where id = :id" )
+						.setParameter( "id", id )
+						.executeUpdate() ).isEqualTo( 1 );
+			}
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 6 );
+
+			assertThat( session.find( Counter.class, 1 ).amount ).isEqualTo( 6 );
+			assertThat( session.createSelectionQuery( "select id from Counter order by id", Integer.class ).getResultList() )
+					.containsExactly( 1, 4 );
+		} );
+	}
+
+	@Test
+	public void testMultiTableStatements(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			for ( String color : Arrays.asList( "green", "yellow" ) ) {
+				assertThat( session.createMutationQuery( "update Car set color = :color, doors = doors + 1 where doors > :doors" )
+						.setParameter( "color", color )
+						.setParameter( "doors", 3 )
+						.executeUpdate() ).isEqualTo( 1 );
+			}
+			for ( int doors = 1; doors <= 3; doors++ ) {
+				session.createMutationQuery( "delete Car where doors = :doors" )
+						.setParameter( "doors", doors )
+						.executeUpdate();
+			}
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 4 );
+
+			final Car car = session.createSelectionQuery( "from Car", Car.class ).getSingleResult();
+			assertThat( car.color ).isEqualTo( "yellow" );
+			assertThat( car.doors ).isEqualTo( 6 );
+		} );
+	}
+
+	@Test
+	public void testMultiValuedParameterNotCached(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			for ( int i = 0; i < 2; i++ ) {
+				session.createMutationQuery( "update Counter set amount = 1 where id in :ids" )
+						.setParameterList( "ids", Arrays.asList( 1, 2 ) )
+						.executeUpdate();
+			}
+			// only compiling the HQL
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 1 );
+		} );
+	}
+
+	@Entity( name = "Counter" )
+	public static class Counter {
+		@Id
+		private Integer id;
+		private int amount;
+
+		public Counter() {
+		}
+
+		public Counter(Integer id, int amount) {
+			this.id = id;
+			this.amount = amount;
+		}
+	}
+
+	@Entity( name = "Vehicle" )
+	@Inheritance( strategy = InheritanceType.JOINED )
+	public static class Vehicle {
+		@Id
+		private Integer id;
+		private String color;
+
+		public Vehicle() {
+		}
+
+		public Vehicle(Integer id, String color) {
+			this.id = id;
+			this.color = color;
+		}
+	}
+
+	@Entity( name = "Car" )
+	public static class Car extends Vehicle {
+		private int doors;
+
+		public Car() {
+		}
+
+		public Car(Integer id, String color, int doors) {
+			super( id, color );
+			this.doors = doors;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.query.Query;
+import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.sqm.internal.DomainParameterXref;
+import org.hibernate.query.sqm.sql.SqmTranslator;
+import org.hibernate.query.sqm.sql.StandardSqmTranslatorFactory;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.sql.ast.spi.SqlAstCreationContext;
+import org.hibernate.sql.ast.tree.select.SelectStatement;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that paginating a query does not translate it again for every page
+ */
+@DomainModel( annotatedClasses = PaginationQueryPlanTest.Item.class )
+@ServiceRegistry( settings = @Setting(
+		name = AvailableSettings.SEMANTIC_QUERY_TRANSLATOR,
+		value = "org.hibernate.orm.test.query.PaginationQueryPlanTest$CountingSqmTranslatorFactory"
+) )
+@SessionFactory
+@RequiresDialect( value = H2Dialect.class, comment = "Other dialects may render the limit and offset as literals" )
+public class PaginationQueryPlanTest {
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			for ( int i = 1; i <= 5; i++ ) {
+				session.persist( new Item( i ) );
+			}
+		} );
+		CountingSqmTranslatorFactory.SELECT_TRANSLATIONS.set( 0 );
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Item" ).executeUpdate() );
+	}
+
+	@Test
+	public void testPagesShareTranslations(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			assertThat( page( session, null, 2 ) ).containsExactly( 1, 2 );
+			assertThat( page( session, 2, 2 ) ).containsExactly( 3, 4 );
+			assertThat( page( session, null, null ) ).containsExactly( 1, 2, 3, 4, 5 );
+			assertThat( page( session, 4, 2 ) ).containsExactly( 5 );
+			assertThat( page( session, null, 3 ) ).containsExactly( 1, 2, 3 );
+			assertThat( page( session, null, null ) ).hasSize( 5 );
+		} );
+		// one translation each without a limit, with a limit, and with a limit and an offset
+		assertThat( CountingSqmTranslatorFactory.SELECT_TRANSLATIONS.get() ).isEqualTo( 3 );
+	}
+
+	private static List<Integer> page(
+			Session session,
+			Integer firstResult,
+			Integer maxResults) {
+		final Query<Integer> query = session.createQuery( "select id from Item order by id", Integer.class );
+		if ( firstResult != null ) {
+			query.setFirstResult( firstResult );
+		}
+		if ( maxResults != null ) {
+			query.setMaxResults( maxResults );
+		}
+		return query.getResultList();
+	}
+
+	public static class CountingSqmTranslatorFactory extends StandardSqmTranslatorFactory {
+		static final AtomicInteger SELECT_TRANSLATIONS = new AtomicInteger();
+
+		@Override
+		public SqmTranslator<SelectStatement> createSelectTranslator(
+				SqmSelectStatement<?> sqmSelectStatement,
+				QueryOptions queryOptions,
+				DomainParameterXref domainParameterXref,
+				QueryParameterBindings domainParameterBindings,
+				LoadQueryInfluencers loadQueryInfluencers,
+				SqlAstCreationContext creationContext,
+				boolean deduplicateSelectionItems) {
+			SELECT_TRANSLATIONS.incrementAndGet();
+			return super.createSelectTranslator(
+					sqmSelectStatement,
+					queryOptions,
+					domainParameterXref,
+					domainParameterBindings,
+					loadQueryInfluencers,
+					creationContext,
+					deduplicateSelectionItems
+			);
+		}
+	}
+
+	@Entity( name = "Item" )
+	public static class Item {
+		@Id
+		private Integer id;
+
+		public Item() {
+		}
+
+		public Item(Integer id) {
+			this.id = id;
+		}
+	}
+}
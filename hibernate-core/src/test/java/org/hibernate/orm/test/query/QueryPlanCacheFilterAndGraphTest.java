@@ -0,0 +1,279 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.graph.RootGraph;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for caching the query plans of queries executed with enabled filters
+ * or with an applied entity graph
+ */
+@DomainModel( annotatedClasses = {
+		QueryPlanCacheFilterAndGraphTest.Category.class,
+		QueryPlanCacheFilterAndGraphTest.Item.class,
+		QueryPlanCacheFilterAndGraphTest.Team.class,
+		QueryPlanCacheFilterAndGraphTest.Player.class
+} )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ) )
+@SessionFactory
+public class QueryPlanCacheFilterAndGraphTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Category tools = new Category( 1, "tools" );
+			session.persist( tools );
+			session.persist( new Item( 1, "hammer", "north", tools ) );
+			session.persist( new Item( 2, "saw", "south", tools ) );
+			session.persist( new Item( 3, "drill", "east", tools ) );
+
+			final Team red = new Team( 1, "A" );
+			final Team blue = new Team( 2, "A" );
+			final Team green = new Team( 3, "B" );
+			session.persist( red );
+			session.persist( blue );
+			session.persist( green );
+			session.persist( new Player( 1, "ann", red ) );
+			session.persist( new Player( 2, "bob", red ) );
+			session.persist( new Player( 3, "cid", blue ) );
+			session.persist( new Player( 4, "dan", green ) );
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Item" ).executeUpdate();
+			session.createMutationQuery( "delete Category" ).executeUpdate();
+			session.createMutationQuery( "delete Player" ).executeUpdate();
+			session.createMutationQuery( "delete Team" ).executeUpdate();
+		} );
+	}
+
+	@BeforeEach
+	public void clearCache(SessionFactoryScope scope) {
+		final SessionFactoryImplementor sessionFactory = scope.getSessionFactory();
+		sessionFactory.getQueryEngine().getInterpretationCache().close();
+		sessionFactory.getStatistics().clear();
+	}
+
+	@Test
+	public void testFilterValuesBoundPerExecution(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			session.enableFilter( "region" ).setParameter( "region", "north" );
+			assertThat( names( session ) ).containsExactly( "hammer" );
+		} );
+		scope.inTransaction( (session) -> {
+			session.enableFilter( "region" ).setParameter( "region", "south" );
+			assertThat( names( session ) ).containsExactly( "saw" );
+			// changing the value within the session
+			session.enableFilter( "region" ).setParameter( "region", "east" );
+			assertThat( names( session ) ).containsExactly( "drill" );
+		} );
+		// compiling the HQL also counts as a miss
+		assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 2 );
+
+		scope.inTransaction( (session) -> assertThat( names( session ) ).containsExactly( "hammer", "saw", "drill" ) );
+		assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void testMultivaluedFilterParameter(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			session.enableFilter( "regions" ).setParameterList( "regions", Arrays.asList( "north", "south" ) );
+			assertThat( names( session ) ).containsExactly( "hammer", "saw" );
+			session.enableFilter( "regions" ).setParameterList( "regions", Arrays.asList( "east", "south" ) );
+			assertThat( names( session ) ).containsExactly( "saw", "drill" );
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 2 );
+
+			// a different number of values needs a different plan
+			session.enableFilter( "regions" ).setParameterList( "regions", Arrays.asList( "east", "south", "north" ) );
+			assertThat( names( session ) ).containsExactly( "hammer", "saw", "drill" );
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 3 );
+		} );
+	}
+
+	@Test
+	public void testEntityGraph(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		for ( int i = 0; i < 2; i++ ) {
+			scope.inTransaction( (session) -> {
+				final RootGraph<Item> graph = session.createEntityGraph( Item.class );
+				graph.addAttributeNodes( "category" );
+				final List<Item> items = session.createSelectionQuery( "from Item order by id", Item.class )
+						.setEntityGraph( graph, GraphSemantic.FETCH )
+						.getResultList();
+				assertThat( items ).hasSize( 3 );
+				assertThat( Hibernate.isInitialized( items.get( 0 ).category ) ).isTrue();
+			} );
+		}
+		assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 2 );
+		assertThat( statistics.getQueryPlanCacheHitCount() ).isGreaterThanOrEqualTo( 1 );
+
+		scope.inTransaction( (session) -> {
+			final List<Item> items = session.createSelectionQuery( "from Item order by id", Item.class )
+					.getResultList();
+			assertThat( Hibernate.isInitialized( items.get( 0 ).category ) ).isFalse();
+		} );
+		assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void testSubselectFetchAfterFilterChange(SessionFactoryScope scope) {
+		// the plan of the query is cached with the filter value of this execution
+		scope.inTransaction( (session) -> {
+			session.enableFilter( "tenant" ).setParameter( "tenant", "B" );
+			assertThat( playerNames( teams( session ) ) ).containsExactly( "dan" );
+		} );
+
+		final List<Consumer<SessionImplementor>> filterChanges = List.of(
+				(session) -> session.enableFilter( "tenant" ).setParameter( "tenant", "B" ),
+				(session) -> session.disableFilter( "tenant" )
+		);
+		for ( Consumer<SessionImplementor> filterChange : filterChanges ) {
+			scope.inTransaction( (session) -> {
+				session.enableFilter( "tenant" ).setParameter( "tenant", "A" );
+				final List<Team> teams = teams( session );
+				assertThat( teams ).hasSize( 2 );
+				filterChange.accept( session );
+				// the subselect fetch restricts the owners to those the query loaded
+				assertThat( playerNames( teams ) ).containsExactlyInAnyOrder( "ann", "bob", "cid" );
+			} );
+		}
+	}
+
+	private static List<Team> teams(SessionImplementor session) {
+		return session.createSelectionQuery( "from Team order by id", Team.class ).getResultList();
+	}
+
+	private static List<String> playerNames(List<Team> teams) {
+		final List<String> names = new ArrayList<>();
+		for ( Team team : teams ) {
+			for ( Player player : team.players ) {
+				names.add( player.name );
+			}
+		}
+		return names;
+	}
+
+	private static List<String> names(SessionImplementor session) {
+		return session.createSelectionQuery( "select name from Item order by id", String.class ).getResultList();
+	}
+
+	@Entity( name = "Category" )
+	public static class Category {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Category() {
+		}
+
+		public Category(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Item" )
+	@FilterDef( name = "region", parameters = @ParamDef( name = "region", type = String.class ) )
+	@FilterDef( name = "regions", parameters = @ParamDef( name = "regions", type = String.class ) )
+	@Filter( name = "region", condition = "region = :region" )
+	@Filter( name = "regions", condition = "region in (:regions)" )
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+		private String region;
+		@ManyToOne( fetch = FetchType.LAZY )
+		private Category category;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name, String region, Category category) {
+			this.id = id;
+			this.name = name;
+			this.region = region;
+			this.category = category;
+		}
+	}
+
+	@Entity( name = "Team" )
+	@FilterDef( name = "tenant", parameters = @ParamDef( name = "tenant", type = String.class ) )
+	@Filter( name = "tenant", condition = "tenant = :tenant" )
+	public static class Team {
+		@Id
+		private Integer id;
+		private String tenant;
+		@OneToMany( mappedBy = "team" )
+		@Fetch( FetchMode.SUBSELECT )
+		private List<Player> players;
+
+		public Team() {
+		}
+
+		public Team(Integer id, String tenant) {
+			this.id = id;
+			this.tenant = tenant;
+		}
+	}
+
+	@Entity( name = "Player" )
+	public static class Player {
+		@Id
+		private Integer id;
+		private String name;
+		@ManyToOne( fetch = FetchType.LAZY )
+		private Team team;
+
+		public Player() {
+		}
+
+		public Player(Integer id, String name, Team team) {
+			this.id = id;
+			this.name = name;
+			this.team = team;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.spi.QueryInterpretationCache;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that {@value AvailableSettings#QUERY_PLAN_CACHE_MAX_SIZE} bounds the number
+ * of cached query plans, whatever their weight
+ */
+@DomainModel( annotatedClasses = { QueryPlanCacheSizeTest.Shelf.class, QueryPlanCacheSizeTest.Volume.class } )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE, value = "3" ) )
+@SessionFactory
+public class QueryPlanCacheSizeTest {
+
+	@Test
+	public void testNumberOfPlans(SessionFactoryScope scope) {
+		final QueryInterpretationCache cache = scope.getSessionFactory()
+				.getQueryEngine()
+				.getInterpretationCache();
+
+		scope.inTransaction( (session) -> {
+			for ( int i = 1; i <= 3; i++ ) {
+				// a join makes the weight of each plan greater than one
+				session.createSelectionQuery(
+						"select v from Volume v join v.shelf s where s.id = " + i,
+						Volume.class
+				).getResultList();
+			}
+		} );
+		assertThat( cache.getNumberOfCachedQueryPlans() ).isEqualTo( 3 );
+	}
+
+	@Entity( name = "Shelf" )
+	public static class Shelf {
+		@Id
+		private Integer id;
+	}
+
+	@Entity( name = "Volume" )
+	public static class Volume {
+		@Id
+		private Integer id;
+		@ManyToOne
+		private Shelf shelf;
+	}
+}
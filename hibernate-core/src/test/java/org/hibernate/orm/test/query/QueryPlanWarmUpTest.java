@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQuery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for preparing the plans of named queries when the session factory is created
+ */
+@DomainModel( annotatedClasses = QueryPlanWarmUpTest.Item.class )
+@ServiceRegistry( settings = {
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+		@Setting( name = AvailableSettings.QUERY_PLAN_WARM_UP, value = "true" )
+} )
+@SessionFactory
+public class QueryPlanWarmUpTest {
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Item" ).executeUpdate() );
+	}
+
+	@Test
+	public void testNamedQueryPlansArePrepared(SessionFactoryScope scope) {
+		final SessionFactoryImplementor sessionFactory = scope.getSessionFactory();
+		// the select queries, but not the update query
+		assertThat( sessionFactory.getQueryEngine().getInterpretationCache().getNumberOfCachedQueryPlans() )
+				.isEqualTo( 2 );
+
+		scope.inTransaction( (session) -> session.persist( new Item( 1, "pen" ) ) );
+
+		final Statistics statistics = sessionFactory.getStatistics();
+		statistics.clear();
+		scope.inTransaction( (session) -> {
+			final Item item = (Item) session.createNamedQuery( "Item.byName" )
+					.setParameter( "name", "pen" )
+					.getSingleResult();
+			assertThat( item.id ).isEqualTo( 1 );
+			assertThat( session.createNamedQuery( "Item.names" ).getResultList() )
+					.containsExactly( "pen" );
+		} );
+		assertThat( statistics.getQueryPlanCacheHitCount() ).isPositive();
+		assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testWarmUpFileRoundTrip(@TempDir Path directory) throws IOException {
+		final Path file = directory.resolve( "queries.properties" );
+		final String hql = "select i.id from Item i where i.name = 'pen'";
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( file ) ) {
+			sessionFactory.inSession( (session) -> session.createSelectionQuery( hql, Integer.class ).getResultList() );
+		}
+		// the named select queries, which have no result type, and the ad hoc query
+		final Properties queries = new Properties();
+		try ( Reader reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 ) ) {
+			queries.load( reader );
+		}
+		assertThat( queries.values() ).contains( hql, Integer.class.getName() );
+		assertThat( queries ).hasSize( 4 );
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( file ) ) {
+			assertThat( sessionFactory.getQueryEngine().getInterpretationCache().getNumberOfCachedQueryPlans() )
+					.isEqualTo( 3 );
+			sessionFactory.inSession( (session) -> session.createSelectionQuery( hql, Integer.class ).getResultList() );
+			assertThat( sessionFactory.getStatistics().getQueryPlanCacheMissCount() ).isEqualTo( 0 );
+		}
+	}
+
+	private static SessionFactoryImplementor buildSessionFactory(Path file) {
+		final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.GENERATE_STATISTICS, "true" )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( AvailableSettings.QUERY_PLAN_WARM_UP, "true" )
+				.applySetting( AvailableSettings.QUERY_PLAN_WARM_UP_FILE, file.toString() )
+				.build();
+		try {
+			return (SessionFactoryImplementor) new MetadataSources( registry )
+					.addAnnotatedClass( Item.class )
+					.buildMetadata()
+					.buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( registry );
+			throw e;
+		}
+	}
+
+	@Entity( name = "Item" )
+	@NamedQuery( name = "Item.byName", query = "select i from Item i where i.name = :name" )
+	@NamedQuery( name = "Item.names", query = "select i.name from Item i" )
+	@NamedQuery( name = "Item.rename", query = "update Item set name = :name" )
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
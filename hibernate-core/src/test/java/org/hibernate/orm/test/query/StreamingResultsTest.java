@@ -0,0 +1,221 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests passing the results of a query to an action, or to a subscriber, as they are read
+ */
+@DomainModel( annotatedClasses = { StreamingResultsTest.Item.class, StreamingResultsTest.Part.class } )
+@SessionFactory
+public class StreamingResultsTest {
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			for ( int i = 1; i <= 25; i++ ) {
+				final Item item = new Item( i, "item " + i );
+				session.persist( item );
+				if ( i <= 2 ) {
+					for ( int j = 1; j <= 3; j++ ) {
+						session.persist( new Part( i * 10 + j, item ) );
+					}
+				}
+			}
+		} );
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Part" ).executeUpdate();
+			session.createMutationQuery( "delete Item" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testForEachResult(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<String> names = new ArrayList<>();
+			final long count = session.createSelectionQuery( "select i.name from Item i where i.id <= 3 order by i.id", String.class )
+					.forEachResult( names::add );
+			assertThat( count ).isEqualTo( 3 );
+			assertThat( names ).containsExactly( "item 1", "item 2", "item 3" );
+		} );
+	}
+
+	@Test
+	public void testClearInterval(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<Item> items = new ArrayList<>();
+			final long count = session.createQuery( "from Item i order by i.id", Item.class )
+					.forEachResult(
+							item -> {
+								assertThat( session.contains( item ) ).isTrue();
+								items.add( item );
+							},
+							10
+					);
+			assertThat( count ).isEqualTo( 25 );
+			// the first 20 items were cleared from the persistence context
+			assertThat( session.contains( items.get( 0 ) ) ).isFalse();
+			assertThat( session.contains( items.get( 19 ) ) ).isFalse();
+			assertThat( session.contains( items.get( 20 ) ) ).isTrue();
+			assertThat( items.get( 24 ).name ).isEqualTo( "item 25" );
+		} );
+	}
+
+	@Test
+	public void testCollectionFetch(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<Item> items = new ArrayList<>();
+			final long count = session.createQuery(
+					"from Item i join fetch i.parts where i.id <= 2 order by i.id",
+					Item.class
+			).forEachResult( items::add );
+			assertThat( count ).isEqualTo( 2 );
+			assertThat( items.get( 0 ).parts ).hasSize( 3 );
+			assertThat( items.get( 1 ).parts ).hasSize( 3 );
+		} );
+	}
+
+	@Test
+	public void testCriteria(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final CriteriaBuilder builder = session.getCriteriaBuilder();
+			final CriteriaQuery<Item> criteria = builder.createQuery( Item.class );
+			criteria.where( builder.le( criteria.from( Item.class ).get( "id" ), 5 ) );
+			final List<Item> items = new ArrayList<>();
+			assertThat( session.createQuery( criteria ).forEachResult( items::add ) ).isEqualTo( 5 );
+			assertThat( items ).hasSize( 5 );
+		} );
+	}
+
+	@Test
+	public void testPublisher(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final RecordingSubscriber subscriber = new RecordingSubscriber( 100 );
+			session.createSelectionQuery( "select i.id from Item i order by i.id", Integer.class )
+					.getResultPublisher()
+					.subscribe( subscriber );
+			assertThat( subscriber.results ).hasSize( 25 );
+			assertThat( subscriber.results.get( 0 ) ).isEqualTo( 1 );
+			assertThat( subscriber.completed ).isTrue();
+			assertThat( subscriber.failure ).isNull();
+		} );
+	}
+
+	@Test
+	public void testPublisherCancellation(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final RecordingSubscriber subscriber = new RecordingSubscriber( 3 );
+			session.createSelectionQuery( "select i.id from Item i order by i.id", Integer.class )
+					.getResultPublisher()
+					.subscribe( subscriber );
+			assertThat( subscriber.results ).containsExactly( 1, 2, 3 );
+			assertThat( subscriber.completed ).isFalse();
+			assertThat( subscriber.failure ).isNull();
+			// the session is still usable
+			assertThat( session.createSelectionQuery( "select count(*) from Item", Long.class ).getSingleResult() )
+					.isEqualTo( 25L );
+		} );
+	}
+
+	/**
+	 * Requests one result at a time, and cancels the subscription after the given number of results
+	 */
+	private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+		private final int limit;
+		private final List<Integer> results = new ArrayList<>();
+		private Flow.Subscription subscription;
+		private boolean completed;
+		private Throwable failure;
+
+		private RecordingSubscriber(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request( 1 );
+		}
+
+		@Override
+		public void onNext(Integer item) {
+			results.add( item );
+			if ( results.size() < limit ) {
+				subscription.request( 1 );
+			}
+			else {
+				subscription.cancel();
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			failure = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+
+	@Entity( name = "Item" )
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+		@OneToMany( mappedBy = "item" )
+		private List<Part> parts = new ArrayList<>();
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Part" )
+	public static class Part {
+		@Id
+		private Integer id;
+		@ManyToOne
+		private Item item;
+
+		public Part() {
+		}
+
+		public Part(Integer id, Item item) {
+			this.id = id;
+			this.item = item;
+		}
+	}
+}
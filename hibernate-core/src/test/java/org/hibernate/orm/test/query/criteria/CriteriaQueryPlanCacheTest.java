@@ -0,0 +1,210 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query.criteria;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaParameterExpression;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.criteria.Join;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for caching the query plans of criteria queries
+ */
+@DomainModel( annotatedClasses = { CriteriaQueryPlanCacheTest.Author.class, CriteriaQueryPlanCacheTest.Book.class } )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ) )
+@SessionFactory
+public class CriteriaQueryPlanCacheTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Author herbert = new Author( 1, "Frank Herbert" );
+			final Author leGuin = new Author( 2, "Ursula K. Le Guin" );
+			session.persist( herbert );
+			session.persist( leGuin );
+			session.persist( new Book( 1, "Dune", 412, herbert ) );
+			session.persist( new Book( 2, "Dune Messiah", 256, herbert ) );
+			session.persist( new Book( 3, "The Dispossessed", 387, leGuin ) );
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Book" ).executeUpdate();
+			session.createMutationQuery( "delete Author" ).executeUpdate();
+		} );
+	}
+
+	@BeforeEach
+	public void clearCache(SessionFactoryScope scope) {
+		final SessionFactoryImplementor sessionFactory = scope.getSessionFactory();
+		sessionFactory.getQueryEngine().getInterpretationCache().close();
+		sessionFactory.getStatistics().clear();
+	}
+
+	@Test
+	public void testSameShapeDifferentValues(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			assertThat( titlesByAuthor( session.getCriteriaBuilder(), session, "Frank Herbert", 300 ) )
+					.containsExactly( "Dune" );
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 1 );
+			assertThat( statistics.getQueryPlanCacheHitCount() ).isEqualTo( 0 );
+
+			assertThat( titlesByAuthor( session.getCriteriaBuilder(), session, "Frank Herbert", 200 ) )
+					.containsExactly( "Dune", "Dune Messiah" );
+			assertThat( titlesByAuthor( session.getCriteriaBuilder(), session, "Ursula K. Le Guin", 200 ) )
+					.containsExactly( "The Dispossessed" );
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 1 );
+			assertThat( statistics.getQueryPlanCacheHitCount() ).isEqualTo( 2 );
+		} );
+	}
+
+	@Test
+	public void testExplicitParameters(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			for ( int i = 0; i < 2; i++ ) {
+				final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+				final JpaCriteriaQuery<String> query = cb.createQuery( String.class );
+				final JpaRoot<Book> book = query.from( Book.class );
+				final JpaParameterExpression<Integer> bound = cb.parameter( Integer.class );
+				// the same parameter occurs twice
+				query.select( book.<String>get( "title" ) )
+						.where( cb.between( book.<Integer>get( "pages" ), bound, cb.sum( bound, 100 ) ) )
+						.orderBy( cb.asc( book.get( "id" ) ) );
+				final List<String> titles = session.createQuery( query )
+						.setParameter( bound, i == 0 ? 250 : 380 )
+						.getResultList();
+				if ( i == 0 ) {
+					assertThat( titles ).containsExactly( "Dune Messiah" );
+				}
+				else {
+					assertThat( titles ).containsExactly( "Dune", "The Dispossessed" );
+				}
+			}
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 1 );
+			assertThat( statistics.getQueryPlanCacheHitCount() ).isEqualTo( 1 );
+		} );
+	}
+
+	@Test
+	public void testDifferentShapes(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+
+			final JpaCriteriaQuery<String> byTitle = cb.createQuery( String.class );
+			final JpaRoot<Book> book = byTitle.from( Book.class );
+			byTitle.select( book.<String>get( "title" ) ).where( cb.equal( book.get( "title" ), "Dune" ) );
+			assertThat( session.createQuery( byTitle ).getResultList() ).containsExactly( "Dune" );
+
+			final JpaCriteriaQuery<String> byPages = cb.createQuery( String.class );
+			final JpaRoot<Book> other = byPages.from( Book.class );
+			byPages.select( other.<String>get( "title" ) ).where( cb.equal( other.get( "pages" ), 387 ) );
+			assertThat( session.createQuery( byPages ).getResultList() ).containsExactly( "The Dispossessed" );
+
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 2 );
+			assertThat( statistics.getQueryPlanCacheHitCount() ).isEqualTo( 0 );
+		} );
+	}
+
+	@Test
+	public void testSubqueryNotCached(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> {
+			for ( int i = 0; i < 2; i++ ) {
+				final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+				final JpaCriteriaQuery<String> query = cb.createQuery( String.class );
+				final JpaRoot<Book> book = query.from( Book.class );
+				final JpaSubQuery<Integer> maxPages = query.subquery( Integer.class );
+				maxPages.select( cb.max( maxPages.from( Book.class ).<Integer>get( "pages" ) ) );
+				query.select( book.<String>get( "title" ) ).where( cb.equal( book.get( "pages" ), maxPages ) );
+				assertThat( session.createQuery( query ).getResultList() ).containsExactly( "Dune" );
+			}
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( 0 );
+			assertThat( statistics.getQueryPlanCacheHitCount() ).isEqualTo( 0 );
+		} );
+	}
+
+	private static List<String> titlesByAuthor(
+			HibernateCriteriaBuilder cb,
+			SessionImplementor session,
+			String name,
+			int minPages) {
+		final JpaCriteriaQuery<String> query = cb.createQuery( String.class );
+		final JpaRoot<Book> book = query.from( Book.class );
+		final Join<Book, Author> author = book.join( "author" );
+		query.select( book.<String>get( "title" ) )
+				.where(
+						cb.equal( author.get( "name" ), name ),
+						cb.greaterThan( book.<Integer>get( "pages" ), minPages )
+				)
+				.orderBy( cb.asc( book.get( "id" ) ) );
+		return session.createQuery( query ).getResultList();
+	}
+
+	@Entity( name = "Author" )
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Book" )
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+		private Integer pages;
+		@ManyToOne
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Integer pages, Author author) {
+			this.id = id;
+			this.title = title;
+			this.pages = pages;
+			this.author = author;
+		}
+	}
+}
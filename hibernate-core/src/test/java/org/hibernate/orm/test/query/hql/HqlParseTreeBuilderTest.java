@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query.hql;
+
+import org.hibernate.grammars.hql.HqlLexer;
+import org.hibernate.grammars.hql.HqlParser;
+import org.hibernate.query.hql.internal.HqlParseTreeBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import org.antlr.v4.runtime.dfa.DFA;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for limiting the size of the prediction cache shared by HQL parsers
+ */
+public class HqlParseTreeBuilderTest {
+	private static final String HQL = "select p from Person p where p.name = 'x' order by p.id";
+
+	@Test
+	public void testPredictionCacheIsReplaced() {
+		final HqlParseTreeBuilder builder = HqlParseTreeBuilder.INSTANCE;
+		final HqlParser parser = parse( builder );
+		final DFA[] decisionToDFA = parser.getInterpreter().decisionToDFA;
+		assertThat( countStates( decisionToDFA ) ).isGreaterThan( 0 );
+
+		builder.limitDfaCacheSize( 0 );
+		assertThat( parse( builder ).getInterpreter().decisionToDFA ).isSameAs( decisionToDFA );
+
+		builder.limitDfaCacheSize( 1 );
+		final HqlLexer newLexer = builder.buildHqlLexer( HQL );
+		final HqlParser newParser = builder.buildHqlParser( HQL, newLexer );
+		assertThat( newParser.getInterpreter().decisionToDFA ).isNotSameAs( decisionToDFA );
+		assertThat( countStates( newLexer.getInterpreter().decisionToDFA ) ).isEqualTo( 0 );
+		assertThat( countStates( newParser.getInterpreter().decisionToDFA ) ).isEqualTo( 0 );
+		assertThat( newParser.getInterpreter().getSharedContextCache() )
+				.isNotSameAs( parser.getInterpreter().getSharedContextCache() );
+
+		// a parser built before keeps its cache
+		assertThat( countStates( parser.getInterpreter().decisionToDFA ) ).isGreaterThan( 0 );
+		parser.reset();
+		parser.statement();
+	}
+
+	private static HqlParser parse(HqlParseTreeBuilder builder) {
+		final HqlParser parser = builder.buildHqlParser( HQL );
+		parser.statement();
+		return parser;
+	}
+
+	private static int countStates(DFA[] decisionToDFA) {
+		int count = 0;
+		for ( DFA dfa : decisionToDFA ) {
+			count += dfa.states.size();
+		}
+		return count;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query.hql;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Tuple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for reusing the SQM trees of HQL queries which differ only in the values of their literals
+ */
+@DomainModel( annotatedClasses = HqlTemplateCacheTest.Product.class )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.QUERY_HQL_TEMPLATE_CACHE_MAX_SIZE, value = "100" ) )
+@SessionFactory
+public class HqlTemplateCacheTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.persist( new Product( 1, "pen", 3 ) );
+			session.persist( new Product( 2, "pencil", 1 ) );
+			session.persist( new Product( 3, "paper", 10 ) );
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Product" ).executeUpdate() );
+	}
+
+	@Test
+	public void testLiteralsOfReusedTree(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			assertThat( names( session, "select name from Product where name = 'pen'" ) ).containsExactly( "pen" );
+			assertThat( names( session, "select name from Product where name = 'paper'" ) ).containsExactly( "paper" );
+			assertThat( names( session, "select name from Product where name = 'it''s'" ) ).isEmpty();
+
+			assertThat( names( session, "select name from Product where price > 2 and name like 'p%' order by id" ) )
+					.containsExactly( "pen", "paper" );
+			assertThat( names( session, "select name from Product where price > 5 and name like 'pe%' order by id" ) )
+					.isEmpty();
+			assertThat( names( session, "select name from Product where price > 0 and name like 'pe%' order by id" ) )
+					.containsExactly( "pen", "pencil" );
+		} );
+	}
+
+	@Test
+	public void testAliasedLiteral(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			for ( String label : List.of( "first", "second" ) ) {
+				final Tuple tuple = session.createQuery(
+						"select '" + label + "' as label, p.name as name from Product p where p.id = 1",
+						Tuple.class
+				).getSingleResult();
+				assertThat( tuple.get( "label" ) ).isEqualTo( label );
+				assertThat( tuple.get( "name" ) ).isEqualTo( "pen" );
+			}
+		} );
+	}
+
+	@Test
+	public void testLiteralsAffectingStructure(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			// ordinal references to select items are not literals of the tree
+			assertThat( firstColumn( session, "select name, price from Product where price < 20 order by 1" ) )
+					.containsExactly( "paper", "pen", "pencil" );
+			assertThat( firstColumn( session, "select name, price from Product where price < 30 order by 2" ) )
+					.containsExactly( "pencil", "pen", "paper" );
+
+			// repeated values can't be mapped to the literals of the tree
+			assertThat( names( session, "select name from Product where price = 3 or id = 3 order by id" ) )
+					.containsExactly( "pen", "paper" );
+			assertThat( names( session, "select name from Product where price = 1 or id = 1 order by id" ) )
+					.containsExactly( "pen", "pencil" );
+
+			// negative numbers are folded into a single literal
+			assertThat( names( session, "select name from Product where price > -1 and id = 2" ) )
+					.containsExactly( "pencil" );
+			assertThat( names( session, "select name from Product where price > -5 and id = 3" ) )
+					.containsExactly( "paper" );
+		} );
+	}
+
+	private static List<String> names(Session session, String hql) {
+		return session.createQuery( hql, String.class ).getResultList();
+	}
+
+	private static List<Object> firstColumn(Session session, String hql) {
+		return session.createQuery( hql, Object[].class )
+				.getResultList()
+				.stream()
+				.map( row -> row[0] )
+				.collect( Collectors.toList() );
+	}
+
+	@Entity( name = "Product" )
+	public static class Product {
+		@Id
+		private Integer id;
+		private String name;
+		private int price;
+
+		public Product() {
+		}
+
+		public Product(Integer id, String name, int price) {
+			this.id = id;
+			this.name = name;
+			this.price = price;
+		}
+	}
+}
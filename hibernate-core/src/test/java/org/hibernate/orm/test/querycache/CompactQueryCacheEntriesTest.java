@@ -0,0 +1,179 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.querycache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.sql.results.caching.internal.CompactCachedRows;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.spi.TypeConfiguration;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests caching query results as {@link CompactCachedRows}
+ */
+@DomainModel( annotatedClasses = CompactQueryCacheEntriesTest.Product.class )
+@SessionFactory( generateStatistics = true )
+@ServiceRegistry( settings = {
+		@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_COMPACT_QUERY_CACHE_ENTRIES, value = "true" )
+} )
+public class CompactQueryCacheEntriesTest {
+
+	@BeforeEach
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.persist( new Product( 1, "chair", 49.5, 1_000_000_000_000L, true, LocalDate.of( 2023, 5, 1 ) ) );
+			session.persist( new Product( 2, "table", null, null, false, null ) );
+			session.persist( new Product( 3, null, 0.25, -1L, null, LocalDate.of( 1999, 12, 31 ) ) );
+		} );
+		scope.getSessionFactory().getCache().evictQueryRegions();
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> session.createMutationQuery( "delete Product" ).executeUpdate() );
+	}
+
+	@Test
+	public void testCachedTuples(SessionFactoryScope scope) {
+		final String hql = "select p.id, p.name, p.price, p.stock, p.available, p.released from Product p order by p.id";
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> assertRows(
+				session.createQuery( hql, Object[].class ).setCacheable( true ).getResultList()
+		) );
+		assertThat( statistics.getQueryCachePutCount() ).isEqualTo( 1 );
+		scope.inTransaction( (session) -> assertRows(
+				session.createQuery( hql, Object[].class ).setCacheable( true ).getResultList()
+		) );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testCachedEntities(SessionFactoryScope scope) {
+		final String hql = "from Product p where p.id = 1";
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( (session) -> session.createQuery( hql, Product.class ).setCacheable( true ).getSingleResult() );
+		scope.inTransaction( (session) -> {
+			final Product product = session.createQuery( hql, Product.class ).setCacheable( true ).getSingleResult();
+			assertThat( product.name ).isEqualTo( "chair" );
+			assertThat( product.price ).isEqualTo( 49.5 );
+			assertThat( product.stock ).isEqualTo( 1_000_000_000_000L );
+			assertThat( product.available ).isTrue();
+			assertThat( product.released ).isEqualTo( LocalDate.of( 2023, 5, 1 ) );
+		} );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testCachedNativeQuery(SessionFactoryScope scope) {
+		final String sql = "select id, name from Product order by id";
+		scope.inTransaction( (session) -> session.createNativeQuery( sql, Object[].class ).setCacheable( true ).getResultList() );
+		scope.inTransaction( (session) -> {
+			final List<Object[]> rows = session.createNativeQuery( sql, Object[].class ).setCacheable( true ).getResultList();
+			assertThat( rows ).hasSize( 3 );
+			assertThat( rows.get( 0 )[1] ).isEqualTo( "chair" );
+			assertThat( rows.get( 2 )[1] ).isNull();
+		} );
+		assertThat( scope.getSessionFactory().getStatistics().getQueryCacheHitCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testEncodedSize(SessionFactoryScope scope) throws IOException {
+		final TypeConfiguration typeConfiguration = scope.getSessionFactory().getTypeConfiguration();
+		final JdbcMapping[] columnMappings = {
+				typeConfiguration.getBasicTypeForJavaType( Integer.class ),
+				typeConfiguration.getBasicTypeForJavaType( String.class ),
+				typeConfiguration.getBasicTypeForJavaType( Double.class ),
+				typeConfiguration.getBasicTypeForJavaType( Long.class )
+		};
+		final ArrayList<Object[]> rows = new ArrayList<>();
+		for ( int i = 0; i < 1000; i++ ) {
+			rows.add( new Object[] { i, "name " + i, i % 10 == 0 ? null : i * 0.5, (long) i << 32 } );
+		}
+
+		final CompactCachedRows compactRows = (CompactCachedRows) SerializationHelper.clone(
+				CompactCachedRows.encode( rows, columnMappings )
+		);
+		assertThat( compactRows.getRowCount() ).isEqualTo( 1000 );
+		for ( int i = 0; i < 1000; i++ ) {
+			for ( int j = 0; j < columnMappings.length; j++ ) {
+				assertThat( compactRows.getValue( i, j ) ).isEqualTo( rows.get( i )[j] );
+			}
+		}
+		assertThat( compactRows.getIntValue( 7, 0 ) ).isEqualTo( 7 );
+		assertThat( compactRows.getLongValue( 7, 3 ) ).isEqualTo( 7L << 32 );
+		assertThat( compactRows.getDoubleValue( 7, 2 ) ).isEqualTo( 3.5 );
+		assertThat( compactRows.isNull( 10, 2 ) ).isTrue();
+
+		// the compact encoding is more than a quarter smaller than the serialized rows
+		assertThat( serializedSize( compactRows ) ).isLessThan( serializedSize( rows ) * 3 / 4 );
+	}
+
+	private static int serializedSize(Serializable object) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try ( ObjectOutputStream out = new ObjectOutputStream( bytes ) ) {
+			out.writeObject( object );
+		}
+		return bytes.size();
+	}
+
+	private static void assertRows(List<Object[]> rows) {
+		assertThat( rows ).hasSize( 3 );
+		assertThat( rows.get( 0 ) )
+				.containsExactly( 1, "chair", 49.5, 1_000_000_000_000L, true, LocalDate.of( 2023, 5, 1 ) );
+		assertThat( rows.get( 1 ) ).containsExactly( 2, "table", null, null, false, null );
+		assertThat( rows.get( 2 ) ).containsExactly( 3, null, 0.25, -1L, null, LocalDate.of( 1999, 12, 31 ) );
+	}
+
+	@Entity( name = "Product" )
+	public static class Product {
+		@Id
+		private Integer id;
+		private String name;
+		private Double price;
+		private Long stock;
+		private Boolean available;
+		private LocalDate released;
+
+		public Product() {
+		}
+
+		public Product(Integer id, String name, Double price, Long stock, Boolean available, LocalDate released) {
+			this.id = id;
+			this.name = name;
+			this.price = price;
+			this.stock = stock;
+			this.available = available;
+			this.released = released;
+		}
+	}
+}
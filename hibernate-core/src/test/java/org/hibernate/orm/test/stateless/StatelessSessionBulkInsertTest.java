@@ -0,0 +1,188 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.stateless;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.bulk.BulkLoadSupport;
+import org.hibernate.dialect.bulk.BulkLoadTarget;
+import org.hibernate.dialect.bulk.CsvBulkLoadEncoder;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link org.hibernate.StatelessSession#bulkInsert}
+ */
+public class StatelessSessionBulkInsertTest {
+
+	@Test
+	@DomainModel( annotatedClasses = Measurement.class )
+	@SessionFactory
+	public void testBatchedInsertFallback(SessionFactoryScope scope) {
+		final List<Measurement> measurements = measurements();
+		scope.inStatelessTransaction( (session) -> assertThat( session.bulkInsert( Measurement.class, measurements ) )
+				.isEqualTo( 3L ) );
+
+		assertThat( measurements ).allSatisfy( measurement -> {
+			assertThat( measurement.id ).isNotNull();
+			assertThat( measurement.version ).isEqualTo( 0 );
+		} );
+		verifyInserted( scope );
+	}
+
+	@Test
+	@RequiresDialect( H2Dialect.class )
+	@DomainModel( annotatedClasses = Measurement.class )
+	@ServiceRegistry(
+			settings = @Setting(
+					name = AvailableSettings.DIALECT,
+					value = "org.hibernate.orm.test.stateless.StatelessSessionBulkInsertTest$StandInDialect"
+			)
+	)
+	@SessionFactory
+	public void testBulkLoad(SessionFactoryScope scope) {
+		StandInBulkLoadSupport.lines.clear();
+		final List<Measurement> measurements = measurements();
+		scope.inStatelessTransaction( (session) -> assertThat( session.bulkInsert( Measurement.class, measurements ) )
+				.isEqualTo( 3L ) );
+
+		assertThat( StandInBulkLoadSupport.lines ).hasSize( 3 );
+		assertThat( StandInBulkLoadSupport.lines.get( 0 ) ).contains( "\"north, upper\"", "1.5", "2023-05-01" );
+		assertThat( StandInBulkLoadSupport.lines.get( 1 ) ).contains( "\"say \"\"hi\"\"\"" );
+		assertThat( StandInBulkLoadSupport.lines.get( 2 ) ).contains( ",," );
+		assertThat( measurements ).allSatisfy( measurement -> {
+			assertThat( measurement.id ).isNotNull();
+			assertThat( measurement.version ).isEqualTo( 0 );
+		} );
+		verifyInserted( scope );
+	}
+
+	private static List<Measurement> measurements() {
+		return new ArrayList<>( Arrays.asList(
+				new Measurement( "north, upper", 1.5, LocalDate.of( 2023, 5, 1 ) ),
+				new Measurement( "say \"hi\"", 2.0, LocalDate.of( 2023, 5, 2 ) ),
+				new Measurement( null, 3.0, null )
+		) );
+	}
+
+	private static void verifyInserted(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<Measurement> loaded = session.createSelectionQuery( "from Measurement order by reading", Measurement.class )
+					.getResultList();
+			assertThat( loaded ).extracting( measurement -> measurement.label )
+					.containsExactly( "north, upper", "say \"hi\"", null );
+			assertThat( loaded.get( 0 ).takenOn ).isEqualTo( LocalDate.of( 2023, 5, 1 ) );
+			session.createMutationQuery( "delete Measurement" ).executeUpdate();
+		} );
+	}
+
+	public static class StandInDialect extends H2Dialect {
+		@Override
+		public BulkLoadSupport getBulkLoadSupport() {
+			return new StandInBulkLoadSupport();
+		}
+	}
+
+	/**
+	 * Encodes the rows as CSV, and then inserts them with plain JDBC
+	 */
+	public static class StandInBulkLoadSupport implements BulkLoadSupport {
+		private static final List<String> lines = new CopyOnWriteArrayList<>();
+
+		@Override
+		public boolean canBulkLoad(BulkLoadTarget target, SharedSessionContractImplementor session) {
+			return CsvBulkLoadEncoder.INSTANCE.canEncode( target );
+		}
+
+		@Override
+		public long bulkLoad(BulkLoadTarget target, Iterator<Object[]> rows, SharedSessionContractImplementor session)
+				throws SQLException {
+			final List<Object[]> copied = new ArrayList<>();
+			rows.forEachRemaining( copied::add );
+
+			final ByteArrayOutputStream csv = new ByteArrayOutputStream();
+			try {
+				CsvBulkLoadEncoder.INSTANCE.encode( target, copied.iterator(), csv, session );
+			}
+			catch (IOException e) {
+				throw new SQLException( e );
+			}
+			lines.addAll( Arrays.asList( csv.toString( StandardCharsets.UTF_8 ).split( "\n" ) ) );
+
+			final StringBuilder sql = new StringBuilder( "insert into " ).append( target.getTableName() ).append( " (" );
+			for ( int i = 0; i < target.getColumnCount(); i++ ) {
+				sql.append( i == 0 ? "" : "," ).append( target.getColumnName( i ) );
+			}
+			sql.append( ") values (" );
+			for ( int i = 0; i < target.getColumnCount(); i++ ) {
+				sql.append( i == 0 ? "?" : ",?" );
+			}
+			sql.append( ')' );
+
+			try ( PreparedStatement statement = session.getJdbcCoordinator()
+					.getLogicalConnection()
+					.getPhysicalConnection()
+					.prepareStatement( sql.toString() ) ) {
+				for ( Object[] row : copied ) {
+					for ( int i = 0; i < row.length; i++ ) {
+						target.getJdbcMapping( i ).getJdbcValueBinder().bind( statement, row[i], i + 1, session );
+					}
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+			return copied.size();
+		}
+	}
+
+	@Entity( name = "Measurement" )
+	public static class Measurement {
+		@Id
+		@GeneratedValue
+		private Long id;
+		@Version
+		private Integer version;
+		private String label;
+		private Double reading;
+		private LocalDate takenOn;
+
+		public Measurement() {
+		}
+
+		public Measurement(String label, Double reading, LocalDate takenOn) {
+			this.label = label;
+			this.reading = reading;
+			this.takenOn = takenOn;
+		}
+	}
+}
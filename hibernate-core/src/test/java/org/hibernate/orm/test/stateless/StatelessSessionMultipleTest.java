@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.stateless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link org.hibernate.StatelessSession#insertMultiple},
+ * {@link org.hibernate.StatelessSession#updateMultiple}, and
+ * {@link org.hibernate.StatelessSession#deleteMultiple}
+ */
+@DomainModel( annotatedClasses = { StatelessSessionMultipleTest.Warehouse.class, StatelessSessionMultipleTest.Crate.class } )
+@SessionFactory
+public class StatelessSessionMultipleTest {
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Crate" ).executeUpdate();
+			session.createMutationQuery( "delete Warehouse" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testInsertUpdateDelete(SessionFactoryScope scope) {
+		final Warehouse warehouse = new Warehouse( "north" );
+		final List<Object> entities = new ArrayList<>();
+		entities.add( warehouse );
+		for ( int i = 0; i < 20; i++ ) {
+			entities.add( new Crate( "crate " + i, warehouse ) );
+		}
+
+		scope.inStatelessTransaction( (session) -> session.insertMultiple( entities ) );
+		assertThat( entities ).allSatisfy( entity -> assertThat( entity ).hasNoNullFieldsOrProperties() );
+		scope.inTransaction( (session) -> assertThat(
+				session.createSelectionQuery( "select count(*) from Crate c where c.warehouse.name = 'north'", Long.class )
+						.getSingleResult()
+		).isEqualTo( 20L ) );
+
+		final List<Object> crates = entities.subList( 1, entities.size() );
+		crates.forEach( crate -> ( (Crate) crate ).label += " (checked)" );
+		scope.inStatelessTransaction( (session) -> session.updateMultiple( crates ) );
+		assertThat( crates ).allSatisfy( crate -> assertThat( ( (Crate) crate ).version ).isEqualTo( 1 ) );
+		scope.inTransaction( (session) -> assertThat(
+				session.createSelectionQuery( "from Crate where label like '%(checked)'", Crate.class ).getResultList()
+		).hasSize( 20 ) );
+
+		scope.inStatelessTransaction( (session) -> session.deleteMultiple( crates.subList( 0, 10 ) ) );
+		scope.inTransaction( (session) -> assertThat(
+				session.createSelectionQuery( "from Crate", Crate.class ).getResultList()
+		).hasSize( 10 ) );
+	}
+
+	@Test
+	public void testMoreEntitiesThanMaxBatchSize(SessionFactoryScope scope) {
+		final Warehouse warehouse = new Warehouse( "south" );
+		final List<Object> entities = new ArrayList<>();
+		entities.add( warehouse );
+		for ( int i = 0; i < 2_500; i++ ) {
+			entities.add( new Crate( "crate " + i, warehouse ) );
+		}
+
+		// executed as several batches
+		scope.inStatelessTransaction( (session) -> session.insertMultiple( entities ) );
+		scope.inTransaction( (session) -> assertThat(
+				session.createSelectionQuery( "select count(*) from Crate c where c.warehouse.name = 'south'", Long.class )
+						.getSingleResult()
+		).isEqualTo( 2_500L ) );
+	}
+
+	@Entity( name = "Warehouse" )
+	public static class Warehouse {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String name;
+
+		public Warehouse() {
+		}
+
+		public Warehouse(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Crate" )
+	public static class Crate {
+		@Id
+		@GeneratedValue
+		private Long id;
+		@Version
+		private Integer version;
+		private String label;
+		@ManyToOne
+		private Warehouse warehouse;
+
+		public Crate() {
+		}
+
+		public Crate(String label, Warehouse warehouse) {
+			this.label = label;
+			this.warehouse = warehouse;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.hibernate.internal.util.collections.LinearProbingHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LinearProbingHashMapTest {
+	@Test
+	public void testBasicOperations() {
+		final Map<String, Integer> map = new LinearProbingHashMap<>( 2 );
+		assertTrue( map.isEmpty() );
+		assertNull( map.put( "a", 1 ) );
+		assertNull( map.put( "b", 2 ) );
+		assertEquals( 1, map.put( "a", 3 ) );
+		assertEquals( 2, map.size() );
+		assertEquals( 3, map.get( "a" ) );
+		assertTrue( map.containsKey( "b" ) );
+		assertEquals( 2, map.remove( "b" ) );
+		assertFalse( map.containsKey( "b" ) );
+		assertNull( map.remove( "b" ) );
+		assertEquals( 1, map.size() );
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertNull( map.get( "a" ) );
+	}
+
+	@Test
+	public void testAgainstHashMap() {
+		final Random random = new Random( 42 );
+		final Map<Integer, Integer> map = new LinearProbingHashMap<>( 8 );
+		final Map<Integer, Integer> expected = new HashMap<>();
+		for ( int i = 0; i < 200_000; i++ ) {
+			final int key = random.nextInt( 2_000 );
+			switch ( random.nextInt( 3 ) ) {
+				case 0:
+					assertEquals( expected.put( key, i ), map.put( key, i ) );
+					break;
+				case 1:
+					assertEquals( expected.remove( key ), map.remove( key ) );
+					break;
+				default:
+					assertEquals( expected.get( key ), map.get( key ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+		assertEquals( expected, map );
+		assertEquals( map, expected );
+	}
+
+	@Test
+	public void testRemoveThroughIterator() {
+		final Map<Integer, Integer> map = new LinearProbingHashMap<>( 8 );
+		for ( int i = 0; i < 1_000; i++ ) {
+			map.put( i, i );
+		}
+		final Iterator<Integer> iterator = map.keySet().iterator();
+		while ( iterator.hasNext() ) {
+			if ( iterator.next() % 2 == 0 ) {
+				iterator.remove();
+			}
+		}
+		assertEquals( 500, map.size() );
+		for ( int i = 0; i < 1_000; i++ ) {
+			assertEquals( i % 2 == 0 ? null : i, map.get( i ) );
+		}
+	}
+}
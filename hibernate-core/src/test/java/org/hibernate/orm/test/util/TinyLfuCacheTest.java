@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.internal.util.cache.InternalCache;
+import org.hibernate.internal.util.cache.TinyLfuCache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLfuCacheTest {
+	@Test
+	public void testBasicOperations() {
+		final InternalCache<String, Integer> cache = new TinyLfuCache<>( 10, (key, value) -> 1, (key, value) -> {} );
+		assertNull( cache.get( "a" ) );
+		cache.put( "a", 1 );
+		cache.put( "b", 2 );
+		cache.put( "a", 3 );
+		assertEquals( 3, cache.get( "a" ) );
+		assertEquals( 2, cache.heldElementsEstimate() );
+		assertEquals( 2, cache.computeIfAbsent( "b", key -> 4 ) );
+		assertEquals( 5, cache.computeIfAbsent( "c", key -> 5 ) );
+		assertEquals( 5, cache.get( "c" ) );
+		cache.clear();
+		assertEquals( 0, cache.heldElementsEstimate() );
+		assertNull( cache.get( "a" ) );
+		cache.put( "a", 6 );
+		assertEquals( 6, cache.get( "a" ) );
+	}
+
+	@Test
+	public void testBounded() {
+		final AtomicInteger evictions = new AtomicInteger();
+		final InternalCache<Integer, Integer> cache = new TinyLfuCache<>(
+				100,
+				(key, value) -> 1,
+				(key, value) -> evictions.incrementAndGet()
+		);
+		for ( int i = 0; i < 1_000; i++ ) {
+			cache.put( i, i );
+		}
+		assertEquals( 100, cache.heldElementsEstimate() );
+		assertEquals( 900, evictions.get() );
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveScan() {
+		final InternalCache<Integer, Integer> cache = new TinyLfuCache<>( 100, (key, value) -> 1, (key, value) -> {} );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, i );
+		}
+		for ( int round = 0; round < 10; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				cache.get( i );
+			}
+		}
+		// entries used only once must not push out the frequently used ones
+		for ( int i = 1_000; i < 2_000; i++ ) {
+			cache.put( i, i );
+		}
+		for ( int i = 0; i < 50; i++ ) {
+			assertEquals( i, cache.get( i ) );
+		}
+	}
+
+	@Test
+	public void testWeighted() {
+		final InternalCache<Integer, Integer> cache = new TinyLfuCache<>( 100, (key, value) -> value, (key, value) -> {} );
+		for ( int i = 0; i < 100; i++ ) {
+			cache.put( i, 10 );
+		}
+		assertEquals( 10, cache.heldElementsEstimate() );
+		// an entry heavier than the cache is not kept
+		cache.put( 1_000, 200 );
+		assertNull( cache.get( 1_000 ) );
+		assertTrue( cache.heldElementsEstimate() <= 10 );
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final InternalCache<Integer, Integer> cache = new TinyLfuCache<>( 64, (key, value) -> 1, (key, value) -> {} );
+		final ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for ( int thread = 0; thread < 8; thread++ ) {
+				futures.add( executor.submit( () -> {
+					final ThreadLocalRandom random = ThreadLocalRandom.current();
+					for ( int i = 0; i < 100_000; i++ ) {
+						final int key = random.nextInt( 256 );
+						final Integer value = random.nextBoolean()
+								? cache.get( key )
+								: cache.computeIfAbsent( key, k -> k );
+						if ( value != null ) {
+							assertEquals( key, value );
+						}
+					}
+				} ) );
+			}
+			for ( Future<?> future : futures ) {
+				assertNotNull( future );
+				future.get( 1, TimeUnit.MINUTES );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertTrue( cache.heldElementsEstimate() <= 64 );
+	}
+}